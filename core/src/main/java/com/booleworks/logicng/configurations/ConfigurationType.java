@@ -18,5 +18,8 @@ public enum ConfigurationType {
     ENCODER,
     FORMULA_RANDOMIZER,
     ADVANCED_SIMPLIFIER,
-    MODEL_ENUMERATION
+    MODEL_ENUMERATION,
+    BDD,
+    DNNF,
+    MODEL_COUNTING
 }
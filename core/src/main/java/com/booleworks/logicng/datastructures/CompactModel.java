@@ -0,0 +1,138 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.datastructures;
+
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A compact immutable model which stores the phases of its variables in a
+ * bitset. The list of variables is not copied, but shared between all models
+ * produced by the same enumeration. Therefore, each model only holds a
+ * {@code long} array with one bit per variable.
+ * <p>
+ * Compact models are produced by streaming model enumerations which can yield
+ * a huge number of models. They can be converted to a regular {@link Model}
+ * via {@link #toModel(FormulaFactory)}.
+ * <p>
+ * Two compact models are equal if they have the same list of variables (in
+ * the same order) and the same phases.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class CompactModel {
+    private final List<Variable> variables;
+    private final long[] bits;
+
+    /**
+     * Constructs a new compact model. The i-th bit of the bitset is the phase
+     * of the i-th variable. Neither the variables nor the bitset are copied.
+     * @param variables the variables of the model
+     * @param bits      the bitset with the phases of the variables
+     */
+    public CompactModel(final List<Variable> variables, final long[] bits) {
+        if (bits.length < (variables.size() + 63) >>> 6) {
+            throw new IllegalArgumentException("The bitset is too small for the number of variables");
+        }
+        this.variables = variables;
+        this.bits = bits;
+    }
+
+    /**
+     * Returns the variables of this model.
+     * @return the variables of this model
+     */
+    public List<Variable> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Returns the number of variables of this model.
+     * @return the number of variables of this model
+     */
+    public int size() {
+        return variables.size();
+    }
+
+    /**
+     * Returns the phase of the variable at the given position.
+     * @param index the position of the variable
+     * @return the phase of the variable
+     */
+    public boolean phase(final int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the literal of the variable at the given position.
+     * @param f     the formula factory
+     * @param index the position of the variable
+     * @return the literal of the variable
+     */
+    public Literal literal(final FormulaFactory f, final int index) {
+        final Variable var = variables.get(index);
+        return phase(index) ? var : var.negate(f);
+    }
+
+    /**
+     * Returns the number of variables with a positive phase.
+     * @return the number of variables with a positive phase
+     */
+    public int numberOfPositiveVariables() {
+        int count = 0;
+        for (final long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Converts this compact model to a model. The literals of the model are
+     * in the order of the variables.
+     * @param f the formula factory
+     * @return the model
+     */
+    public Model toModel(final FormulaFactory f) {
+        final List<Literal> literals = new ArrayList<>(variables.size());
+        for (int i = 0; i < variables.size(); i++) {
+            literals.add(literal(f, i));
+        }
+        return new Model(literals);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CompactModel that = (CompactModel) o;
+        return Arrays.equals(bits, that.bits) && (variables == that.variables || variables.equals(that.variables));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CompactModel{");
+        for (int i = 0; i < variables.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(phase(i) ? "" : "~").append(variables.get(i).getName());
+        }
+        return sb.append('}').toString();
+    }
+}
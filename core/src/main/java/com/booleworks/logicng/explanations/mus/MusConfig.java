@@ -9,7 +9,7 @@ import com.booleworks.logicng.configurations.ConfigurationType;
 
 /**
  * The configuration object for the MUS generation.
- * @version 2.1.0
+ * @version 3.0.0
  * @since 1.1
  */
 public final class MusConfig extends Configuration {
@@ -19,10 +19,14 @@ public final class MusConfig extends Configuration {
      */
     public enum Algorithm {
         DELETION,
-        PLAIN_INSERTION
+        PLAIN_INSERTION,
+        QUICKXPLAIN,
+        PROGRESSION
     }
 
     final Algorithm algorithm;
+    final boolean clauseSetRefinement;
+    final boolean modelRotation;
 
     /**
      * Constructs a new configuration with a given type.
@@ -31,6 +35,8 @@ public final class MusConfig extends Configuration {
     private MusConfig(final Builder builder) {
         super(ConfigurationType.MUS);
         algorithm = builder.algorithm;
+        clauseSetRefinement = builder.clauseSetRefinement;
+        modelRotation = builder.modelRotation;
     }
 
     /**
@@ -45,6 +51,8 @@ public final class MusConfig extends Configuration {
     public String toString() {
         final StringBuilder sb = new StringBuilder("MusConfig{").append(System.lineSeparator());
         sb.append("algorithm=").append(algorithm).append(System.lineSeparator());
+        sb.append("clauseSetRefinement=").append(clauseSetRefinement).append(System.lineSeparator());
+        sb.append("modelRotation=").append(modelRotation).append(System.lineSeparator());
         sb.append("}").append(System.lineSeparator());
         return sb.toString();
     }
@@ -55,6 +63,8 @@ public final class MusConfig extends Configuration {
     public final static class Builder {
 
         private Algorithm algorithm = Algorithm.DELETION;
+        private boolean clauseSetRefinement = true;
+        private boolean modelRotation = true;
 
         private Builder() {
             // Initialize only via factory
@@ -71,6 +81,32 @@ public final class MusConfig extends Configuration {
             return this;
         }
 
+        /**
+         * Sets whether the candidates of the {@code QUICKXPLAIN} and
+         * {@code PROGRESSION} algorithms are reduced to the unsat core of
+         * unsatisfiable checks. The default value is {@code true}.
+         * @param clauseSetRefinement {@code true} if clause set refinement
+         *                            should be used, {@code false} otherwise
+         * @return the builder
+         */
+        public Builder clauseSetRefinement(final boolean clauseSetRefinement) {
+            this.clauseSetRefinement = clauseSetRefinement;
+            return this;
+        }
+
+        /**
+         * Sets whether the {@code PROGRESSION} algorithm uses recursive model
+         * rotation to find further MUS propositions from the models of
+         * satisfiable checks. The default value is {@code true}.
+         * @param modelRotation {@code true} if model rotation should be used,
+         *                      {@code false} otherwise
+         * @return the builder
+         */
+        public Builder modelRotation(final boolean modelRotation) {
+            this.modelRotation = modelRotation;
+            return this;
+        }
+
         /**
          * Builds the configuration.
          * @return the configuration.
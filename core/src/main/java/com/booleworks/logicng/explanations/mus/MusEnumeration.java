@@ -0,0 +1,456 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.explanations.mus;
+
+import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.MUS_ENUMERATION_STARTED;
+import static com.booleworks.logicng.handlers.events.SimpleEvent.MUS_ENUMERATION_FOUND_MCS;
+import static com.booleworks.logicng.handlers.events.SimpleEvent.MUS_ENUMERATION_FOUND_MUS;
+
+import com.booleworks.logicng.explanations.UnsatCore;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.handlers.SynchronizedHandler;
+import com.booleworks.logicng.handlers.events.LngEvent;
+import com.booleworks.logicng.propositions.Proposition;
+import com.booleworks.logicng.propositions.StandardProposition;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.sat.SatCall;
+import com.booleworks.logicng.solvers.sat.SatSolverConfig;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Enumeration of all MUSes (minimal unsatisfiable subsets) and all MCSes
+ * (minimal correction subsets) of a list of propositions.
+ * <p>
+ * A map solver over one selector variable per proposition keeps track of the
+ * explored subsets: each found MUS blocks all its supersets and each found
+ * MCS blocks all subsets of its complement. Each model of the map solver is
+ * an unexplored seed. An unsatisfiable seed is shrunk to a new MUS, a
+ * satisfiable seed is grown to a maximal satisfiable subset whose complement
+ * is a new MCS. The map solver prefers large seeds. The enumeration ends when
+ * the map solver is unsatisfiable.
+ * <p>
+ * Each MUS and MCS is passed to a {@link MusMcsConsumer} as soon as it is
+ * found, so a canceled enumeration still delivers all explanations found so
+ * far. With a parallelism greater than one, several workers with their own
+ * formula factory and selector solver shrink and grow seeds of the shared map
+ * solver.
+ * <p>
+ * Based on "Fast, Flexible MUS Enumeration" by Liffiton, Previti, Malik, and
+ * Marques-Silva.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class MusEnumeration {
+
+    private static final String MAP_SELECTOR = "@MAP_SEL_";
+
+    private final MusConfig musConfig;
+    private final int parallelism;
+
+    private MusEnumeration(final Builder builder) {
+        musConfig = builder.musConfig;
+        parallelism = builder.parallelism;
+    }
+
+    /**
+     * Returns the builder for this enumeration.
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Enumerates all MUSes and MCSes of the given propositions.
+     * @param <T>          the type of the propositions
+     * @param f            the formula factory
+     * @param propositions the propositions
+     * @param consumer     the consumer for the MUSes and MCSes
+     * @return whether the propositions are unsatisfiable, i.e. whether at
+     * least one MUS was found
+     */
+    public <T extends Proposition> boolean enumerate(final FormulaFactory f, final List<T> propositions,
+                                                     final MusMcsConsumer<T> consumer) {
+        return enumerate(f, propositions, consumer, NopHandler.get()).getResult();
+    }
+
+    /**
+     * Enumerates all MUSes and MCSes of the given propositions.
+     * <p>
+     * After each found MUS and MCS, the handler is asked whether the
+     * enumeration should be continued.
+     * @param <T>          the type of the propositions
+     * @param f            the formula factory
+     * @param propositions the propositions
+     * @param consumer     the consumer for the MUSes and MCSes
+     * @param handler      the computation handler
+     * @return an LNG result containing whether the propositions are
+     * unsatisfiable, i.e. whether at least one MUS was found (unless the
+     * handler canceled the computation)
+     */
+    public <T extends Proposition> LngResult<Boolean> enumerate(final FormulaFactory f, final List<T> propositions,
+                                                                final MusMcsConsumer<T> consumer,
+                                                                final ComputationHandler handler) {
+        if (!handler.shouldResume(MUS_ENUMERATION_STARTED)) {
+            return LngResult.canceled(MUS_ENUMERATION_STARTED);
+        }
+        final MapSolver<T> map = new MapSolver<>(propositions, consumer, parallelism > 1);
+        final LngEvent cancelCause;
+        if (parallelism == 1) {
+            cancelCause = explore(map, new SelectorSolver(f, propositions, true), handler);
+        } else {
+            final List<FormulaFactory> workerFactories = new ArrayList<>(parallelism);
+            final List<List<Proposition>> workerPropositions = new ArrayList<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                final FormulaFactory workerFactory = FormulaFactory.caching();
+                final List<Proposition> imported = new ArrayList<>(propositions.size());
+                for (final T proposition : propositions) {
+                    imported.add(new StandardProposition(workerFactory.importFormula(proposition.getFormula())));
+                }
+                workerFactories.add(workerFactory);
+                workerPropositions.add(imported);
+            }
+            final SynchronizedHandler synchronizedHandler = new SynchronizedHandler(handler);
+            final ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                final List<ForkJoinTask<?>> tasks = new ArrayList<>(parallelism);
+                for (int i = 0; i < parallelism; i++) {
+                    final FormulaFactory workerFactory = workerFactories.get(i);
+                    final List<Proposition> imported = workerPropositions.get(i);
+                    tasks.add(pool.submit(() -> explore(map, new SelectorSolver(workerFactory, imported, true),
+                            synchronizedHandler)));
+                }
+                for (final ForkJoinTask<?> task : tasks) {
+                    task.join();
+                }
+            } finally {
+                pool.shutdown();
+            }
+            cancelCause = synchronizedHandler.getCancelCause();
+        }
+        return cancelCause == null ? LngResult.of(map.numMuses > 0) : LngResult.canceled(cancelCause);
+    }
+
+    /**
+     * Shrinks and grows seeds of the map solver until the map solver is
+     * exhausted or the computation is canceled.
+     * @param map     the map solver
+     * @param solver  the selector solver of this worker
+     * @param handler the computation handler
+     * @return the cancel cause or {@code null} if the map solver is exhausted
+     */
+    private LngEvent explore(final MapSolver<?> map, final SelectorSolver solver, final ComputationHandler handler) {
+        while (true) {
+            final LngResult<Optional<List<Integer>>> seed = map.nextSeed(handler);
+            if (!seed.isSuccess()) {
+                return seed.getCancelCause();
+            }
+            if (seed.getResult().isEmpty()) {
+                return null;
+            }
+            final List<Integer> candidates = seed.getResult().get();
+            final LngResult<Boolean> sat = solver.sat(candidates, handler);
+            if (!sat.isSuccess()) {
+                return sat.getCancelCause();
+            }
+            final boolean resume;
+            if (sat.getResult()) {
+                final LngResult<List<Integer>> mcs = grow(solver, candidates, handler);
+                if (!mcs.isSuccess()) {
+                    return mcs.getCancelCause();
+                }
+                resume = map.addMcs(mcs.getResult(), handler);
+            } else {
+                final List<Integer> core = musConfig.clauseSetRefinement ? solver.refine(candidates) : candidates;
+                final LngResult<List<Integer>> mus = musConfig.algorithm == MusConfig.Algorithm.QUICKXPLAIN
+                                                     ? QuickXplainMus.shrink(solver, core, handler)
+                                                     : ProgressionBasedMus.shrink(solver, core, musConfig, handler);
+                if (!mus.isSuccess()) {
+                    return mus.getCancelCause();
+                }
+                resume = map.addMus(mus.getResult(), handler);
+            }
+            if (!resume) {
+                return map.cancelCause;
+            }
+        }
+    }
+
+    /**
+     * Grows the given satisfiable seed to a maximal satisfiable subset. All
+     * propositions satisfied by the model of a satisfiable check are added
+     * without further checks.
+     * @param solver  the selector solver, the stored model must satisfy the
+     *                seed
+     * @param seed    the seed
+     * @param handler the computation handler
+     * @return an LNG result containing the complement of the maximal
+     * satisfiable subset, i.e. an MCS (unless the handler canceled the
+     * computation)
+     */
+    private static LngResult<List<Integer>> grow(final SelectorSolver solver, final List<Integer> seed,
+                                                 final ComputationHandler handler) {
+        final BitSet mss = new BitSet(solver.size());
+        seed.forEach(mss::set);
+        addSatisfied(solver, mss);
+        for (int i = mss.nextClearBit(0); i < solver.size(); i = mss.nextClearBit(i + 1)) {
+            final List<Integer> assumptions = new ArrayList<>(mss.cardinality() + 1);
+            mss.stream().forEach(assumptions::add);
+            assumptions.add(i);
+            final LngResult<Boolean> sat = solver.sat(assumptions, handler);
+            if (!sat.isSuccess()) {
+                return LngResult.canceled(sat.getCancelCause());
+            }
+            if (sat.getResult()) {
+                addSatisfied(solver, mss);
+            }
+        }
+        final List<Integer> mcs = new ArrayList<>();
+        for (int i = mss.nextClearBit(0); i < solver.size(); i = mss.nextClearBit(i + 1)) {
+            mcs.add(i);
+        }
+        return LngResult.of(mcs);
+    }
+
+    private static void addSatisfied(final SelectorSolver solver, final BitSet mss) {
+        for (int i = mss.nextClearBit(0); i < solver.size(); i = mss.nextClearBit(i + 1)) {
+            if (solver.satisfiedByModel(i)) {
+                mss.set(i);
+            }
+        }
+    }
+
+    /**
+     * The map solver over the selector variables of the propositions. All
+     * methods are synchronized, so the map solver can be shared by several
+     * workers. In a parallel enumeration, each seed is blocked as soon as it
+     * is handed out, and MUSes and MCSes found by more than one worker are
+     * only reported once.
+     * @param <T> the type of the propositions
+     */
+    private static final class MapSolver<T extends Proposition> {
+        private final List<T> propositions;
+        private final MusMcsConsumer<T> consumer;
+        private final boolean blockSeeds;
+        private final FormulaFactory f;
+        private final SatSolver solver;
+        private final List<Variable> selectors;
+        private final BitSet constrained;
+        private final Set<BitSet> muses;
+        private final Set<BitSet> mcses;
+        private boolean exhausted;
+        private int numMuses;
+        private volatile LngEvent cancelCause;
+
+        private MapSolver(final List<T> propositions, final MusMcsConsumer<T> consumer, final boolean blockSeeds) {
+            this.propositions = propositions;
+            this.consumer = consumer;
+            this.blockSeeds = blockSeeds;
+            f = FormulaFactory.caching();
+            solver = SatSolver.newSolver(f, SatSolverConfig.builder().initialPhase(true).build());
+            selectors = new ArrayList<>(propositions.size());
+            for (int i = 0; i < propositions.size(); i++) {
+                selectors.add(f.variable(MAP_SELECTOR + i));
+            }
+            constrained = new BitSet(propositions.size());
+            muses = new HashSet<>();
+            mcses = new HashSet<>();
+        }
+
+        /**
+         * Returns the next unexplored seed. Selectors which do not occur in
+         * any blocking clause yet are always part of the seed.
+         * @param handler the computation handler
+         * @return an LNG result containing the indices of the seed or an
+         * empty optional if all subsets are explored (unless the handler
+         * canceled the computation)
+         */
+        private synchronized LngResult<Optional<List<Integer>>> nextSeed(final ComputationHandler handler) {
+            if (cancelCause != null) {
+                return LngResult.canceled(cancelCause);
+            }
+            if (exhausted) {
+                return LngResult.of(Optional.empty());
+            }
+            final BitSet seed = new BitSet(propositions.size());
+            try (final SatCall satCall = solver.satCall().handler(handler).solve()) {
+                final LngResult<Boolean> sat = satCall.getSatResult();
+                if (!sat.isSuccess()) {
+                    return LngResult.canceled(sat.getCancelCause());
+                }
+                if (!sat.getResult()) {
+                    exhausted = true;
+                    return LngResult.of(Optional.empty());
+                }
+                final SortedSet<Variable> positive = satCall.model(selectors).positiveVariables();
+                for (int i = 0; i < selectors.size(); i++) {
+                    if (!constrained.get(i) || positive.contains(selectors.get(i))) {
+                        seed.set(i);
+                    }
+                }
+            }
+            if (blockSeeds) {
+                final List<Literal> clause = new ArrayList<>(selectors.size());
+                for (int i = 0; i < selectors.size(); i++) {
+                    clause.add(seed.get(i) ? selectors.get(i).negate(f) : selectors.get(i));
+                }
+                block(clause, null);
+            }
+            final List<Integer> indices = new ArrayList<>(seed.cardinality());
+            seed.stream().forEach(indices::add);
+            return LngResult.of(Optional.of(indices));
+        }
+
+        /**
+         * Blocks all supersets of the given MUS and reports it to the
+         * consumer, unless it was already found.
+         * @param mus     the indices of the MUS
+         * @param handler the computation handler
+         * @return whether the enumeration should be continued
+         */
+        private synchronized boolean addMus(final List<Integer> mus, final ComputationHandler handler) {
+            if (cancelCause != null) {
+                return false;
+            }
+            final BitSet bits = new BitSet(propositions.size());
+            mus.forEach(bits::set);
+            if (!muses.add(bits)) {
+                return true;
+            }
+            final List<Literal> clause = new ArrayList<>(mus.size());
+            for (final int index : mus) {
+                clause.add(selectors.get(index).negate(f));
+            }
+            block(clause, bits);
+            numMuses++;
+            consumer.acceptMus(new UnsatCore<>(propositions(mus), true));
+            return resume(handler, MUS_ENUMERATION_FOUND_MUS);
+        }
+
+        /**
+         * Blocks all subsets of the complement of the given MCS and reports
+         * it to the consumer, unless it was already found.
+         * @param mcs     the indices of the MCS
+         * @param handler the computation handler
+         * @return whether the enumeration should be continued
+         */
+        private synchronized boolean addMcs(final List<Integer> mcs, final ComputationHandler handler) {
+            if (cancelCause != null) {
+                return false;
+            }
+            final BitSet bits = new BitSet(propositions.size());
+            mcs.forEach(bits::set);
+            if (!mcses.add(bits)) {
+                return true;
+            }
+            final List<Literal> clause = new ArrayList<>(mcs.size());
+            for (final int index : mcs) {
+                clause.add(selectors.get(index));
+            }
+            block(clause, bits);
+            consumer.acceptMcs(propositions(mcs));
+            return resume(handler, MUS_ENUMERATION_FOUND_MCS);
+        }
+
+        private void block(final List<Literal> clause, final BitSet indices) {
+            solver.add(f.clause(clause));
+            if (indices == null) {
+                constrained.set(0, selectors.size());
+            } else {
+                constrained.or(indices);
+            }
+        }
+
+        private boolean resume(final ComputationHandler handler, final LngEvent event) {
+            if (!handler.shouldResume(event)) {
+                cancelCause = event;
+                return false;
+            }
+            return true;
+        }
+
+        private List<T> propositions(final List<Integer> indices) {
+            final List<T> result = new ArrayList<>(indices.size());
+            for (final int index : indices) {
+                result.add(propositions.get(index));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The builder for a MUS enumeration.
+     */
+    public static final class Builder {
+        private MusConfig musConfig = MusConfig.builder().algorithm(MusConfig.Algorithm.PROGRESSION).build();
+        private int parallelism = 1;
+
+        private Builder() {
+            // Initialize only via factory
+        }
+
+        /**
+         * Sets the MUS configuration for shrinking unsatisfiable seeds. Only
+         * the algorithms {@link MusConfig.Algorithm#PROGRESSION PROGRESSION}
+         * and {@link MusConfig.Algorithm#QUICKXPLAIN QUICKXPLAIN} are
+         * supported, since they work on the incremental selector solver of
+         * the enumeration. (Default: progression with clause set refinement
+         * and model rotation)
+         * @param musConfig the MUS configuration
+         * @return the current builder
+         */
+        public Builder musConfig(final MusConfig musConfig) {
+            this.musConfig = musConfig;
+            return this;
+        }
+
+        /**
+         * Sets the number of workers which shrink and grow seeds in parallel.
+         * Each worker runs in its own thread with its own formula factory and
+         * selector solver, the map solver is shared. The events of all
+         * workers are passed synchronized to the handler, and a cancellation
+         * stops all workers. (Default: 1)
+         * @param parallelism the number of workers
+         * @return the current builder
+         */
+        public Builder parallelism(final int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Builds the MUS enumeration with the current builder's configuration.
+         * @return the MUS enumeration
+         * @throws IllegalArgumentException if the MUS algorithm is not
+         *                                  supported or the parallelism is
+         *                                  less than 1
+         */
+        public MusEnumeration build() {
+            if (musConfig.algorithm != MusConfig.Algorithm.PROGRESSION &&
+                    musConfig.algorithm != MusConfig.Algorithm.QUICKXPLAIN) {
+                throw new IllegalArgumentException("Unsupported MUS algorithm for the MUS enumeration: " +
+                        musConfig.algorithm);
+            }
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("The parallelism must be at least 1, but was " + parallelism);
+            }
+            return new MusEnumeration(this);
+        }
+    }
+}
@@ -17,13 +17,15 @@ import java.util.List;
 /**
  * Computes a minimal unsatisfiable subset (MUS) of a given formula with
  * different algorithms.
- * @version 2.0.0
+ * @version 3.0.0
  * @since 1.1
  */
 public final class MusGeneration {
 
     private final DeletionBasedMus deletion;
     private final PlainInsertionBasedMus insertion;
+    private final QuickXplainMus quickXplain;
+    private final ProgressionBasedMus progression;
 
     /**
      * Constructs a new MUS generator.
@@ -31,6 +33,8 @@ public final class MusGeneration {
     public MusGeneration() {
         deletion = new DeletionBasedMus();
         insertion = new PlainInsertionBasedMus();
+        quickXplain = new QuickXplainMus();
+        progression = new ProgressionBasedMus();
     }
 
     /**
@@ -80,6 +84,10 @@ public final class MusGeneration {
                 return insertion.computeMus(f, propositions, config, handler);
             case DELETION:
                 return deletion.computeMus(f, propositions, config, handler);
+            case QUICKXPLAIN:
+                return quickXplain.computeMus(f, propositions, config, handler);
+            case PROGRESSION:
+                return progression.computeMus(f, propositions, config, handler);
             default:
                 throw new IllegalStateException("Unknown MUS algorithm: " + config.algorithm);
         }
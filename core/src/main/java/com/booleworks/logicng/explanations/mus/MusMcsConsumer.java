@@ -0,0 +1,38 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.explanations.mus;
+
+import com.booleworks.logicng.explanations.UnsatCore;
+import com.booleworks.logicng.propositions.Proposition;
+
+import java.util.List;
+
+/**
+ * A consumer for the MUSes and MCSes of a {@link MusEnumeration}.
+ * <p>
+ * Each MUS (minimal unsatisfiable subset) and each MCS (minimal correction
+ * subset, i.e. a minimal set of propositions whose removal makes the remaining
+ * propositions satisfiable) is passed to the consumer as soon as it is found.
+ * The propositions of a MUS or an MCS are in the order of the input list. The
+ * consumer is never called concurrently, even in a parallel enumeration, and
+ * the enumeration waits until the consumer returns.
+ * @param <T> the type of the propositions
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public interface MusMcsConsumer<T extends Proposition> {
+
+    /**
+     * Consumes a MUS.
+     * @param mus the MUS
+     */
+    void acceptMus(UnsatCore<T> mus);
+
+    /**
+     * Consumes an MCS.
+     * @param mcs the MCS
+     */
+    void acceptMcs(List<T> mcs);
+}
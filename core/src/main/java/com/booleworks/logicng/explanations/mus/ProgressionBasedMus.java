@@ -0,0 +1,180 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.explanations.mus;
+
+import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.MUS_COMPUTATION_STARTED;
+
+import com.booleworks.logicng.explanations.UnsatCore;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.propositions.Proposition;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A progression-based MUS algorithm.
+ * <p>
+ * The algorithm searches the smallest prefix of the remaining candidates
+ * which is unsatisfiable together with the propositions known to be in the
+ * MUS. The prefix grows exponentially until it is unsatisfiable, then a binary
+ * search finds the last proposition of the smallest prefix. This transition
+ * proposition is part of the MUS and all candidates after it are dropped.
+ * All checks run on a single incremental solver with selector variables.
+ * <p>
+ * With {@link MusConfig.Builder#clauseSetRefinement clause set refinement},
+ * the candidates are reduced to the unsat core of each unsatisfiable check.
+ * With {@link MusConfig.Builder#modelRotation model rotation}, the model of
+ * the satisfiable prefix is rotated to find further MUS propositions without
+ * additional SAT calls.
+ * <p>
+ * Based on "Minimal Sets over Monotone Predicates in Boolean Formulae" by
+ * Marques-Silva, Janota, and Belov, and "Accelerating MUS Extraction with
+ * Recursive Model Rotation" by Belov and Marques-Silva.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class ProgressionBasedMus extends MusAlgorithm {
+
+    @Override
+    public <T extends Proposition> LngResult<UnsatCore<T>> computeMus(
+            final FormulaFactory f, final List<T> propositions,
+            final MusConfig config, final ComputationHandler handler) {
+        if (!handler.shouldResume(MUS_COMPUTATION_STARTED)) {
+            return LngResult.canceled(MUS_COMPUTATION_STARTED);
+        }
+        final SelectorSolver solver = new SelectorSolver(f, propositions, config.modelRotation);
+        List<Integer> candidates = new ArrayList<>(propositions.size());
+        for (int i = 0; i < propositions.size(); i++) {
+            candidates.add(i);
+        }
+        final LngResult<Boolean> sat = solver.sat(candidates, handler);
+        if (!sat.isSuccess()) {
+            return LngResult.canceled(sat.getCancelCause());
+        }
+        if (sat.getResult()) {
+            throw new IllegalArgumentException("Cannot compute a MUS for a satisfiable formula set.");
+        }
+        if (config.clauseSetRefinement) {
+            candidates = solver.refine(candidates);
+        }
+        final LngResult<List<Integer>> mus = shrink(solver, candidates, config, handler);
+        if (!mus.isSuccess()) {
+            return LngResult.canceled(mus.getCancelCause());
+        }
+        final List<T> result = new ArrayList<>(mus.getResult().size());
+        for (final int index : mus.getResult()) {
+            result.add(propositions.get(index));
+        }
+        return LngResult.of(new UnsatCore<>(result, true));
+    }
+
+    /**
+     * Shrinks the given unsatisfiable candidates to a MUS.
+     * @param solver     the selector solver
+     * @param candidates the candidates, must be unsatisfiable
+     * @param config     the MUS configuration
+     * @param handler    the computation handler
+     * @return an LNG result containing the sorted indices of the MUS (unless
+     * the handler canceled the computation)
+     */
+    static LngResult<List<Integer>> shrink(final SelectorSolver solver, final List<Integer> candidates,
+                                           final MusConfig config, final ComputationHandler handler) {
+        List<Integer> remaining = candidates;
+        final List<Integer> mus = new ArrayList<>();
+        final BitSet critical = new BitSet();
+        while (!remaining.isEmpty()) {
+            solver.discardModel();
+            final LngResult<List<Integer>> prefix = smallestUnsatPrefix(solver, mus, remaining, config, handler);
+            if (!prefix.isSuccess()) {
+                return LngResult.canceled(prefix.getCancelCause());
+            }
+            remaining = prefix.getResult();
+            if (remaining.isEmpty()) {
+                break;
+            }
+            final int transition = remaining.remove(remaining.size() - 1);
+            mus.add(transition);
+            critical.set(transition);
+            if (config.modelRotation && solver.hasModel()) {
+                final BitSet working = new BitSet();
+                mus.forEach(working::set);
+                remaining.forEach(working::set);
+                final List<Integer> rotated = solver.rotate(transition, working, critical);
+                if (!rotated.isEmpty()) {
+                    mus.addAll(rotated);
+                    remaining.removeIf(critical::get);
+                }
+            }
+        }
+        mus.sort(Integer::compare);
+        return LngResult.of(mus);
+    }
+
+    /**
+     * Computes the smallest prefix of the candidates which is unsatisfiable
+     * together with the MUS propositions. The last proposition of the prefix
+     * is a transition proposition unless the MUS propositions are already
+     * unsatisfiable, in which case the prefix is empty. The model of the last
+     * satisfiable check is the model of the prefix without the transition
+     * proposition.
+     * @param solver     the selector solver
+     * @param mus        the MUS propositions found so far
+     * @param candidates the candidates, unsatisfiable together with the MUS
+     *                   propositions
+     * @param config     the MUS configuration
+     * @param handler    the computation handler
+     * @return an LNG result containing the smallest unsatisfiable prefix
+     * (unless the handler canceled the computation)
+     */
+    private static LngResult<List<Integer>> smallestUnsatPrefix(final SelectorSolver solver, final List<Integer> mus,
+                                                                final List<Integer> candidates,
+                                                                final MusConfig config,
+                                                                final ComputationHandler handler) {
+        List<Integer> current = candidates;
+        int lo = 0;
+        boolean loSat = mus.isEmpty();
+        int hi = current.size();
+        int step = 1;
+        boolean exponential = true;
+        while (hi - lo > 1 || !loSat) {
+            final int k;
+            if (hi - lo <= 1) {
+                k = lo;
+            } else if (exponential) {
+                k = Math.min(lo + step, hi - 1);
+            } else {
+                k = (lo + hi) / 2;
+            }
+            final List<Integer> assumptions = new ArrayList<>(mus);
+            assumptions.addAll(current.subList(0, k));
+            final LngResult<Boolean> sat = solver.sat(assumptions, handler);
+            if (!sat.isSuccess()) {
+                return LngResult.canceled(sat.getCancelCause());
+            }
+            if (sat.getResult()) {
+                lo = k;
+                loSat = true;
+                step *= 2;
+            } else {
+                exponential = false;
+                if (config.clauseSetRefinement) {
+                    final List<Integer> satisfiablePrefix = current.subList(0, lo);
+                    current = solver.refine(current.subList(0, k));
+                    lo = solver.refine(satisfiablePrefix).size();
+                    hi = current.size();
+                } else {
+                    hi = k;
+                }
+                if (hi == 0) {
+                    return LngResult.of(new ArrayList<>());
+                }
+            }
+        }
+        return LngResult.of(new ArrayList<>(current.subList(0, hi)));
+    }
+}
@@ -0,0 +1,141 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.explanations.mus;
+
+import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.MUS_COMPUTATION_STARTED;
+
+import com.booleworks.logicng.explanations.UnsatCore;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.propositions.Proposition;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The QuickXplain MUS algorithm.
+ * <p>
+ * The algorithm splits the candidates into two halves and recursively
+ * computes the MUS propositions of the second half with the first half as
+ * background, and then the MUS propositions of the first half with the found
+ * propositions of the second half as background. If the background alone is
+ * unsatisfiable, no further propositions are required. For small MUSes, the
+ * number of SAT calls is logarithmic in the number of propositions. All checks
+ * run on a single incremental solver with selector variables.
+ * <p>
+ * With {@link MusConfig.Builder#clauseSetRefinement clause set refinement},
+ * the candidates are reduced to the unsat core of the initial check.
+ * <p>
+ * Based on "QUICKXPLAIN: Preferred Explanations and Relaxations for
+ * Over-Constrained Problems" by Junker.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class QuickXplainMus extends MusAlgorithm {
+
+    @Override
+    public <T extends Proposition> LngResult<UnsatCore<T>> computeMus(
+            final FormulaFactory f, final List<T> propositions,
+            final MusConfig config, final ComputationHandler handler) {
+        if (!handler.shouldResume(MUS_COMPUTATION_STARTED)) {
+            return LngResult.canceled(MUS_COMPUTATION_STARTED);
+        }
+        final SelectorSolver solver = new SelectorSolver(f, propositions, false);
+        List<Integer> candidates = new ArrayList<>(propositions.size());
+        for (int i = 0; i < propositions.size(); i++) {
+            candidates.add(i);
+        }
+        final LngResult<Boolean> sat = solver.sat(candidates, handler);
+        if (!sat.isSuccess()) {
+            return LngResult.canceled(sat.getCancelCause());
+        }
+        if (sat.getResult()) {
+            throw new IllegalArgumentException("Cannot compute a MUS for a satisfiable formula set.");
+        }
+        if (config.clauseSetRefinement) {
+            candidates = solver.refine(candidates);
+        }
+        final LngResult<List<Integer>> mus = shrink(solver, candidates, handler);
+        if (!mus.isSuccess()) {
+            return LngResult.canceled(mus.getCancelCause());
+        }
+        final List<T> result = new ArrayList<>(mus.getResult().size());
+        for (final int index : mus.getResult()) {
+            result.add(propositions.get(index));
+        }
+        return LngResult.of(new UnsatCore<>(result, true));
+    }
+
+    /**
+     * Shrinks the given unsatisfiable candidates to a MUS.
+     * @param solver     the selector solver
+     * @param candidates the candidates, must be unsatisfiable
+     * @param handler    the computation handler
+     * @return an LNG result containing the sorted indices of the MUS (unless
+     * the handler canceled the computation)
+     */
+    static LngResult<List<Integer>> shrink(final SelectorSolver solver, final List<Integer> candidates,
+                                           final ComputationHandler handler) {
+        final List<Integer> mus = new ArrayList<>();
+        if (!candidates.isEmpty()) {
+            final LngResult<List<Integer>> result = quickXplain(solver, new ArrayList<>(), false, candidates, handler);
+            if (!result.isSuccess()) {
+                return result;
+            }
+            mus.addAll(result.getResult());
+        }
+        mus.sort(Integer::compare);
+        return LngResult.of(mus);
+    }
+
+    /**
+     * Computes a minimal subset of the candidates which is unsatisfiable
+     * together with the background.
+     * @param solver        the selector solver
+     * @param background    the background, unsatisfiable together with the
+     *                      candidates
+     * @param newBackground whether propositions were added to the background
+     *                      since the last satisfiability check
+     * @param candidates    the non-empty candidates
+     * @param handler       the computation handler
+     * @return an LNG result containing the minimal subset (unless the handler
+     * canceled the computation)
+     */
+    private static LngResult<List<Integer>> quickXplain(final SelectorSolver solver, final List<Integer> background,
+                                                        final boolean newBackground, final List<Integer> candidates,
+                                                        final ComputationHandler handler) {
+        if (newBackground) {
+            final LngResult<Boolean> sat = solver.sat(background, handler);
+            if (!sat.isSuccess()) {
+                return LngResult.canceled(sat.getCancelCause());
+            }
+            if (!sat.getResult()) {
+                return LngResult.of(new ArrayList<>());
+            }
+        }
+        if (candidates.size() == 1) {
+            return LngResult.of(new ArrayList<>(candidates));
+        }
+        final List<Integer> first = candidates.subList(0, candidates.size() / 2);
+        final List<Integer> second = candidates.subList(candidates.size() / 2, candidates.size());
+        final List<Integer> firstBackground = new ArrayList<>(background);
+        firstBackground.addAll(first);
+        final LngResult<List<Integer>> secondResult = quickXplain(solver, firstBackground, true, second, handler);
+        if (!secondResult.isSuccess()) {
+            return secondResult;
+        }
+        final List<Integer> secondBackground = new ArrayList<>(background);
+        secondBackground.addAll(secondResult.getResult());
+        final LngResult<List<Integer>> firstResult =
+                quickXplain(solver, secondBackground, !secondResult.getResult().isEmpty(), first, handler);
+        if (!firstResult.isSuccess()) {
+            return firstResult;
+        }
+        final List<Integer> result = firstResult.getResult();
+        result.addAll(secondResult.getResult());
+        return LngResult.of(result);
+    }
+}
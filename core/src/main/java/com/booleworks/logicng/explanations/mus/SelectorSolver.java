@@ -0,0 +1,248 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.explanations.mus;
+
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.datastructures.Assignment;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.propositions.Proposition;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.sat.LngCoreSolver;
+import com.booleworks.logicng.solvers.sat.SatCall;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A single incremental SAT solver on which each proposition is guarded by a
+ * selector variable. Subsets of the propositions are checked by assuming
+ * their selectors.
+ * <p>
+ * After an unsatisfiable call, the conflict of the assumptions is available
+ * as unsat core over the indices of the propositions. The model of the last
+ * satisfiable call is kept for model rotation.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+final class SelectorSolver {
+
+    static final String SEL_PREFIX = "@SEL_MUS_";
+
+    private final FormulaFactory f;
+    private final List<? extends Proposition> propositions;
+    private final SatSolver solver;
+    private final List<Variable> selectors;
+    private final Map<String, Integer> selectorIndices;
+    private final List<Variable[]> variables;
+    private final Map<Variable, List<Integer>> occurrences;
+    private final SortedSet<Variable> allVariables;
+    private final boolean storeModels;
+    private final BitSet core;
+    private Set<Variable> model;
+
+    /**
+     * Constructs a new selector solver and adds all propositions.
+     * @param f            the formula factory
+     * @param propositions the propositions
+     * @param storeModels  whether the models of satisfiable calls should be
+     *                     stored for model rotation
+     */
+    SelectorSolver(final FormulaFactory f, final List<? extends Proposition> propositions, final boolean storeModels) {
+        this.f = f;
+        this.propositions = propositions;
+        this.storeModels = storeModels;
+        solver = SatSolver.newSolver(f);
+        selectors = new ArrayList<>(propositions.size());
+        selectorIndices = new HashMap<>();
+        variables = new ArrayList<>(propositions.size());
+        occurrences = new HashMap<>();
+        allVariables = new TreeSet<>();
+        core = new BitSet();
+        for (int i = 0; i < propositions.size(); i++) {
+            final Variable selector = f.variable(SEL_PREFIX + i);
+            selectors.add(selector);
+            selectorIndices.put(selector.getName(), i);
+            solver.add(f.or(selector.negate(f), propositions.get(i).getFormula()));
+            if (storeModels) {
+                final SortedSet<Variable> vars = propositions.get(i).getFormula().variables(f);
+                variables.add(vars.toArray(new Variable[0]));
+                for (final Variable var : vars) {
+                    occurrences.computeIfAbsent(var, v -> new ArrayList<>()).add(i);
+                }
+                allVariables.addAll(vars);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of propositions.
+     * @return the number of propositions
+     */
+    int size() {
+        return propositions.size();
+    }
+
+    /**
+     * Checks whether the propositions with the given indices are satisfiable.
+     * @param indices the indices of the propositions
+     * @param handler the computation handler
+     * @return an LNG result containing the satisfiability of the propositions
+     * (unless the handler canceled the computation)
+     */
+    LngResult<Boolean> sat(final Collection<Integer> indices, final ComputationHandler handler) {
+        final List<Literal> assumptions = new ArrayList<>(indices.size());
+        for (final int index : indices) {
+            assumptions.add(selectors.get(index));
+        }
+        core.clear();
+        try (final SatCall satCall = solver.satCall().handler(handler).addFormulas(assumptions).solve()) {
+            final LngResult<Boolean> sat = satCall.getSatResult();
+            if (!sat.isSuccess()) {
+                return sat;
+            }
+            if (sat.getResult()) {
+                if (storeModels) {
+                    model = new HashSet<>(satCall.model(allVariables).positiveVariables());
+                }
+            } else {
+                final LngCoreSolver underlyingSolver = solver.getUnderlyingSolver();
+                final LngIntVector conflict = underlyingSolver.assumptionsConflict();
+                for (int i = 0; i < conflict.size(); i++) {
+                    final Integer index =
+                            selectorIndices.get(underlyingSolver.nameForIdx(LngCoreSolver.var(conflict.get(i))));
+                    if (index != null) {
+                        core.set(index);
+                    }
+                }
+            }
+            return sat;
+        }
+    }
+
+    /**
+     * Returns the indices of the given list which are in the unsat core of the
+     * last unsatisfiable call. The order of the indices is preserved.
+     * @param indices the indices
+     * @return the indices in the unsat core
+     */
+    List<Integer> refine(final List<Integer> indices) {
+        final List<Integer> refined = new ArrayList<>();
+        for (final int index : indices) {
+            if (core.get(index)) {
+                refined.add(index);
+            }
+        }
+        return refined;
+    }
+
+    /**
+     * Returns whether a model of a satisfiable call was stored since the last
+     * call of {@link #discardModel()}.
+     * @return {@code true} if a model is stored
+     */
+    boolean hasModel() {
+        return model != null;
+    }
+
+    /**
+     * Discards the stored model.
+     */
+    void discardModel() {
+        model = null;
+    }
+
+    /**
+     * Returns whether the stored model satisfies the proposition with the
+     * given index.
+     * @param index the index of the proposition
+     * @return {@code true} if the stored model satisfies the proposition
+     */
+    boolean satisfiedByModel(final int index) {
+        return satisfies(model, index);
+    }
+
+    /**
+     * Recursive model rotation. The stored model must
+     * satisfy all propositions of the working set except the given transition
+     * proposition, which is therefore critical for the working set. Flipping
+     * a variable of the transition proposition may yield a model which
+     * falsifies exactly one other proposition of the working set, which is
+     * then critical as well. The rotation continues from each newly found
+     * critical proposition.
+     * @param transition the index of the transition proposition
+     * @param working    the working set, i.e. all propositions which may be
+     *                   part of the MUS
+     * @param critical   the propositions known to be critical, the newly found
+     *                   critical propositions are added to this set
+     * @return the newly found critical propositions
+     */
+    List<Integer> rotate(final int transition, final BitSet working, final BitSet critical) {
+        final List<Integer> found = new ArrayList<>();
+        final Deque<Rotation> stack = new ArrayDeque<>();
+        stack.push(new Rotation(transition, new HashSet<>(model)));
+        while (!stack.isEmpty()) {
+            final Rotation rotation = stack.pop();
+            final Set<Variable> rotated = rotation.model;
+            for (final Variable var : variables.get(rotation.transition)) {
+                flip(rotated, var);
+                int falsified = -1;
+                for (final int index : occurrences.get(var)) {
+                    if (working.get(index) && !satisfies(rotated, index)) {
+                        if (falsified != -1) {
+                            falsified = -2;
+                            break;
+                        }
+                        falsified = index;
+                    }
+                }
+                if (falsified >= 0 && !critical.get(falsified)) {
+                    critical.set(falsified);
+                    found.add(falsified);
+                    stack.push(new Rotation(falsified, new HashSet<>(rotated)));
+                }
+                flip(rotated, var);
+            }
+        }
+        return found;
+    }
+
+    private static void flip(final Set<Variable> positiveVariables, final Variable var) {
+        if (!positiveVariables.remove(var)) {
+            positiveVariables.add(var);
+        }
+    }
+
+    private boolean satisfies(final Set<Variable> positiveVariables, final int index) {
+        final Assignment assignment = new Assignment();
+        for (final Variable var : variables.get(index)) {
+            assignment.addLiteral(positiveVariables.contains(var) ? var : var.negate(f));
+        }
+        return propositions.get(index).getFormula().evaluate(assignment);
+    }
+
+    private static final class Rotation {
+        private final int transition;
+        private final Set<Variable> model;
+
+        private Rotation(final int transition, final Set<Variable> model) {
+            this.transition = transition;
+            this.model = model;
+        }
+    }
+}
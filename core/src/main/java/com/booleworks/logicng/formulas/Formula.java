@@ -4,6 +4,7 @@
 
 package com.booleworks.logicng.formulas;
 
+import com.booleworks.logicng.configurations.ConfigurationType;
 import com.booleworks.logicng.datastructures.Assignment;
 import com.booleworks.logicng.datastructures.Substitution;
 import com.booleworks.logicng.functions.LiteralsFunction;
@@ -15,6 +16,7 @@ import com.booleworks.logicng.handlers.LngResult;
 import com.booleworks.logicng.knowledgecompilation.bdds.Bdd;
 import com.booleworks.logicng.knowledgecompilation.bdds.BddFactory;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernelConfig;
 import com.booleworks.logicng.knowledgecompilation.bdds.orderings.VariableOrderingProvider;
 import com.booleworks.logicng.predicates.CnfPredicate;
 import com.booleworks.logicng.predicates.DnfPredicate;
@@ -352,11 +354,12 @@ public interface Formula extends Iterable<Formula> {
     default Bdd bdd(final FormulaFactory f, final VariableOrderingProvider provider) {
         final Formula formula = nnf(f);
         final int varNum = formula.variables(f).size();
+        final BddKernelConfig config = (BddKernelConfig) f.configurationFor(ConfigurationType.BDD);
         final BddKernel kernel;
         if (provider == null) {
-            kernel = new BddKernel(f, varNum, varNum * 30, varNum * 20);
+            kernel = new BddKernel(f, varNum, varNum * 30, config);
         } else {
-            kernel = new BddKernel(f, provider.getOrder(f, formula), varNum * 30, varNum * 20);
+            kernel = new BddKernel(f, provider.getOrder(f, formula), varNum * 30, config);
         }
         return BddFactory.build(f, formula, kernel);
     }
@@ -11,6 +11,9 @@ import com.booleworks.logicng.explanations.mus.MusConfig;
 import com.booleworks.logicng.formulas.implementation.cached.CachingFormulaFactory;
 import com.booleworks.logicng.formulas.implementation.noncaching.NonCachingFormulaFactory;
 import com.booleworks.logicng.functions.SubNodeFunction;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernelConfig;
+import com.booleworks.logicng.knowledgecompilation.dnnf.DnnfConfig;
+import com.booleworks.logicng.modelcounting.ModelCounterConfig;
 import com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationConfig;
 import com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig;
 import com.booleworks.logicng.solvers.sat.SatSolverConfig;
@@ -169,6 +172,9 @@ public abstract class FormulaFactory {
         configMap.put(ConfigurationType.ADVANCED_SIMPLIFIER, AdvancedSimplifierConfig.builder().build());
         configMap.put(ConfigurationType.MODEL_ENUMERATION, ModelEnumerationConfig.builder().build());
         configMap.put(ConfigurationType.FORMULA_RANDOMIZER, FormulaRandomizerConfig.builder().build());
+        configMap.put(ConfigurationType.BDD, BddKernelConfig.builder().build());
+        configMap.put(ConfigurationType.DNNF, DnnfConfig.builder().build());
+        configMap.put(ConfigurationType.MODEL_COUNTING, ModelCounterConfig.builder().build());
         return configMap;
     }
 
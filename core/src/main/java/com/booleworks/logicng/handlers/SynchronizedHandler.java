@@ -0,0 +1,55 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.handlers;
+
+import com.booleworks.logicng.handlers.events.LngEvent;
+
+/**
+ * A handler which is shared by the worker threads of a parallel computation.
+ * The events of all workers are passed synchronized to the original handler,
+ * once the original handler cancels the computation, all workers are
+ * canceled at their next event.
+ * <p>
+ * Note that the events of the workers are interleaved, so handlers which
+ * track the order of events (e.g. commits and rollbacks of a model
+ * enumeration) only see an approximation of the sequential computation.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class SynchronizedHandler implements ComputationHandler {
+
+    private final ComputationHandler handler;
+    private volatile LngEvent cancelCause;
+
+    /**
+     * Constructs a new synchronized handler for the given handler.
+     * @param handler the original handler
+     */
+    public SynchronizedHandler(final ComputationHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public boolean shouldResume(final LngEvent event) {
+        if (cancelCause != null) {
+            return false;
+        }
+        synchronized (this) {
+            if (cancelCause == null && !handler.shouldResume(event)) {
+                cancelCause = event;
+            }
+            return cancelCause == null;
+        }
+    }
+
+    /**
+     * Returns the event on which the original handler canceled the
+     * computation or {@code null} if it was not canceled.
+     * @return the cancel cause or {@code null}
+     */
+    public LngEvent getCancelCause() {
+        return cancelCause;
+    }
+}
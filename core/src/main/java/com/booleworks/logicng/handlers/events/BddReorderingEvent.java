@@ -0,0 +1,87 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.handlers.events;
+
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddReorderingMethod;
+
+/**
+ * An event created when a BDD kernel performed an automatic variable
+ * reordering pass.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class BddReorderingEvent implements LngEvent {
+
+    private final BddReorderingMethod method;
+    private final int nodesBefore;
+    private final int nodesAfter;
+    private final long duration;
+    private final boolean timeLimitReached;
+
+    /**
+     * Creates a new event for a reordering pass.
+     * @param method           the reordering method
+     * @param nodesBefore      the number of live nodes before the reordering
+     * @param nodesAfter       the number of live nodes after the reordering
+     * @param duration         the duration of the reordering in milliseconds
+     * @param timeLimitReached whether the reordering was stopped early
+     *                         because its time limit was reached
+     */
+    public BddReorderingEvent(final BddReorderingMethod method, final int nodesBefore, final int nodesAfter,
+                              final long duration, final boolean timeLimitReached) {
+        this.method = method;
+        this.nodesBefore = nodesBefore;
+        this.nodesAfter = nodesAfter;
+        this.duration = duration;
+        this.timeLimitReached = timeLimitReached;
+    }
+
+    /**
+     * Returns the reordering method.
+     * @return the reordering method
+     */
+    public BddReorderingMethod getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns the number of live nodes before the reordering.
+     * @return the number of live nodes before the reordering
+     */
+    public int getNodesBefore() {
+        return nodesBefore;
+    }
+
+    /**
+     * Returns the number of live nodes after the reordering.
+     * @return the number of live nodes after the reordering
+     */
+    public int getNodesAfter() {
+        return nodesAfter;
+    }
+
+    /**
+     * Returns the duration of the reordering in milliseconds.
+     * @return the duration of the reordering
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns whether the reordering was stopped early because its time limit
+     * was reached.
+     * @return whether the time limit was reached
+     */
+    public boolean isTimeLimitReached() {
+        return timeLimitReached;
+    }
+
+    @Override
+    public String toString() {
+        return "Event: BDD reordering with " + method + " from " + nodesBefore + " to " + nodesAfter + " nodes in " +
+                duration + "ms" + (timeLimitReached ? " (time limit reached)" : "");
+    }
+}
@@ -33,8 +33,10 @@ public final class ComputationStartedEvent implements LngEvent {
     public static final ComputationStartedEvent IMPLICATE_REDUCTION_STARTED = new ComputationStartedEvent("Implicate Reduction");
     public static final ComputationStartedEvent MUS_COMPUTATION_STARTED = new ComputationStartedEvent("MUS Computation");
     public static final ComputationStartedEvent SMUS_COMPUTATION_STARTED = new ComputationStartedEvent("SMUS Computation");
+    public static final ComputationStartedEvent MUS_ENUMERATION_STARTED = new ComputationStartedEvent("MUS Enumeration");
     public static final ComputationStartedEvent OPTIMIZATION_FUNCTION_STARTED = new ComputationStartedEvent("Optimization Function");
     public static final ComputationStartedEvent MODEL_ENUMERATION_STARTED = new ComputationStartedEvent("Model Enumeration");
+    public static final ComputationStartedEvent MODEL_COUNTING_STARTED = new ComputationStartedEvent("Model Counting");
 
     private final String computationType;
 
@@ -0,0 +1,85 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.handlers.events;
+
+import com.booleworks.logicng.knowledgecompilation.dnnf.DnnfCompiler;
+
+/**
+ * An event created when a {@link DnnfCompiler} finished the compilation. It
+ * contains the statistics of the compilation cache.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class DnnfCacheStatisticsEvent implements LngEvent {
+
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int peakEntries;
+    private final long peakMemory;
+
+    /**
+     * Creates a new event with the given cache statistics.
+     * @param hits        the number of cache hits
+     * @param misses      the number of cache misses
+     * @param evictions   the number of evicted entries
+     * @param peakEntries the maximum number of entries in the cache
+     * @param peakMemory  the maximum estimated memory of the cache in bytes
+     */
+    public DnnfCacheStatisticsEvent(final long hits, final long misses, final long evictions, final int peakEntries,
+                                    final long peakMemory) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.peakEntries = peakEntries;
+        this.peakMemory = peakMemory;
+    }
+
+    /**
+     * Returns the number of cache hits.
+     * @return the number of cache hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of cache misses.
+     * @return the number of cache misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries which were evicted from the cache.
+     * @return the number of evicted entries
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the maximum number of entries in the cache.
+     * @return the maximum number of entries
+     */
+    public int getPeakEntries() {
+        return peakEntries;
+    }
+
+    /**
+     * Returns the maximum estimated memory of the cache in bytes.
+     * @return the maximum memory of the cache
+     */
+    public long getPeakMemory() {
+        return peakMemory;
+    }
+
+    @Override
+    public String toString() {
+        return "Event: DNNF cache statistics: hits=" + hits + ", misses=" + misses + ", evictions=" + evictions +
+                ", peakEntries=" + peakEntries + ", peakMemory=" + peakMemory;
+    }
+}
@@ -5,13 +5,16 @@
 package com.booleworks.logicng.handlers.events;
 
 import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.solvers.functions.LexicographicOptimizationFunction;
 import com.booleworks.logicng.solvers.functions.OptimizationFunction;
+import com.booleworks.logicng.solvers.functions.ParetoFrontFunction;
 
 import java.util.function.Supplier;
 
 /**
- * An event created when the {@link OptimizationFunction} found a better
- * bound.
+ * An event created when the {@link OptimizationFunction}, the
+ * {@link LexicographicOptimizationFunction}, or the {@link ParetoFrontFunction}
+ * found a better bound.
  * @version 3.0.0
  * @since 3.0.0
  */
@@ -24,11 +24,17 @@ public final class SimpleEvent implements LngEvent {
     public static final SimpleEvent BDD_MAKE_NEW_NODE = new SimpleEvent("New node constructed in BDD");
     public static final SimpleEvent DNNF_DTREE_MIN_FILL_GRAPH_INITIALIZED = new SimpleEvent("DNNF DTree MinFill Graph initialized");
     public static final SimpleEvent DNNF_DTREE_MIN_FILL_NEW_ITERATION = new SimpleEvent("DNNF DTree MinFill new iteration");
+    public static final SimpleEvent DNNF_DTREE_MIN_DEGREE_NEW_ITERATION = new SimpleEvent("DNNF DTree MinDegree new iteration");
+    public static final SimpleEvent DNNF_DTREE_HYPERGRAPH_BISECTION = new SimpleEvent("DNNF DTree hypergraph bisection");
     public static final SimpleEvent DNNF_DTREE_PROCESSING_NEXT_ORDER_VARIABLE = new SimpleEvent("DNNF DTree processing next order variable");
     public static final SimpleEvent DNNF_SHANNON_EXPANSION = new SimpleEvent("DNNF Shannon Expansion");
     public static final SimpleEvent SAT_CONFLICT_DETECTED = new SimpleEvent("SAT conflict detected");
     public static final SimpleEvent MODEL_ENUMERATION_COMMIT = new SimpleEvent("Model Enumeration Commit");
     public static final SimpleEvent MODEL_ENUMERATION_ROLLBACK = new SimpleEvent("Model Enumeration Rollback");
+    public static final SimpleEvent MODEL_COUNTING_DECISION = new SimpleEvent("Model Counting Decision");
+    public static final SimpleEvent MAX_SAT_LOCAL_SEARCH_FLIPS = new SimpleEvent("MaxSAT Local Search Flips");
+    public static final SimpleEvent MUS_ENUMERATION_FOUND_MUS = new SimpleEvent("MUS Enumeration found MUS");
+    public static final SimpleEvent MUS_ENUMERATION_FOUND_MCS = new SimpleEvent("MUS Enumeration found MCS");
     public static final SimpleEvent SUBSUMPTION_STARTING_UB_TREE_GENERATION = new SimpleEvent("Starting UB Tree generation");
     public static final SimpleEvent SUBSUMPTION_ADDED_NEW_SET = new SimpleEvent("Adding a new set to the UB Tree");
 
@@ -0,0 +1,66 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.io.readers;
+
+import com.booleworks.logicng.datastructures.CompactModel;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.io.writers.ModelBinaryFileWriter;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A reader for binary model files written by the
+ * {@link ModelBinaryFileWriter}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ModelBinaryFileReader {
+
+    protected ModelBinaryFileReader() {
+        // Intentionally left empty.
+    }
+
+    /**
+     * Reads a given binary model file and returns the contained models. All
+     * models share the same list of variables.
+     * @param f    the formula factory
+     * @param file the file
+     * @return the list of models
+     * @throws IOException if there was a problem reading the file or the file
+     *                     is no binary model file
+     */
+    public static List<CompactModel> readModels(final FormulaFactory f, final File file) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != ModelBinaryFileWriter.MAGIC_NUMBER) {
+                throw new IOException("Not a binary model file: " + file);
+            }
+            final int numberOfVariables = in.readInt();
+            final List<Variable> variables = new ArrayList<>(numberOfVariables);
+            for (int i = 0; i < numberOfVariables; i++) {
+                variables.add(f.variable(in.readUTF()));
+            }
+            final List<Variable> sharedVariables = Collections.unmodifiableList(variables);
+            final byte[] buffer = new byte[Math.max(1, (numberOfVariables + 7) >>> 3)];
+            final List<CompactModel> models = new ArrayList<>();
+            while (in.read(buffer, 0, 1) == 1) {
+                in.readFully(buffer, 1, buffer.length - 1);
+                final long[] bits = new long[(numberOfVariables + 63) >>> 6];
+                for (int i = 0; i < (numberOfVariables + 7) >>> 3; i++) {
+                    bits[i >>> 3] |= (buffer[i] & 0xFFL) << ((i & 7) << 3);
+                }
+                models.add(new CompactModel(sharedVariables, bits));
+            }
+            return models;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.io.writers;
+
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.io.readers.ModelBinaryFileReader;
+import com.booleworks.logicng.solvers.functions.ModelStreamingFunction;
+import com.booleworks.logicng.solvers.functions.modelenumeration.ModelConsumer;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * A model consumer which writes the models of a streaming model enumeration
+ * to a file in a compact binary format.
+ * <p>
+ * The file starts with a header consisting of the magic number
+ * {@link #MAGIC_NUMBER}, the number of variables {@code n}, and the names of
+ * the variables of the variable index. Each model is then written as
+ * {@code max(1, ceil(n / 8))} bytes, where the i-th bit (least significant bit
+ * first) is the phase of the i-th variable. The files can be read with the
+ * {@link ModelBinaryFileReader}.
+ * <p>
+ * Typical usage together with the {@link ModelStreamingFunction}:
+ * <pre>
+ * try (ModelBinaryFileWriter writer = new ModelBinaryFileWriter(file, variables)) {
+ *     solver.execute(ModelStreamingFunction.builder(variables, writer).build());
+ * }
+ * </pre>
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ModelBinaryFileWriter implements ModelConsumer, Closeable {
+
+    /**
+     * The magic number at the beginning of a binary model file.
+     */
+    public static final int MAGIC_NUMBER = 0x4C4E474D;
+
+    private final DataOutputStream out;
+    private final int numberOfVariables;
+    private final byte[] buffer;
+    private long numberOfModels;
+
+    /**
+     * Constructs a new writer and writes the header of the file. The
+     * variables must be the variable index of the streamed models, i.e. the
+     * sorted union of the enumeration variables and the additional variables
+     * (see {@link ModelStreamingFunction#getVariableIndex()}).
+     * @param file      the file
+     * @param variables the variable index of the models
+     * @throws IOException if there was a problem writing the file
+     */
+    public ModelBinaryFileWriter(final File file, final List<Variable> variables) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        numberOfVariables = variables.size();
+        buffer = new byte[Math.max(1, (numberOfVariables + 7) >>> 3)];
+        out.writeInt(MAGIC_NUMBER);
+        out.writeInt(numberOfVariables);
+        for (final Variable var : variables) {
+            out.writeUTF(var.getName());
+        }
+    }
+
+    /**
+     * Writes the given model to the file.
+     * @param variables the variable index of the enumeration
+     * @param bits      the bitset with the phases of the variables
+     * @throws IllegalArgumentException if the number of variables differs
+     *                                  from the header of the file
+     * @throws UncheckedIOException     if there was a problem writing the file
+     */
+    @Override
+    public void accept(final List<Variable> variables, final long[] bits) {
+        if (variables.size() != numberOfVariables) {
+            throw new IllegalArgumentException("Expected models over " + numberOfVariables + " variables, but got " +
+                    variables.size());
+        }
+        for (int i = 0; i < (numberOfVariables + 7) >>> 3; i++) {
+            buffer[i] = (byte) (bits[i >>> 3] >>> ((i & 7) << 3));
+        }
+        try {
+            out.write(buffer);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        numberOfModels++;
+    }
+
+    /**
+     * Returns the number of models written so far.
+     * @return the number of models written so far
+     */
+    public long getNumberOfModels() {
+        return numberOfModels;
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -4,6 +4,7 @@
 
 package com.booleworks.logicng.knowledgecompilation.bdds;
 
+import com.booleworks.logicng.datastructures.CompactModel;
 import com.booleworks.logicng.datastructures.Model;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
@@ -14,24 +15,37 @@ import com.booleworks.logicng.knowledgecompilation.bdds.datastructures.BddNode;
 import com.booleworks.logicng.knowledgecompilation.bdds.functions.BddCnfFunction;
 import com.booleworks.logicng.knowledgecompilation.bdds.functions.BddDnfFunction;
 import com.booleworks.logicng.knowledgecompilation.bdds.functions.BddFunction;
+import com.booleworks.logicng.knowledgecompilation.bdds.functions.BddMarginalsFunction;
 import com.booleworks.logicng.knowledgecompilation.bdds.functions.BddModelEnumerationFunction;
+import com.booleworks.logicng.knowledgecompilation.bdds.functions.BddWeightedModelCountFunction;
 import com.booleworks.logicng.knowledgecompilation.bdds.functions.LngBddFunction;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddConstruction;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddModelIterator;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddOperations;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddReordering;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddSatIterator;
+import com.booleworks.logicng.modelcounting.WeightSemiring;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The internal representation of a BDD.
@@ -251,6 +265,32 @@ public class Bdd {
         return operations.satCount(index);
     }
 
+    /**
+     * Returns the weighted model count of this BDD over all variables of its
+     * kernel. Literals without a weight have the weight one.
+     * @param semiring the semiring in which the count is computed
+     * @param weights  the weights of the literals
+     * @param <T>      the type of the weights
+     * @return the weighted model count
+     */
+    public <T> T weightedModelCount(final WeightSemiring<T> semiring, final Map<? extends Literal, T> weights) {
+        return apply(new BddWeightedModelCountFunction<>(kernel.getFactory(), semiring, weights));
+    }
+
+    /**
+     * Returns the (unnormalized) weighted marginals of all literals of the
+     * variables of this BDD's kernel. Literals without a weight have the
+     * weight one.
+     * @param semiring the semiring in which the marginals are computed
+     * @param weights  the weights of the literals
+     * @param <T>      the type of the weights
+     * @return the mapping from literals to their marginals
+     */
+    public <T> SortedMap<Literal, T> marginals(final WeightSemiring<T> semiring,
+                                              final Map<? extends Literal, T> weights) {
+        return apply(new BddMarginalsFunction<>(kernel.getFactory(), semiring, weights));
+    }
+
     /**
      * Enumerates all models of this BDD.
      * @return the list of all models
@@ -306,6 +346,108 @@ public class Bdd {
         return apply(new BddModelEnumerationFunction(f, variables));
     }
 
+    /**
+     * Returns a lazy stream of all models of this BDD over all variables of
+     * the kernel. In contrast to {@link #enumerateAllModels()}, the models are
+     * computed one at a time while the stream is consumed, so the enumeration
+     * can be terminated early (e.g. via {@link Stream#limit(long)}) and BDDs
+     * with a huge number of models can be processed.
+     * <p>
+     * The kernel must not be modified while the stream is consumed.
+     * @return the stream of models
+     */
+    public Stream<CompactModel> modelStream() {
+        return modelStream(null);
+    }
+
+    /**
+     * Returns a lazy stream of all models of this BDD wrt. a given set of
+     * variables. If the variables are {@code null}, all variables of the
+     * kernel are used. Variables of this BDD which are not in the given set
+     * are existentially quantified before the enumeration, so each projected
+     * model is reported exactly once.
+     * <p>
+     * The kernel must not be modified while the stream is consumed.
+     * @param variables the variables
+     * @return the stream of models
+     */
+    public Stream<CompactModel> modelStream(final Collection<Variable> variables) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(modelIterator(variables),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Returns a lazy iterator over all models of this BDD wrt. a given set of
+     * variables. If the variables are {@code null}, all variables of the
+     * kernel are used. The variables of the models are ordered by their index
+     * in the kernel.
+     * <p>
+     * The kernel must not be modified during the iteration.
+     * @param variables the variables
+     * @return the iterator over the models
+     */
+    public Iterator<CompactModel> modelIterator(final Collection<Variable> variables) {
+        final Set<Variable> relevant = variables == null ? null : new HashSet<>(variables);
+        final List<Variable> modelVariables = new ArrayList<>();
+        for (final int idx : new TreeSet<>(kernel.var2idx().values())) {
+            final Variable var = kernel.getVariableForIndex(idx);
+            if (relevant == null || relevant.contains(var)) {
+                modelVariables.add(var);
+            }
+        }
+        int root = index;
+        if (relevant != null) {
+            final List<Variable> quantified = new ArrayList<>();
+            for (final Variable var : support()) {
+                if (!relevant.contains(var)) {
+                    quantified.add(var);
+                }
+            }
+            if (!quantified.isEmpty()) {
+                root = exists(quantified).index;
+            }
+        }
+        return new BddModelIterator(kernel, root, modelVariables);
+    }
+
+    /**
+     * Returns a lazy stream of the cubes of this BDD, i.e. its paths to the
+     * one-terminal. Each cube is a model containing only the literals of the
+     * variables assigned on the path, the remaining variables are
+     * don't-cares. The cubes are pairwise disjoint.
+     * <p>
+     * The kernel must not be modified while the stream is consumed.
+     * @return the stream of cubes
+     */
+    public Stream<Model> cubeStream() {
+        return cubeStream(kernel.getFactory());
+    }
+
+    /**
+     * Returns a lazy stream of the cubes of this BDD, i.e. its paths to the
+     * one-terminal. Each cube is a model containing only the literals of the
+     * variables assigned on the path, the remaining variables are
+     * don't-cares. The cubes are pairwise disjoint.
+     * <p>
+     * The kernel must not be modified while the stream is consumed.
+     * @param f the formula factory to generate new formulas
+     * @return the stream of cubes
+     */
+    public Stream<Model> cubeStream(final FormulaFactory f) {
+        final BddSatIterator cubes = operations.allSatIterator(index);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cubes,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).map(cube -> {
+            final List<Literal> literals = new ArrayList<>();
+            for (int i = 0; i < cube.length; i++) {
+                if (cube[i] != -1) {
+                    final Variable var = kernel.getVariableForIndex(i);
+                    literals.add(cube[i] == 1 ? var : var.negate(f));
+                }
+            }
+            return new Model(literals);
+        });
+    }
+
     /**
      * Returns a CNF formula for this BDD.
      * @return the CNF for the formula represented by this BDD
@@ -8,21 +8,38 @@ import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.BDD
 import static com.booleworks.logicng.handlers.events.SimpleEvent.BDD_MAKE_NEW_NODE;
 import static com.booleworks.logicng.handlers.events.SimpleEvent.BDD_NEW_REF_ADDED;
 
+import com.booleworks.logicng.configurations.ConfigurationType;
 import com.booleworks.logicng.formulas.And;
 import com.booleworks.logicng.formulas.BinaryOperator;
+import com.booleworks.logicng.formulas.FType;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.formulas.Implication;
 import com.booleworks.logicng.formulas.Literal;
 import com.booleworks.logicng.formulas.Not;
+import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.handlers.ComputationHandler;
 import com.booleworks.logicng.handlers.LngResult;
 import com.booleworks.logicng.handlers.NopHandler;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddConstruction;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernelConfig;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.ParallelBddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.orderings.ConjunctionSchedule;
+import com.booleworks.logicng.predicates.ContainsPbcPredicate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
 
 /**
  * The factory for the jBuddy implementation.
@@ -89,7 +106,9 @@ public class BddFactory {
             return LngResult.canceled(BDD_COMPUTATION_STARTED);
         }
         final int varNum = formula.variables(f).size();
-        final BddKernel bddKernel = kernel == null ? new BddKernel(f, varNum, varNum * 30, varNum * 20) : kernel;
+        final BddKernel bddKernel = kernel == null
+                ? new BddKernel(f, varNum, varNum * 30, (BddKernelConfig) f.configurationFor(ConfigurationType.BDD))
+                : kernel;
         final int bddIndex = buildRec(f, formula, bddKernel, new BddConstruction(bddKernel), handler);
         if (bddIndex == BddKernel.BDD_ABORT_NEW_NODE) {
             return LngResult.canceled(BDD_MAKE_NEW_NODE);
@@ -100,6 +119,405 @@ public class BddFactory {
         }
     }
 
+    /**
+     * Builds a BDD for a given formula using a {@link ParallelBddKernel} with
+     * the given number of worker threads. The BDD is constructed in the
+     * parallel kernel and then transferred to the given kernel. Therefore, the
+     * result is the same as for {@link #build(FormulaFactory, Formula,
+     * BddKernel)}. Pseudo-Boolean constraints are transformed to NNF before
+     * the construction.
+     * <p>
+     * The parallel kernel and its worker threads are created for this
+     * construction only and are released before this method returns.
+     * @param f           the formula factory to generate new formulas
+     * @param formula     the formula
+     * @param kernel      the BBD kernel to use
+     * @param parallelism the number of worker threads
+     * @return the top node of the BDD
+     */
+    public static Bdd buildParallel(final FormulaFactory f, final Formula formula, final BddKernel kernel,
+                                    final int parallelism) {
+        return buildParallel(f, formula, kernel, parallelism, NopHandler.get()).getResult();
+    }
+
+    /**
+     * Builds a BDD for a given formula using a {@link ParallelBddKernel} with
+     * the given number of worker threads. The BDD is constructed in the
+     * parallel kernel and then transferred to the given kernel. Therefore, the
+     * result is the same as for {@link #build(FormulaFactory, Formula,
+     * BddKernel, ComputationHandler)}. Pseudo-Boolean constraints are
+     * transformed to NNF before the construction.
+     * <p>
+     * The parallel kernel and its worker threads are created for this
+     * construction only and are released before this method returns, also if
+     * the computation is canceled.
+     * @param f           the formula factory to generate new formulas
+     * @param formula     the formula
+     * @param kernel      the BBD kernel to use
+     * @param parallelism the number of worker threads
+     * @param handler     the handler
+     * @return the top node of the BDD or the canceling reason if the
+     * computation was canceled
+     */
+    public static LngResult<Bdd> buildParallel(final FormulaFactory f, final Formula formula, final BddKernel kernel,
+                                               final int parallelism, final ComputationHandler handler) {
+        if (!handler.shouldResume(BDD_COMPUTATION_STARTED)) {
+            return LngResult.canceled(BDD_COMPUTATION_STARTED);
+        }
+        final Formula input = formula.holds(new ContainsPbcPredicate()) ? formula.nnf(f) : formula;
+        final int varNum = input.variables(f).size();
+        final BddKernel bddKernel = kernel == null
+                ? new BddKernel(f, varNum, varNum * 30, (BddKernelConfig) f.configurationFor(ConfigurationType.BDD))
+                : kernel;
+        registerVariables(input, bddKernel);
+        try (final ParallelBddKernel parallelKernel = new ParallelBddKernel(bddKernel, parallelism)) {
+            final int root = parallelKernel.execute(() -> buildParallelRec(input, parallelKernel, handler), handler);
+            if (root == BddKernel.BDD_ABORT_NEW_NODE) {
+                return LngResult.canceled(BDD_MAKE_NEW_NODE);
+            } else if (root == BddKernel.BDD_ABORT_NEW_REF) {
+                return LngResult.canceled(BDD_NEW_REF_ADDED);
+            }
+            return LngResult.of(new Bdd(parallelKernel.transferTo(root), bddKernel));
+        }
+    }
+
+    /**
+     * Registers the variables of the formula in the kernel in the same order
+     * in which {@link #buildRec} would register them.
+     * @param formula the formula
+     * @param kernel  the BDD kernel
+     */
+    protected static void registerVariables(final Formula formula, final BddKernel kernel) {
+        if (formula.getType() == FType.LITERAL) {
+            kernel.getOrAddVarIndex(((Literal) formula).variable());
+        } else if (formula.getType() == FType.PREDICATE) {
+            throw new IllegalArgumentException("Cannot generate a BDD from a formula with predicates in it");
+        } else {
+            for (final Formula op : formula) {
+                registerVariables(op, kernel);
+            }
+        }
+    }
+
+    /**
+     * Recursive build procedure for the parallel BDD construction. The
+     * procedure is executed in the worker pool of the parallel kernel, the
+     * operations on the BDDs are parallelized by the kernel.
+     * @param formula the formula
+     * @param kernel  the parallel BDD kernel
+     * @param handler the handler
+     * @return the BDD index in the parallel kernel or canceling cause if the
+     * computation was canceled
+     */
+    protected static int buildParallelRec(final Formula formula, final ParallelBddKernel kernel,
+                                          final ComputationHandler handler) {
+        switch (formula.getType()) {
+            case FALSE:
+                return BddKernel.BDD_FALSE;
+            case TRUE:
+                return BddKernel.BDD_TRUE;
+            case LITERAL:
+                return kernel.literal((Literal) formula);
+            case NOT: {
+                final int operand = buildParallelRec(((Not) formula).getOperand(), kernel, handler);
+                return BddKernel.isAborted(operand) ? operand : kernel.not(operand, handler);
+            }
+            case IMPL:
+            case EQUIV: {
+                final BinaryOperator binary = (BinaryOperator) formula;
+                final int left = buildParallelRec(binary.getLeft(), kernel, handler);
+                if (BddKernel.isAborted(left)) {
+                    return left;
+                }
+                final int right = buildParallelRec(binary.getRight(), kernel, handler);
+                if (BddKernel.isAborted(right)) {
+                    return right;
+                }
+                return binary instanceof Implication ? kernel.implication(left, right, handler)
+                                                     : kernel.equivalence(left, right, handler);
+            }
+            case AND:
+            case OR: {
+                final Iterator<Formula> it = formula.iterator();
+                int res = buildParallelRec(it.next(), kernel, handler);
+                while (it.hasNext() && !BddKernel.isAborted(res)) {
+                    final int operand = buildParallelRec(it.next(), kernel, handler);
+                    if (BddKernel.isAborted(operand)) {
+                        return operand;
+                    }
+                    res = formula instanceof And ? kernel.and(res, operand, handler) : kernel.or(res, operand, handler);
+                }
+                return res;
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported operator for BDD generation: " + formula.getType());
+        }
+    }
+
+    /**
+     * Builds a BDD for a given formula with a partitioned construction. The
+     * conjuncts of the formula are clustered by their variable support and
+     * the clusters are conjoined in the order of the given schedule. This
+     * avoids the large intermediate BDDs which a construction in the order of
+     * the operands can produce for large conjunctions.
+     * @param f        the formula factory to generate new formulas
+     * @param formula  the formula
+     * @param kernel   the BBD kernel to use
+     * @param schedule the schedule for the clusters
+     * @return the top node of the BDD
+     */
+    public static Bdd buildPartitioned(final FormulaFactory f, final Formula formula, final BddKernel kernel,
+                                       final ConjunctionSchedule schedule) {
+        return buildPartitioned(f, formula, kernel, schedule, null, NopHandler.get()).getResult();
+    }
+
+    /**
+     * Builds a BDD for a given formula with a partitioned construction. The
+     * conjuncts of the formula are clustered by their variable support and
+     * the clusters are conjoined in the order of the given schedule.
+     * <p>
+     * If a projection is given, the result is the BDD of the formula
+     * projected to these variables. Each variable which is not in the
+     * projection is existentially quantified as soon as the last cluster
+     * containing it was conjoined, so the intermediate BDDs never contain
+     * variables which are not required anymore.
+     * @param f          the formula factory to generate new formulas
+     * @param formula    the formula
+     * @param kernel     the BBD kernel to use
+     * @param schedule   the schedule for the clusters
+     * @param projection the variables to project the result to or
+     *                   {@code null} if no projection should be performed
+     * @param handler    the handler
+     * @return the top node of the BDD or the canceling reason if the
+     * computation was canceled
+     */
+    public static LngResult<Bdd> buildPartitioned(final FormulaFactory f, final Formula formula,
+                                                  final BddKernel kernel, final ConjunctionSchedule schedule,
+                                                  final Collection<Variable> projection,
+                                                  final ComputationHandler handler) {
+        if (!handler.shouldResume(BDD_COMPUTATION_STARTED)) {
+            return LngResult.canceled(BDD_COMPUTATION_STARTED);
+        }
+        final Formula input = formula.holds(new ContainsPbcPredicate()) ? formula.nnf(f) : formula;
+        final int varNum = input.variables(f).size();
+        final BddKernel bddKernel = kernel == null
+                ? new BddKernel(f, varNum, varNum * 30, (BddKernelConfig) f.configurationFor(ConfigurationType.BDD))
+                : kernel;
+        registerVariables(input, bddKernel);
+        final List<Formula> conjuncts = new ArrayList<>();
+        if (input.getType() == FType.AND) {
+            input.forEach(conjuncts::add);
+        } else {
+            conjuncts.add(input);
+        }
+        final List<Cluster> clusters = scheduleClusters(clusterBySupport(f, conjuncts, bddKernel), schedule,
+                bddKernel);
+        final List<List<Variable>> quantifiable = new ArrayList<>(clusters.size());
+        if (projection != null) {
+            final Set<Variable> projectionSet = new HashSet<>(projection);
+            final Map<Variable, Integer> lastOccurrence = new HashMap<>();
+            for (int i = 0; i < clusters.size(); i++) {
+                quantifiable.add(new ArrayList<>());
+                for (final Formula conjunct : clusters.get(i).conjuncts) {
+                    for (final Variable var : conjunct.variables(f)) {
+                        if (!projectionSet.contains(var)) {
+                            lastOccurrence.put(var, i);
+                        }
+                    }
+                }
+            }
+            lastOccurrence.forEach((var, i) -> quantifiable.get(i).add(var));
+        }
+        final BddConstruction construction = new BddConstruction(bddKernel);
+        int res = BddKernel.BDD_TRUE;
+        for (int i = 0; i < clusters.size() && res != BddKernel.BDD_FALSE; i++) {
+            for (final Formula conjunct : clusters.get(i).conjuncts) {
+                final int operand = buildRec(f, conjunct, bddKernel, construction, handler);
+                if (BddKernel.isAborted(operand)) {
+                    return canceledResult(operand);
+                }
+                final int previous = res;
+                res = addRefOrAbort(bddKernel, construction.and(res, operand, handler), handler);
+                if (BddKernel.isAborted(res)) {
+                    return canceledResult(res);
+                }
+                bddKernel.delRef(previous);
+                bddKernel.delRef(operand);
+            }
+            final List<Variable> quantified = projection == null ? Collections.emptyList() : quantifiable.get(i);
+            if (!quantified.isEmpty()) {
+                final int cube = build(quantified, bddKernel).getIndex();
+                final int previous = res;
+                res = addRefOrAbort(bddKernel, construction.exists(res, cube, handler), handler);
+                if (BddKernel.isAborted(res)) {
+                    return canceledResult(res);
+                }
+                bddKernel.delRef(previous);
+                bddKernel.delRef(cube);
+            }
+        }
+        return LngResult.of(new Bdd(res, bddKernel));
+    }
+
+    private static int addRefOrAbort(final BddKernel kernel, final int node, final ComputationHandler handler) {
+        return BddKernel.isAborted(node) ? node : kernel.addRef(node, handler);
+    }
+
+    private static LngResult<Bdd> canceledResult(final int abortionCode) {
+        return LngResult.canceled(abortionCode == BddKernel.BDD_ABORT_NEW_REF ? BDD_NEW_REF_ADDED : BDD_MAKE_NEW_NODE);
+    }
+
+    /**
+     * Clusters the given conjuncts by their support: a conjunct whose support
+     * is contained in the support of a larger conjunct is put into the
+     * cluster of this conjunct. Within a cluster, the conjuncts keep their
+     * original order.
+     * @param f         the formula factory
+     * @param conjuncts the conjuncts
+     * @param kernel    the BDD kernel in which the variables are registered
+     * @return the clusters in the order of their first conjunct
+     */
+    protected static List<Cluster> clusterBySupport(final FormulaFactory f, final List<Formula> conjuncts,
+                                                    final BddKernel kernel) {
+        final List<int[]> supports = new ArrayList<>(conjuncts.size());
+        for (final Formula conjunct : conjuncts) {
+            final SortedSet<Variable> variables = conjunct.variables(f);
+            final int[] support = new int[variables.size()];
+            int i = 0;
+            for (final Variable var : variables) {
+                support[i++] = kernel.getOrAddVarIndex(var);
+            }
+            Arrays.sort(support);
+            supports.add(support);
+        }
+        final Integer[] bySize = new Integer[conjuncts.size()];
+        for (int i = 0; i < bySize.length; i++) {
+            bySize[i] = i;
+        }
+        Arrays.sort(bySize, (i, j) -> supports.get(j).length != supports.get(i).length
+                ? supports.get(j).length - supports.get(i).length : i - j);
+        final List<Cluster> clusters = new ArrayList<>();
+        final Map<Integer, List<Cluster>> clustersOfVariable = new HashMap<>();
+        for (final int index : bySize) {
+            final int[] support = supports.get(index);
+            Cluster target = null;
+            if (support.length > 0) {
+                for (final Cluster candidate : clustersOfVariable.getOrDefault(support[0], Collections.emptyList())) {
+                    if (candidate.containsAll(support)) {
+                        target = candidate;
+                        break;
+                    }
+                }
+            }
+            if (target == null) {
+                target = new Cluster(support);
+                clusters.add(target);
+                for (final int var : support) {
+                    clustersOfVariable.computeIfAbsent(var, k -> new ArrayList<>()).add(target);
+                }
+            }
+            target.indices.add(index);
+        }
+        for (final Cluster cluster : clusters) {
+            Collections.sort(cluster.indices);
+            cluster.firstIndex = cluster.indices.get(0);
+            for (final int index : cluster.indices) {
+                cluster.conjuncts.add(conjuncts.get(index));
+            }
+        }
+        clusters.sort(Comparator.comparingInt(c -> c.firstIndex));
+        return clusters;
+    }
+
+    /**
+     * Orders the clusters according to the given schedule.
+     * @param clusters the clusters in the order of their first conjunct
+     * @param schedule the schedule
+     * @param kernel   the BDD kernel
+     * @return the ordered clusters
+     */
+    protected static List<Cluster> scheduleClusters(final List<Cluster> clusters, final ConjunctionSchedule schedule,
+                                                    final BddKernel kernel) {
+        switch (schedule) {
+            case INPUT:
+                return clusters;
+            case VARIABLE_ORDER: {
+                final int[] order = kernel.getCurrentVarOrder();
+                final int[] var2pos = new int[order.length];
+                for (int i = 0; i < order.length; i++) {
+                    var2pos[order[i]] = i;
+                }
+                for (final Cluster cluster : clusters) {
+                    cluster.minPosition = Integer.MAX_VALUE;
+                    cluster.maxPosition = -1;
+                    for (final int var : cluster.support) {
+                        cluster.minPosition = Math.min(cluster.minPosition, var2pos[var]);
+                        cluster.maxPosition = Math.max(cluster.maxPosition, var2pos[var]);
+                    }
+                }
+                final List<Cluster> result = new ArrayList<>(clusters);
+                result.sort(Comparator.<Cluster>comparingInt(c -> c.maxPosition)
+                        .thenComparingInt(c -> c.minPosition).thenComparingInt(c -> c.firstIndex));
+                return result;
+            }
+            case MIN_CUT:
+                return scheduleMinCut(clusters, kernel.getCurrentVarOrder().length);
+            default:
+                throw new IllegalArgumentException("Unknown conjunction schedule: " + schedule);
+        }
+    }
+
+    private static List<Cluster> scheduleMinCut(final List<Cluster> clusters, final int numVars) {
+        final int[] occurrences = new int[numVars];
+        for (final Cluster cluster : clusters) {
+            for (final int var : cluster.support) {
+                occurrences[var]++;
+            }
+        }
+        final boolean[] alive = new boolean[numVars];
+        int numAlive = 0;
+        final List<Cluster> remaining = new ArrayList<>(clusters);
+        final List<Cluster> result = new ArrayList<>(clusters.size());
+        while (!remaining.isEmpty()) {
+            int bestIndex = -1;
+            int bestAlive = Integer.MAX_VALUE;
+            int bestOverlap = -1;
+            for (int i = 0; i < remaining.size(); i++) {
+                int newAlive = numAlive;
+                int overlap = 0;
+                for (final int var : remaining.get(i).support) {
+                    if (alive[var]) {
+                        overlap++;
+                    } else {
+                        newAlive++;
+                    }
+                    if (occurrences[var] == 1) {
+                        newAlive--;
+                    }
+                }
+                if (newAlive < bestAlive || newAlive == bestAlive && overlap > bestOverlap) {
+                    bestIndex = i;
+                    bestAlive = newAlive;
+                    bestOverlap = overlap;
+                }
+            }
+            final Cluster best = remaining.remove(bestIndex);
+            for (final int var : best.support) {
+                if (--occurrences[var] == 0) {
+                    if (alive[var]) {
+                        alive[var] = false;
+                        numAlive--;
+                    }
+                } else if (!alive[var]) {
+                    alive[var] = true;
+                    numAlive++;
+                }
+            }
+            result.add(best);
+        }
+        return result;
+    }
+
     /**
      * Builds an BDD for a set of literals. The set is interpreted as the
      * conjunction of the literals.
@@ -223,4 +641,29 @@ public class BddFactory {
                 throw new IllegalArgumentException("Unsupported operator for BDD generation: " + formula.getType());
         }
     }
+
+    /**
+     * A cluster of conjuncts for the partitioned BDD construction.
+     */
+    protected static final class Cluster {
+        private final int[] support;
+        private final List<Integer> indices = new ArrayList<>();
+        private final List<Formula> conjuncts = new ArrayList<>();
+        private int firstIndex;
+        private int minPosition;
+        private int maxPosition;
+
+        private Cluster(final int[] support) {
+            this.support = support;
+        }
+
+        private boolean containsAll(final int[] vars) {
+            for (final int var : vars) {
+                if (Arrays.binarySearch(support, var) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
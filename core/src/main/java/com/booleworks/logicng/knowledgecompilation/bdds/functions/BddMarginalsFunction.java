@@ -0,0 +1,68 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds.functions;
+
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.knowledgecompilation.bdds.Bdd;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddOperations;
+import com.booleworks.logicng.modelcounting.WeightSemiring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Computes the weighted marginals of all literals of the variables of a BDD's
+ * kernel. The marginal of a literal is the weighted model count of the BDD
+ * conjoined with the literal. It is not normalized, i.e. dividing it by the
+ * weighted model count yields the probability of the literal.
+ * <p>
+ * All marginals are computed in one bottom-up and one top-down pass over the
+ * BDD. Literals without a weight have the weight {@link WeightSemiring#one()
+ * one}.
+ * @param <T> the type of the weights
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class BddMarginalsFunction<T> extends BddFunction<SortedMap<Literal, T>> {
+
+    protected final WeightSemiring<T> semiring;
+    protected final Map<? extends Literal, T> weights;
+
+    /**
+     * Constructs a new marginals function.
+     * @param f        the formula factory
+     * @param semiring the semiring in which the marginals are computed
+     * @param weights  the weights of the literals
+     */
+    public BddMarginalsFunction(final FormulaFactory f, final WeightSemiring<T> semiring,
+                                final Map<? extends Literal, T> weights) {
+        super(f);
+        this.semiring = semiring;
+        this.weights = weights;
+    }
+
+    @Override
+    public SortedMap<Literal, T> apply(final Bdd bdd) {
+        final BddKernel kernel = bdd.getUnderlyingKernel();
+        final List<T> pos = new ArrayList<>();
+        final List<T> neg = new ArrayList<>();
+        BddWeightedModelCountFunction.weightVectors(f, kernel, semiring, weights, pos, neg);
+        final List<T> posMarginals = new ArrayList<>();
+        final List<T> negMarginals = new ArrayList<>();
+        new BddOperations(kernel).weightedMarginals(bdd.getIndex(), semiring, pos, neg, posMarginals, negMarginals);
+        final SortedMap<Literal, T> result = new TreeMap<>();
+        for (final Map.Entry<Variable, Integer> entry : kernel.var2idx().entrySet()) {
+            result.put(entry.getKey(), posMarginals.get(entry.getValue()));
+            result.put(entry.getKey().negate(f), negMarginals.get(entry.getValue()));
+        }
+        return result;
+    }
+}
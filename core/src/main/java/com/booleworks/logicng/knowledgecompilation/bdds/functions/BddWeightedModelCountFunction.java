@@ -0,0 +1,84 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds.functions;
+
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.knowledgecompilation.bdds.Bdd;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddOperations;
+import com.booleworks.logicng.modelcounting.WeightSemiring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the weighted model count of a BDD over all variables of its
+ * kernel, i.e. the sum over all models of the product of the weights of their
+ * literals. Literals without a weight have the weight {@link WeightSemiring#one()
+ * one}, so with an empty weight map the result is the model count.
+ * @param <T> the type of the weights
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class BddWeightedModelCountFunction<T> extends BddFunction<T> {
+
+    protected final WeightSemiring<T> semiring;
+    protected final Map<? extends Literal, T> weights;
+
+    /**
+     * Constructs a new weighted model count function.
+     * @param f        the formula factory
+     * @param semiring the semiring in which the count is computed
+     * @param weights  the weights of the literals
+     */
+    public BddWeightedModelCountFunction(final FormulaFactory f, final WeightSemiring<T> semiring,
+                                         final Map<? extends Literal, T> weights) {
+        super(f);
+        this.semiring = semiring;
+        this.weights = weights;
+    }
+
+    @Override
+    public T apply(final Bdd bdd) {
+        final BddKernel kernel = bdd.getUnderlyingKernel();
+        final List<T> pos = new ArrayList<>();
+        final List<T> neg = new ArrayList<>();
+        weightVectors(f, kernel, semiring, weights, pos, neg);
+        return new BddOperations(kernel).weightedCount(bdd.getIndex(), semiring, pos, neg);
+    }
+
+    /**
+     * Fills the weight vectors indexed by the variable index of the kernel.
+     * @param f        the formula factory
+     * @param kernel   the kernel
+     * @param semiring the semiring
+     * @param weights  the weights of the literals
+     * @param pos      the list for the weights of the positive literals
+     * @param neg      the list for the weights of the negative literals
+     * @param <T>      the type of the weights
+     */
+    protected static <T> void weightVectors(final FormulaFactory f, final BddKernel kernel,
+                                            final WeightSemiring<T> semiring,
+                                            final Map<? extends Literal, T> weights, final List<T> pos,
+                                            final List<T> neg) {
+        final int numVars = kernel.getCurrentVarOrder().length;
+        pos.addAll(Collections.nCopies(numVars, semiring.one()));
+        neg.addAll(Collections.nCopies(numVars, semiring.one()));
+        for (final Map.Entry<Variable, Integer> entry : kernel.var2idx().entrySet()) {
+            final T posWeight = weights.get(entry.getKey());
+            final T negWeight = weights.get(entry.getKey().negate(f));
+            if (posWeight != null) {
+                pos.set(entry.getValue(), posWeight);
+            }
+            if (negWeight != null) {
+                neg.set(entry.getValue(), negWeight);
+            }
+        }
+    }
+}
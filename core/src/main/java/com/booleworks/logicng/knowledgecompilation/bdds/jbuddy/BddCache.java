@@ -4,8 +4,15 @@
 
 package com.booleworks.logicng.knowledgecompilation.bdds.jbuddy;
 
+import java.math.BigInteger;
+
 /**
  * BDD Cache.
+ * <p>
+ * Besides storing the cached operation results, the cache counts its lookups,
+ * hits and overwrites. These numbers are used by the kernel to adapt the
+ * size of the cache if adaptive caching is enabled and are reported in the
+ * {@link BddKernel.BddStatistics kernel statistics}.
  * @version 3.0.0
  * @since 1.4.0
  */
@@ -13,6 +20,13 @@ public class BddCache {
     private final BddPrime prime;
     private BddCacheEntry[] table;
 
+    private long lookups;
+    private long hits;
+    private long overwrites;
+    private int resizes;
+    private long lookupsSinceAdaption;
+    private long hitsSinceAdaption;
+
     /**
      * Constructs a new BDD cache of a given size (number of entries in the
      * cache).
@@ -45,6 +59,29 @@ public class BddCache {
         }
     }
 
+    /**
+     * Adapts the size of this cache. If the hit ratio since the last
+     * adaption is at least {@code minHitRatio} and the cache is smaller than
+     * {@code maxSize}, the cache is doubled (but not beyond {@code maxSize}).
+     * Since a resize clears the cache, this method should only be called when
+     * the cache is reset anyway, e.g. after a garbage collection.
+     * @param minHitRatio the minimal hit ratio required to grow the cache
+     * @param maxSize     the maximum number of entries of the cache
+     * @return {@code true} if the cache was resized, {@code false} otherwise
+     */
+    protected boolean adapt(final double minHitRatio, final int maxSize) {
+        final boolean grow = lookupsSinceAdaption > 0 && table.length < maxSize &&
+                (double) hitsSinceAdaption / lookupsSinceAdaption >= minHitRatio;
+        lookupsSinceAdaption = 0;
+        hitsSinceAdaption = 0;
+        if (!grow) {
+            return false;
+        }
+        resize(Math.min(maxSize, table.length * 2));
+        resizes++;
+        return true;
+    }
+
     /**
      * Looks up a given hash value in the cache and returns the respective cache
      * entry.
@@ -55,6 +92,120 @@ public class BddCache {
      * @return the respective entry in the cache
      */
     BddCacheEntry lookup(final int hash) {
+        lookups++;
+        lookupsSinceAdaption++;
         return table[Math.abs(hash % table.length)];
     }
+
+    /**
+     * Records that the last lookup in the cache was a hit.
+     */
+    void hit() {
+        hits++;
+        hitsSinceAdaption++;
+    }
+
+    /**
+     * Stores a result for a unary operation in the given entry.
+     * @param entry the cache entry from the last lookup
+     * @param a     the operand
+     * @param c     the operation id
+     * @param res   the result
+     */
+    void store(final BddCacheEntry entry, final int a, final int c, final int res) {
+        store(entry, a, entry.b, c, res);
+    }
+
+    /**
+     * Stores a result for a binary operation in the given entry.
+     * @param entry the cache entry from the last lookup
+     * @param a     the first operand
+     * @param b     the second operand
+     * @param c     the operation id
+     * @param res   the result
+     */
+    void store(final BddCacheEntry entry, final int a, final int b, final int c, final int res) {
+        countOverwrite(entry);
+        entry.a = a;
+        entry.b = b;
+        entry.c = c;
+        entry.res = res;
+    }
+
+    /**
+     * Stores a big integer result for a unary operation in the given entry.
+     * @param entry the cache entry from the last lookup
+     * @param a     the operand
+     * @param c     the operation id
+     * @param res   the result
+     */
+    void store(final BddCacheEntry entry, final int a, final int c, final BigInteger res) {
+        countOverwrite(entry);
+        entry.a = a;
+        entry.c = c;
+        entry.bdres = res;
+    }
+
+    /**
+     * Stores an arbitrary result value for a unary operation in the given
+     * entry.
+     * @param entry the cache entry from the last lookup
+     * @param a     the operand
+     * @param c     the operation id
+     * @param value the result
+     */
+    void storeValue(final BddCacheEntry entry, final int a, final int c, final Object value) {
+        countOverwrite(entry);
+        entry.a = a;
+        entry.c = c;
+        entry.value = value;
+    }
+
+    private void countOverwrite(final BddCacheEntry entry) {
+        if (entry.a != -1) {
+            overwrites++;
+        }
+    }
+
+    /**
+     * Returns the current number of entries in this cache.
+     * @return the current number of entries
+     */
+    public int size() {
+        return table.length;
+    }
+
+    /**
+     * Returns the number of lookups in this cache.
+     * @return the number of lookups
+     */
+    public long lookups() {
+        return lookups;
+    }
+
+    /**
+     * Returns the number of cache hits.
+     * @return the number of cache hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of times a valid entry was overwritten by a new
+     * result.
+     * @return the number of overwrites
+     */
+    public long overwrites() {
+        return overwrites;
+    }
+
+    /**
+     * Returns the number of times this cache was resized by the adaptive
+     * cache sizing.
+     * @return the number of resizes
+     */
+    public int resizes() {
+        return resizes;
+    }
 }
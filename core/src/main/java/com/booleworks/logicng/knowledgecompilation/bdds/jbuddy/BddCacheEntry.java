@@ -8,7 +8,7 @@ import java.math.BigInteger;
 
 /**
  * An entry in the BDD cache.
- * @version 1.4.0
+ * @version 3.0.0
  * @since 1.4.0
  */
 final class BddCacheEntry {
@@ -16,6 +16,7 @@ final class BddCacheEntry {
     int b;
     int c;
     BigInteger bdres;
+    Object value;
     int res;
 
     /**
@@ -0,0 +1,19 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds.jbuddy;
+
+/**
+ * Enumeration of the operation caches of a {@link BddKernel}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public enum BddCacheType {
+    APPLY,
+    ITE,
+    QUANT,
+    APPEX,
+    REPLACE,
+    MISC
+}
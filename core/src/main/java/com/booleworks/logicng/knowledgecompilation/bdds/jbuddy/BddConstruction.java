@@ -89,6 +89,38 @@ public class BddConstruction {
         return k.high(root);
     }
 
+    /**
+     * Returns the node with the given variable and children, creating it if it
+     * does not exist yet. This allows to rebuild a BDD node by node, e.g. when
+     * loading a serialized node table, without any apply operations. The
+     * variable must lie on a level above the levels of both children and the
+     * children must be protected from the garbage collection (e.g. by
+     * {@link BddKernel#addRef}). No reordering is triggered.
+     * @param var  the variable index
+     * @param low  the false branch
+     * @param high the true branch
+     * @return the node
+     * @throws IllegalArgumentException if the variable index is not within the
+     *                                  range of variables or not above the
+     *                                  children
+     */
+    public int makeNode(final int var, final int low, final int high) {
+        if (var < 0 || var >= k.varnum) {
+            throw new IllegalArgumentException("Illegal variable number: " + var);
+        }
+        final int level = k.var2level[var];
+        if (level >= k.level(low) || level >= k.level(high)) {
+            throw new IllegalArgumentException("The variable must be above the children");
+        }
+        k.reordering.disableReorder();
+        try {
+            k.initRef();
+            return k.makeNode(level, low, high);
+        } finally {
+            k.reordering.enableReorder();
+        }
+    }
+
     /**
      * Returns the conjunction of two BDDs.
      * @param l the first BDD
@@ -151,15 +183,14 @@ public class BddConstruction {
         }
         final BddCacheEntry entry = k.applycache.lookup(r);
         if (entry.a == r && entry.c == BddKernel.Operand.NOT.v) {
+            k.applycache.hit();
             return entry.res;
         }
         k.pushRef(notRec(k.low(r)));
         k.pushRef(notRec(k.high(r)));
         final int res = k.makeNode(k.level(r), k.readRef(2), k.readRef(1));
         k.popref(2);
-        entry.a = r;
-        entry.c = BddKernel.Operand.NOT.v;
-        entry.res = res;
+        k.applycache.store(entry, r, BddKernel.Operand.NOT.v, res);
         return res;
     }
 
@@ -185,6 +216,7 @@ public class BddConstruction {
         }
         final BddCacheEntry entry = k.misccache.lookup(k.pair(r, miscid));
         if (entry.a == r && entry.c == miscid) {
+            k.misccache.hit();
             return entry.res;
         }
         if (insvarset(k.level(r))) {
@@ -199,9 +231,7 @@ public class BddConstruction {
             res = k.makeNode(k.level(r), k.readRef(2), k.readRef(1));
             k.popref(2);
         }
-        entry.a = r;
-        entry.c = miscid;
-        entry.res = res;
+        k.misccache.store(entry, r, miscid, res);
         return res;
     }
 
@@ -217,7 +247,7 @@ public class BddConstruction {
             return r;
         }
         varset2vartable(var);
-        return k.doWithPotentialReordering(() -> quantRec(r, BddKernel.Operand.OR, var << 3, handler));
+        return k.doWithPotentialReordering(() -> quantRec(r, BddKernel.Operand.OR, var << 3, handler), handler);
     }
 
     /**
@@ -233,7 +263,7 @@ public class BddConstruction {
         }
         varset2vartable(var);
         return k.doWithPotentialReordering(
-                () -> quantRec(r, BddKernel.Operand.AND, (var << 3) | BddKernel.CACHEID_FORALL, handler));
+                () -> quantRec(r, BddKernel.Operand.AND, (var << 3) | BddKernel.CACHEID_FORALL, handler), handler);
     }
 
     protected int quantRec(final int r, final BddKernel.Operand op, final int quantid, final ComputationHandler handler)
@@ -244,6 +274,7 @@ public class BddConstruction {
         }
         final BddCacheEntry entry = k.quantcache.lookup(r);
         if (entry.a == r && entry.c == quantid) {
+            k.quantcache.hit();
             return entry.res;
         }
         final int low = quantRec(k.low(r), op, quantid, handler);
@@ -266,9 +297,7 @@ public class BddConstruction {
         if (BddKernel.isAborted(res)) {
             return res;
         }
-        entry.a = r;
-        entry.c = quantid;
-        entry.res = res;
+        k.quantcache.store(entry, r, quantid, res);
         return res;
     }
 
@@ -9,10 +9,13 @@ import static com.booleworks.logicng.handlers.events.SimpleEvent.BDD_NEW_REF_ADD
 import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.NopHandler;
 import com.booleworks.logicng.handlers.events.SimpleEvent;
 
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
@@ -55,9 +58,11 @@ public class BddKernel {
     public static final int CACHEID_PATHCOU_ONE = 0x4;
     public static final int CACHEID_PATHCOU_ZERO = 0x8;
     public static final int CACHEID_FORALL = 0x1;
+    public static final int CACHEID_WEIGHTED_COUNT = 0x10;
 
     protected final BddPrime prime;
     protected final FormulaFactory f;
+    protected final BddKernelConfig config;
     protected final SortedMap<Variable, Integer> var2idx;
     protected final SortedMap<Integer, Variable> idx2var;
 
@@ -68,7 +73,7 @@ public class BddKernel {
     // Minimal % of nodes that has to be left after a garbage collection
     protected final int minfreenodes;
     protected int gbcollectnum; // Number of garbage collections
-    protected final int cachesize; // Size of the operator caches
+    protected final int cachesize; // Initial size of the operator caches
     protected int nodesize; // Number of allocated nodes
     protected final int maxnodeincrease; // Max. # of nodes used to inc. table
     protected int freepos; // First free node
@@ -90,6 +95,7 @@ public class BddKernel {
     protected BddCache appexcache; // Cache for appex/appall results
     protected BddCache replacecache; // Cache for replace results
     protected BddCache misccache; // Cache for other results
+    protected int weightedCountId; // Current id for weighted counts in the misc cache
 
     /**
      * Constructor for the BDD kernel.
@@ -99,7 +105,20 @@ public class BddKernel {
      * @param cacheSize the fixed size of the internal caches
      */
     public BddKernel(final FormulaFactory f, final int numVars, final int nodeSize, final int cacheSize) {
+        this(f, numVars, nodeSize, BddKernelConfig.builder().cacheSize(cacheSize).adaptiveCaches(false).build());
+    }
+
+    /**
+     * Constructor for the BDD kernel.
+     * @param f        the formula factory to use
+     * @param numVars  the number of variables
+     * @param nodeSize the initial number of nodes in the nodetable
+     * @param config   the kernel configuration, especially for the sizing of
+     *                 the internal caches
+     */
+    public BddKernel(final FormulaFactory f, final int numVars, final int nodeSize, final BddKernelConfig config) {
         this.f = f;
+        this.config = config;
         prime = new BddPrime();
         var2idx = new TreeMap<>();
         idx2var = new TreeMap<>();
@@ -121,15 +140,22 @@ public class BddKernel {
         setHigh(0, 0);
         setLow(1, 1);
         setHigh(1, 1);
-        initOperators(Math.max(cacheSize, 3));
+        initOperators(nodeSize);
         freepos = 2;
         freenum = nodesize - 2;
         varnum = 0;
         gbcollectnum = 0;
-        cachesize = cacheSize;
+        cachesize = config.defaultCacheSize(nodeSize);
         reordering.usedNodesNextReorder = nodesize;
         maxnodeincrease = 50000;
         setNumberOfVars(numVars);
+        reordering.setGrowthFactor(config.reorderGrowthFactor);
+        reordering.setTimeLimit(config.reorderTimeLimit);
+        reordering.setMaxSiftGrowth(config.maxSiftGrowth);
+        if (config.reorderMethod != BddReorderingMethod.BDD_REORDER_NONE && varnum > 0) {
+            reordering.addVariableBlockAll();
+            reordering.setReorderDuringConstruction(config.reorderMethod, config.maxReorderings);
+        }
     }
 
     /**
@@ -146,6 +172,22 @@ public class BddKernel {
         }
     }
 
+    /**
+     * Constructor for the BDD kernel.
+     * @param f        the formula factory to use
+     * @param ordering the variable ordering
+     * @param nodeSize the initial number of nodes in the nodetable
+     * @param config   the kernel configuration, especially for the sizing of
+     *                 the internal caches
+     */
+    public BddKernel(final FormulaFactory f, final List<Variable> ordering, final int nodeSize,
+                     final BddKernelConfig config) {
+        this(f, ordering.size(), nodeSize, config);
+        for (final Variable var : ordering) {
+            getOrAddVarIndex(var);
+        }
+    }
+
     /**
      * Sets the number of variables to use. It may be called more than one time,
      * but only to increase the number of variables.
@@ -279,11 +321,17 @@ public class BddKernel {
     }
 
     protected int doWithPotentialReordering(final BddOperation operation) {
+        return doWithPotentialReordering(operation, NopHandler.get());
+    }
+
+    protected int doWithPotentialReordering(final BddOperation operation, final ComputationHandler handler) {
         try {
             initRef();
             return operation.perform();
         } catch (final BddReorderRequest reorderRequest) {
-            reordering.checkReorder();
+            if (!reordering.checkReorder(handler)) {
+                return BDD_ABORT_NEW_NODE;
+            }
             initRef();
             reordering.disableReorder();
             try {
@@ -297,7 +345,7 @@ public class BddKernel {
     }
 
     protected int apply(final int l, final int r, final Operand op, final ComputationHandler handler) {
-        return doWithPotentialReordering(() -> applyRec(l, r, op, handler));
+        return doWithPotentialReordering(() -> applyRec(l, r, op, handler), handler);
     }
 
     protected int applyRec(final int l, final int r, final Operand op, final ComputationHandler handler)
@@ -349,6 +397,7 @@ public class BddKernel {
         } else {
             final BddCacheEntry entry = applycache.lookup(triple(l, r, op.v));
             if (entry.a == l && entry.b == r && entry.c == op.v) {
+                applycache.hit();
                 return entry.res;
             }
             if (!handler.shouldResume(SimpleEvent.BDD_MAKE_NEW_NODE)) {
@@ -395,10 +444,7 @@ public class BddKernel {
                 res = makeNode(level(r), readRef(2), readRef(1));
             }
             popref(2);
-            entry.a = l;
-            entry.b = r;
-            entry.c = op.v;
-            entry.res = res;
+            applycache.store(entry, l, r, op.v, res);
         }
         return res;
     }
@@ -488,6 +534,9 @@ public class BddKernel {
                 nodeResize(true);
                 hash = nodehash(level, low, high);
             }
+            if (config.adaptiveCaches) {
+                adaptCaches();
+            }
             if (freepos == 0) {
                 throw new IllegalStateException("Cannot allocate more space for more nodes.");
             }
@@ -670,6 +719,21 @@ public class BddKernel {
         refstacktop = 0;
     }
 
+    /**
+     * Returns a fresh id for a weighted count in the misc cache. Since the
+     * weights can differ between two calls, each call gets its own id. If the
+     * ids are exhausted, the misc cache is reset.
+     * @return the id for the misc cache
+     */
+    protected int nextWeightedCountId() {
+        weightedCountId = (weightedCountId + 1) & 0x3FFFFFF;
+        if (weightedCountId == 0) {
+            misccache.reset();
+            weightedCountId = 1;
+        }
+        return (weightedCountId << 5) | CACHEID_WEIGHTED_COUNT;
+    }
+
     protected int pushRef(final int n) {
         refstack[refstacktop++] = n;
         return n;
@@ -723,13 +787,13 @@ public class BddKernel {
         return pair(c, pair(a, b));
     }
 
-    protected void initOperators(final int cachesize) {
-        applycache = new BddCache(cachesize);
-        itecache = new BddCache(cachesize);
-        quantcache = new BddCache(cachesize);
-        appexcache = new BddCache(cachesize);
-        replacecache = new BddCache(cachesize);
-        misccache = new BddCache(cachesize);
+    protected void initOperators(final int nodeSize) {
+        applycache = new BddCache(config.initialCacheSize(BddCacheType.APPLY, nodeSize));
+        itecache = new BddCache(config.initialCacheSize(BddCacheType.ITE, nodeSize));
+        quantcache = new BddCache(config.initialCacheSize(BddCacheType.QUANT, nodeSize));
+        appexcache = new BddCache(config.initialCacheSize(BddCacheType.APPEX, nodeSize));
+        replacecache = new BddCache(config.initialCacheSize(BddCacheType.REPLACE, nodeSize));
+        misccache = new BddCache(config.initialCacheSize(BddCacheType.MISC, nodeSize));
         quantvarsetId = 0;
         quantvarset = null;
     }
@@ -743,6 +807,43 @@ public class BddKernel {
         misccache.reset();
     }
 
+    /**
+     * Grows the operation caches with a high hit ratio since the last
+     * adaption. The maximum size of a cache is bound by the current size of
+     * the node table. Must only be called directly after a garbage collection
+     * since the resized caches lose their entries.
+     */
+    protected void adaptCaches() {
+        final int maxSize = (int) Math.min(Integer.MAX_VALUE / 2, (long) (nodesize * config.maxCacheRatio));
+        for (final BddCacheType type : BddCacheType.values()) {
+            cache(type).adapt(config.minCacheHitRatio, maxSize);
+        }
+    }
+
+    /**
+     * Returns the operation cache of the given type.
+     * @param type the cache type
+     * @return the cache
+     */
+    protected BddCache cache(final BddCacheType type) {
+        switch (type) {
+            case APPLY:
+                return applycache;
+            case ITE:
+                return itecache;
+            case QUANT:
+                return quantcache;
+            case APPEX:
+                return appexcache;
+            case REPLACE:
+                return replacecache;
+            case MISC:
+                return misccache;
+            default:
+                throw new IllegalArgumentException("Unknown cache type " + type);
+        }
+    }
+
     protected void varResize() {
         quantvarset = new int[varnum];
         quantvarsetId = 0;
@@ -760,6 +861,13 @@ public class BddKernel {
         statistics.varnum = varnum;
         statistics.cachesize = cachesize;
         statistics.gbcollectnum = gbcollectnum;
+        statistics.reorderings = reordering.reorderings;
+        for (final BddCacheType type : BddCacheType.values()) {
+            final BddCache cache = cache(type);
+            statistics.cacheStatistics.put(type,
+                    new CacheStatistics(cache.size(), cache.lookups(), cache.hits(), cache.overwrites(),
+                            cache.resizes()));
+        }
         return statistics;
     }
 
@@ -773,6 +881,8 @@ public class BddKernel {
         private int varnum;
         private int cachesize;
         private int gbcollectnum;
+        private int reorderings;
+        private final Map<BddCacheType, CacheStatistics> cacheStatistics = new EnumMap<>(BddCacheType.class);
 
         /**
          * Returns the number of produced nodes.
@@ -807,8 +917,10 @@ public class BddKernel {
         }
 
         /**
-         * Returns the cache size.
-         * @return the cache size
+         * Returns the initial size of the operation caches. The current sizes
+         * of the individual caches can be obtained via
+         * {@link #cacheStatistics(BddCacheType)}.
+         * @return the initial cache size
          */
         public int cachesize() {
             return cachesize;
@@ -822,6 +934,14 @@ public class BddKernel {
             return gbcollectnum;
         }
 
+        /**
+         * Returns the number of automatic reorderings.
+         * @return the number of automatic reorderings
+         */
+        public int reorderings() {
+            return reorderings;
+        }
+
         /**
          * Returns the number of used nodes.
          * @return the number of used nodes
@@ -830,6 +950,40 @@ public class BddKernel {
             return nodesize - freenum;
         }
 
+        /**
+         * Returns the statistics for the operation cache of the given type.
+         * @param type the cache type
+         * @return the statistics for the cache
+         */
+        public CacheStatistics cacheStatistics(final BddCacheType type) {
+            return cacheStatistics.get(type);
+        }
+
+        /**
+         * Returns the total number of lookups in all operation caches.
+         * @return the total number of cache lookups
+         */
+        public long cacheLookups() {
+            return cacheStatistics.values().stream().mapToLong(CacheStatistics::lookups).sum();
+        }
+
+        /**
+         * Returns the total number of hits in all operation caches.
+         * @return the total number of cache hits
+         */
+        public long cacheHits() {
+            return cacheStatistics.values().stream().mapToLong(CacheStatistics::hits).sum();
+        }
+
+        /**
+         * Returns the total number of overwritten entries in all operation
+         * caches.
+         * @return the total number of cache overwrites
+         */
+        public long cacheOverwrites() {
+            return cacheStatistics.values().stream().mapToLong(CacheStatistics::overwrites).sum();
+        }
+
         @Override
         public String toString() {
             return "BDDStatistics{" +
@@ -843,6 +997,85 @@ public class BddKernel {
         }
     }
 
+    /**
+     * Statistics for a single operation cache.
+     */
+    public final static class CacheStatistics {
+        private final int size;
+        private final long lookups;
+        private final long hits;
+        private final long overwrites;
+        private final int resizes;
+
+        private CacheStatistics(final int size, final long lookups, final long hits, final long overwrites,
+                                final int resizes) {
+            this.size = size;
+            this.lookups = lookups;
+            this.hits = hits;
+            this.overwrites = overwrites;
+            this.resizes = resizes;
+        }
+
+        /**
+         * Returns the current number of entries of the cache.
+         * @return the current number of entries
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the number of lookups in the cache.
+         * @return the number of lookups
+         */
+        public long lookups() {
+            return lookups;
+        }
+
+        /**
+         * Returns the number of cache hits.
+         * @return the number of cache hits
+         */
+        public long hits() {
+            return hits;
+        }
+
+        /**
+         * Returns the number of overwritten entries.
+         * @return the number of overwritten entries
+         */
+        public long overwrites() {
+            return overwrites;
+        }
+
+        /**
+         * Returns the number of times the cache was grown.
+         * @return the number of resizes
+         */
+        public int resizes() {
+            return resizes;
+        }
+
+        /**
+         * Returns the ratio of hits to lookups or 0 if there were no lookups.
+         * @return the hit ratio
+         */
+        public double hitRatio() {
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheStatistics{" +
+                    "size=" + size +
+                    ", lookups=" + lookups +
+                    ", hits=" + hits +
+                    ", overwrites=" + overwrites +
+                    ", resizes=" + resizes +
+                    '}';
+        }
+    }
+
     /**
      * Replaces the calls in Buddy for setjmp and longjmp.
      */
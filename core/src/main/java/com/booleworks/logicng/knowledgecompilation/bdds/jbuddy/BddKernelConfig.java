@@ -0,0 +1,261 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds.jbuddy;
+
+import com.booleworks.logicng.configurations.Configuration;
+import com.booleworks.logicng.configurations.ConfigurationType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The configuration object for a {@link BddKernel}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class BddKernelConfig extends Configuration {
+
+    final int cacheSize;
+    final Map<BddCacheType, Integer> cacheSizes;
+    final boolean adaptiveCaches;
+    final double minCacheHitRatio;
+    final double maxCacheRatio;
+    final BddReorderingMethod reorderMethod;
+    final int maxReorderings;
+    final double reorderGrowthFactor;
+    final long reorderTimeLimit;
+    final double maxSiftGrowth;
+
+    /**
+     * Constructs a new configuration with a given type.
+     * @param builder the builder
+     */
+    private BddKernelConfig(final Builder builder) {
+        super(ConfigurationType.BDD);
+        cacheSize = builder.cacheSize;
+        cacheSizes = new EnumMap<>(builder.cacheSizes);
+        adaptiveCaches = builder.adaptiveCaches;
+        minCacheHitRatio = builder.minCacheHitRatio;
+        maxCacheRatio = builder.maxCacheRatio;
+        reorderMethod = builder.reorderMethod;
+        maxReorderings = builder.maxReorderings;
+        reorderGrowthFactor = builder.reorderGrowthFactor;
+        reorderTimeLimit = builder.reorderTimeLimit;
+        maxSiftGrowth = builder.maxSiftGrowth;
+    }
+
+    /**
+     * Returns a new builder for the configuration.
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the initial size of the given operation cache for a kernel with
+     * the given number of nodes.
+     * @param type     the cache type
+     * @param nodeSize the initial number of nodes of the kernel
+     * @return the initial size of the cache
+     */
+    int initialCacheSize(final BddCacheType type, final int nodeSize) {
+        final Integer size = cacheSizes.get(type);
+        return Math.max(size != null ? size : defaultCacheSize(nodeSize), 3);
+    }
+
+    /**
+     * Returns the default size of the operation caches for a kernel with the
+     * given number of nodes.
+     * @param nodeSize the initial number of nodes of the kernel
+     * @return the default size of the caches
+     */
+    int defaultCacheSize(final int nodeSize) {
+        return cacheSize > 0 ? cacheSize : Math.max(nodeSize / 2, 3);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("BddKernelConfig{").append(System.lineSeparator());
+        sb.append("cacheSize=").append(cacheSize).append(System.lineSeparator());
+        sb.append("cacheSizes=").append(cacheSizes).append(System.lineSeparator());
+        sb.append("adaptiveCaches=").append(adaptiveCaches).append(System.lineSeparator());
+        sb.append("minCacheHitRatio=").append(minCacheHitRatio).append(System.lineSeparator());
+        sb.append("maxCacheRatio=").append(maxCacheRatio).append(System.lineSeparator());
+        sb.append("reorderMethod=").append(reorderMethod).append(System.lineSeparator());
+        sb.append("maxReorderings=").append(maxReorderings).append(System.lineSeparator());
+        sb.append("reorderGrowthFactor=").append(reorderGrowthFactor).append(System.lineSeparator());
+        sb.append("reorderTimeLimit=").append(reorderTimeLimit).append(System.lineSeparator());
+        sb.append("maxSiftGrowth=").append(maxSiftGrowth).append(System.lineSeparator());
+        sb.append("}").append(System.lineSeparator());
+        return sb.toString();
+    }
+
+    /**
+     * The builder for a BDD kernel configuration.
+     * @version 3.0.0
+     * @since 3.0.0
+     */
+    public final static class Builder {
+        private int cacheSize = 0;
+        private final Map<BddCacheType, Integer> cacheSizes = new EnumMap<>(BddCacheType.class);
+        private boolean adaptiveCaches = true;
+        private double minCacheHitRatio = 0.05;
+        private double maxCacheRatio = 1.0;
+        private BddReorderingMethod reorderMethod = BddReorderingMethod.BDD_REORDER_NONE;
+        private int maxReorderings = Integer.MAX_VALUE;
+        private double reorderGrowthFactor = 2.0;
+        private long reorderTimeLimit = 0;
+        private double maxSiftGrowth = 1.2;
+
+        private Builder() {
+            // Initialize only via factory
+        }
+
+        /**
+         * Sets the initial size of all operation caches which have no
+         * individual size set via {@link #cacheSize(BddCacheType, int)}. The
+         * default value is {@code 0} which means that the caches are
+         * initialized with half the size of the initial node table.
+         * @param cacheSize the initial cache size
+         * @return the current builder
+         */
+        public Builder cacheSize(final int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the initial size of a single operation cache. This overrides
+         * the value set via {@link #cacheSize(int)} for the given cache.
+         * @param type      the cache type
+         * @param cacheSize the initial size of the cache
+         * @return the current builder
+         */
+        public Builder cacheSize(final BddCacheType type, final int cacheSize) {
+            cacheSizes.put(type, cacheSize);
+            return this;
+        }
+
+        /**
+         * Sets whether the operation caches should grow with the node table.
+         * If enabled, a cache is doubled after a garbage collection if its
+         * hit ratio since the last garbage collection was at least
+         * {@link #minCacheHitRatio(double)} and it has not yet reached its
+         * maximum size given by {@link #maxCacheRatio(double)}. The default
+         * value is {@code true}.
+         * @param adaptiveCaches whether the caches should grow adaptively
+         * @return the current builder
+         */
+        public Builder adaptiveCaches(final boolean adaptiveCaches) {
+            this.adaptiveCaches = adaptiveCaches;
+            return this;
+        }
+
+        /**
+         * Sets the minimal hit ratio a cache must have reached since the last
+         * garbage collection in order to be grown. The default value is
+         * {@code 0.05}.
+         * @param minCacheHitRatio the minimal hit ratio (between 0 and 1)
+         * @return the current builder
+         */
+        public Builder minCacheHitRatio(final double minCacheHitRatio) {
+            this.minCacheHitRatio = minCacheHitRatio;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of each cache relative to the current size of
+         * the node table. The default value is {@code 1.0}, i.e. a cache
+         * never grows beyond the number of nodes in the node table.
+         * @param maxCacheRatio the maximum cache size relative to the node
+         *                      table size
+         * @return the current builder
+         */
+        public Builder maxCacheRatio(final double maxCacheRatio) {
+            this.maxCacheRatio = maxCacheRatio;
+            return this;
+        }
+
+        /**
+         * Sets the method for the automatic variable reordering during the
+         * construction of BDDs. If a method other than
+         * {@link BddReorderingMethod#BDD_REORDER_NONE} (the default) is set,
+         * the kernel creates a free variable block for each variable (see
+         * {@link BddReordering#addVariableBlockAll()}) and reorders all BDDs
+         * of the kernel whenever the number of live nodes has grown by the
+         * {@link #reorderGrowthFactor(double) growth factor}. Each reordering
+         * pass is reported as a
+         * {@link com.booleworks.logicng.handlers.events.BddReorderingEvent} to
+         * the handler of the current BDD operation.
+         * <p>
+         * {@link BddReorderingMethod#BDD_REORDER_SIFTITE} performs converging
+         * sifting, i.e. it repeats sifting until the BDD size does not
+         * decrease anymore.
+         * @param reorderMethod the reordering method
+         * @return the current builder
+         */
+        public Builder reorderMethod(final BddReorderingMethod reorderMethod) {
+            this.reorderMethod = reorderMethod;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of automatic reorderings. The default is
+         * {@link Integer#MAX_VALUE}.
+         * @param maxReorderings the maximum number of automatic reorderings
+         * @return the current builder
+         */
+        public Builder maxReorderings(final int maxReorderings) {
+            this.maxReorderings = maxReorderings;
+            return this;
+        }
+
+        /**
+         * Sets the growth factor of the live nodes after a garbage collection
+         * which triggers the next automatic reordering. The default value is
+         * {@code 2.0}. See {@link BddReordering#setGrowthFactor(double)}.
+         * @param reorderGrowthFactor the growth factor
+         * @return the current builder
+         */
+        public Builder reorderGrowthFactor(final double reorderGrowthFactor) {
+            this.reorderGrowthFactor = reorderGrowthFactor;
+            return this;
+        }
+
+        /**
+         * Sets the time limit in milliseconds for a single reordering pass.
+         * The default value is {@code 0} which means no time limit. See
+         * {@link BddReordering#setTimeLimit(long)}.
+         * @param reorderTimeLimit the time limit in milliseconds
+         * @return the current builder
+         */
+        public Builder reorderTimeLimit(final long reorderTimeLimit) {
+            this.reorderTimeLimit = reorderTimeLimit;
+            return this;
+        }
+
+        /**
+         * Sets the maximal growth of the BDD while moving a block during
+         * sifting. The default value is {@code 1.2}. See
+         * {@link BddReordering#setMaxSiftGrowth(double)}.
+         * @param maxSiftGrowth the maximal growth during sifting
+         * @return the current builder
+         */
+        public Builder maxSiftGrowth(final double maxSiftGrowth) {
+            this.maxSiftGrowth = maxSiftGrowth;
+            return this;
+        }
+
+        /**
+         * Builds the BDD kernel configuration with the current builder's
+         * configuration.
+         * @return the BDD kernel configuration
+         */
+        public BddKernelConfig build() {
+            return new BddKernelConfig(this);
+        }
+    }
+}
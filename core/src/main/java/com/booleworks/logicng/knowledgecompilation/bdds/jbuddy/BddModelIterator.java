@@ -0,0 +1,112 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds.jbuddy;
+
+import com.booleworks.logicng.datastructures.CompactModel;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A lazy iterator over the models of a BDD wrt. a list of variables. The
+ * cubes of the BDD are computed by a {@link BddSatIterator} and the
+ * unassigned variables of each cube are expanded one model at a time, so
+ * neither the cubes nor the models are ever collected.
+ * <p>
+ * The BDD must not contain variables which are not in the list of variables
+ * (these have to be quantified beforehand), otherwise models would be
+ * reported multiple times. The kernel must not be modified while the
+ * iteration is in progress.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class BddModelIterator implements Iterator<CompactModel> {
+
+    private final BddSatIterator cubes;
+    private final List<Variable> variables;
+    private final int[] indices;
+    private final int numWords;
+    private final long[] base;
+    private final int[] dontCares;
+    private int numDontCares;
+    private final boolean[] counter;
+    private boolean expanding;
+
+    /**
+     * Constructs a new model iterator.
+     * @param k         the kernel
+     * @param r         the BDD root node
+     * @param variables the variables of the models, all known to the kernel
+     */
+    public BddModelIterator(final BddKernel k, final int r, final List<Variable> variables) {
+        cubes = new BddSatIterator(k, r);
+        this.variables = Collections.unmodifiableList(new ArrayList<>(variables));
+        indices = new int[variables.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = k.getIndexForVariable(variables.get(i));
+            if (indices[i] < 0) {
+                throw new IllegalArgumentException("Unknown variable: " + variables.get(i));
+            }
+        }
+        numWords = (indices.length + 63) >>> 6;
+        base = new long[numWords];
+        dontCares = new int[indices.length];
+        counter = new boolean[indices.length];
+    }
+
+    @Override
+    public boolean hasNext() {
+        return expanding || cubes.hasNext();
+    }
+
+    @Override
+    public CompactModel next() {
+        if (!expanding) {
+            if (!cubes.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            startCube(cubes.next());
+        }
+        final long[] bits = base.clone();
+        for (int i = 0; i < numDontCares; i++) {
+            if (counter[i]) {
+                bits[dontCares[i] >>> 6] |= 1L << dontCares[i];
+            }
+        }
+        expanding = increment();
+        return new CompactModel(variables, bits);
+    }
+
+    private void startCube(final byte[] cube) {
+        numDontCares = 0;
+        for (int i = 0; i < numWords; i++) {
+            base[i] = 0;
+        }
+        for (int i = 0; i < indices.length; i++) {
+            final byte value = cube[indices[i]];
+            if (value == 1) {
+                base[i >>> 6] |= 1L << i;
+            } else if (value == -1) {
+                counter[numDontCares] = false;
+                dontCares[numDontCares++] = i;
+            }
+        }
+    }
+
+    private boolean increment() {
+        for (int i = numDontCares - 1; i >= 0; i--) {
+            if (!counter[i]) {
+                counter[i] = true;
+                return true;
+            }
+            counter[i] = false;
+        }
+        return false;
+    }
+}
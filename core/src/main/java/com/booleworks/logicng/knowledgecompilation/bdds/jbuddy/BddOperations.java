@@ -8,10 +8,12 @@ import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.modelcounting.WeightSemiring;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -173,6 +175,17 @@ public class BddOperations {
         return allSat;
     }
 
+    /**
+     * Returns a lazy iterator over all cubes of a given BDD. In contrast to
+     * {@link #allSat(int)}, the cubes are computed while iterating and the
+     * iterator reuses the same array for each cube.
+     * @param r the BDD root node
+     * @return the iterator over the cubes of the BDD
+     */
+    public BddSatIterator allSatIterator(final int r) {
+        return new BddSatIterator(k, r);
+    }
+
     protected void allSatRec(final int r, final List<byte[]> models, final byte[] allsatProfile) {
         if (k.isOne(r)) {
             models.add(Arrays.copyOf(allsatProfile, allsatProfile.length));
@@ -213,6 +226,7 @@ public class BddOperations {
         }
         final BddCacheEntry entry = k.misccache.lookup(root);
         if (entry.a == root && entry.c == miscid) {
+            k.misccache.hit();
             return entry.bdres;
         }
         BigInteger size = BigInteger.ZERO;
@@ -222,9 +236,7 @@ public class BddOperations {
         s = BigInteger.ONE;
         s = s.multiply(BigInteger.valueOf(2).pow(k.level(k.high(root)) - k.level(root) - 1));
         size = size.add(s.multiply(satCountRec(k.high(root), miscid)));
-        entry.a = root;
-        entry.c = miscid;
-        entry.bdres = size;
+        k.misccache.store(entry, root, miscid, size);
         return size;
     }
 
@@ -247,12 +259,11 @@ public class BddOperations {
         }
         final BddCacheEntry entry = k.misccache.lookup(r);
         if (entry.a == r && entry.c == miscid) {
+            k.misccache.hit();
             return entry.bdres;
         }
         size = pathCountRecOne(k.low(r), miscid).add(pathCountRecOne(k.high(r), miscid));
-        entry.a = r;
-        entry.c = miscid;
-        entry.bdres = size;
+        k.misccache.store(entry, r, miscid, size);
         return size;
     }
 
@@ -275,15 +286,259 @@ public class BddOperations {
         }
         final BddCacheEntry entry = k.misccache.lookup(r);
         if (entry.a == r && entry.c == miscid) {
+            k.misccache.hit();
             return entry.bdres;
         }
         size = pathCountRecZero(k.low(r), miscid).add(pathCountRecZero(k.high(r), miscid));
-        entry.a = r;
-        entry.c = miscid;
-        entry.bdres = size;
+        k.misccache.store(entry, r, miscid, size);
         return size;
     }
 
+    /**
+     * Returns the weighted model count of a given BDD over all variables of
+     * the kernel, i.e. the sum over all models of the product of the weights
+     * of their literals. Intermediate results are stored in the misc cache.
+     * @param r          the BDD root node
+     * @param semiring   the semiring in which the count is computed
+     * @param posWeights the weights of the positive literals, indexed by the
+     *                   variable index
+     * @param negWeights the weights of the negative literals, indexed by the
+     *                   variable index
+     * @param <T>        the type of the weights
+     * @return the weighted model count
+     */
+    public <T> T weightedCount(final int r, final WeightSemiring<T> semiring, final List<T> posWeights,
+                               final List<T> negWeights) {
+        final List<T> levelSums = levelSums(semiring, posWeights, negWeights);
+        final T count = weightedCountRec(r, semiring, posWeights, negWeights, levelSums, k.nextWeightedCountId());
+        return semiring.times(skipProduct(semiring, levelSums, 0, k.level(r)), count);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> T weightedCountRec(final int r, final WeightSemiring<T> semiring, final List<T> posWeights,
+                                     final List<T> negWeights, final List<T> levelSums, final int miscid) {
+        if (r < 2) {
+            return r == 0 ? semiring.zero() : semiring.one();
+        }
+        final BddCacheEntry entry = k.misccache.lookup(r);
+        if (entry.a == r && entry.c == miscid) {
+            k.misccache.hit();
+            return (T) entry.value;
+        }
+        final int level = k.level(r);
+        final int var = k.level2var[level];
+        final T low = semiring.times(skipProduct(semiring, levelSums, level + 1, k.level(k.low(r))),
+                weightedCountRec(k.low(r), semiring, posWeights, negWeights, levelSums, miscid));
+        final T high = semiring.times(skipProduct(semiring, levelSums, level + 1, k.level(k.high(r))),
+                weightedCountRec(k.high(r), semiring, posWeights, negWeights, levelSums, miscid));
+        final T res = semiring.plus(semiring.times(negWeights.get(var), low), semiring.times(posWeights.get(var), high));
+        k.misccache.storeValue(entry, r, miscid, res);
+        return res;
+    }
+
+    /**
+     * Computes the weighted model count and the weighted marginals of all
+     * literals of a given BDD in one bottom-up and one top-down pass over its
+     * nodes. The marginal of a literal is the weighted model count of the
+     * BDD conjoined with the literal, so for each variable the marginals of
+     * its two literals sum up to the weighted model count.
+     * <p>
+     * The lists for the marginals are cleared and filled with one entry per
+     * variable index of the kernel.
+     * @param r            the BDD root node
+     * @param semiring     the semiring in which the counts are computed
+     * @param posWeights   the weights of the positive literals, indexed by
+     *                     the variable index
+     * @param negWeights   the weights of the negative literals, indexed by
+     *                     the variable index
+     * @param posMarginals the list for the marginals of the positive literals
+     * @param negMarginals the list for the marginals of the negative literals
+     * @param <T>          the type of the weights
+     * @return the weighted model count
+     */
+    public <T> T weightedMarginals(final int r, final WeightSemiring<T> semiring, final List<T> posWeights,
+                                   final List<T> negWeights, final List<T> posMarginals,
+                                   final List<T> negMarginals) {
+        final List<T> levelSums = levelSums(semiring, posWeights, negWeights);
+        posMarginals.clear();
+        negMarginals.clear();
+        for (int i = 0; i < k.varnum; i++) {
+            posMarginals.add(semiring.zero());
+            negMarginals.add(semiring.zero());
+        }
+        final MarginalsPass<T> pass = new MarginalsPass<>(semiring, posWeights, negWeights, levelSums,
+                posMarginals, negMarginals);
+        if (r == BddKernel.BDD_FALSE) {
+            return semiring.zero();
+        }
+        if (r == BddKernel.BDD_TRUE) {
+            return pass.addGap(semiring.one(), semiring.one(), 0, k.varnum);
+        }
+        final int[] nodes = reachableNodesByLevel(r);
+        final int[] position = new int[k.nodesize];
+        for (int i = 0; i < nodes.length; i++) {
+            position[nodes[i]] = i;
+        }
+        final List<T> up = new ArrayList<>(Collections.nCopies(nodes.length, semiring.zero()));
+        for (int i = nodes.length - 1; i >= 0; i--) {
+            final int node = nodes[i];
+            final int level = k.level(node);
+            final int var = k.level2var[level];
+            final T low = semiring.times(skipProduct(semiring, levelSums, level + 1, k.level(k.low(node))),
+                    upValue(semiring, up, position, k.low(node)));
+            final T high = semiring.times(skipProduct(semiring, levelSums, level + 1, k.level(k.high(node))),
+                    upValue(semiring, up, position, k.high(node)));
+            up.set(i, semiring.plus(semiring.times(negWeights.get(var), low),
+                    semiring.times(posWeights.get(var), high)));
+        }
+        final List<T> down = new ArrayList<>(Collections.nCopies(nodes.length, semiring.zero()));
+        final T top = pass.addGap(semiring.one(), up.get(0), 0, k.level(r));
+        down.set(0, top);
+        for (int i = 0; i < nodes.length; i++) {
+            final int node = nodes[i];
+            final int var = k.level2var[k.level(node)];
+            for (final boolean phase : new boolean[]{false, true}) {
+                final int child = phase ? k.high(node) : k.low(node);
+                if (child == BddKernel.BDD_FALSE) {
+                    continue;
+                }
+                final T edge = semiring.times(down.get(i), phase ? posWeights.get(var) : negWeights.get(var));
+                final T childUp = upValue(semiring, up, position, child);
+                final T full = semiring.times(edge, pass.addGap(edge, childUp, k.level(node) + 1, k.level(child)));
+                final List<T> marginals = phase ? posMarginals : negMarginals;
+                marginals.set(var, semiring.plus(marginals.get(var), semiring.times(full, childUp)));
+                if (child >= 2) {
+                    final int childPos = position[child];
+                    down.set(childPos, semiring.plus(down.get(childPos), full));
+                }
+            }
+        }
+        return semiring.times(top, up.get(0));
+    }
+
+    /**
+     * Returns the reachable inner nodes of a BDD sorted by ascending level,
+     * i.e. each node occurs before its children.
+     * @param r the BDD root node
+     * @return the reachable inner nodes sorted by level
+     */
+    protected int[] reachableNodesByLevel(final int r) {
+        final List<Integer> reachable = new ArrayList<>();
+        final boolean[] visited = new boolean[k.nodesize];
+        final int[] levelCount = new int[k.varnum + 1];
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = r;
+        visited[r] = true;
+        while (top > 0) {
+            final int node = stack[--top];
+            reachable.add(node);
+            levelCount[k.level(node)]++;
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            for (final int child : new int[]{k.low(node), k.high(node)}) {
+                if (child >= 2 && !visited[child]) {
+                    visited[child] = true;
+                    stack[top++] = child;
+                }
+            }
+        }
+        final int[] start = new int[k.varnum + 1];
+        for (int level = 1; level <= k.varnum; level++) {
+            start[level] = start[level - 1] + levelCount[level - 1];
+        }
+        final int[] nodes = new int[reachable.size()];
+        for (final int node : reachable) {
+            nodes[start[k.level(node)]++] = node;
+        }
+        return nodes;
+    }
+
+    private static <T> T upValue(final WeightSemiring<T> semiring, final List<T> up, final int[] position,
+                                 final int node) {
+        if (node < 2) {
+            return node == 0 ? semiring.zero() : semiring.one();
+        }
+        return up.get(position[node]);
+    }
+
+    private <T> List<T> levelSums(final WeightSemiring<T> semiring, final List<T> posWeights,
+                                  final List<T> negWeights) {
+        if (posWeights.size() < k.varnum || negWeights.size() < k.varnum) {
+            throw new IllegalArgumentException("There must be a weight for each variable of the kernel");
+        }
+        final List<T> levelSums = new ArrayList<>(k.varnum);
+        for (int level = 0; level < k.varnum; level++) {
+            final int var = k.level2var[level];
+            levelSums.add(semiring.plus(posWeights.get(var), negWeights.get(var)));
+        }
+        return levelSums;
+    }
+
+    private static <T> T skipProduct(final WeightSemiring<T> semiring, final List<T> levelSums, final int from,
+                                     final int to) {
+        T product = semiring.one();
+        for (int level = from; level < to; level++) {
+            product = semiring.times(product, levelSums.get(level));
+        }
+        return product;
+    }
+
+    /**
+     * Helper for the top-down pass of the marginal computation.
+     * @param <T> the type of the weights
+     */
+    private final class MarginalsPass<T> {
+        private final WeightSemiring<T> semiring;
+        private final List<T> posWeights;
+        private final List<T> negWeights;
+        private final List<T> levelSums;
+        private final List<T> posMarginals;
+        private final List<T> negMarginals;
+
+        private MarginalsPass(final WeightSemiring<T> semiring, final List<T> posWeights, final List<T> negWeights,
+                              final List<T> levelSums, final List<T> posMarginals, final List<T> negMarginals) {
+            this.semiring = semiring;
+            this.posWeights = posWeights;
+            this.negWeights = negWeights;
+            this.levelSums = levelSums;
+            this.posMarginals = posMarginals;
+            this.negMarginals = negMarginals;
+        }
+
+        /**
+         * Adds the contributions of an edge which skips the levels
+         * {@code from} (inclusive) to {@code to} (exclusive) to the marginals
+         * of the skipped variables.
+         * @param edge    the weight of all paths leading to the edge
+         * @param childUp the weighted count of the target of the edge
+         * @param from    the first skipped level
+         * @param to      the level of the target of the edge
+         * @return the product of the level sums of the skipped levels
+         */
+        private T addGap(final T edge, final T childUp, final int from, final int to) {
+            if (from >= to) {
+                return semiring.one();
+            }
+            final List<T> suffix = new ArrayList<>(Collections.nCopies(to - from + 1, semiring.one()));
+            for (int level = to - 1; level >= from; level--) {
+                suffix.set(level - from, semiring.times(levelSums.get(level), suffix.get(level - from + 1)));
+            }
+            T prefix = edge;
+            for (int level = from; level < to; level++) {
+                final int var = k.level2var[level];
+                final T outside = semiring.times(prefix, semiring.times(suffix.get(level - from + 1), childUp));
+                posMarginals.set(var, semiring.plus(posMarginals.get(var), semiring.times(outside,
+                        posWeights.get(var))));
+                negMarginals.set(var, semiring.plus(negMarginals.get(var), semiring.times(outside,
+                        negWeights.get(var))));
+                prefix = semiring.times(prefix, levelSums.get(level));
+            }
+            return suffix.get(0);
+        }
+    }
+
     /**
      * Returns all unsatisfiable assignments for a given BDD.
      * @param r the BDD root node
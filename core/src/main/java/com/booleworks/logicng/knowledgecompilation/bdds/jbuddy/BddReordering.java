@@ -4,6 +4,8 @@
 
 package com.booleworks.logicng.knowledgecompilation.bdds.jbuddy;
 
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.events.BddReorderingEvent;
 import com.booleworks.logicng.util.Pair;
 
 import java.util.Arrays;
@@ -22,7 +24,8 @@ import java.util.Random;
  * {@link #swapVariables}</li>
  * <li>Reordering all variables can be performed via {@link #reorder}</li>
  * <li>Reordering during construction of the BDD can be configured via
- * {@link #setReorderDuringConstruction}</li>
+ * {@link #setReorderDuringConstruction} or automatically via a
+ * {@link BddKernelConfig}</li>
  * </ul>
  * The last two operations only have an effect, if variable blocks were added.
  * {@link #addVariableBlock(int, int, boolean) The docuentation} gives more
@@ -65,6 +68,17 @@ public class BddReordering {
 
     protected int usedNodesNextReorder;
 
+    // Budgets for the reordering: growth of live nodes which triggers an
+    // automatic reordering, time limit per pass, max. growth during sifting
+    protected double growthFactor;
+    protected long timeLimit;
+    protected double maxSiftGrowth;
+    protected long reorderDeadline;
+    protected boolean timeLimitReached;
+
+    // Number of performed automatic reorderings
+    protected int reorderings;
+
     /**
      * Creates a new reordering object for the given kernel.
      * @param k the kernel
@@ -82,6 +96,10 @@ public class BddReordering {
         usednumBefore = 0;
         usednumAfter = 0;
         blockId = 0;
+        growthFactor = 2.0;
+        timeLimit = 0;
+        maxSiftGrowth = 1.2;
+        reorderings = 0;
     }
 
     /**
@@ -136,6 +154,38 @@ public class BddReordering {
         reorderDone();
     }
 
+    /**
+     * Sets the variable order of the kernel. This affects all BDDs created by
+     * {@link #k the kernel}. In contrast to a sequence of
+     * {@link #swapVariables swaps}, the node table is prepared for the
+     * reordering only once.
+     * @param order the variable indices ordered by their new level
+     * @throws IllegalArgumentException if the order is not a permutation of
+     *                                  the variable indices
+     */
+    public void setVariableOrder(final int[] order) {
+        if (varTree != null) {
+            throw new IllegalStateException("Setting the variable order is not allowed with variable blocks");
+        }
+        if (order.length != k.varnum) {
+            throw new IllegalArgumentException("The order must contain all " + k.varnum + " variables");
+        }
+        final boolean[] seen = new boolean[k.varnum];
+        for (final int var : order) {
+            if (var < 0 || var >= k.varnum || seen[var]) {
+                throw new IllegalArgumentException("Illegal or duplicate variable number: " + var);
+            }
+            seen[var] = true;
+        }
+        reorderInit();
+        for (int level = 0; level < order.length; level++) {
+            while (k.var2level[order[level]] > level) {
+                reorderVarup(order[level]);
+            }
+        }
+        reorderDone();
+    }
+
     /**
      * Reorders the levels in the kernel using the given reordering method. Only
      * blocks of variables will be reordered. See the documentation of
@@ -152,6 +202,8 @@ public class BddReordering {
         final int savetimes = bddreorderTimes;
         reorderMethod = method;
         bddreorderTimes = 1;
+        reorderDeadline = timeLimit > 0 ? System.currentTimeMillis() + timeLimit : Long.MAX_VALUE;
+        timeLimitReached = false;
         top = new BddTree(-1);
         reorderInit();
         usednumBefore = k.nodesize - k.freenum;
@@ -185,6 +237,56 @@ public class BddReordering {
         bddreorderTimes = num;
     }
 
+    /**
+     * Sets the growth factor of the live nodes which triggers the next
+     * automatic reordering during construction. After a reordering, the next
+     * reordering is performed once the number of live nodes after a garbage
+     * collection exceeds the number of live nodes after the reordering by this
+     * factor. If the last reordering gained less than 20%, the threshold is
+     * raised further. The default value is {@code 2.0}.
+     * @param growthFactor the growth factor (must be at least 1)
+     */
+    public void setGrowthFactor(final double growthFactor) {
+        if (growthFactor < 1) {
+            throw new IllegalArgumentException("The growth factor must be at least 1: " + growthFactor);
+        }
+        this.growthFactor = growthFactor;
+    }
+
+    /**
+     * Sets the time limit for a single reordering pass in milliseconds. If the
+     * limit is reached, the reordering algorithm stops at the next possible
+     * point and keeps the best ordering found so far. A value of {@code 0}
+     * (the default) means no time limit.
+     * @param timeLimit the time limit in milliseconds
+     */
+    public void setTimeLimit(final long timeLimit) {
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * Sets the maximal growth of the number of live nodes which is allowed
+     * while a block is moved through the order during sifting. E.g. the
+     * default value of {@code 1.2} stops moving a block in one direction as
+     * soon as the BDD is 20% larger than the best size found so far.
+     * @param maxSiftGrowth the maximal growth during sifting (must be at least
+     *                      1)
+     */
+    public void setMaxSiftGrowth(final double maxSiftGrowth) {
+        if (maxSiftGrowth < 1) {
+            throw new IllegalArgumentException("The maximal sift growth must be at least 1: " + maxSiftGrowth);
+        }
+        this.maxSiftGrowth = maxSiftGrowth;
+    }
+
+    /**
+     * Returns the number of automatic reorderings performed so far.
+     * @return the number of automatic reorderings
+     */
+    public int getNumberOfReorderings() {
+        return reorderings;
+    }
+
     /**
      * Adds a variable block starting at variable {@code first} and ending in
      * variable {@code last} (both inclusive).
@@ -377,7 +479,7 @@ public class BddReordering {
         if (t == null) {
             return null;
         }
-        while (thisTree.getNext() != null) {
+        while (thisTree.getNext() != null && !reorderTimeExceeded()) {
             final int best = reorderNodenum();
             blockdown(thisTree);
             if (best < reorderNodenum()) {
@@ -401,7 +503,7 @@ public class BddReordering {
         do {
             lastsize = reorderNodenum();
             thisTree = t;
-            while (thisTree.getNext() != null) {
+            while (thisTree.getNext() != null && !reorderTimeExceeded()) {
                 final int best = reorderNodenum();
 
                 blockdown(thisTree);
@@ -413,7 +515,7 @@ public class BddReordering {
                     first = thisTree.getPrev();
                 }
             }
-        } while (reorderNodenum() != lastsize);
+        } while (reorderNodenum() != lastsize && !reorderTimeExceeded());
 
         return first;
     }
@@ -426,7 +528,7 @@ public class BddReordering {
             return null;
         }
 
-        while (thisTree.getNext() != null) {
+        while (thisTree.getNext() != null && !reorderTimeExceeded()) {
             final Pair<BddTree, BddTree> swapResult = reorderSwapwin3(thisTree);
             thisTree = swapResult.getFirst();
             first = swapResult.getSecond() != null ? swapResult.getSecond() : first;
@@ -448,12 +550,12 @@ public class BddReordering {
             lastsize = reorderNodenum();
             thisTree = first;
 
-            while (thisTree.getNext() != null && thisTree.getNext().getNext() != null) {
+            while (thisTree.getNext() != null && thisTree.getNext().getNext() != null && !reorderTimeExceeded()) {
                 final Pair<BddTree, BddTree> swapResult = reorderSwapwin3(thisTree);
                 thisTree = swapResult.getFirst();
                 first = swapResult.getSecond() != null ? swapResult.getSecond() : first;
             }
-        } while (reorderNodenum() != lastsize);
+        } while (reorderNodenum() != lastsize && !reorderTimeExceeded());
         return first;
     }
 
@@ -567,6 +669,7 @@ public class BddReordering {
 
     /**
      * Do sifting iteratively until no more improvement can be found
+     * (converging sifting) or the time limit is reached
      * @param t the input BDD tree
      * @return the sifted BDD tree
      */
@@ -581,7 +684,7 @@ public class BddReordering {
         do {
             lastsize = reorderNodenum();
             first = reorderSift(first);
-        } while (reorderNodenum() != lastsize);
+        } while (reorderNodenum() != lastsize && !reorderTimeExceeded());
 
         return first;
     }
@@ -649,7 +752,7 @@ public class BddReordering {
             return null;
         }
 
-        for (n = 0; n < num; n++) {
+        for (n = 0; n < num && !reorderTimeExceeded(); n++) {
             reorderSiftBestpos(seq[n], num / 2);
         }
 
@@ -668,7 +771,7 @@ public class BddReordering {
      */
     protected void reorderSiftBestpos(final BddTree blk, final int middlePos) {
         int best = reorderNodenum();
-        int maxAllowed = best / 5 + best;
+        int maxAllowed = maxAllowedSiftSize(best);
         int bestpos = 0;
         boolean dirIsUp = true;
         int n;
@@ -684,7 +787,7 @@ public class BddReordering {
 
             if (dirIsUp) {
                 while (blk.getPrev() != null &&
-                        (reorderNodenum() <= maxAllowed || first)) {
+                        (reorderNodenum() <= maxAllowed || first) && !reorderTimeExceeded()) {
                     first = false;
                     blockdown(blk.getPrev());
                     bestpos--;
@@ -692,12 +795,12 @@ public class BddReordering {
                     if (reorderNodenum() < best) {
                         best = reorderNodenum();
                         bestpos = 0;
-                        maxAllowed = best / 5 + best;
+                        maxAllowed = maxAllowedSiftSize(best);
                     }
                 }
             } else {
                 while (blk.getNext() != null &&
-                        (reorderNodenum() <= maxAllowed || first)) {
+                        (reorderNodenum() <= maxAllowed || first) && !reorderTimeExceeded()) {
                     first = false;
                     blockdown(blk);
                     bestpos++;
@@ -705,7 +808,7 @@ public class BddReordering {
                     if (reorderNodenum() < best) {
                         best = reorderNodenum();
                         bestpos = 0;
-                        maxAllowed = best / 5 + best;
+                        maxAllowed = maxAllowedSiftSize(best);
                     }
                 }
             }
@@ -723,6 +826,17 @@ public class BddReordering {
         }
     }
 
+    protected int maxAllowedSiftSize(final int best) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) (best * maxSiftGrowth));
+    }
+
+    protected boolean reorderTimeExceeded() {
+        if (!timeLimitReached && System.currentTimeMillis() > reorderDeadline) {
+            timeLimitReached = true;
+        }
+        return timeLimitReached;
+    }
+
     protected int siftTestCmp(final BddSizePair a, final BddSizePair b) {
         return Integer.compare(a.val, b.val);
     }
@@ -1078,12 +1192,17 @@ public class BddReordering {
                 !reorderDisabled;
     }
 
-    protected void reorderAuto() {
+    protected BddReorderingEvent reorderAuto() {
         if (!reorderReady()) {
-            return;
+            return null;
         }
-        reorder(reorderMethod);
+        final BddReorderingMethod method = reorderMethod;
+        final long start = System.currentTimeMillis();
+        reorder(method);
         bddreorderTimes--;
+        reorderings++;
+        return new BddReorderingEvent(method, usednumBefore, usednumAfter, System.currentTimeMillis() - start,
+                timeLimitReached);
     }
 
     protected void reorderInit() {
@@ -1155,15 +1274,24 @@ public class BddReordering {
         }
     }
 
-    protected void checkReorder() {
-        reorderAuto();
-        // Do not reorder before twice as many nodes have been used
-        usedNodesNextReorder = 2 * (k.nodesize - k.freenum);
+    /**
+     * Performs an automatic reordering if one is configured and computes the
+     * number of live nodes which triggers the next reordering. The reordering
+     * pass is reported to the given handler.
+     * @param handler the handler
+     * @return {@code false} if the handler canceled the computation after the
+     * reordering, {@code true} otherwise
+     */
+    protected boolean checkReorder(final ComputationHandler handler) {
+        final BddReorderingEvent event = reorderAuto();
+        // Do not reorder before the live nodes have grown by the growth factor
+        usedNodesNextReorder = (int) Math.min(Integer.MAX_VALUE, (long) (growthFactor * (k.nodesize - k.freenum)));
         // And if very little was gained this time (< 20%) then wait until even
         // more nodes (upto twice as many again) have been used
         if (reorderGain() < 20) {
-            usedNodesNextReorder += (usedNodesNextReorder * (20 - reorderGain())) / 20;
+            usedNodesNextReorder += (int) (((long) usedNodesNextReorder * (20 - reorderGain())) / 20);
         }
+        return event == null || handler.shouldResume(event);
     }
 
     protected void addrefRec(final int r, final int[] dep) {
@@ -0,0 +1,114 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds.jbuddy;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A lazy iterator over the satisfying paths (cubes) of a BDD. This is the
+ * streaming variant of {@link BddOperations#allSat(int)}: the BDD is walked
+ * with an explicit stack and each path to the one-terminal is yielded as
+ * soon as it is reached.
+ * <p>
+ * Each cube is a profile indexed by the variable index of the kernel with
+ * {@code 0} for a negative, {@code 1} for a positive, and {@code -1} for an
+ * unassigned (don't-care) variable. In order to avoid allocations, the
+ * iterator always returns <b>the same array</b> which is updated on the next
+ * call of {@link #next()}. Callers which want to store the cubes must copy
+ * them.
+ * <p>
+ * The kernel must not be modified (e.g. by new BDD operations or a
+ * reordering) while the iteration is in progress.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class BddSatIterator implements Iterator<byte[]> {
+
+    private final BddKernel k;
+    private final byte[] profile;
+    private int[] nodes;
+    private byte[] states;
+    private int top;
+    private boolean ready;
+
+    /**
+     * Constructs a new iterator over the cubes of the given BDD.
+     * @param k the kernel
+     * @param r the BDD root node
+     */
+    public BddSatIterator(final BddKernel k, final int r) {
+        this.k = k;
+        profile = new byte[k.varnum];
+        nodes = new int[Math.max(4, k.varnum + 2)];
+        states = new byte[nodes.length];
+        if (!k.isZero(r)) {
+            for (int v = k.level(r) - 1; v >= 0; --v) {
+                profile[k.level2var[v]] = -1;
+            }
+            push(r);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ready) {
+            ready = advance();
+        }
+        return ready;
+    }
+
+    @Override
+    public byte[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        return profile;
+    }
+
+    private boolean advance() {
+        while (top > 0) {
+            final int r = nodes[top - 1];
+            if (k.isOne(r)) {
+                top--;
+                return true;
+            }
+            if (states[top - 1] == 0) {
+                states[top - 1] = 1;
+                if (!k.isZero(k.low(r))) {
+                    descend(r, k.low(r), (byte) 0);
+                }
+            } else if (states[top - 1] == 1) {
+                states[top - 1] = 2;
+                if (!k.isZero(k.high(r))) {
+                    descend(r, k.high(r), (byte) 1);
+                }
+            } else {
+                top--;
+            }
+        }
+        return false;
+    }
+
+    private void descend(final int r, final int child, final byte phase) {
+        profile[k.level2var[k.level(r)]] = phase;
+        for (int v = k.level(child) - 1; v > k.level(r); --v) {
+            profile[k.level2var[v]] = -1;
+        }
+        push(child);
+    }
+
+    private void push(final int node) {
+        if (top == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            states = Arrays.copyOf(states, states.length * 2);
+        }
+        nodes[top] = node;
+        states[top] = 0;
+        top++;
+    }
+}
@@ -0,0 +1,1000 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds.jbuddy;
+
+import static com.booleworks.logicng.handlers.events.SimpleEvent.BDD_MAKE_NEW_NODE;
+import static com.booleworks.logicng.handlers.events.SimpleEvent.BDD_NEW_REF_ADDED;
+
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.handlers.events.LngEvent;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntSupplier;
+
+/**
+ * A BDD kernel which executes the BDD operations in parallel on a
+ * work-stealing {@link ForkJoinPool}.
+ * <p>
+ * The parallel kernel works on the variables and the current variable order
+ * of a sequential {@link BddKernel}. Its node table is shared by all worker
+ * threads: nodes are looked up and inserted in a lock-free unique table
+ * (open addressing with linear probing, empty slots are claimed via
+ * compare-and-set) and the results of the operations are stored in a
+ * lock-free, lossy operation cache. The recursive {@code apply},
+ * quantification, and restriction operations fork their low branch as a new
+ * task and compute the high branch in the current thread. Tasks are only
+ * forked up to a recursion depth of {@code 2 * ceil(log2(p + 1)) + 4} for a
+ * pool with parallelism {@code p} (no forking for a parallelism of 1), which
+ * yields enough tasks for work stealing while keeping the task overhead
+ * small.
+ * <p>
+ * The load factor of the unique table is bounded by 3/4: before a thread
+ * uses a new block of nodes which would exceed this bound, the table is
+ * doubled. The migration to the new table is shared by all threads which
+ * need the larger table, while the other threads continue to look up and
+ * insert nodes.
+ * <p>
+ * Nodes of the parallel kernel are never garbage collected, so the memory
+ * of the kernel grows with the number of intermediate nodes. The kernel is
+ * intended to construct a BDD which is then transferred to the sequential
+ * kernel via {@link #transferTo(int)}; afterwards the parallel kernel should
+ * be discarded. The variable order of the sequential kernel must not change
+ * while the parallel kernel is in use.
+ * <p>
+ * A kernel constructed with a parallelism creates its own worker pool whose
+ * threads are only released by {@link #close()}, so such a kernel must be
+ * closed, e.g. in a try-with-resources statement. A kernel constructed on a
+ * given pool (e.g. the {@link ForkJoinPool#commonPool() common pool}) does not
+ * own the pool, closing it has no effect on the pool.
+ * <p>
+ * All methods of this class must be called from a single thread, the
+ * parallelism is handled internally.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ParallelBddKernel implements AutoCloseable {
+
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_CHUNKS = 1 << (31 - CHUNK_BITS);
+    private static final int ALLOCATION_BLOCK = 1024;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+    private static final int MIGRATION_CHUNK = 4096;
+    private static final int MIGRATED = -1;
+
+    private static final int OP_AND = 0;
+    private static final int OP_OR = 1;
+    private static final int OP_IMP = 2;
+    private static final int OP_EQUIV = 3;
+    private static final int[][] TRUTH_TABLES = {{0, 0, 0, 1}, {0, 1, 1, 1}, {1, 1, 0, 1}, {1, 0, 0, 1}};
+
+    protected final BddKernel kernel;
+    protected final int varnum;
+    protected final int[] var2level;
+    protected final int forkDepth;
+    protected final ForkJoinPool pool;
+    protected final boolean ownsPool;
+
+    // Node storage: chunks of (level, low, high) triples
+    protected final AtomicReferenceArray<int[]> chunks;
+    protected final AtomicInteger nextNode;
+    protected final ThreadLocal<int[]> allocationBlock;
+
+    // Unique table: replaced by a table of twice the size when it is full
+    protected volatile UniqueTable uniqueTable;
+
+    // Lossy operation cache
+    protected final AtomicReferenceArray<CacheEntry> cache;
+    protected final int cacheMask;
+    protected final AtomicInteger operationId;
+
+    protected volatile boolean canceled;
+    protected ComputationHandler handler;
+
+    /**
+     * Constructs a new parallel kernel on the variables of the given
+     * sequential kernel with its own worker pool. The initial unique table
+     * and the operation cache are sized according to the current node table
+     * of the sequential kernel. The kernel must be {@link #close() closed} to
+     * release the worker threads.
+     * @param kernel      the sequential kernel providing the variables and the
+     *                    variable order
+     * @param parallelism the number of worker threads
+     */
+    public ParallelBddKernel(final BddKernel kernel, final int parallelism) {
+        this(kernel, parallelism, kernel.nodesize, kernel.nodesize);
+    }
+
+    /**
+     * Constructs a new parallel kernel on the variables of the given
+     * sequential kernel with its own worker pool. The kernel must be
+     * {@link #close() closed} to release the worker threads.
+     * @param kernel          the sequential kernel providing the variables
+     *                        and the variable order
+     * @param parallelism     the number of worker threads
+     * @param uniqueTableSize the initial number of slots in the unique table,
+     *                        the table grows with the number of nodes
+     * @param cacheSize       the number of entries of the operation cache
+     */
+    public ParallelBddKernel(final BddKernel kernel, final int parallelism, final int uniqueTableSize,
+                             final int cacheSize) {
+        this(kernel, createPool(parallelism), true, uniqueTableSize, cacheSize);
+    }
+
+    /**
+     * Constructs a new parallel kernel on the variables of the given
+     * sequential kernel which executes its operations on the given pool. The
+     * pool is not shut down when the kernel is closed.
+     * @param kernel          the sequential kernel providing the variables
+     *                        and the variable order
+     * @param pool            the worker pool, e.g. the
+     *                        {@link ForkJoinPool#commonPool() common pool}
+     * @param uniqueTableSize the initial number of slots in the unique table,
+     *                        the table grows with the number of nodes
+     * @param cacheSize       the number of entries of the operation cache
+     */
+    public ParallelBddKernel(final BddKernel kernel, final ForkJoinPool pool, final int uniqueTableSize,
+                             final int cacheSize) {
+        this(kernel, pool, false, uniqueTableSize, cacheSize);
+    }
+
+    private ParallelBddKernel(final BddKernel kernel, final ForkJoinPool pool, final boolean ownsPool,
+                              final int uniqueTableSize, final int cacheSize) {
+        this.kernel = kernel;
+        varnum = kernel.varnum;
+        var2level = Arrays.copyOf(kernel.var2level, kernel.var2level.length);
+        final int parallelism = pool.getParallelism();
+        forkDepth = parallelism == 1 ? 0 : 2 * (32 - Integer.numberOfLeadingZeros(parallelism)) + 4;
+        this.pool = pool;
+        this.ownsPool = ownsPool;
+        chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+        nextNode = new AtomicInteger(2);
+        allocationBlock = ThreadLocal.withInitial(() -> new int[]{0, 0});
+        uniqueTable = new UniqueTable(powerOfTwoGte(uniqueTableSize));
+        cache = new AtomicReferenceArray<>(powerOfTwoGte(cacheSize));
+        cacheMask = cache.length() - 1;
+        operationId = new AtomicInteger(OP_EQUIV + 1);
+        handler = NopHandler.get();
+        final int[] first = ensureChunk(0);
+        first[0] = varnum;
+        first[1] = 0;
+        first[2] = 0;
+        first[3] = varnum;
+        first[4] = 1;
+        first[5] = 1;
+    }
+
+    private static ForkJoinPool createPool(final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1: " + parallelism);
+        }
+        return new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Returns the sequential kernel of this parallel kernel.
+     * @return the sequential kernel
+     */
+    public BddKernel getKernel() {
+        return kernel;
+    }
+
+    /**
+     * Returns the number of nodes constructed in this kernel (including the
+     * two constants).
+     * @return the number of nodes
+     */
+    public int nodeCount() {
+        return nextNode.get();
+    }
+
+    /**
+     * Returns the BDD for the positive literal of the variable with the given
+     * index of the sequential kernel.
+     * @param idx the variable index
+     * @return the BDD for the variable
+     */
+    public int ithVar(final int idx) {
+        checkVar(idx);
+        return makeNode(var2level[idx], BddKernel.BDD_FALSE, BddKernel.BDD_TRUE);
+    }
+
+    /**
+     * Returns the BDD for the negative literal of the variable with the given
+     * index of the sequential kernel.
+     * @param idx the variable index
+     * @return the BDD for the negated variable
+     */
+    public int nithVar(final int idx) {
+        checkVar(idx);
+        return makeNode(var2level[idx], BddKernel.BDD_TRUE, BddKernel.BDD_FALSE);
+    }
+
+    /**
+     * Returns the BDD for the given literal. The variable must be known to the
+     * sequential kernel.
+     * @param literal the literal
+     * @return the BDD for the literal
+     */
+    public int literal(final Literal literal) {
+        final int idx = kernel.getIndexForVariable(literal.variable());
+        if (idx < 0) {
+            throw new IllegalArgumentException("Unknown variable: " + literal.variable());
+        }
+        return literal.getPhase() ? ithVar(idx) : nithVar(idx);
+    }
+
+    /**
+     * Computes the conjunction of two BDDs in parallel.
+     * @param l       the first BDD
+     * @param r       the second BDD
+     * @param handler the handler
+     * @return the conjunction or an abortion code if the computation was
+     * canceled by the handler
+     */
+    public int and(final int l, final int r, final ComputationHandler handler) {
+        return invoke(new ApplyTask(l, r, OP_AND, 0), handler);
+    }
+
+    /**
+     * Computes the disjunction of two BDDs in parallel.
+     * @param l       the first BDD
+     * @param r       the second BDD
+     * @param handler the handler
+     * @return the disjunction or an abortion code if the computation was
+     * canceled by the handler
+     */
+    public int or(final int l, final int r, final ComputationHandler handler) {
+        return invoke(new ApplyTask(l, r, OP_OR, 0), handler);
+    }
+
+    /**
+     * Computes the implication of two BDDs in parallel.
+     * @param l       the first BDD
+     * @param r       the second BDD
+     * @param handler the handler
+     * @return the implication or an abortion code if the computation was
+     * canceled by the handler
+     */
+    public int implication(final int l, final int r, final ComputationHandler handler) {
+        return invoke(new ApplyTask(l, r, OP_IMP, 0), handler);
+    }
+
+    /**
+     * Computes the equivalence of two BDDs in parallel.
+     * @param l       the first BDD
+     * @param r       the second BDD
+     * @param handler the handler
+     * @return the equivalence or an abortion code if the computation was
+     * canceled by the handler
+     */
+    public int equivalence(final int l, final int r, final ComputationHandler handler) {
+        return invoke(new ApplyTask(l, r, OP_EQUIV, 0), handler);
+    }
+
+    /**
+     * Computes the negation of a BDD in parallel.
+     * @param r       the BDD
+     * @param handler the handler
+     * @return the negation or an abortion code if the computation was
+     * canceled by the handler
+     */
+    public int not(final int r, final ComputationHandler handler) {
+        return invoke(new ApplyTask(r, BddKernel.BDD_FALSE, OP_EQUIV, 0), handler);
+    }
+
+    /**
+     * Existentially quantifies the given variables in a BDD in parallel.
+     * Variables unknown to the sequential kernel are ignored.
+     * @param r         the BDD
+     * @param variables the variables to quantify
+     * @param handler   the handler
+     * @return the quantified BDD or an abortion code if the computation was
+     * canceled by the handler
+     */
+    public int exists(final int r, final Collection<Variable> variables, final ComputationHandler handler) {
+        final boolean[] quantified = new boolean[varnum + 1];
+        int last = -1;
+        for (final Variable var : variables) {
+            final int idx = kernel.getIndexForVariable(var);
+            if (idx >= 0 && idx < varnum) {
+                quantified[var2level[idx]] = true;
+                last = Math.max(last, var2level[idx]);
+            }
+        }
+        if (last < 0) {
+            return r;
+        }
+        final QuantContext context = new QuantContext(operationId.getAndIncrement(), quantified, last);
+        return invoke(new ExistsTask(r, context, 0), handler);
+    }
+
+    /**
+     * Restricts a BDD by the given literals in parallel, i.e. replaces the
+     * variables by the respective constants. Variables unknown to the
+     * sequential kernel are ignored.
+     * @param r           the BDD
+     * @param restriction the restricting literals
+     * @param handler     the handler
+     * @return the restricted BDD or an abortion code if the computation was
+     * canceled by the handler
+     */
+    public int restrict(final int r, final Collection<? extends Literal> restriction,
+                        final ComputationHandler handler) {
+        final int[] assignment = new int[varnum + 1];
+        int last = -1;
+        for (final Literal lit : restriction) {
+            final int idx = kernel.getIndexForVariable(lit.variable());
+            if (idx >= 0 && idx < varnum) {
+                assignment[var2level[idx]] = lit.getPhase() ? 2 : 1;
+                last = Math.max(last, var2level[idx]);
+            }
+        }
+        if (last < 0) {
+            return r;
+        }
+        final RestrictContext context = new RestrictContext(operationId.getAndIncrement(), assignment, last);
+        return invoke(new RestrictTask(r, context, 0), handler);
+    }
+
+    /**
+     * Transfers a BDD of this parallel kernel to the sequential kernel. The
+     * returned node in the sequential kernel has a reference added, i.e. it
+     * is protected from the garbage collection of the sequential kernel.
+     * @param root the root node of the BDD in this kernel
+     * @return the root node of the BDD in the sequential kernel
+     * @throws IllegalStateException if the variable order of the sequential
+     *                               kernel changed since the construction of
+     *                               this kernel
+     */
+    public int transferTo(final int root) {
+        checkOrderUnchanged();
+        if (root < 2) {
+            return root;
+        }
+        final int[] mapping = new int[nextNode.get()];
+        Arrays.fill(mapping, -1);
+        mapping[0] = BddKernel.BDD_FALSE;
+        mapping[1] = BddKernel.BDD_TRUE;
+        final int[] transferred = new int[nextNode.get()];
+        int numTransferred = 0;
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = root;
+        kernel.reordering.disableReorder();
+        try {
+            while (top > 0) {
+                final int node = stack[top - 1];
+                if (mapping[node] >= 0) {
+                    top--;
+                    continue;
+                }
+                final int low = low(node);
+                final int high = high(node);
+                if (mapping[low] < 0 || mapping[high] < 0) {
+                    if (top + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    if (mapping[low] < 0) {
+                        stack[top++] = low;
+                    }
+                    if (mapping[high] < 0) {
+                        stack[top++] = high;
+                    }
+                    continue;
+                }
+                top--;
+                kernel.initRef();
+                final int res = kernel.makeNode(level(node), mapping[low], mapping[high]);
+                kernel.addRef(res, NopHandler.get());
+                mapping[node] = res;
+                transferred[numTransferred++] = res;
+            }
+        } finally {
+            kernel.reordering.enableReorder();
+        }
+        final int result = mapping[root];
+        kernel.addRef(result, NopHandler.get());
+        for (int i = 0; i < numTransferred; i++) {
+            kernel.delRef(transferred[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Transfers a BDD of the sequential kernel to this parallel kernel.
+     * @param root the root node of the BDD in the sequential kernel
+     * @return the root node of the BDD in this kernel
+     * @throws IllegalStateException if the variable order of the sequential
+     *                               kernel changed since the construction of
+     *                               this kernel
+     */
+    public int transferFrom(final int root) {
+        checkOrderUnchanged();
+        if (root < 2) {
+            return root;
+        }
+        final int[] mapping = new int[kernel.nodesize];
+        Arrays.fill(mapping, -1);
+        mapping[0] = BddKernel.BDD_FALSE;
+        mapping[1] = BddKernel.BDD_TRUE;
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            final int node = stack[top - 1];
+            if (mapping[node] >= 0) {
+                top--;
+                continue;
+            }
+            final int low = kernel.low(node);
+            final int high = kernel.high(node);
+            if (mapping[low] < 0 || mapping[high] < 0) {
+                if (top + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                if (mapping[low] < 0) {
+                    stack[top++] = low;
+                }
+                if (mapping[high] < 0) {
+                    stack[top++] = high;
+                }
+                continue;
+            }
+            top--;
+            mapping[node] = makeNode(kernel.level(node), mapping[low], mapping[high]);
+        }
+        return mapping[root];
+    }
+
+    /**
+     * Returns the current number of slots in the unique table.
+     * @return the size of the unique table
+     */
+    public int uniqueTableSize() {
+        return uniqueTable.slots.length();
+    }
+
+    /**
+     * Shuts down the worker threads of this kernel if the kernel created its
+     * own pool. A given pool is not shut down.
+     */
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Executes a construction consisting of several operations of this kernel
+     * in the worker pool. Operations called within the construction are
+     * executed directly in the calling worker thread instead of being
+     * submitted to the pool one by one, their handler is ignored in favor of
+     * the given handler.
+     * @param construction the construction
+     * @param handler      the handler for the whole construction
+     * @return the result of the construction
+     */
+    public int execute(final IntSupplier construction, final ComputationHandler handler) {
+        this.handler = handler;
+        canceled = false;
+        return pool.invoke(new ConstructionTask(construction));
+    }
+
+    /**
+     * Invokes the given operation task. If the caller is already a worker of
+     * this kernel's pool, the task is computed directly, otherwise it is
+     * submitted to the pool. After a successful operation, the handler is
+     * informed about the new result with a {@code BDD_NEW_REF_ADDED} event,
+     * analogous to the references added during a sequential construction.
+     * @param task    the task
+     * @param handler the handler
+     * @return the result of the task or an abortion code
+     */
+    protected int invoke(final RecursiveTask<Integer> task, final ComputationHandler handler) {
+        final int res;
+        if (ForkJoinTask.getPool() == pool) {
+            res = canceled ? BddKernel.BDD_ABORT_NEW_NODE : task.invoke();
+        } else {
+            this.handler = handler;
+            canceled = false;
+            res = pool.invoke(task);
+        }
+        if (!BddKernel.isAborted(res) && !checkHandler(BDD_NEW_REF_ADDED)) {
+            return BddKernel.BDD_ABORT_NEW_REF;
+        }
+        return res;
+    }
+
+    protected int applyRec(final int l, final int r, final int op, final int depth) {
+        switch (op) {
+            case OP_AND:
+                if (l == r || r == BddKernel.BDD_TRUE) {
+                    return l;
+                }
+                if (l == BddKernel.BDD_FALSE || r == BddKernel.BDD_FALSE) {
+                    return BddKernel.BDD_FALSE;
+                }
+                if (l == BddKernel.BDD_TRUE) {
+                    return r;
+                }
+                break;
+            case OP_OR:
+                if (l == r || r == BddKernel.BDD_FALSE) {
+                    return l;
+                }
+                if (l == BddKernel.BDD_TRUE || r == BddKernel.BDD_TRUE) {
+                    return BddKernel.BDD_TRUE;
+                }
+                if (l == BddKernel.BDD_FALSE) {
+                    return r;
+                }
+                break;
+            case OP_IMP:
+                if (l == BddKernel.BDD_FALSE || r == BddKernel.BDD_TRUE) {
+                    return BddKernel.BDD_TRUE;
+                }
+                if (l == BddKernel.BDD_TRUE) {
+                    return r;
+                }
+                break;
+        }
+        if (l < 2 && r < 2) {
+            return TRUTH_TABLES[op][l << 1 | r];
+        }
+        final int hash = cacheHash(l, r, op);
+        final CacheEntry entry = cache.get(hash);
+        if (entry != null && entry.a == l && entry.b == r && entry.op == op) {
+            return entry.res;
+        }
+        if (canceled) {
+            return BddKernel.BDD_ABORT_NEW_NODE;
+        }
+        final int levelL = level(l);
+        final int levelR = level(r);
+        final int level = Math.min(levelL, levelR);
+        final int l0 = levelL == level ? low(l) : l;
+        final int l1 = levelL == level ? high(l) : l;
+        final int r0 = levelR == level ? low(r) : r;
+        final int r1 = levelR == level ? high(r) : r;
+        final int low;
+        final int high;
+        if (depth < forkDepth) {
+            final ApplyTask lowTask = new ApplyTask(l0, r0, op, depth + 1);
+            lowTask.fork();
+            high = applyRec(l1, r1, op, depth + 1);
+            low = lowTask.join();
+        } else {
+            low = applyRec(l0, r0, op, depth + 1);
+            high = BddKernel.isAborted(low) ? low : applyRec(l1, r1, op, depth + 1);
+        }
+        if (BddKernel.isAborted(low) || BddKernel.isAborted(high)) {
+            return BddKernel.BDD_ABORT_NEW_NODE;
+        }
+        final int res = makeNode(level, low, high);
+        cache.lazySet(hash, new CacheEntry(l, r, op, res));
+        return res;
+    }
+
+    protected int existsRec(final int r, final QuantContext context, final int depth) {
+        if (r < 2 || level(r) > context.last) {
+            return r;
+        }
+        final int hash = cacheHash(r, -1, context.id);
+        final CacheEntry entry = cache.get(hash);
+        if (entry != null && entry.a == r && entry.b == -1 && entry.op == context.id) {
+            return entry.res;
+        }
+        if (canceled) {
+            return BddKernel.BDD_ABORT_NEW_NODE;
+        }
+        final int low;
+        final int high;
+        if (depth < forkDepth) {
+            final ExistsTask lowTask = new ExistsTask(low(r), context, depth + 1);
+            lowTask.fork();
+            high = existsRec(high(r), context, depth + 1);
+            low = lowTask.join();
+        } else {
+            low = existsRec(low(r), context, depth + 1);
+            high = BddKernel.isAborted(low) ? low : existsRec(high(r), context, depth + 1);
+        }
+        if (BddKernel.isAborted(low) || BddKernel.isAborted(high)) {
+            return BddKernel.BDD_ABORT_NEW_NODE;
+        }
+        final int level = level(r);
+        final int res = context.quantified[level] ? applyRec(low, high, OP_OR, depth) : makeNode(level, low, high);
+        if (BddKernel.isAborted(res)) {
+            return res;
+        }
+        cache.lazySet(hash, new CacheEntry(r, -1, context.id, res));
+        return res;
+    }
+
+    protected int restrictRec(final int r, final RestrictContext context, final int depth) {
+        if (r < 2 || level(r) > context.last) {
+            return r;
+        }
+        final int hash = cacheHash(r, -2, context.id);
+        final CacheEntry entry = cache.get(hash);
+        if (entry != null && entry.a == r && entry.b == -2 && entry.op == context.id) {
+            return entry.res;
+        }
+        if (canceled) {
+            return BddKernel.BDD_ABORT_NEW_NODE;
+        }
+        final int level = level(r);
+        final int res;
+        if (context.assignment[level] != 0) {
+            res = restrictRec(context.assignment[level] == 2 ? high(r) : low(r), context, depth);
+        } else {
+            final int low;
+            final int high;
+            if (depth < forkDepth) {
+                final RestrictTask lowTask = new RestrictTask(low(r), context, depth + 1);
+                lowTask.fork();
+                high = restrictRec(high(r), context, depth + 1);
+                low = lowTask.join();
+            } else {
+                low = restrictRec(low(r), context, depth + 1);
+                high = BddKernel.isAborted(low) ? low : restrictRec(high(r), context, depth + 1);
+            }
+            if (BddKernel.isAborted(low) || BddKernel.isAborted(high)) {
+                return BddKernel.BDD_ABORT_NEW_NODE;
+            }
+            res = makeNode(level, low, high);
+        }
+        if (BddKernel.isAborted(res)) {
+            return res;
+        }
+        cache.lazySet(hash, new CacheEntry(r, -2, context.id, res));
+        return res;
+    }
+
+    /**
+     * Finds or creates the node with the given level and children. A new node
+     * is inserted into the first empty slot of its probe sequence via
+     * compare-and-set; if another thread claimed the slot in the meantime,
+     * the slot is checked again. A migrated slot indicates that the table
+     * was replaced, the search continues in the new table.
+     * @param level the level of the node
+     * @param low   the low child
+     * @param high  the high child
+     * @return the node
+     */
+    protected int makeNode(final int level, final int low, final int high) {
+        if (low == high) {
+            return low;
+        }
+        final int hash = nodeHash(level, low, high);
+        UniqueTable table = uniqueTable;
+        int slot = hash & table.mask;
+        int newNode = 0;
+        while (true) {
+            final int n = table.slots.get(slot);
+            if (n == 0) {
+                if (newNode == 0) {
+                    newNode = allocateNode();
+                    final int[] chunk = chunks.get(newNode >>> CHUNK_BITS);
+                    final int offset = (newNode & CHUNK_MASK) * 3;
+                    chunk[offset] = level;
+                    chunk[offset + 1] = low;
+                    chunk[offset + 2] = high;
+                }
+                if (table.slots.compareAndSet(slot, 0, newNode)) {
+                    return newNode;
+                }
+            } else if (n == MIGRATED) {
+                table = table.next.get();
+                slot = hash & table.mask;
+            } else if (level(n) == level && low(n) == low && high(n) == high) {
+                if (newNode != 0) {
+                    releaseNode(newNode);
+                }
+                return n;
+            } else {
+                slot = (slot + 1) & table.mask;
+            }
+        }
+    }
+
+    /**
+     * Allocates a new node. Each thread reserves blocks of nodes; before a
+     * new block is used, the unique table is grown if necessary.
+     * @return the new node
+     */
+    protected int allocateNode() {
+        final int[] block = allocationBlock.get();
+        if (block[0] == block[1]) {
+            final int start = nextNode.getAndAdd(ALLOCATION_BLOCK);
+            if (start < 0 || start > Integer.MAX_VALUE - ALLOCATION_BLOCK) {
+                throw new IllegalStateException("Cannot allocate more space for more nodes.");
+            }
+            ensureTableCapacity(start + ALLOCATION_BLOCK);
+            block[0] = start;
+            block[1] = start + ALLOCATION_BLOCK;
+            checkHandler(BDD_MAKE_NEW_NODE);
+        }
+        final int node = block[0]++;
+        ensureChunk(node >>> CHUNK_BITS);
+        return node;
+    }
+
+    /**
+     * Ensures that the unique table can hold the given number of nodes
+     * without exceeding its load factor. Since all nodes in the table are
+     * smaller than the end of a reserved block, checking each block before
+     * its first node is inserted bounds the load factor of the table. If the
+     * table is too small, a table of twice the size is created and the
+     * calling thread helps migrating the nodes until the new table replaces
+     * the old one.
+     * @param numNodes the number of nodes
+     */
+    protected void ensureTableCapacity(final int numNodes) {
+        UniqueTable table = uniqueTable;
+        while (numNodes > table.threshold) {
+            if (table.next.get() == null) {
+                if (table.slots.length() >= MAX_TABLE_SIZE) {
+                    throw new IllegalStateException("Cannot allocate more space for more nodes.");
+                }
+                table.next.compareAndSet(null, new UniqueTable(table.slots.length() << 1));
+            }
+            migrate(table);
+            while (uniqueTable == table) {
+                Thread.onSpinWait();
+            }
+            table = uniqueTable;
+        }
+    }
+
+    /**
+     * Migrates the nodes of the given table to its successor. The slots are
+     * migrated in chunks which are claimed by the participating threads.
+     * Empty slots are marked as migrated, so no node can be inserted into the
+     * old table afterwards. Nodes remain in the old table, so threads which
+     * still search the old table find them. The thread which completes the
+     * last chunk replaces the unique table.
+     * @param table the table to migrate
+     */
+    protected void migrate(final UniqueTable table) {
+        final UniqueTable next = table.next.get();
+        final int capacity = table.slots.length();
+        int start;
+        while ((start = table.migrationIndex.getAndAdd(MIGRATION_CHUNK)) < capacity) {
+            final int end = Math.min(start + MIGRATION_CHUNK, capacity);
+            for (int i = start; i < end; i++) {
+                int n = table.slots.get(i);
+                while (n == 0 && !table.slots.compareAndSet(i, 0, MIGRATED)) {
+                    n = table.slots.get(i);
+                }
+                if (n != 0) {
+                    int slot = nodeHash(level(n), low(n), high(n)) & next.mask;
+                    while (!next.slots.compareAndSet(slot, 0, n)) {
+                        slot = (slot + 1) & next.mask;
+                    }
+                }
+            }
+            if (table.migrated.addAndGet(end - start) == capacity) {
+                uniqueTable = next;
+            }
+        }
+    }
+
+    protected void releaseNode(final int node) {
+        final int[] block = allocationBlock.get();
+        if (block[0] == node + 1) {
+            block[0] = node;
+        }
+    }
+
+    protected boolean checkHandler(final LngEvent event) {
+        if (handler != NopHandler.get()) {
+            synchronized (this) {
+                if (!canceled && !handler.shouldResume(event)) {
+                    canceled = true;
+                }
+            }
+        }
+        return !canceled;
+    }
+
+    protected int[] ensureChunk(final int chunkIndex) {
+        int[] chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            chunks.compareAndSet(chunkIndex, null, new int[CHUNK_SIZE * 3]);
+            chunk = chunks.get(chunkIndex);
+        }
+        return chunk;
+    }
+
+    protected int level(final int node) {
+        return chunks.get(node >>> CHUNK_BITS)[(node & CHUNK_MASK) * 3];
+    }
+
+    protected int low(final int node) {
+        return chunks.get(node >>> CHUNK_BITS)[(node & CHUNK_MASK) * 3 + 1];
+    }
+
+    protected int high(final int node) {
+        return chunks.get(node >>> CHUNK_BITS)[(node & CHUNK_MASK) * 3 + 2];
+    }
+
+    protected int nodeHash(final int level, final int low, final int high) {
+        return mix(mix(level * 0x9E3779B9 + low) + high);
+    }
+
+    protected int cacheHash(final int a, final int b, final int op) {
+        return mix(mix(a * 0x9E3779B9 + b) + op) & cacheMask;
+    }
+
+    protected void checkVar(final int idx) {
+        if (idx < 0 || idx >= varnum) {
+            throw new IllegalArgumentException("Illegal variable number: " + idx);
+        }
+    }
+
+    protected void checkOrderUnchanged() {
+        for (int i = 0; i < varnum; i++) {
+            if (kernel.var2level[i] != var2level[i]) {
+                throw new IllegalStateException("The variable order of the sequential kernel has changed");
+            }
+        }
+    }
+
+    private static int mix(final int x) {
+        int h = x * 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private static int powerOfTwoGte(final int n) {
+        return n <= 2 ? 2 : Integer.highestOneBit(Math.min(n, MAX_TABLE_SIZE) - 1) << 1;
+    }
+
+    /**
+     * A unique table with open addressing. A slot is either empty, contains
+     * a node, or is marked as migrated to the successor table.
+     */
+    protected static final class UniqueTable {
+        private final AtomicIntegerArray slots;
+        private final int mask;
+        private final int threshold;
+        private final AtomicReference<UniqueTable> next = new AtomicReference<>();
+        private final AtomicInteger migrationIndex = new AtomicInteger();
+        private final AtomicInteger migrated = new AtomicInteger();
+
+        private UniqueTable(final int size) {
+            slots = new AtomicIntegerArray(size);
+            mask = size - 1;
+            threshold = size - (size >>> 2);
+        }
+    }
+
+    protected static final class CacheEntry {
+        private final int a;
+        private final int b;
+        private final int op;
+        private final int res;
+
+        private CacheEntry(final int a, final int b, final int op, final int res) {
+            this.a = a;
+            this.b = b;
+            this.op = op;
+            this.res = res;
+        }
+    }
+
+    protected static final class QuantContext {
+        private final int id;
+        private final boolean[] quantified;
+        private final int last;
+
+        private QuantContext(final int id, final boolean[] quantified, final int last) {
+            this.id = id;
+            this.quantified = quantified;
+            this.last = last;
+        }
+    }
+
+    protected static final class RestrictContext {
+        private final int id;
+        private final int[] assignment;
+        private final int last;
+
+        private RestrictContext(final int id, final int[] assignment, final int last) {
+            this.id = id;
+            this.assignment = assignment;
+            this.last = last;
+        }
+    }
+
+    protected final class ApplyTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final int l;
+        private final int r;
+        private final int op;
+        private final int depth;
+
+        private ApplyTask(final int l, final int r, final int op, final int depth) {
+            this.l = l;
+            this.r = r;
+            this.op = op;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Integer compute() {
+            return applyRec(l, r, op, depth);
+        }
+    }
+
+    protected final class ExistsTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final int r;
+        private final QuantContext context;
+        private final int depth;
+
+        private ExistsTask(final int r, final QuantContext context, final int depth) {
+            this.r = r;
+            this.context = context;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Integer compute() {
+            return existsRec(r, context, depth);
+        }
+    }
+
+    protected final class RestrictTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final int r;
+        private final RestrictContext context;
+        private final int depth;
+
+        private RestrictTask(final int r, final RestrictContext context, final int depth) {
+            this.r = r;
+            this.context = context;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Integer compute() {
+            return restrictRec(r, context, depth);
+        }
+    }
+
+    protected static final class ConstructionTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final IntSupplier construction;
+
+        private ConstructionTask(final IntSupplier construction) {
+            this.construction = construction;
+        }
+
+        @Override
+        protected Integer compute() {
+            return construction.getAsInt();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds.orderings;
+
+/**
+ * An enumeration for the different schedules in which the conjuncts of a
+ * formula are conjoined during a partitioned BDD construction.
+ * <p>
+ * The schedule determines how long variables stay in the intermediate BDDs.
+ * Variables which are projected away can be quantified as soon as the last
+ * conjunct containing them was conjoined, so a good schedule keeps the
+ * intermediate BDDs small.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public enum ConjunctionSchedule {
+
+    /**
+     * The conjuncts are conjoined in the order in which they appear in the
+     * formula.
+     */
+    INPUT,
+
+    /**
+     * The conjuncts are sorted by the position of their lowest and highest
+     * variable in the current variable order of the kernel. In combination
+     * with a kernel constructed with a {@link ForceOrdering} or
+     * {@link DfsOrdering} this conjoins conjuncts over neighbouring variables
+     * one after another.
+     */
+    VARIABLE_ORDER,
+
+    /**
+     * The conjuncts are scheduled greedily such that the number of variables
+     * which are still alive (i.e. occur in the intermediate result and in a
+     * remaining conjunct) after each step is minimal.
+     */
+    MIN_CUT
+}
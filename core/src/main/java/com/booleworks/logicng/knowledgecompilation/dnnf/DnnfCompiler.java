@@ -7,18 +7,22 @@ package com.booleworks.logicng.knowledgecompilation.dnnf;
 import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.DNNF_COMPUTATION_STARTED;
 import static com.booleworks.logicng.handlers.events.SimpleEvent.DNNF_SHANNON_EXPANSION;
 
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.configurations.ConfigurationType;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
-import com.booleworks.logicng.formulas.Literal;
 import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.handlers.ComputationHandler;
 import com.booleworks.logicng.handlers.LngResult;
 import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.handlers.events.DnnfCacheStatisticsEvent;
+import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.CompactDnnf;
+import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.DnnfCache;
 import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.Dnnf;
 import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree.DTree;
+import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree.DTreeGenerator;
 import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree.DTreeLeaf;
 import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree.DTreeNode;
-import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree.MinFillDTreeGenerator;
 import com.booleworks.logicng.predicates.satisfiability.SatPredicate;
 import com.booleworks.logicng.solvers.sat.LngCoreSolver;
 import com.booleworks.logicng.transformations.cnf.CnfSubsumption;
@@ -28,16 +32,17 @@ import com.booleworks.logicng.util.Pair;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 /**
  * Implementation of a DNNF compiler based on ideas by Adnan Darwiche in "New
  * advances in compiling CNF to decomposable negation normal form."
+ * <p>
+ * The compiler builds the d-DNNF as a {@link CompactDnnf} and does not create
+ * any formulas for it in the formula factory. The formula of the resulting
+ * {@link Dnnf} is only generated on demand.
  * @version 3.0.0
  * @since 2.0.0
  */
@@ -52,12 +57,16 @@ public class DnnfCompiler {
 
     protected final int numberOfVariables;
 
-    protected final Map<BitSet, Formula> cache;
+    protected final CompactDnnf.Builder builder;
+    protected final int[] literalNodes;
+    protected final LngIntVector impliedLiterals;
+
+    protected final DnnfCache cache;
 
     protected BitSet[][] localCacheKeys;
     protected int[][][] localOccurrences;
-    protected final List<Formula> leafResultOperands;
-    protected final List<Literal> leafCurrentLiterals;
+    protected final LngIntVector leafResultOperands;
+    protected final LngIntVector leafCurrentLiterals;
 
     /**
      * Constructs a new DNNF compiler for the given formula.
@@ -66,9 +75,10 @@ public class DnnfCompiler {
      * @param unitClauses    the unit clauses of the cnf
      * @param nonUnitClauses the non-unit clauses of the cnf
      * @param maxClauseSize  the maximum clause size of the non-unit clauses
+     * @param config         the configuration of the compiler
      */
     protected DnnfCompiler(final FormulaFactory f, final Formula originalCnf, final Formula unitClauses, final Formula nonUnitClauses,
-                           final int maxClauseSize) {
+                           final int maxClauseSize, final DnnfConfig config) {
         this.f = f;
         this.originalCnf = originalCnf;
         this.unitClauses = unitClauses;
@@ -76,9 +86,12 @@ public class DnnfCompiler {
         solver = new DnnfCoreSolver(f, this.originalCnf.variables(f).size());
         solver.add(this.originalCnf);
         numberOfVariables = this.originalCnf.variables(f).size();
-        cache = new HashMap<>();
-        leafResultOperands = new ArrayList<>(maxClauseSize);
-        leafCurrentLiterals = new ArrayList<>(maxClauseSize);
+        builder = new CompactDnnf.Builder();
+        literalNodes = new int[2 * numberOfVariables];
+        impliedLiterals = new LngIntVector();
+        cache = new DnnfCache(config.maxCacheMemory, config.cacheEvictionPolicy);
+        leafResultOperands = new LngIntVector(maxClauseSize);
+        leafCurrentLiterals = new LngIntVector(maxClauseSize);
     }
 
     /**
@@ -99,10 +112,29 @@ public class DnnfCompiler {
      * @return the compiled DNNF
      */
     public static LngResult<Dnnf> compile(final FormulaFactory f, final Formula formula, final ComputationHandler handler) {
-        return prepareAndStartComputation(f, formula, handler);
+        return compile(f, formula, (DnnfConfig) f.configurationFor(ConfigurationType.DNNF), handler);
+    }
+
+    /**
+     * Compiles the given formula to a DNNF instance with the given
+     * configuration.
+     * <p>
+     * After a successful compilation the handler receives a
+     * {@link DnnfCacheStatisticsEvent} with the statistics of the compilation
+     * cache.
+     * @param f       the formula factory to generate new formulas
+     * @param formula the formula
+     * @param config  the configuration of the compiler
+     * @param handler the computation handler
+     * @return the compiled DNNF
+     */
+    public static LngResult<Dnnf> compile(final FormulaFactory f, final Formula formula, final DnnfConfig config,
+                                          final ComputationHandler handler) {
+        return prepareAndStartComputation(f, formula, config, handler);
     }
 
-    private static LngResult<Dnnf> prepareAndStartComputation(final FormulaFactory f, final Formula formula, final ComputationHandler handler) {
+    private static LngResult<Dnnf> prepareAndStartComputation(final FormulaFactory f, final Formula formula, final DnnfConfig config,
+                                                              final ComputationHandler handler) {
         final SortedSet<Variable> originalVariables = new TreeSet<>(formula.variables(f));
         final Formula cnf = formula.cnf(f);
         originalVariables.addAll(cnf.variables(f));
@@ -116,21 +148,22 @@ public class DnnfCompiler {
         final Formula unitClauses = unitAndNonUnitClauses.getFirst();
         final Formula nonUnitClauses = unitAndNonUnitClauses.getSecond();
         if (nonUnitClauses.isAtomicFormula()) {
-            return LngResult.of(new Dnnf(originalVariables, simplifiedFormula));
+            return LngResult.of(new Dnnf(f, CompactDnnf.fromFormula(originalVariables, simplifiedFormula)));
         }
         if (!simplifiedFormula.holds(new SatPredicate(f))) {
-            return LngResult.of(new Dnnf(originalVariables, f.falsum()));
+            return LngResult.of(new Dnnf(f, CompactDnnf.fromFormula(originalVariables, f.falsum())));
         }
-        final LngResult<DTree> dTreeResult = generateDTree(nonUnitClauses, f, handler);
+        final LngResult<DTree> dTreeResult = generateDTree(nonUnitClauses, f, config.dTreeGenerator, handler);
         if (!dTreeResult.isSuccess()) {
             return LngResult.canceled(dTreeResult.getCancelCause());
         }
-        return new DnnfCompiler(f, simplifiedFormula, unitClauses, nonUnitClauses, computeMaxClauseSize(nonUnitClauses))
+        return new DnnfCompiler(f, simplifiedFormula, unitClauses, nonUnitClauses, computeMaxClauseSize(nonUnitClauses), config)
                 .start(dTreeResult.getResult(), originalVariables, handler);
     }
 
-    protected static LngResult<DTree> generateDTree(final Formula nonUnitClauses, final FormulaFactory f, final ComputationHandler handler) {
-        return new MinFillDTreeGenerator().generate(f, nonUnitClauses, handler);
+    protected static LngResult<DTree> generateDTree(final Formula nonUnitClauses, final FormulaFactory f,
+                                                    final DTreeGenerator generator, final ComputationHandler handler) {
+        return generator.generate(f, nonUnitClauses, handler);
     }
 
     protected static LngResult<Formula> simplifyFormula(final FormulaFactory f, final Formula formula, final ComputationHandler handler) {
@@ -184,14 +217,23 @@ public class DnnfCompiler {
                                     final SortedSet<Variable> originalVariables,
                                     final ComputationHandler handler) {
         if (!solver.start()) {
-            return LngResult.of(new Dnnf(originalVariables, f.falsum()));
+            return LngResult.of(new Dnnf(f, builder.build(originalVariables, builder.falsum())));
         }
         tree.initialize(solver);
         initializeCaches(tree);
         if (!handler.shouldResume(DNNF_COMPUTATION_STARTED)) {
             return LngResult.canceled(DNNF_COMPUTATION_STARTED);
         }
-        return cnf2Ddnnf(tree, handler).map(result -> new Dnnf(originalVariables, f.and(unitClauses, result)));
+        final LngResult<Integer> result = cnf2Ddnnf(tree, handler);
+        if (!result.isSuccess()) {
+            return LngResult.canceled(result.getCancelCause());
+        }
+        final DnnfCacheStatisticsEvent statistics = cache.statistics();
+        if (!handler.shouldResume(statistics)) {
+            return LngResult.canceled(statistics);
+        }
+        return LngResult.of(new Dnnf(f, builder.build(originalVariables,
+                builder.and(builder.fromFormula(unitClauses), result.getResult()))));
     }
 
     protected void initializeCaches(final DTree dTree) {
@@ -209,17 +251,17 @@ public class DnnfCompiler {
         }
     }
 
-    protected LngResult<Formula> cnf2Ddnnf(final DTree tree, final ComputationHandler handler) {
+    protected LngResult<Integer> cnf2Ddnnf(final DTree tree, final ComputationHandler handler) {
         return cnf2Ddnnf(tree, 0, handler);
     }
 
-    protected LngResult<Formula> cnf2Ddnnf(final DTree tree, final int currentShannons, final ComputationHandler handler) {
+    protected LngResult<Integer> cnf2Ddnnf(final DTree tree, final int currentShannons, final ComputationHandler handler) {
         final BitSet separator = tree.dynamicSeparator();
-        final Formula implied = newlyImpliedLiterals(tree.getStaticVarSet());
+        final int implied = newlyImpliedLiterals(tree.getStaticVarSet());
 
         if (separator.isEmpty()) {
             if (tree instanceof DTreeLeaf) {
-                return LngResult.of(f.and(implied, leaf2Ddnnf((DTreeLeaf) tree)));
+                return LngResult.of(builder.and(implied, leaf2Ddnnf((DTreeLeaf) tree)));
             } else {
                 return conjoin(implied, (DTreeNode) tree, currentShannons, handler);
             }
@@ -231,30 +273,30 @@ public class DnnfCompiler {
             final int var = chooseShannonVariable(tree, separator, currentShannons);
 
             /* Positive branch */
-            final Formula positiveDnnf;
+            final int positiveDnnf;
             if (solver.decide(var, true)) {
-                final LngResult<Formula> recursivePositive = cnf2Ddnnf(tree, currentShannons + 1, handler);
+                final LngResult<Integer> recursivePositive = cnf2Ddnnf(tree, currentShannons + 1, handler);
                 if (!recursivePositive.isSuccess()) {
                     solver.undoDecide(var);
                     return recursivePositive;
                 }
                 positiveDnnf = recursivePositive.getResult();
             } else {
-                positiveDnnf = f.falsum();
+                positiveDnnf = builder.falsum();
             }
             solver.undoDecide(var);
-            if (positiveDnnf == f.falsum()) {
+            if (positiveDnnf == builder.falsum()) {
                 if (solver.atAssertionLevel() && solver.assertCdLiteral()) {
                     return cnf2Ddnnf(tree, handler);
                 } else {
-                    return LngResult.of(f.falsum());
+                    return LngResult.of(builder.falsum());
                 }
             }
 
             /* Negative branch */
-            Formula negativeDnnf = f.falsum();
+            int negativeDnnf = builder.falsum();
             if (solver.decide(var, false)) {
-                final LngResult<Formula> recursiveNegative = cnf2Ddnnf(tree, currentShannons + 1, handler);
+                final LngResult<Integer> recursiveNegative = cnf2Ddnnf(tree, currentShannons + 1, handler);
                 if (!recursiveNegative.isSuccess()) {
                     solver.undoDecide(var);
                     return recursiveNegative;
@@ -262,18 +304,17 @@ public class DnnfCompiler {
                 negativeDnnf = recursiveNegative.getResult();
             }
             solver.undoDecide(var);
-            if (negativeDnnf == f.falsum()) {
+            if (negativeDnnf == builder.falsum()) {
                 if (solver.atAssertionLevel() && solver.assertCdLiteral()) {
                     return cnf2Ddnnf(tree, handler);
                 } else {
-                    return LngResult.of(f.falsum());
+                    return LngResult.of(builder.falsum());
                 }
             }
 
-            final Literal lit = solver.litForIdx(var);
-            final Formula positiveBranch = f.and(lit, positiveDnnf);
-            final Formula negativeBranch = f.and(lit.negate(f), negativeDnnf);
-            return LngResult.of(f.and(implied, f.or(positiveBranch, negativeBranch)));
+            final int positiveBranch = builder.and(literalNode(LngCoreSolver.mkLit(var, false)), positiveDnnf);
+            final int negativeBranch = builder.and(literalNode(LngCoreSolver.mkLit(var, true)), negativeDnnf);
+            return LngResult.of(builder.and(implied, builder.or(positiveBranch, negativeBranch)));
         }
     }
 
@@ -296,32 +337,34 @@ public class DnnfCompiler {
         return max;
     }
 
-    protected LngResult<Formula> conjoin(final Formula implied, final DTreeNode tree, final int currentShannons, final ComputationHandler handler) {
-        if (implied == f.falsum()) {
-            return LngResult.of(f.falsum());
+    protected LngResult<Integer> conjoin(final int implied, final DTreeNode tree, final int currentShannons,
+                                         final ComputationHandler handler) {
+        if (implied == builder.falsum()) {
+            return LngResult.of(builder.falsum());
         }
-        final LngResult<Formula> left = cnfAux(tree.left(), currentShannons, handler);
-        if (!left.isSuccess() || left.getResult() == f.falsum()) {
+        final LngResult<Integer> left = cnfAux(tree.left(), currentShannons, handler);
+        if (!left.isSuccess() || left.getResult() == builder.falsum()) {
             return left;
         }
-        final LngResult<Formula> right = cnfAux(tree.right(), currentShannons, handler);
-        if (!right.isSuccess() || right.getResult() == f.falsum()) {
+        final LngResult<Integer> right = cnfAux(tree.right(), currentShannons, handler);
+        if (!right.isSuccess() || right.getResult() == builder.falsum()) {
             return right;
         }
-        return LngResult.of(f.and(implied, left.getResult(), right.getResult()));
+        return LngResult.of(builder.and(implied, left.getResult(), right.getResult()));
     }
 
-    protected LngResult<Formula> cnfAux(final DTree tree, final int currentShannons, final ComputationHandler handler) {
+    protected LngResult<Integer> cnfAux(final DTree tree, final int currentShannons, final ComputationHandler handler) {
         if (tree instanceof DTreeLeaf) {
             return LngResult.of(leaf2Ddnnf((DTreeLeaf) tree));
         } else {
             final BitSet key = computeCacheKey((DTreeNode) tree, currentShannons);
-            if (cache.containsKey(key)) {
-                return LngResult.of(cache.get(key));
+            final int cached = cache.get(key);
+            if (cached >= 0) {
+                return LngResult.of(cached);
             } else {
-                final LngResult<Formula> dnnf = cnf2Ddnnf(tree, handler);
-                if (dnnf.isSuccess() && dnnf.getResult() != f.falsum()) {
-                    cache.put((BitSet) key.clone(), dnnf.getResult());
+                final LngResult<Integer> dnnf = cnf2Ddnnf(tree, handler);
+                if (dnnf.isSuccess() && dnnf.getResult() != builder.falsum()) {
+                    cache.put(key, dnnf.getResult());
                 }
                 return dnnf;
             }
@@ -335,28 +378,44 @@ public class DnnfCompiler {
         return key;
     }
 
-    protected Formula leaf2Ddnnf(final DTreeLeaf leaf) {
-        final Iterator<Literal> literals = leaf.clause().literals(f).iterator();
+    protected int leaf2Ddnnf(final DTreeLeaf leaf) {
         leafResultOperands.clear();
         leafCurrentLiterals.clear();
-        Literal lit;
         int index = 0;
-        while (literals.hasNext()) {
-            lit = literals.next();
-            switch (solver.valueOf(LngCoreSolver.mkLit(solver.variableIndex(lit), !lit.getPhase()))) {
+        for (final int lit : leaf.literals()) {
+            switch (solver.valueOf(lit)) {
                 case TRUE:
-                    return f.verum();
+                    return builder.verum();
                 case UNDEF:
-                    leafCurrentLiterals.add(lit);
-                    leafResultOperands.add(f.and(leafCurrentLiterals));
-                    leafCurrentLiterals.set(index, lit.negate(f));
+                    leafCurrentLiterals.push(literalNode(lit));
+                    leafResultOperands.push(builder.and(leafCurrentLiterals.toArray()));
+                    leafCurrentLiterals.set(index, literalNode(LngCoreSolver.not(lit)));
                     index++;
             }
         }
-        return f.or(leafResultOperands);
+        return builder.or(leafResultOperands.toArray());
+    }
+
+    protected int newlyImpliedLiterals(final BitSet knownVariables) {
+        impliedLiterals.clear();
+        solver.newlyImplied(knownVariables, impliedLiterals);
+        final int[] operands = new int[impliedLiterals.size()];
+        for (int i = 0; i < operands.length; i++) {
+            operands[i] = literalNode(impliedLiterals.get(i));
+        }
+        return builder.and(operands);
     }
 
-    protected Formula newlyImpliedLiterals(final BitSet knownVariables) {
-        return solver.newlyImplied(knownVariables);
+    /**
+     * Returns the node of the compact DNNF for the given solver literal.
+     * @param lit the solver literal
+     * @return the node for the literal
+     */
+    protected int literalNode(final int lit) {
+        if (literalNodes[lit] == 0) {
+            literalNodes[lit] = builder.literal(solver.litForIdx(LngCoreSolver.var(lit)).variable(),
+                    !LngCoreSolver.sign(lit));
+        }
+        return literalNodes[lit];
     }
 }
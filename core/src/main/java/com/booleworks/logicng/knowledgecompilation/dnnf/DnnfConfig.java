@@ -0,0 +1,122 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf;
+
+import com.booleworks.logicng.configurations.Configuration;
+import com.booleworks.logicng.configurations.ConfigurationType;
+import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree.DTreeGenerator;
+import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree.MinFillDTreeGenerator;
+
+/**
+ * The configuration object for the {@link DnnfCompiler}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class DnnfConfig extends Configuration {
+
+    /**
+     * The policy which determines the entries of the compilation cache which
+     * are evicted once its memory budget is exhausted.
+     */
+    public enum CacheEvictionPolicy {
+        /**
+         * Removes all entries of the cache.
+         */
+        CLEAR,
+        /**
+         * Removes the older half of the entries of the cache.
+         */
+        OLDEST_HALF
+    }
+
+    final long maxCacheMemory;
+    final CacheEvictionPolicy cacheEvictionPolicy;
+    final DTreeGenerator dTreeGenerator;
+
+    /**
+     * Constructs a new configuration with a given type.
+     * @param builder the builder
+     */
+    private DnnfConfig(final Builder builder) {
+        super(ConfigurationType.DNNF);
+        maxCacheMemory = builder.maxCacheMemory;
+        cacheEvictionPolicy = builder.cacheEvictionPolicy;
+        dTreeGenerator = builder.dTreeGenerator;
+    }
+
+    /**
+     * Returns a new builder for the configuration.
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DnnfConfig{").append(System.lineSeparator());
+        sb.append("maxCacheMemory=").append(maxCacheMemory).append(System.lineSeparator());
+        sb.append("cacheEvictionPolicy=").append(cacheEvictionPolicy).append(System.lineSeparator());
+        sb.append("dTreeGenerator=").append(dTreeGenerator.getClass().getSimpleName()).append(System.lineSeparator());
+        sb.append("}").append(System.lineSeparator());
+        return sb.toString();
+    }
+
+    /**
+     * The builder for a DNNF configuration.
+     * @version 3.0.0
+     * @since 3.0.0
+     */
+    public static final class Builder {
+        private long maxCacheMemory = 512L * 1024 * 1024;
+        private CacheEvictionPolicy cacheEvictionPolicy = CacheEvictionPolicy.OLDEST_HALF;
+        private DTreeGenerator dTreeGenerator = new MinFillDTreeGenerator();
+
+        private Builder() {
+            // Initialize only via factory
+        }
+
+        /**
+         * Sets the memory budget of the compilation cache in bytes. The
+         * default is 512 MiB.
+         * @param maxCacheMemory the memory budget of the cache
+         * @return the current builder
+         */
+        public Builder maxCacheMemory(final long maxCacheMemory) {
+            this.maxCacheMemory = maxCacheMemory;
+            return this;
+        }
+
+        /**
+         * Sets the eviction policy of the compilation cache. The default is
+         * {@link CacheEvictionPolicy#OLDEST_HALF}.
+         * @param cacheEvictionPolicy the eviction policy
+         * @return the current builder
+         */
+        public Builder cacheEvictionPolicy(final CacheEvictionPolicy cacheEvictionPolicy) {
+            this.cacheEvictionPolicy = cacheEvictionPolicy;
+            return this;
+        }
+
+        /**
+         * Sets the generator for the DTree which guides the compilation. The
+         * default is the {@link MinFillDTreeGenerator}.
+         * @param dTreeGenerator the DTree generator
+         * @return the current builder
+         */
+        public Builder dTreeGenerator(final DTreeGenerator dTreeGenerator) {
+            this.dTreeGenerator = dTreeGenerator;
+            return this;
+        }
+
+        /**
+         * Builds the DNNF configuration.
+         * @return the configuration
+         */
+        public DnnfConfig build() {
+            return new DnnfConfig(this);
+        }
+    }
+}
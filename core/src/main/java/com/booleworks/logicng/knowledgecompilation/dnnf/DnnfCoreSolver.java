@@ -20,7 +20,7 @@ import java.util.List;
 
 /**
  * A variation of the LNG core solver used during the DNNF compilation process.
- * @version 2.0.0
+ * @version 3.0.0
  * @since 2.0.0
  */
 public class DnnfCoreSolver extends LngCoreSolver implements DnnfSatSolver {
@@ -171,6 +171,20 @@ public class DnnfCoreSolver extends LngCoreSolver implements DnnfSatSolver {
         return f.and(impliedOperands);
     }
 
+    @Override
+    public void newlyImplied(final BitSet knownVariables, final LngIntVector literals) {
+        if (newlyImpliedDirty) {
+            final int limit = trailLim.isEmpty() ? -1 : trailLim.back();
+            for (int i = trail.size() - 1; i > limit; i--) {
+                final int lit = trail.get(i);
+                if (knownVariables.get(var(lit))) {
+                    literals.push(lit);
+                }
+            }
+        }
+        newlyImpliedDirty = false;
+    }
+
     protected Literal intToLiteral(final int lit) {
         final String name = nameForIdx(var(lit));
         return f.literal(name, !sign(lit));
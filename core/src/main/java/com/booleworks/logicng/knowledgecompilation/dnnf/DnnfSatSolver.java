@@ -4,16 +4,19 @@
 
 package com.booleworks.logicng.knowledgecompilation.dnnf;
 
+import com.booleworks.logicng.collections.LngIntVector;
 import com.booleworks.logicng.datastructures.Tristate;
+import com.booleworks.logicng.formulas.FType;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.solvers.sat.LngCoreSolver;
 
 import java.util.BitSet;
 
 /**
  * Interface for a DNNF SAT Solver.
- * @version 2.0.0
+ * @version 3.0.0
  * @since 2.0.0
  */
 public interface DnnfSatSolver {
@@ -76,6 +79,29 @@ public interface DnnfSatSolver {
      */
     Formula newlyImplied(final BitSet knownVariables);
 
+    /**
+     * Adds all literals in the known variables which were propagated by the
+     * last UP to the given vector of solver literals.
+     * <p>
+     * The default implementation converts the literals of
+     * {@link #newlyImplied(BitSet)}. Solvers should override it to avoid the
+     * construction of the formula.
+     * @param knownVariables the known variables
+     * @param literals       the vector for the relevant propagated literals
+     */
+    default void newlyImplied(final BitSet knownVariables, final LngIntVector literals) {
+        final Formula implied = newlyImplied(knownVariables);
+        if (implied.getType() == FType.LITERAL) {
+            final Literal lit = (Literal) implied;
+            literals.push(LngCoreSolver.mkLit(variableIndex(lit), !lit.getPhase()));
+        } else {
+            for (final Formula op : implied) {
+                final Literal lit = (Literal) op;
+                literals.push(LngCoreSolver.mkLit(variableIndex(lit), !lit.getPhase()));
+            }
+        }
+    }
+
     /**
      * Returns the index of the variable of the given literal.
      * @param lit the literal
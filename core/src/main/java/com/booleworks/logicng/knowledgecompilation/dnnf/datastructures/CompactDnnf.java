@@ -0,0 +1,1081 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.datastructures;
+
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.FType;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.modelcounting.WeightSemiring;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A compact representation of a d-DNNF as a directed acyclic graph stored in
+ * integer arrays.
+ * <p>
+ * The nodes are numbered in topological order, i.e. every node is stored
+ * after all of its children and the last node is the root (unless the root
+ * is a constant). Node 0 is always the constant {@link #FALSE} and node 1 the
+ * constant {@link #TRUE}. For each node its type and the range of its entries
+ * in a shared child array are stored. The entry of a {@link #LITERAL literal} node is its literal code
+ * (twice the variable index plus one for a negative literal), the entries of
+ * {@link #AND conjunctions} and {@link #OR disjunctions} are the indices of
+ * their children. The number of variables of each node is precomputed, so
+ * that model counting is a single loop over the nodes.
+ * <p>
+ * Compact d-DNNFs are independent of any formula factory. They are created
+ * by a {@link Builder} (e.g. by the
+ * {@link com.booleworks.logicng.knowledgecompilation.dnnf.DnnfCompiler DNNF
+ * compiler}) and converted to a formula only on demand via
+ * {@link #toFormula(FormulaFactory)}. The builder only removes constants and
+ * merges identical nodes, it does not check decomposability or determinism
+ * of the nodes.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class CompactDnnf {
+
+    public static final byte FALSE = 0;
+    public static final byte TRUE = 1;
+    public static final byte LITERAL = 2;
+    public static final byte AND = 3;
+    public static final byte OR = 4;
+
+    private final SortedSet<Variable> originalVariables;
+    private final Variable[] variables;
+    private final byte[] types;
+    private final int[] offsets;
+    private final int[] children;
+    private final int[] numVars;
+    private final int root;
+    private int hash;
+
+    private CompactDnnf(final SortedSet<Variable> originalVariables, final Variable[] variables, final byte[] types,
+                        final int[] offsets, final int[] children, final int[] numVars, final int root) {
+        this.originalVariables = originalVariables;
+        this.variables = variables;
+        this.types = types;
+        this.offsets = offsets;
+        this.children = children;
+        this.numVars = numVars;
+        this.root = root;
+    }
+
+    /**
+     * Converts a formula in DNNF to a compact d-DNNF.
+     * @param originalVariables the original variables of the DNNF
+     * @param dnnf              the formula, must be in negation normal form
+     * @return the compact d-DNNF
+     * @throws IllegalArgumentException if the formula is not in negation
+     *                                  normal form
+     */
+    public static CompactDnnf fromFormula(final SortedSet<Variable> originalVariables, final Formula dnnf) {
+        final Builder builder = new Builder();
+        return builder.build(originalVariables, builder.fromFormula(dnnf));
+    }
+
+    /**
+     * Returns the original variables of the DNNF.
+     * @return the original variables
+     */
+    public SortedSet<Variable> getOriginalVariables() {
+        return originalVariables;
+    }
+
+    /**
+     * Returns the number of nodes including the two constant nodes.
+     * @return the number of nodes
+     */
+    public int numberOfNodes() {
+        return types.length;
+    }
+
+    /**
+     * Returns the number of edges between inner nodes and their children.
+     * @return the number of edges
+     */
+    public int numberOfEdges() {
+        int edges = 0;
+        for (int node = 2; node < types.length; node++) {
+            if (types[node] != LITERAL) {
+                edges += offsets[node + 1] - offsets[node];
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * Returns the root node.
+     * @return the root node
+     */
+    public int root() {
+        return root;
+    }
+
+    /**
+     * Returns the type of a node.
+     * @param node the node
+     * @return the type of the node
+     */
+    public byte type(final int node) {
+        return types[node];
+    }
+
+    /**
+     * Returns the number of children of a conjunction or disjunction.
+     * @param node the node
+     * @return the number of children
+     */
+    public int numberOfChildren(final int node) {
+        return types[node] == AND || types[node] == OR ? offsets[node + 1] - offsets[node] : 0;
+    }
+
+    /**
+     * Returns the i-th child of a conjunction or disjunction.
+     * @param node the node
+     * @param i    the position of the child
+     * @return the child
+     */
+    public int child(final int node, final int i) {
+        return children[offsets[node] + i];
+    }
+
+    /**
+     * Returns the literal code of a literal node, i.e. twice the variable
+     * index plus one for a negative literal.
+     * @param node the literal node
+     * @return the literal code
+     */
+    public int literalCode(final int node) {
+        return children[offsets[node]];
+    }
+
+    /**
+     * Returns the variable with the given index.
+     * @param index the variable index
+     * @return the variable
+     */
+    public Variable variable(final int index) {
+        return variables[index];
+    }
+
+    /**
+     * Returns the number of variable indices.
+     * @return the number of variable indices
+     */
+    public int numberOfVariableIndices() {
+        return variables.length;
+    }
+
+    /**
+     * Returns the number of variables occurring in the sub-DNNF of a node.
+     * @param node the node
+     * @return the number of variables of the node
+     */
+    public int numberOfVariables(final int node) {
+        return numVars[node];
+    }
+
+    /**
+     * Returns whether this d-DNNF is satisfiable. Since constants are
+     * propagated during construction, this is the case iff the root is not
+     * the constant false.
+     * @return {@code true} if this d-DNNF is satisfiable
+     */
+    public boolean isSatisfiable() {
+        return root != FALSE;
+    }
+
+    /**
+     * Returns the number of models of this d-DNNF wrt. its original variables.
+     * @return the model count
+     */
+    public BigInteger modelCount() {
+        final BigInteger[] counts = new BigInteger[types.length];
+        counts[FALSE] = BigInteger.ZERO;
+        counts[TRUE] = BigInteger.ONE;
+        for (int node = 2; node < types.length; node++) {
+            final BigInteger count;
+            switch (types[node]) {
+                case LITERAL:
+                    count = BigInteger.ONE;
+                    break;
+                case AND: {
+                    BigInteger product = BigInteger.ONE;
+                    for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                        product = product.multiply(counts[children[i]]);
+                    }
+                    count = product;
+                    break;
+                }
+                default: {
+                    BigInteger sum = BigInteger.ZERO;
+                    for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                        final int child = children[i];
+                        sum = sum.add(counts[child].shiftLeft(numVars[node] - numVars[child]));
+                    }
+                    count = sum;
+                }
+            }
+            counts[node] = count;
+        }
+        return counts[root].shiftLeft(originalVariables.size() - numVars[root]);
+    }
+
+    /**
+     * Conditions this d-DNNF by the given literals, i.e. replaces each given
+     * literal by true and its complement by false. The variables of the
+     * literals are removed from the original variables of the result.
+     * @param literals the literals
+     * @return the conditioned d-DNNF
+     */
+    public CompactDnnf condition(final Collection<? extends Literal> literals) {
+        final Map<Variable, Boolean> assignment = new HashMap<>();
+        for (final Literal lit : literals) {
+            assignment.put(lit.variable(), lit.getPhase());
+        }
+        final Builder builder = new Builder();
+        final int[] mapping = new int[types.length];
+        mapping[TRUE] = TRUE;
+        final LngIntVector operands = new LngIntVector();
+        for (int node = 2; node < types.length; node++) {
+            if (types[node] == LITERAL) {
+                final int code = literalCode(node);
+                final Variable var = variables[code >> 1];
+                final Boolean value = assignment.get(var);
+                mapping[node] = value == null ? builder.literal(var, (code & 1) == 0)
+                        : value == ((code & 1) == 0) ? TRUE : FALSE;
+            } else {
+                operands.clear();
+                for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                    operands.push(mapping[children[i]]);
+                }
+                mapping[node] = types[node] == AND ? builder.and(operands.toArray()) : builder.or(operands.toArray());
+            }
+        }
+        final SortedSet<Variable> remaining = new TreeSet<>(originalVariables);
+        remaining.removeAll(assignment.keySet());
+        return builder.build(remaining, mapping[root]);
+    }
+
+    /**
+     * Returns the weighted model count of this d-DNNF wrt. its original
+     * variables, i.e. the sum over all models of the product of the weights
+     * of their literals. Literals without a weight have the weight
+     * {@link WeightSemiring#one() one}, so with an empty weight map the result
+     * is the model count. Conditioning on a literal is possible by assigning
+     * the weight {@link WeightSemiring#zero() zero} to its complement.
+     * @param f        the formula factory
+     * @param semiring the semiring in which the count is computed
+     * @param weights  the weights of the literals
+     * @param <T>      the type of the weights
+     * @return the weighted model count
+     */
+    public <T> T weightedModelCount(final FormulaFactory f, final WeightSemiring<T> semiring,
+                                    final Map<? extends Literal, T> weights) {
+        return new WeightedCount<>(f, semiring, weights).upward();
+    }
+
+    /**
+     * Computes the weighted marginals of all literals of the original
+     * variables. The marginal of a literal is the weighted model count of this
+     * d-DNNF conjoined with the literal. It is not normalized, i.e. dividing
+     * it by the weighted model count yields the probability of the literal.
+     * <p>
+     * All marginals are computed in one bottom-up pass for the weighted counts
+     * of the nodes and one top-down pass for the partial derivatives of the
+     * root wrt. the nodes.
+     * @param f        the formula factory
+     * @param semiring the semiring in which the marginals are computed
+     * @param weights  the weights of the literals
+     * @param <T>      the type of the weights
+     * @return the marginals of the literals
+     */
+    public <T> SortedMap<Literal, T> marginals(final FormulaFactory f, final WeightSemiring<T> semiring,
+                                               final Map<? extends Literal, T> weights) {
+        final WeightedCount<T> count = new WeightedCount<>(f, semiring, weights);
+        count.upward();
+        count.downward();
+        final SortedMap<Literal, T> result = new TreeMap<>();
+        for (int i = 0; i < count.vars.length; i++) {
+            if (originalVariables.contains(count.vars[i])) {
+                result.put(count.vars[i], count.posMarginals[i]);
+                result.put(count.vars[i].negate(f), count.negMarginals[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Enumerates all models of this d-DNNF wrt. its original variables. Each
+     * model is reported exactly once since the disjunctions of a d-DNNF are
+     * deterministic.
+     * @param f the formula factory to generate the literals of the models
+     * @return the models
+     */
+    public List<Model> enumerateAllModels(final FormulaFactory f) {
+        final List<Model> models = new ArrayList<>();
+        if (!isSatisfiable()) {
+            return models;
+        }
+        final Variable[] originals = originalVariables.toArray(new Variable[0]);
+        final Map<Variable, Integer> originalIndex = new HashMap<>();
+        for (int i = 0; i < originals.length; i++) {
+            originalIndex.put(originals[i], i);
+        }
+        final int[] var2original = new int[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            final Integer idx = originalIndex.get(variables[i]);
+            var2original[i] = idx == null ? -1 : idx;
+        }
+        final BitSet[] varSets = variableSets(var2original);
+        final Literal[] positive = new Literal[originals.length];
+        final Literal[] negative = new Literal[originals.length];
+        for (int i = 0; i < originals.length; i++) {
+            positive[i] = originals[i];
+            negative[i] = originals[i].negate(f);
+        }
+        final Enumeration enumeration = new Enumeration(var2original, varSets, positive, negative, models);
+        final BitSet all = new BitSet();
+        all.set(0, originals.length);
+        final LngIntVector pending = new LngIntVector();
+        pending.push(root);
+        enumeration.pushGap(pending, all, varSets[root]);
+        enumeration.run(pending);
+        return models;
+    }
+
+    /**
+     * Converts this d-DNNF to a formula.
+     * @param f the formula factory to generate the formula
+     * @return the formula
+     */
+    public Formula toFormula(final FormulaFactory f) {
+        final Formula[] formulas = new Formula[types.length];
+        formulas[FALSE] = f.falsum();
+        formulas[TRUE] = f.verum();
+        final List<Formula> operands = new ArrayList<>();
+        for (int node = 2; node < types.length; node++) {
+            if (types[node] == LITERAL) {
+                final int code = literalCode(node);
+                formulas[node] = f.literal(variables[code >> 1].getName(), (code & 1) == 0);
+            } else {
+                operands.clear();
+                for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                    operands.add(formulas[children[i]]);
+                }
+                formulas[node] = types[node] == AND ? f.and(operands) : f.or(operands);
+            }
+        }
+        return formulas[root];
+    }
+
+    /**
+     * Two compact d-DNNFs are equal if they have the same original variables
+     * and the same structure, i.e. their nodes can be mapped to each other
+     * such that the types, the literals, and the sets of children of the
+     * nodes coincide. The numbering of the nodes and variables and the order
+     * of the children are irrelevant.
+     * @param o the other object
+     * @return {@code true} if the other object is an equal compact d-DNNF
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CompactDnnf other = (CompactDnnf) o;
+        if (!originalVariables.equals(other.originalVariables) || hashCode() != other.hashCode()) {
+            return false;
+        }
+        final Map<List<Object>, Integer> ids = new HashMap<>();
+        return canonicalIds(ids)[root] == other.canonicalIds(ids)[other.root];
+    }
+
+    @Override
+    public int hashCode() {
+        if (hash == 0) {
+            final int[] hashes = new int[types.length];
+            hashes[FALSE] = FALSE;
+            hashes[TRUE] = TRUE;
+            for (int node = 2; node < types.length; node++) {
+                int h = types[node];
+                if (types[node] == LITERAL) {
+                    final int code = literalCode(node);
+                    h = 31 * (31 * h + variables[code >> 1].hashCode()) + (code & 1);
+                } else {
+                    int sum = 0;
+                    for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                        final int child = hashes[children[i]] * 0x9E3779B9;
+                        sum += child ^ child >>> 16;
+                    }
+                    h = 31 * h + sum;
+                }
+                hashes[node] = h;
+            }
+            hash = 31 * originalVariables.hashCode() + hashes[root];
+        }
+        return hash;
+    }
+
+    /**
+     * Computes canonical identifiers of all nodes. A literal is identified by
+     * its variable and phase, a conjunction or disjunction by its type and
+     * the sorted identifiers of its children. Nodes of different compact
+     * d-DNNFs with the same structure get the same identifier if the same
+     * map is used.
+     * @param ids the map from the node keys to their identifiers
+     * @return the identifiers of the nodes
+     */
+    private int[] canonicalIds(final Map<List<Object>, Integer> ids) {
+        final int[] nodeIds = new int[types.length];
+        for (int node = 0; node < types.length; node++) {
+            final List<Object> key;
+            if (types[node] == LITERAL) {
+                final int code = literalCode(node);
+                key = List.of(LITERAL, variables[code >> 1], (code & 1) == 0);
+            } else if (types[node] == AND || types[node] == OR) {
+                final int[] childIds = new int[offsets[node + 1] - offsets[node]];
+                for (int i = 0; i < childIds.length; i++) {
+                    childIds[i] = nodeIds[children[offsets[node] + i]];
+                }
+                Arrays.sort(childIds);
+                key = new ArrayList<>(childIds.length + 1);
+                key.add(types[node]);
+                for (final int childId : childIds) {
+                    key.add(childId);
+                }
+            } else {
+                key = List.of(types[node]);
+            }
+            nodeIds[node] = ids.computeIfAbsent(key, k -> ids.size());
+        }
+        return nodeIds;
+    }
+
+    private BitSet[] variableSets(final int[] var2original) {
+        final BitSet[] sets = new BitSet[types.length];
+        sets[FALSE] = new BitSet();
+        sets[TRUE] = sets[FALSE];
+        for (int node = 2; node < types.length; node++) {
+            final BitSet set = new BitSet();
+            if (types[node] == LITERAL) {
+                final int original = var2original[literalCode(node) >> 1];
+                if (original >= 0) {
+                    set.set(original);
+                }
+            } else {
+                for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                    set.or(sets[children[i]]);
+                }
+            }
+            sets[node] = set;
+        }
+        return sets;
+    }
+
+    /**
+     * The computation of weighted counts and marginals. Missing variables of
+     * the children of disjunctions and of the root are not smoothed
+     * explicitly, instead the sum of their weights is multiplied to the
+     * respective count.
+     * @param <T> the type of the weights
+     */
+    private final class WeightedCount<T> {
+        private final WeightSemiring<T> semiring;
+        private final Variable[] vars;
+        private final T[] pos;
+        private final T[] neg;
+        private final T[] sums;
+        private final BitSet[] varSets;
+        private final BitSet rootGap;
+        private final T[] values;
+        private T[] posMarginals;
+        private T[] negMarginals;
+
+        @SuppressWarnings("unchecked")
+        private WeightedCount(final FormulaFactory f, final WeightSemiring<T> semiring,
+                              final Map<? extends Literal, T> weights) {
+            this.semiring = semiring;
+            final List<Variable> allVars = new ArrayList<>(Arrays.asList(variables));
+            final Set<Variable> known = new HashSet<>(allVars);
+            for (final Variable var : originalVariables) {
+                if (!known.contains(var)) {
+                    allVars.add(var);
+                }
+            }
+            vars = allVars.toArray(new Variable[0]);
+            pos = (T[]) new Object[vars.length];
+            neg = (T[]) new Object[vars.length];
+            sums = (T[]) new Object[vars.length];
+            for (int i = 0; i < vars.length; i++) {
+                final T posWeight = weights.get(vars[i]);
+                final T negWeight = weights.get(vars[i].negate(f));
+                pos[i] = posWeight != null ? posWeight : semiring.one();
+                neg[i] = negWeight != null ? negWeight : semiring.one();
+                sums[i] = semiring.plus(pos[i], neg[i]);
+            }
+            final int[] identity = new int[variables.length];
+            for (int i = 0; i < identity.length; i++) {
+                identity[i] = i;
+            }
+            varSets = variableSets(identity);
+            rootGap = new BitSet();
+            for (int i = 0; i < vars.length; i++) {
+                if (!varSets[root].get(i) && originalVariables.contains(vars[i])) {
+                    rootGap.set(i);
+                }
+            }
+            values = (T[]) new Object[types.length];
+        }
+
+        private T upward() {
+            values[FALSE] = semiring.zero();
+            values[TRUE] = semiring.one();
+            for (int node = 2; node < types.length; node++) {
+                switch (types[node]) {
+                    case LITERAL: {
+                        final int code = literalCode(node);
+                        values[node] = (code & 1) == 0 ? pos[code >> 1] : neg[code >> 1];
+                        break;
+                    }
+                    case AND: {
+                        T product = semiring.one();
+                        for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                            product = semiring.times(product, values[children[i]]);
+                        }
+                        values[node] = product;
+                        break;
+                    }
+                    default: {
+                        T sum = semiring.zero();
+                        for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                            final int child = children[i];
+                            sum = semiring.plus(sum, semiring.times(values[child], gapProduct(gap(node, child))));
+                        }
+                        values[node] = sum;
+                    }
+                }
+            }
+            return semiring.times(values[root], gapProduct(rootGap));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void downward() {
+            posMarginals = (T[]) new Object[vars.length];
+            negMarginals = (T[]) new Object[vars.length];
+            Arrays.fill(posMarginals, semiring.zero());
+            Arrays.fill(negMarginals, semiring.zero());
+            final T[] derivatives = (T[]) new Object[types.length];
+            derivatives[root] = gapProduct(rootGap);
+            addGapMarginals(rootGap, values[root]);
+            for (int node = types.length - 1; node >= 2; node--) {
+                final T derivative = derivatives[node];
+                if (derivative == null) {
+                    continue;
+                }
+                switch (types[node]) {
+                    case LITERAL: {
+                        final int code = literalCode(node);
+                        if ((code & 1) == 0) {
+                            posMarginals[code >> 1] =
+                                    semiring.plus(posMarginals[code >> 1], semiring.times(derivative, values[node]));
+                        } else {
+                            negMarginals[code >> 1] =
+                                    semiring.plus(negMarginals[code >> 1], semiring.times(derivative, values[node]));
+                        }
+                        break;
+                    }
+                    case AND: {
+                        final int n = offsets[node + 1] - offsets[node];
+                        final T[] suffix = (T[]) new Object[n + 1];
+                        suffix[n] = semiring.one();
+                        for (int i = n - 1; i >= 0; i--) {
+                            suffix[i] = semiring.times(values[children[offsets[node] + i]], suffix[i + 1]);
+                        }
+                        T prefix = derivative;
+                        for (int i = 0; i < n; i++) {
+                            final int child = children[offsets[node] + i];
+                            addDerivative(derivatives, child, semiring.times(prefix, suffix[i + 1]));
+                            prefix = semiring.times(prefix, values[child]);
+                        }
+                        break;
+                    }
+                    default:
+                        for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                            final int child = children[i];
+                            final BitSet gap = gap(node, child);
+                            addDerivative(derivatives, child, semiring.times(derivative, gapProduct(gap)));
+                            addGapMarginals(gap, semiring.times(derivative, values[child]));
+                        }
+                }
+            }
+        }
+
+        private BitSet gap(final int node, final int child) {
+            final BitSet gap = (BitSet) varSets[node].clone();
+            gap.andNot(varSets[child]);
+            return gap;
+        }
+
+        private T gapProduct(final BitSet gap) {
+            T product = semiring.one();
+            for (int v = gap.nextSetBit(0); v >= 0; v = gap.nextSetBit(v + 1)) {
+                product = semiring.times(product, sums[v]);
+            }
+            return product;
+        }
+
+        private void addDerivative(final T[] derivatives, final int node, final T value) {
+            if (node >= 2) {
+                derivatives[node] = derivatives[node] == null ? value : semiring.plus(derivatives[node], value);
+            }
+        }
+
+        /**
+         * Adds the marginals of the variables of a gap: for each variable the
+         * factor is multiplied with the weight of the respective literal and
+         * the sums of the weights of all other variables of the gap.
+         * @param gap    the variables of the gap
+         * @param factor the factor
+         */
+        @SuppressWarnings("unchecked")
+        private void addGapMarginals(final BitSet gap, final T factor) {
+            final int n = gap.cardinality();
+            if (n == 0) {
+                return;
+            }
+            final int[] gapVars = gap.stream().toArray();
+            final T[] suffix = (T[]) new Object[n + 1];
+            suffix[n] = semiring.one();
+            for (int i = n - 1; i >= 0; i--) {
+                suffix[i] = semiring.times(sums[gapVars[i]], suffix[i + 1]);
+            }
+            T prefix = factor;
+            for (int i = 0; i < n; i++) {
+                final int v = gapVars[i];
+                final T others = semiring.times(prefix, suffix[i + 1]);
+                posMarginals[v] = semiring.plus(posMarginals[v], semiring.times(others, pos[v]));
+                negMarginals[v] = semiring.plus(negMarginals[v], semiring.times(others, neg[v]));
+                prefix = semiring.times(prefix, sums[v]);
+            }
+        }
+    }
+
+    /**
+     * A depth-first enumeration of the models. The pending work is a stack of
+     * nodes and of free variables (encoded as {@code -(var + 1)}) which still
+     * have to be assigned. Only disjunctions and free variables branch, the
+     * stack is copied at each branch.
+     */
+    private final class Enumeration {
+        private final int[] var2original;
+        private final BitSet[] varSets;
+        private final Literal[] positive;
+        private final Literal[] negative;
+        private final List<Model> models;
+        private final boolean[] assignment;
+
+        private Enumeration(final int[] var2original, final BitSet[] varSets, final Literal[] positive,
+                            final Literal[] negative, final List<Model> models) {
+            this.var2original = var2original;
+            this.varSets = varSets;
+            this.positive = positive;
+            this.negative = negative;
+            this.models = models;
+            assignment = new boolean[positive.length];
+        }
+
+        private void pushGap(final LngIntVector pending, final BitSet parent, final BitSet child) {
+            for (int v = parent.nextSetBit(0); v >= 0; v = parent.nextSetBit(v + 1)) {
+                if (!child.get(v)) {
+                    pending.push(-(v + 1));
+                }
+            }
+        }
+
+        private void run(final LngIntVector pending) {
+            while (!pending.isEmpty()) {
+                final int item = pending.back();
+                pending.pop();
+                if (item < 0) {
+                    final int var = -item - 1;
+                    assignment[var] = true;
+                    run(new LngIntVector(pending));
+                    assignment[var] = false;
+                    continue;
+                }
+                switch (types[item]) {
+                    case FALSE:
+                        return;
+                    case TRUE:
+                        break;
+                    case LITERAL: {
+                        final int code = literalCode(item);
+                        final int original = var2original[code >> 1];
+                        if (original >= 0) {
+                            assignment[original] = (code & 1) == 0;
+                        }
+                        break;
+                    }
+                    case AND:
+                        for (int i = offsets[item]; i < offsets[item + 1]; i++) {
+                            pending.push(children[i]);
+                        }
+                        break;
+                    default: {
+                        final int last = offsets[item + 1] - 1;
+                        for (int i = offsets[item]; i < last; i++) {
+                            final LngIntVector branch = new LngIntVector(pending);
+                            branch.push(children[i]);
+                            pushGap(branch, varSets[item], varSets[children[i]]);
+                            run(branch);
+                        }
+                        pending.push(children[last]);
+                        pushGap(pending, varSets[item], varSets[children[last]]);
+                    }
+                }
+            }
+            final List<Literal> literals = new ArrayList<>(assignment.length);
+            for (int i = 0; i < assignment.length; i++) {
+                literals.add(assignment[i] ? positive[i] : negative[i]);
+            }
+            models.add(new Model(literals));
+        }
+    }
+
+    /**
+     * A builder for compact d-DNNFs. Nodes are created bottom-up and
+     * identified by their index. Like the formula factory, the builder
+     * flattens nested conjunctions and disjunctions, removes neutral
+     * constants and duplicate operands, simplifies complementary literals and
+     * returns an existing node for equal operands.
+     */
+    public static final class Builder {
+        private final List<Variable> variables;
+        private final Map<Variable, Integer> var2idx;
+        private byte[] types;
+        private int[] offsets;
+        private final LngIntVector children;
+        private int size;
+        private int[] literalNodes;
+        private final Map<NodeKey, Integer> uniqueTable;
+        private int[] seen;
+        private int stamp;
+
+        /**
+         * Constructs a new builder.
+         */
+        public Builder() {
+            variables = new ArrayList<>();
+            var2idx = new HashMap<>();
+            types = new byte[64];
+            offsets = new int[65];
+            children = new LngIntVector();
+            literalNodes = new int[0];
+            uniqueTable = new HashMap<>();
+            seen = new int[64];
+            addNode(FALSE);
+            addNode(TRUE);
+        }
+
+        /**
+         * Returns the node for the constant false.
+         * @return the node for false
+         */
+        public int falsum() {
+            return FALSE;
+        }
+
+        /**
+         * Returns the node for the constant true.
+         * @return the node for true
+         */
+        public int verum() {
+            return TRUE;
+        }
+
+        /**
+         * Returns the node for a literal.
+         * @param literal the literal
+         * @return the node for the literal
+         */
+        public int literal(final Literal literal) {
+            return literal(literal.variable(), literal.getPhase());
+        }
+
+        /**
+         * Returns the node for a literal.
+         * @param variable the variable of the literal
+         * @param phase    the phase of the literal
+         * @return the node for the literal
+         */
+        public int literal(final Variable variable, final boolean phase) {
+            Integer index = var2idx.get(variable);
+            if (index == null) {
+                index = variables.size();
+                variables.add(variable);
+                var2idx.put(variable, index);
+                if (2 * index + 2 > literalNodes.length) {
+                    literalNodes = Arrays.copyOf(literalNodes, Math.max(literalNodes.length * 2, 2 * index + 2));
+                }
+            }
+            final int code = 2 * index + (phase ? 0 : 1);
+            if (literalNodes[code] == 0) {
+                literalNodes[code] = addNode(LITERAL);
+                children.push(code);
+                offsets[size] = children.size();
+            }
+            return literalNodes[code];
+        }
+
+        /**
+         * Returns the node for the conjunction of the given nodes.
+         * @param operands the operands
+         * @return the node for the conjunction
+         */
+        public int and(final int... operands) {
+            return nary(AND, operands);
+        }
+
+        /**
+         * Returns the node for the disjunction of the given nodes.
+         * @param operands the operands
+         * @return the node for the disjunction
+         */
+        public int or(final int... operands) {
+            return nary(OR, operands);
+        }
+
+        /**
+         * Returns the node for a formula in negation normal form.
+         * @param formula the formula
+         * @return the node for the formula
+         * @throws IllegalArgumentException if the formula is not in negation
+         *                                  normal form
+         */
+        public int fromFormula(final Formula formula) {
+            return fromFormula(formula, new HashMap<>());
+        }
+
+        private int fromFormula(final Formula formula, final Map<Formula, Integer> cache) {
+            switch (formula.getType()) {
+                case FALSE:
+                    return FALSE;
+                case TRUE:
+                    return TRUE;
+                case LITERAL:
+                    return literal((Literal) formula);
+                case AND:
+                case OR: {
+                    final Integer cached = cache.get(formula);
+                    if (cached != null) {
+                        return cached;
+                    }
+                    final int[] operands = new int[formula.numberOfOperands()];
+                    int i = 0;
+                    for (final Formula op : formula) {
+                        operands[i++] = fromFormula(op, cache);
+                    }
+                    final int node = formula.getType() == FType.AND ? and(operands) : or(operands);
+                    cache.put(formula, node);
+                    return node;
+                }
+                default:
+                    throw new IllegalArgumentException("Formula is not in negation normal form: " + formula);
+            }
+        }
+
+        /**
+         * Builds the compact d-DNNF with the given root. Only the nodes
+         * reachable from the root are kept. The builder can still be used
+         * afterwards.
+         * @param originalVariables the original variables
+         * @param root              the root node
+         * @return the compact d-DNNF
+         */
+        public CompactDnnf build(final SortedSet<Variable> originalVariables, final int root) {
+            final SortedSet<Variable> originals = Collections.unmodifiableSortedSet(new TreeSet<>(originalVariables));
+            final Variable[] vars = variables.toArray(new Variable[0]);
+            if (root < 2) {
+                return new CompactDnnf(originals, vars, new byte[]{FALSE, TRUE}, new int[3], new int[0], new int[2],
+                        root);
+            }
+            final boolean[] reachable = new boolean[root + 1];
+            reachable[root] = true;
+            int numNodes = 2;
+            int numChildren = 0;
+            for (int node = root; node >= 2; node--) {
+                if (reachable[node]) {
+                    numNodes++;
+                    numChildren += offsets[node + 1] - offsets[node];
+                    if (types[node] != LITERAL) {
+                        for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                            reachable[children.get(i)] = true;
+                        }
+                    }
+                }
+            }
+            final int[] mapping = new int[root + 1];
+            final byte[] newTypes = new byte[numNodes];
+            final int[] newOffsets = new int[numNodes + 1];
+            final int[] newChildren = new int[numChildren];
+            final int[] numVars = new int[numNodes];
+            final BitSet[] varSets = new BitSet[numNodes];
+            newTypes[TRUE] = TRUE;
+            varSets[FALSE] = new BitSet();
+            varSets[TRUE] = varSets[FALSE];
+            mapping[TRUE] = TRUE;
+            int next = 2;
+            int pos = 0;
+            for (int node = 2; node <= root; node++) {
+                if (!reachable[node]) {
+                    continue;
+                }
+                mapping[node] = next;
+                newTypes[next] = types[node];
+                newOffsets[next] = pos;
+                final BitSet varSet = new BitSet();
+                if (types[node] == LITERAL) {
+                    final int code = children.get(offsets[node]);
+                    newChildren[pos++] = code;
+                    varSet.set(code >> 1);
+                } else {
+                    for (int i = offsets[node]; i < offsets[node + 1]; i++) {
+                        final int child = mapping[children.get(i)];
+                        newChildren[pos++] = child;
+                        varSet.or(varSets[child]);
+                    }
+                }
+                varSets[next] = varSet;
+                numVars[next] = varSet.cardinality();
+                next++;
+            }
+            newOffsets[numNodes] = pos;
+            return new CompactDnnf(originals, vars, newTypes, newOffsets, newChildren, numVars, numNodes - 1);
+        }
+
+        private int nary(final byte type, final int[] operands) {
+            final byte dual = type == AND ? FALSE : TRUE;
+            final byte neutral = type == AND ? TRUE : FALSE;
+            if (size + 1 >= seen.length) {
+                seen = Arrays.copyOf(seen, (size + 1) * 2);
+            }
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                stamp = 1;
+            }
+            final LngIntVector ops = new LngIntVector(operands.length);
+            for (final int op : operands) {
+                if (types[op] == type) {
+                    for (int i = offsets[op]; i < offsets[op + 1]; i++) {
+                        if (!addOperand(ops, children.get(i), dual, neutral)) {
+                            return dual;
+                        }
+                    }
+                } else if (!addOperand(ops, op, dual, neutral)) {
+                    return dual;
+                }
+            }
+            if (ops.isEmpty()) {
+                return neutral;
+            }
+            if (ops.size() == 1) {
+                return ops.get(0);
+            }
+            final int[] opArray = ops.toArray();
+            final int[] sorted = opArray.clone();
+            Arrays.sort(sorted);
+            final NodeKey key = new NodeKey(type, sorted);
+            final Integer existing = uniqueTable.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            final int node = addNode(type);
+            for (final int op : opArray) {
+                children.push(op);
+            }
+            offsets[size] = children.size();
+            uniqueTable.put(key, node);
+            return node;
+        }
+
+        private boolean addOperand(final LngIntVector ops, final int op, final byte dual, final byte neutral) {
+            if (op == neutral) {
+                return true;
+            }
+            if (op == dual) {
+                return false;
+            }
+            if (types[op] == LITERAL) {
+                final int complement = children.get(offsets[op]) ^ 1;
+                final int complementNode = complement < literalNodes.length ? literalNodes[complement] : 0;
+                if (complementNode != 0 && seen[complementNode] == stamp) {
+                    return false;
+                }
+            }
+            if (seen[op] != stamp) {
+                seen[op] = stamp;
+                ops.push(op);
+            }
+            return true;
+        }
+
+        private int addNode(final byte type) {
+            if (size + 1 >= types.length) {
+                types = Arrays.copyOf(types, types.length * 2);
+                offsets = Arrays.copyOf(offsets, types.length + 1);
+            }
+            types[size] = type;
+            offsets[size] = children.size();
+            offsets[size + 1] = children.size();
+            return size++;
+        }
+    }
+
+    private static final class NodeKey {
+        private final byte type;
+        private final int[] operands;
+        private final int hash;
+
+        private NodeKey(final byte type, final int[] operands) {
+            this.type = type;
+            this.operands = operands;
+            hash = 31 * Arrays.hashCode(operands) + type;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof NodeKey && ((NodeKey) o).type == type &&
+                    Arrays.equals(((NodeKey) o).operands, operands);
+        }
+    }
+}
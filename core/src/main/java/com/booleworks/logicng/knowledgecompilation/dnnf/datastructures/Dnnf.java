@@ -5,21 +5,30 @@
 package com.booleworks.logicng.knowledgecompilation.dnnf.datastructures;
 
 import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
 import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.knowledgecompilation.dnnf.functions.CompactDnnfFunction;
 import com.booleworks.logicng.knowledgecompilation.dnnf.functions.DnnfFunction;
 
+import java.util.Collection;
 import java.util.Objects;
 import java.util.SortedSet;
 
 /**
  * A DNNF - Decomposable Negation Normal Form.
+ * <p>
+ * A DNNF is either backed by a formula or by a {@link CompactDnnf}. The
+ * respective other representation is only generated on demand.
  * @version 3.0.0
  * @since 2.0.0
  */
 public final class Dnnf {
 
     private final SortedSet<Variable> originalVariables;
-    private final Formula formula;
+    private final FormulaFactory f;
+    private Formula formula;
+    private CompactDnnf compactDnnf;
 
     /**
      * Constructs a new DNNF.
@@ -28,17 +37,46 @@ public final class Dnnf {
      */
     public Dnnf(final SortedSet<Variable> originalVariables, final Formula dnnf) {
         this.originalVariables = originalVariables;
+        f = null;
         formula = dnnf;
     }
 
+    /**
+     * Constructs a new DNNF backed by a compact DNNF. The formula of the DNNF
+     * is only generated on demand on the given formula factory.
+     * @param f           the formula factory for the formula of the DNNF
+     * @param compactDnnf the compact DNNF
+     */
+    public Dnnf(final FormulaFactory f, final CompactDnnf compactDnnf) {
+        originalVariables = compactDnnf.getOriginalVariables();
+        this.f = f;
+        this.compactDnnf = compactDnnf;
+    }
+
     /**
      * Executes a given DNNF function on this DNNF.
      * @param function the function
      * @param <RESULT> the result type
      * @return the result of the function application
      */
+    @SuppressWarnings("unchecked")
     public <RESULT> RESULT execute(final DnnfFunction<RESULT> function) {
-        return function.apply(originalVariables, formula);
+        if (function instanceof CompactDnnfFunction) {
+            return ((CompactDnnfFunction<RESULT>) function).apply(getCompactDnnf());
+        }
+        return function.apply(originalVariables, getFormula());
+    }
+
+    /**
+     * Conditions this DNNF by the given literals, i.e. replaces each given
+     * literal by true and its complement by false. The variables of the
+     * literals are removed from the original variables of the result. The
+     * DNNF does not have to be recompiled for this.
+     * @param literals the literals
+     * @return the conditioned DNNF
+     */
+    public Dnnf condition(final Collection<? extends Literal> literals) {
+        return new Dnnf(f != null ? f : formula.getFactory(), getCompactDnnf().condition(literals));
     }
 
     /**
@@ -46,9 +84,23 @@ public final class Dnnf {
      * @return the formula
      */
     public Formula getFormula() {
+        if (formula == null) {
+            formula = compactDnnf.toFormula(f);
+        }
         return formula;
     }
 
+    /**
+     * Returns the compact representation of the DNNF.
+     * @return the compact DNNF
+     */
+    public CompactDnnf getCompactDnnf() {
+        if (compactDnnf == null) {
+            compactDnnf = CompactDnnf.fromFormula(originalVariables, formula);
+        }
+        return compactDnnf;
+    }
+
     /**
      * Returns the original variables of the formula
      * @return the original variables
@@ -66,11 +118,12 @@ public final class Dnnf {
             return false;
         }
         final Dnnf dnnf = (Dnnf) o;
-        return Objects.equals(originalVariables, dnnf.originalVariables) && Objects.equals(formula, dnnf.formula);
+        return Objects.equals(originalVariables, dnnf.originalVariables) &&
+                Objects.equals(getCompactDnnf(), dnnf.getCompactDnnf());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(originalVariables, formula);
+        return Objects.hash(originalVariables, getCompactDnnf());
     }
 }
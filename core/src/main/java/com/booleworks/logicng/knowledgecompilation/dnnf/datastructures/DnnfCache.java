@@ -0,0 +1,223 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.datastructures;
+
+import com.booleworks.logicng.handlers.events.DnnfCacheStatisticsEvent;
+import com.booleworks.logicng.knowledgecompilation.dnnf.DnnfConfig.CacheEvictionPolicy;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The compilation cache of the DNNF compiler with a bounded memory size.
+ * <p>
+ * A key is the set of ids of the unsubsumed clauses and unassigned variables
+ * of a sub-tree. Keys are passed as bit sets which are reused by the
+ * compiler, the cache stores a key as the sorted list of its ids in a shared
+ * integer array. The entries are organized in an open addressing hash table
+ * with linear probing. If the estimated memory of the cache exceeds the given
+ * budget, entries are evicted according to the {@link CacheEvictionPolicy}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class DnnfCache {
+
+    private static final int BYTES_PER_ENTRY = 16;
+    private static final int BYTES_PER_SLOT = 4;
+
+    private final long maxMemory;
+    private final CacheEvictionPolicy evictionPolicy;
+
+    private int[] table;
+    private int[] keyOffsets;
+    private int[] keyLengths;
+    private int[] hashes;
+    private int[] values;
+    private int numEntries;
+    private int[] keys;
+    private int keysSize;
+    private int[] scratch;
+    private int scratchSize;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int peakEntries;
+    private long peakMemory;
+
+    /**
+     * Constructs a new cache.
+     * @param maxMemory      the memory budget of the cache in bytes
+     * @param evictionPolicy the eviction policy
+     */
+    public DnnfCache(final long maxMemory, final CacheEvictionPolicy evictionPolicy) {
+        this.maxMemory = maxMemory;
+        this.evictionPolicy = evictionPolicy;
+        table = new int[1024];
+        keyOffsets = new int[512];
+        keyLengths = new int[512];
+        hashes = new int[512];
+        values = new int[512];
+        keys = new int[4096];
+        scratch = new int[64];
+    }
+
+    /**
+     * Returns the value for the given key or {@code -1} if the key is not
+     * in the cache.
+     * @param key the key
+     * @return the value or {@code -1}
+     */
+    public int get(final BitSet key) {
+        final int hash = load(key);
+        final int mask = table.length - 1;
+        for (int slot = hash & mask; table[slot] != 0; slot = slot + 1 & mask) {
+            final int entry = table[slot] - 1;
+            if (hashes[entry] == hash && scratchEquals(entry)) {
+                hits++;
+                return values[entry];
+            }
+        }
+        misses++;
+        return -1;
+    }
+
+    /**
+     * Stores a value for the given key which must not be in the cache. Evicts
+     * entries if the memory budget is exceeded.
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(final BitSet key, final int value) {
+        final int hash = load(key);
+        if (memoryAfterInsertion() > maxMemory) {
+            evict();
+            if (memoryAfterInsertion() > maxMemory) {
+                return;
+            }
+        }
+        if (numEntries == keyOffsets.length) {
+            final int capacity = 2 * keyOffsets.length;
+            keyOffsets = Arrays.copyOf(keyOffsets, capacity);
+            keyLengths = Arrays.copyOf(keyLengths, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        if (keysSize + scratchSize > keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(2 * keys.length, keysSize + scratchSize));
+        }
+        System.arraycopy(scratch, 0, keys, keysSize, scratchSize);
+        final int entry = numEntries++;
+        keyOffsets[entry] = keysSize;
+        keyLengths[entry] = scratchSize;
+        hashes[entry] = hash;
+        values[entry] = value;
+        keysSize += scratchSize;
+        if (2 * numEntries > table.length) {
+            table = new int[2 * table.length];
+            rehash();
+        } else {
+            insert(entry);
+        }
+        peakEntries = Math.max(peakEntries, numEntries);
+        peakMemory = Math.max(peakMemory, memory());
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     * @return the number of entries
+     */
+    public int numberOfEntries() {
+        return numEntries;
+    }
+
+    /**
+     * Returns the estimated memory of the cache in bytes.
+     * @return the estimated memory
+     */
+    public long memory() {
+        return memoryWith(numEntries, keysSize, table.length);
+    }
+
+    /**
+     * Returns the statistics of this cache as an event.
+     * @return the statistics
+     */
+    public DnnfCacheStatisticsEvent statistics() {
+        return new DnnfCacheStatisticsEvent(hits, misses, evictions, peakEntries, peakMemory);
+    }
+
+    private long memoryAfterInsertion() {
+        final int slots = 2 * (numEntries + 1) > table.length ? 2 * table.length : table.length;
+        return memoryWith(numEntries + 1, keysSize + scratchSize, slots);
+    }
+
+    private static long memoryWith(final int entries, final int keyInts, final int slots) {
+        return (long) BYTES_PER_ENTRY * entries + 4L * keyInts + (long) BYTES_PER_SLOT * slots;
+    }
+
+    private int load(final BitSet key) {
+        scratchSize = 0;
+        int hash = 1;
+        for (int i = key.nextSetBit(0); i >= 0; i = key.nextSetBit(i + 1)) {
+            if (scratchSize == scratch.length) {
+                scratch = Arrays.copyOf(scratch, 2 * scratch.length);
+            }
+            scratch[scratchSize++] = i;
+            hash = 31 * hash + i;
+        }
+        return hash ^ hash >>> 16;
+    }
+
+    private boolean scratchEquals(final int entry) {
+        if (keyLengths[entry] != scratchSize) {
+            return false;
+        }
+        final int offset = keyOffsets[entry];
+        for (int i = 0; i < scratchSize; i++) {
+            if (keys[offset + i] != scratch[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(final int entry) {
+        final int mask = table.length - 1;
+        int slot = hashes[entry] & mask;
+        while (table[slot] != 0) {
+            slot = slot + 1 & mask;
+        }
+        table[slot] = entry + 1;
+    }
+
+    private void rehash() {
+        Arrays.fill(table, 0);
+        for (int entry = 0; entry < numEntries; entry++) {
+            insert(entry);
+        }
+    }
+
+    private void evict() {
+        final int keep = evictionPolicy == CacheEvictionPolicy.CLEAR ? 0 : numEntries / 2;
+        final int first = numEntries - keep;
+        evictions += first;
+        if (keep > 0) {
+            final int keyStart = keyOffsets[first];
+            System.arraycopy(keys, keyStart, keys, 0, keysSize - keyStart);
+            keysSize -= keyStart;
+            for (int entry = first; entry < numEntries; entry++) {
+                keyOffsets[entry - first] = keyOffsets[entry] - keyStart;
+                keyLengths[entry - first] = keyLengths[entry];
+                hashes[entry - first] = hashes[entry];
+                values[entry - first] = values[entry];
+            }
+        } else {
+            keysSize = 0;
+        }
+        numEntries = keep;
+        rehash();
+    }
+}
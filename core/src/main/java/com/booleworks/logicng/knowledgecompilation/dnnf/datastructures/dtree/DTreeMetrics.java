@@ -0,0 +1,172 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree;
+
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * Quality measures of a DTree which bound the effort of a DNNF compilation
+ * with this DTree (see A. Darwiche "Recursive Conditioning").
+ * <p>
+ * The <em>cutset</em> of an inner node are the variables shared by its left
+ * and right subtree which are not in the cutset of an ancestor. The
+ * <em>context</em> of a node are its variables which are in the cutset of an
+ * ancestor. The <em>cluster</em> of an inner node is the union of its cutset
+ * and context, the cluster of a leaf are its variables. The <em>width</em> of
+ * a DTree is the size of its largest cluster minus one. The metrics can be
+ * computed before the DTree is initialized for a compilation, so different
+ * DTree generators can be compared on a formula before compiling it.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class DTreeMetrics {
+
+    private final int numberOfLeafs;
+    private final int height;
+    private final int widestSeparator;
+    private final int width;
+    private final int widestCutset;
+    private final int widestContext;
+
+    private DTreeMetrics(final int numberOfLeafs, final int height, final int widestSeparator, final int width,
+                         final int widestCutset, final int widestContext) {
+        this.numberOfLeafs = numberOfLeafs;
+        this.height = height;
+        this.widestSeparator = widestSeparator;
+        this.width = width;
+        this.widestCutset = widestCutset;
+        this.widestContext = widestContext;
+    }
+
+    /**
+     * Computes the metrics of the given DTree.
+     * @param f    the formula factory
+     * @param tree the DTree
+     * @return the metrics of the DTree
+     */
+    public static DTreeMetrics of(final FormulaFactory f, final DTree tree) {
+        final Computation computation = new Computation(f);
+        computation.visit(tree);
+        return new DTreeMetrics(tree.size(), tree.depth(), computation.widestSeparator, computation.widestCluster - 1,
+                computation.widestCutset, computation.widestContext);
+    }
+
+    /**
+     * Returns the number of leafs, i.e. the number of clauses of the DTree.
+     * @return the number of leafs
+     */
+    public int getNumberOfLeafs() {
+        return numberOfLeafs;
+    }
+
+    /**
+     * Returns the height of the DTree, i.e. the number of nodes on its
+     * longest path from the root to a leaf.
+     * @return the height of the DTree
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the size of the largest set of variables which is shared by the
+     * left and right subtree of an inner node.
+     * @return the size of the widest separator
+     */
+    public int getWidestSeparator() {
+        return widestSeparator;
+    }
+
+    /**
+     * Returns the width of the DTree, i.e. the size of its largest cluster
+     * minus one.
+     * @return the width of the DTree
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the size of the largest cutset of the DTree.
+     * @return the size of the largest cutset
+     */
+    public int getWidestCutset() {
+        return widestCutset;
+    }
+
+    /**
+     * Returns the size of the largest context of the DTree.
+     * @return the size of the largest context
+     */
+    public int getWidestContext() {
+        return widestContext;
+    }
+
+    @Override
+    public String toString() {
+        return "DTreeMetrics{" +
+                "numberOfLeafs=" + numberOfLeafs +
+                ", height=" + height +
+                ", widestSeparator=" + widestSeparator +
+                ", width=" + width +
+                ", widestCutset=" + widestCutset +
+                ", widestContext=" + widestContext +
+                '}';
+    }
+
+    private static final class Computation {
+        private final FormulaFactory f;
+        private final Set<Variable> ancestorCutset = new HashSet<>();
+        private int widestSeparator;
+        private int widestCluster;
+        private int widestCutset;
+        private int widestContext;
+
+        private Computation(final FormulaFactory f) {
+            this.f = f;
+        }
+
+        private void visit(final DTree tree) {
+            final SortedSet<Variable> variables = tree.staticVariableSet(f);
+            if (tree instanceof DTreeLeaf) {
+                widestCluster = Math.max(widestCluster, variables.size());
+                return;
+            }
+            int context = 0;
+            for (final Variable variable : variables) {
+                if (ancestorCutset.contains(variable)) {
+                    context++;
+                }
+            }
+            final DTreeNode node = (DTreeNode) tree;
+            final SortedSet<Variable> rightVariables = node.right().staticVariableSet(f);
+            int separator = 0;
+            final List<Variable> cutset = new ArrayList<>();
+            for (final Variable variable : node.left().staticVariableSet(f)) {
+                if (rightVariables.contains(variable)) {
+                    separator++;
+                    if (!ancestorCutset.contains(variable)) {
+                        cutset.add(variable);
+                    }
+                }
+            }
+            widestSeparator = Math.max(widestSeparator, separator);
+            widestCutset = Math.max(widestCutset, cutset.size());
+            widestContext = Math.max(widestContext, context);
+            widestCluster = Math.max(widestCluster, cutset.size() + context);
+            ancestorCutset.addAll(cutset);
+            visit(node.left());
+            visit(node.right());
+            ancestorCutset.removeAll(cutset);
+        }
+    }
+}
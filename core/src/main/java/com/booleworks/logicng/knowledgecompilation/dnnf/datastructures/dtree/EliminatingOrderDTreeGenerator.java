@@ -6,6 +6,7 @@ package com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree;
 
 import static com.booleworks.logicng.handlers.events.SimpleEvent.DNNF_DTREE_PROCESSING_NEXT_ORDER_VARIABLE;
 
+import com.booleworks.logicng.collections.LngIntVector;
 import com.booleworks.logicng.formulas.FType;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
@@ -14,13 +15,19 @@ import com.booleworks.logicng.handlers.ComputationHandler;
 import com.booleworks.logicng.handlers.LngResult;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A generator for a DTree from an arbitrary eliminating order of variables as
  * described in A. Darwiche "Decomposable Negation Normal Form" (algorithm
  * "el2dt").
+ * <p>
+ * The trees which contain a variable are found by a union-find structure over
+ * the clauses, so the generation is linear in the size of the CNF and the
+ * ordering (up to the inverse Ackermann function).
  * @version 3.0.0
  * @since 2.0.0
  */
@@ -51,33 +58,74 @@ public abstract class EliminatingOrderDTreeGenerator implements DTreeGenerator {
             return LngResult.of(new DTreeLeaf(f, 0, cnf));
         }
 
-        final List<DTree> sigma = new ArrayList<>();
+        // trees are numbered in the order in which they are created, this is
+        // also the order of the trees in the working set of "el2dt"
+        final int numClauses = cnf.numberOfOperands();
+        final DTree[] trees = new DTree[numClauses + ordering.size()];
+        final int[] parent = new int[trees.length];
+        final Map<Variable, LngIntVector> occurrences = new HashMap<>();
         int id = 0;
         for (final Formula clause : cnf) {
-            sigma.add(new DTreeLeaf(f, id++, clause));
+            trees[id] = new DTreeLeaf(f, id, clause);
+            parent[id] = id;
+            for (final Variable variable : clause.variables(f)) {
+                occurrences.computeIfAbsent(variable, v -> new LngIntVector()).push(id);
+            }
+            id++;
         }
 
+        int numTrees = numClauses;
         for (final Variable variable : ordering) {
             if (!handler.shouldResume(DNNF_DTREE_PROCESSING_NEXT_ORDER_VARIABLE)) {
                 return LngResult.canceled(DNNF_DTREE_PROCESSING_NEXT_ORDER_VARIABLE);
             }
-            final List<DTree> gamma = new ArrayList<>();
-            final Iterator<DTree> sigmaIterator = sigma.iterator();
-            while (sigmaIterator.hasNext()) {
-                final DTree tree = sigmaIterator.next();
-                if (tree.staticVariableSet(f).contains(variable)) {
-                    gamma.add(tree);
-                    sigmaIterator.remove();
+            final LngIntVector clauses = occurrences.get(variable);
+            if (clauses == null) {
+                continue;
+            }
+            parent[numTrees] = numTrees;
+            final LngIntVector gammaIds = new LngIntVector(clauses.size());
+            for (int i = 0; i < clauses.size(); i++) {
+                final int tree = find(parent, clauses.get(i));
+                if (parent[tree] != numTrees) {
+                    parent[tree] = numTrees;
+                    gammaIds.push(tree);
                 }
             }
-            if (!gamma.isEmpty()) {
-                sigma.add(compose(f, gamma));
+            final int[] sortedIds = gammaIds.toArray();
+            Arrays.sort(sortedIds);
+            final List<DTree> gamma = new ArrayList<>(sortedIds.length);
+            for (final int tree : sortedIds) {
+                gamma.add(trees[tree]);
+                trees[tree] = null;
             }
+            trees[numTrees] = compose(f, gamma);
+            numTrees++;
         }
 
+        final List<DTree> sigma = new ArrayList<>();
+        for (int i = 0; i < numTrees; i++) {
+            if (trees[i] != null) {
+                sigma.add(trees[i]);
+            }
+        }
         return LngResult.of(compose(f, sigma));
     }
 
+    private static int find(final int[] parent, final int tree) {
+        int root = tree;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        int current = tree;
+        while (parent[current] != root) {
+            final int next = parent[current];
+            parent[current] = root;
+            current = next;
+        }
+        return root;
+    }
+
     protected DTree compose(final FormulaFactory f, final List<DTree> trees) {
         assert !trees.isEmpty();
 
@@ -0,0 +1,464 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree;
+
+import static com.booleworks.logicng.handlers.events.SimpleEvent.DNNF_DTREE_HYPERGRAPH_BISECTION;
+
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.formulas.FType;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A DTree generator based on recursive multilevel hypergraph partitioning as
+ * described in A. Darwiche and J. Hopkins "Using Recursive Decomposition to
+ * Construct Elimination Orders, Jointrees, and Dtrees".
+ * <p>
+ * The vertices of the hypergraph are the clauses of the CNF and each variable
+ * is a hyperedge connecting all clauses it occurs in. The clauses are
+ * recursively bisected such that as few variables as possible are shared
+ * between both parts, each bisection becomes an inner node of the DTree.
+ * A bisection coarsens the hypergraph by heavy-edge matching, computes an
+ * initial partition of the coarsest hypergraph by greedy growing, and
+ * refines the partition on each level during the uncoarsening.
+ * <p>
+ * In contrast to the elimination order based generators this generator does
+ * not build the primal graph of the CNF, so it also scales to CNFs with long
+ * clauses and many variables. The computation can be bounded in time by a
+ * handler, e.g. a {@link com.booleworks.logicng.handlers.TimeoutHandler}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class HypergraphDTreeGenerator implements DTreeGenerator {
+
+    private static final int COARSEST_SIZE = 64;
+    private static final int MAX_RATED_EDGE_SIZE = 64;
+    private static final int INITIAL_PARTITIONS = 4;
+
+    private final double imbalance;
+    private final int refinementPasses;
+    private final long seed;
+
+    /**
+     * Constructs a new generator with an imbalance of {@code 0.1}, four
+     * refinement passes per level, and a fixed seed.
+     */
+    public HypergraphDTreeGenerator() {
+        this(0.1, 4, 42);
+    }
+
+    /**
+     * Constructs a new generator.
+     * @param imbalance        the allowed imbalance of a bisection, i.e. each
+     *                         part contains at most {@code (1 + imbalance) / 2}
+     *                         of the clauses
+     * @param refinementPasses the maximum number of refinement passes per level
+     * @param seed             the seed for the random matchings and initial
+     *                         partitions
+     */
+    public HypergraphDTreeGenerator(final double imbalance, final int refinementPasses, final long seed) {
+        if (imbalance < 0 || imbalance >= 1) {
+            throw new IllegalArgumentException("The imbalance must be in [0, 1): " + imbalance);
+        }
+        this.imbalance = imbalance;
+        this.refinementPasses = refinementPasses;
+        this.seed = seed;
+    }
+
+    @Override
+    public LngResult<DTree> generate(final FormulaFactory f, final Formula cnf, final ComputationHandler handler) {
+        if (!cnf.isCnf(f) || cnf.isAtomicFormula()) {
+            throw new IllegalArgumentException("Cannot generate DTree from a non-cnf formula or atomic formula");
+        } else if (cnf.getType() != FType.AND) {
+            return LngResult.of(new DTreeLeaf(f, 0, cnf));
+        }
+        final DTreeLeaf[] leafs = new DTreeLeaf[cnf.numberOfOperands()];
+        final int[][] clauseVars = new int[leafs.length][];
+        final Map<Variable, Integer> varToIndex = new HashMap<>();
+        int id = 0;
+        for (final Formula clause : cnf) {
+            leafs[id] = new DTreeLeaf(f, id, clause);
+            clauseVars[id] = clause.variables(f).stream()
+                    .mapToInt(v -> varToIndex.computeIfAbsent(v, x -> varToIndex.size())).toArray();
+            id++;
+        }
+        final int[] clauses = new int[leafs.length];
+        for (int i = 0; i < clauses.length; i++) {
+            clauses[i] = i;
+        }
+        return new Decomposition(f, leafs, clauseVars, varToIndex.size(), handler).decompose(clauses);
+    }
+
+    /**
+     * The recursive decomposition of one CNF.
+     */
+    private final class Decomposition {
+        private final FormulaFactory f;
+        private final DTreeLeaf[] leafs;
+        private final int[][] clauseVars;
+        private final ComputationHandler handler;
+        private final Random random;
+        private final int[] varStamp;
+        private final int[] varEdge;
+        private int stamp;
+
+        private Decomposition(final FormulaFactory f, final DTreeLeaf[] leafs, final int[][] clauseVars,
+                              final int numVars, final ComputationHandler handler) {
+            this.f = f;
+            this.leafs = leafs;
+            this.clauseVars = clauseVars;
+            this.handler = handler;
+            random = new Random(seed);
+            varStamp = new int[numVars];
+            varEdge = new int[numVars];
+        }
+
+        private LngResult<DTree> decompose(final int[] clauses) {
+            if (clauses.length == 1) {
+                return LngResult.of(leafs[clauses[0]]);
+            }
+            if (!handler.shouldResume(DNNF_DTREE_HYPERGRAPH_BISECTION)) {
+                return LngResult.canceled(DNNF_DTREE_HYPERGRAPH_BISECTION);
+            }
+            final int[] side = clauses.length == 2 ? new int[]{0, 1} : bisect(hypergraph(clauses));
+            final LngIntVector left = new LngIntVector(clauses.length);
+            final LngIntVector right = new LngIntVector(clauses.length);
+            for (int i = 0; i < clauses.length; i++) {
+                (side[i] == 0 ? left : right).push(clauses[i]);
+            }
+            if (left.isEmpty() || right.isEmpty()) {
+                left.clear();
+                right.clear();
+                for (int i = 0; i < clauses.length; i++) {
+                    (i < clauses.length / 2 ? left : right).push(clauses[i]);
+                }
+            }
+            final LngResult<DTree> leftTree = decompose(left.toArray());
+            if (!leftTree.isSuccess()) {
+                return leftTree;
+            }
+            final LngResult<DTree> rightTree = decompose(right.toArray());
+            if (!rightTree.isSuccess()) {
+                return rightTree;
+            }
+            return LngResult.of(new DTreeNode(f, leftTree.getResult(), rightTree.getResult()));
+        }
+
+        /**
+         * Builds the hypergraph of the given clauses. Only variables which
+         * occur in at least two of the clauses become hyperedges.
+         * @param clauses the clauses
+         * @return the hypergraph
+         */
+        private Hypergraph hypergraph(final int[] clauses) {
+            stamp++;
+            final int[] occurrences = new int[clauses.length];
+            int numEdges = 0;
+            for (int i = 0; i < clauses.length; i++) {
+                for (final int var : clauseVars[clauses[i]]) {
+                    if (varStamp[var] != stamp) {
+                        varStamp[var] = stamp;
+                        varEdge[var] = -1;
+                    } else if (varEdge[var] == -1) {
+                        varEdge[var] = numEdges++;
+                    }
+                }
+            }
+            final LngIntVector[] pins = new LngIntVector[numEdges];
+            for (int i = 0; i < numEdges; i++) {
+                pins[i] = new LngIntVector();
+            }
+            for (int i = 0; i < clauses.length; i++) {
+                for (final int var : clauseVars[clauses[i]]) {
+                    if (varEdge[var] >= 0) {
+                        pins[varEdge[var]].push(i);
+                        occurrences[i]++;
+                    }
+                }
+            }
+            final int[] weights = new int[clauses.length];
+            Arrays.fill(weights, 1);
+            return new Hypergraph(weights, pins, occurrences);
+        }
+
+        private int[] bisect(final Hypergraph hypergraph) {
+            final List<Hypergraph> levels = new ArrayList<>();
+            final List<int[]> projections = new ArrayList<>();
+            Hypergraph current = hypergraph;
+            final int maxVertexWeight = Math.max(1, 3 * hypergraph.totalWeight / (2 * COARSEST_SIZE));
+            while (current.numVertices() > COARSEST_SIZE) {
+                final int[] coarse = new int[current.numVertices()];
+                final int numCoarse = match(current, coarse, maxVertexWeight);
+                if (numCoarse > 0.9 * current.numVertices()) {
+                    break;
+                }
+                levels.add(current);
+                projections.add(coarse);
+                current = current.contract(coarse, numCoarse);
+            }
+            int[] side = initialPartition(current);
+            for (int level = levels.size() - 1; level >= 0; level--) {
+                final int[] coarse = projections.get(level);
+                final int[] finer = new int[coarse.length];
+                for (int v = 0; v < coarse.length; v++) {
+                    finer[v] = side[coarse[v]];
+                }
+                side = finer;
+                refine(levels.get(level), side);
+            }
+            return side;
+        }
+
+        /**
+         * Computes a heavy-edge matching of the vertices. Two vertices are
+         * rated by the number of hyperedges they share, weighted by the
+         * inverse size of the hyperedges.
+         * @param hypergraph      the hypergraph
+         * @param coarse          the array for the coarse vertex of each vertex
+         * @param maxVertexWeight the maximum weight of a coarse vertex
+         * @return the number of coarse vertices
+         */
+        private int match(final Hypergraph hypergraph, final int[] coarse, final int maxVertexWeight) {
+            final int n = hypergraph.numVertices();
+            Arrays.fill(coarse, -1);
+            final double[] rating = new double[n];
+            final LngIntVector touched = new LngIntVector();
+            int numCoarse = 0;
+            for (final int v : permutation(n)) {
+                if (coarse[v] >= 0) {
+                    continue;
+                }
+                for (final int e : hypergraph.edges[v]) {
+                    final int[] pins = hypergraph.pins[e];
+                    if (pins.length > MAX_RATED_EDGE_SIZE) {
+                        continue;
+                    }
+                    final double weight = 1.0 / (pins.length - 1);
+                    for (final int u : pins) {
+                        if (u != v && coarse[u] < 0 &&
+                                hypergraph.weights[u] + hypergraph.weights[v] <= maxVertexWeight) {
+                            if (rating[u] == 0) {
+                                touched.push(u);
+                            }
+                            rating[u] += weight;
+                        }
+                    }
+                }
+                int best = -1;
+                for (int i = 0; i < touched.size(); i++) {
+                    final int u = touched.get(i);
+                    if (best < 0 || rating[u] > rating[best]) {
+                        best = u;
+                    }
+                    rating[u] = 0;
+                }
+                touched.clear();
+                coarse[v] = numCoarse;
+                if (best >= 0) {
+                    coarse[best] = numCoarse;
+                }
+                numCoarse++;
+            }
+            return numCoarse;
+        }
+
+        /**
+         * Computes an initial partition by growing the first part from random
+         * start vertices in breadth-first order and keeps the refined
+         * partition with the smallest cut.
+         * @param hypergraph the hypergraph
+         * @return the partition
+         */
+        private int[] initialPartition(final Hypergraph hypergraph) {
+            final int n = hypergraph.numVertices();
+            int[] best = null;
+            int bestCut = Integer.MAX_VALUE;
+            for (int attempt = 0; attempt < INITIAL_PARTITIONS; attempt++) {
+                final int[] side = new int[n];
+                Arrays.fill(side, 1);
+                final int[] order = permutation(n);
+                final int[] queue = new int[n];
+                int head = 0;
+                int tail = 0;
+                int next = 0;
+                int weight = 0;
+                while (2 * weight < hypergraph.totalWeight) {
+                    if (head == tail) {
+                        while (side[order[next]] == 0) {
+                            next++;
+                        }
+                        side[order[next]] = 0;
+                        queue[tail++] = order[next];
+                    }
+                    final int v = queue[head++];
+                    weight += hypergraph.weights[v];
+                    for (final int e : hypergraph.edges[v]) {
+                        for (final int u : hypergraph.pins[e]) {
+                            if (side[u] == 1) {
+                                side[u] = 0;
+                                queue[tail++] = u;
+                            }
+                        }
+                    }
+                }
+                for (int i = head; i < tail; i++) {
+                    side[queue[i]] = 1;
+                }
+                refine(hypergraph, side);
+                final int cut = hypergraph.cut(side);
+                if (cut < bestCut) {
+                    bestCut = cut;
+                    best = side;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Refines a partition by moving single vertices to the other part as
+         * long as this reduces the cut, or keeps the cut and improves the
+         * balance, without violating the allowed imbalance.
+         * @param hypergraph the hypergraph
+         * @param side       the partition which is refined in place
+         */
+        private void refine(final Hypergraph hypergraph, final int[] side) {
+            final int numEdges = hypergraph.pins.length;
+            final int[][] counts = new int[2][numEdges];
+            final int[] weights = new int[2];
+            for (int v = 0; v < side.length; v++) {
+                weights[side[v]] += hypergraph.weights[v];
+                for (final int e : hypergraph.edges[v]) {
+                    counts[side[v]][e]++;
+                }
+            }
+            final double maxWeight = (1 + imbalance) * hypergraph.totalWeight / 2;
+            boolean moved = true;
+            for (int pass = 0; pass < refinementPasses && moved; pass++) {
+                moved = false;
+                for (final int v : permutation(side.length)) {
+                    final int from = side[v];
+                    final int to = 1 - from;
+                    final int weight = hypergraph.weights[v];
+                    if (weights[to] + weight > maxWeight) {
+                        continue;
+                    }
+                    int gain = 0;
+                    for (final int e : hypergraph.edges[v]) {
+                        if (counts[from][e] == 1 && counts[to][e] > 0) {
+                            gain++;
+                        } else if (counts[to][e] == 0 && counts[from][e] > 1) {
+                            gain--;
+                        }
+                    }
+                    if (gain > 0 || gain == 0 && weights[from] - weights[to] > weight) {
+                        side[v] = to;
+                        weights[from] -= weight;
+                        weights[to] += weight;
+                        for (final int e : hypergraph.edges[v]) {
+                            counts[from][e]--;
+                            counts[to][e]++;
+                        }
+                        moved = true;
+                    }
+                }
+            }
+        }
+
+        private int[] permutation(final int n) {
+            final int[] permutation = new int[n];
+            for (int i = 0; i < n; i++) {
+                final int j = random.nextInt(i + 1);
+                permutation[i] = permutation[j];
+                permutation[j] = i;
+            }
+            return permutation;
+        }
+    }
+
+    /**
+     * A weighted hypergraph on integer vertices.
+     */
+    private static final class Hypergraph {
+        private final int[] weights;
+        private final int[][] pins;
+        private final int[][] edges;
+        private final int totalWeight;
+
+        private Hypergraph(final int[] weights, final LngIntVector[] pins, final int[] occurrences) {
+            this.weights = weights;
+            this.pins = new int[pins.length][];
+            edges = new int[weights.length][];
+            for (int v = 0; v < weights.length; v++) {
+                edges[v] = new int[occurrences[v]];
+            }
+            final int[] fill = new int[weights.length];
+            for (int e = 0; e < pins.length; e++) {
+                this.pins[e] = pins[e].toArray();
+                for (final int v : this.pins[e]) {
+                    edges[v][fill[v]++] = e;
+                }
+            }
+            int total = 0;
+            for (final int weight : weights) {
+                total += weight;
+            }
+            totalWeight = total;
+        }
+
+        private int numVertices() {
+            return weights.length;
+        }
+
+        private Hypergraph contract(final int[] coarse, final int numCoarse) {
+            final int[] coarseWeights = new int[numCoarse];
+            for (int v = 0; v < coarse.length; v++) {
+                coarseWeights[coarse[v]] += weights[v];
+            }
+            final int[] seen = new int[numCoarse];
+            Arrays.fill(seen, -1);
+            final int[] occurrences = new int[numCoarse];
+            final List<LngIntVector> coarsePins = new ArrayList<>();
+            for (int e = 0; e < pins.length; e++) {
+                final LngIntVector edge = new LngIntVector();
+                for (final int v : pins[e]) {
+                    if (seen[coarse[v]] != e) {
+                        seen[coarse[v]] = e;
+                        edge.push(coarse[v]);
+                    }
+                }
+                if (edge.size() > 1) {
+                    coarsePins.add(edge);
+                    for (int i = 0; i < edge.size(); i++) {
+                        occurrences[edge.get(i)]++;
+                    }
+                }
+            }
+            return new Hypergraph(coarseWeights, coarsePins.toArray(new LngIntVector[0]), occurrences);
+        }
+
+        private int cut(final int[] side) {
+            int cut = 0;
+            for (final int[] edge : pins) {
+                for (final int v : edge) {
+                    if (side[v] != side[edge[0]]) {
+                        cut++;
+                        break;
+                    }
+                }
+            }
+            return cut;
+        }
+    }
+}
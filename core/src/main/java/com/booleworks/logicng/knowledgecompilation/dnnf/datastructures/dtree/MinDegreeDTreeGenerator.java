@@ -0,0 +1,117 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree;
+
+import static com.booleworks.logicng.handlers.events.SimpleEvent.DNNF_DTREE_MIN_DEGREE_NEW_ITERATION;
+
+import com.booleworks.logicng.formulas.FType;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A DTree generator using the min-degree heuristic.
+ * <p>
+ * The min-degree heuristic eliminates in each step the variable with the
+ * fewest neighbors in the primal graph of the CNF. It usually yields slightly
+ * wider decompositions than the {@link MinFillDTreeGenerator min-fill
+ * heuristic}, but it does not have to count the fill-in edges of each
+ * variable in each step and is therefore much faster on large formulas. The
+ * computation can be bounded in time by a handler, e.g. a
+ * {@link com.booleworks.logicng.handlers.TimeoutHandler}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class MinDegreeDTreeGenerator extends EliminatingOrderDTreeGenerator {
+
+    @Override
+    public LngResult<DTree> generate(final FormulaFactory f, final Formula cnf, final ComputationHandler handler) {
+        final LngResult<List<Variable>> ordering = minDegreeOrdering(f, cnf, handler);
+        if (!ordering.isSuccess()) {
+            return LngResult.canceled(ordering.getCancelCause());
+        }
+        return generateWithEliminatingOrder(f, cnf, ordering.getResult(), handler);
+    }
+
+    /**
+     * Computes a min-degree elimination ordering of the variables of the
+     * given CNF. Ties are broken by the order of the variables in the CNF.
+     * @param f       the formula factory
+     * @param cnf     the CNF
+     * @param handler the computation handler
+     * @return the elimination ordering
+     */
+    public static LngResult<List<Variable>> minDegreeOrdering(final FormulaFactory f, final Formula cnf,
+                                                              final ComputationHandler handler) {
+        final List<Variable> vertices = new ArrayList<>(cnf.variables(f));
+        final Map<Variable, Integer> varToIndex = new HashMap<>();
+        final List<Set<Integer>> neighbors = new ArrayList<>(vertices.size());
+        for (final Variable variable : vertices) {
+            varToIndex.put(variable, neighbors.size());
+            neighbors.add(new HashSet<>());
+        }
+        final List<Formula> clauses =
+                cnf.getType() == FType.AND ? cnf.stream().collect(Collectors.toList()) : Collections.singletonList(cnf);
+        for (final Formula clause : clauses) {
+            final int[] vars = clause.variables(f).stream().mapToInt(varToIndex::get).toArray();
+            for (int i = 0; i < vars.length; i++) {
+                for (int j = i + 1; j < vars.length; j++) {
+                    neighbors.get(vars[i]).add(vars[j]);
+                    neighbors.get(vars[j]).add(vars[i]);
+                }
+            }
+        }
+
+        // the queue may contain outdated degrees, they are skipped when polled
+        final PriorityQueue<Long> queue = new PriorityQueue<>();
+        for (int i = 0; i < vertices.size(); i++) {
+            queue.add(entry(neighbors.get(i).size(), i));
+        }
+        final boolean[] processed = new boolean[vertices.size()];
+        final List<Variable> ordering = new ArrayList<>(vertices.size());
+        while (ordering.size() < vertices.size()) {
+            final long entry = queue.poll();
+            final int vertex = (int) entry;
+            final Set<Integer> vertexNeighbors = neighbors.get(vertex);
+            if (processed[vertex] || entry >>> 32 != vertexNeighbors.size()) {
+                continue;
+            }
+            if (!handler.shouldResume(DNNF_DTREE_MIN_DEGREE_NEW_ITERATION)) {
+                return LngResult.canceled(DNNF_DTREE_MIN_DEGREE_NEW_ITERATION);
+            }
+            processed[vertex] = true;
+            ordering.add(vertices.get(vertex));
+            final int[] clique = vertexNeighbors.stream().mapToInt(i -> i).toArray();
+            for (final int neighbor : clique) {
+                final Set<Integer> fill = neighbors.get(neighbor);
+                fill.remove(vertex);
+                for (final int other : clique) {
+                    if (other != neighbor) {
+                        fill.add(other);
+                    }
+                }
+                queue.add(entry(fill.size(), neighbor));
+            }
+            vertexNeighbors.clear();
+        }
+        return LngResult.of(ordering);
+    }
+
+    private static long entry(final int degree, final int vertex) {
+        return (long) degree << 32 | vertex;
+    }
+}
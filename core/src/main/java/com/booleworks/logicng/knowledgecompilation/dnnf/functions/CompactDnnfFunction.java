@@ -0,0 +1,34 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.functions;
+
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.CompactDnnf;
+
+import java.util.SortedSet;
+
+/**
+ * A function which is computed on the {@link CompactDnnf compact
+ * representation} of a DNNF. If such a function is executed on a DNNF, the
+ * formula of the DNNF does not have to be generated.
+ * @param <RESULT> the result type of the function
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public interface CompactDnnfFunction<RESULT> extends DnnfFunction<RESULT> {
+
+    /**
+     * Applies this function to a given compact DNNF.
+     * @param dnnf the compact DNNF
+     * @return the result of the function application
+     */
+    RESULT apply(final CompactDnnf dnnf);
+
+    @Override
+    default RESULT apply(final SortedSet<Variable> originalVariables, final Formula formula) {
+        return apply(CompactDnnf.fromFormula(originalVariables, formula));
+    }
+}
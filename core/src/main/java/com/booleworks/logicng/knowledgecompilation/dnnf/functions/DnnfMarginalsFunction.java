@@ -0,0 +1,52 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.functions;
+
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.CompactDnnf;
+import com.booleworks.logicng.modelcounting.WeightSemiring;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * A DNNF function which computes the weighted marginals of all literals of
+ * the original variables of a DNNF. The marginal of a literal is the weighted
+ * model count of the DNNF conjoined with the literal, e.g. with an empty
+ * weight map and the {@link WeightSemiring#BIG_DECIMAL exact semiring} it is
+ * the number of models containing the literal.
+ * <p>
+ * All marginals are computed in one bottom-up and one top-down pass over the
+ * DNNF. Literals without a weight have the weight {@link WeightSemiring#one()
+ * one}.
+ * @param <T> the type of the weights
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class DnnfMarginalsFunction<T> implements CompactDnnfFunction<SortedMap<Literal, T>> {
+
+    protected final FormulaFactory f;
+    protected final WeightSemiring<T> semiring;
+    protected final Map<? extends Literal, T> weights;
+
+    /**
+     * Constructs a new marginals function.
+     * @param f        the formula factory
+     * @param semiring the semiring in which the marginals are computed
+     * @param weights  the weights of the literals
+     */
+    public DnnfMarginalsFunction(final FormulaFactory f, final WeightSemiring<T> semiring,
+                                 final Map<? extends Literal, T> weights) {
+        this.f = f;
+        this.semiring = semiring;
+        this.weights = weights;
+    }
+
+    @Override
+    public SortedMap<Literal, T> apply(final CompactDnnf dnnf) {
+        return dnnf.marginals(f, semiring, weights);
+    }
+}
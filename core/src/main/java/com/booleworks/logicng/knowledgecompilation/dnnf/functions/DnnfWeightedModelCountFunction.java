@@ -0,0 +1,47 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.functions;
+
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.CompactDnnf;
+import com.booleworks.logicng.modelcounting.WeightSemiring;
+
+import java.util.Map;
+
+/**
+ * A DNNF function which computes the weighted model count of a DNNF over its
+ * original variables, i.e. the sum over all models of the product of the
+ * weights of their literals. Literals without a weight have the weight
+ * {@link WeightSemiring#one() one}, so with an empty weight map the result is
+ * the model count.
+ * @param <T> the type of the weights
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class DnnfWeightedModelCountFunction<T> implements CompactDnnfFunction<T> {
+
+    protected final FormulaFactory f;
+    protected final WeightSemiring<T> semiring;
+    protected final Map<? extends Literal, T> weights;
+
+    /**
+     * Constructs a new weighted model count function.
+     * @param f        the formula factory
+     * @param semiring the semiring in which the count is computed
+     * @param weights  the weights of the literals
+     */
+    public DnnfWeightedModelCountFunction(final FormulaFactory f, final WeightSemiring<T> semiring,
+                                          final Map<? extends Literal, T> weights) {
+        this.f = f;
+        this.semiring = semiring;
+        this.weights = weights;
+    }
+
+    @Override
+    public T apply(final CompactDnnf dnnf) {
+        return dnnf.weightedModelCount(f, semiring, weights);
+    }
+}
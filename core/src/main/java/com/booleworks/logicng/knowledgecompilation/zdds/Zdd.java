@@ -0,0 +1,267 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.zdds;
+
+import com.booleworks.logicng.formulas.Literal;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The representation of a ZDD, i.e. a family of sets of literals.
+ * <p>
+ * ZDDs are created by the {@link ZddFactory}. All binary operations require
+ * both ZDDs to be from the same kernel.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class Zdd implements Iterable<SortedSet<Literal>> {
+
+    private final int index;
+    protected final ZddKernel kernel;
+
+    /**
+     * Constructs a new ZDD with a given index.
+     * @param index  the index
+     * @param kernel the kernel of this ZDD
+     */
+    public Zdd(final int index, final ZddKernel kernel) {
+        this.index = index;
+        this.kernel = kernel;
+    }
+
+    /**
+     * Returns the index of this ZDD.
+     * <p>
+     * The index marks the entry point of this ZDD in the
+     * {@link #getUnderlyingKernel() underlying kernel}.
+     * @return the index of this ZDD
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the kernel of this ZDD.
+     * @return the kernel of this ZDD
+     */
+    public ZddKernel getUnderlyingKernel() {
+        return kernel;
+    }
+
+    /**
+     * Returns a new ZDD which is the union of this ZDD and the given other
+     * ZDD.
+     * @param other the other ZDD
+     * @return the union of the two ZDDs
+     * @throws IllegalArgumentException if the two ZDDs don't have the same
+     *                                  kernel
+     */
+    public Zdd union(final Zdd other) {
+        checkKernel(other);
+        return new Zdd(kernel.addRef(kernel.union(index, other.index)), kernel);
+    }
+
+    /**
+     * Returns a new ZDD which is the intersection of this ZDD and the given
+     * other ZDD.
+     * @param other the other ZDD
+     * @return the intersection of the two ZDDs
+     * @throws IllegalArgumentException if the two ZDDs don't have the same
+     *                                  kernel
+     */
+    public Zdd intersection(final Zdd other) {
+        checkKernel(other);
+        return new Zdd(kernel.addRef(kernel.intersection(index, other.index)), kernel);
+    }
+
+    /**
+     * Returns a new ZDD with all sets of this ZDD which are not in the given
+     * other ZDD.
+     * @param other the other ZDD
+     * @return the difference of the two ZDDs
+     * @throws IllegalArgumentException if the two ZDDs don't have the same
+     *                                  kernel
+     */
+    public Zdd difference(final Zdd other) {
+        checkKernel(other);
+        return new Zdd(kernel.addRef(kernel.difference(index, other.index)), kernel);
+    }
+
+    /**
+     * Returns a new ZDD with all sets of this ZDD which are a subset of some
+     * set of the given other ZDD.
+     * @param other the other ZDD
+     * @return the sets of this ZDD contained in a set of the other ZDD
+     * @throws IllegalArgumentException if the two ZDDs don't have the same
+     *                                  kernel
+     */
+    public Zdd subsets(final Zdd other) {
+        checkKernel(other);
+        return new Zdd(kernel.addRef(kernel.subsets(index, other.index)), kernel);
+    }
+
+    /**
+     * Returns a new ZDD with all sets of this ZDD which are a superset of some
+     * set of the given other ZDD.
+     * @param other the other ZDD
+     * @return the sets of this ZDD containing a set of the other ZDD
+     * @throws IllegalArgumentException if the two ZDDs don't have the same
+     *                                  kernel
+     */
+    public Zdd supersets(final Zdd other) {
+        checkKernel(other);
+        return new Zdd(kernel.addRef(kernel.supersets(index, other.index)), kernel);
+    }
+
+    /**
+     * Returns a new ZDD with all sets of this ZDD which are not a superset of
+     * any set of the given other ZDD.
+     * @param other the other ZDD
+     * @return the sets of this ZDD containing no set of the other ZDD
+     * @throws IllegalArgumentException if the two ZDDs don't have the same
+     *                                  kernel
+     */
+    public Zdd nonSupersets(final Zdd other) {
+        checkKernel(other);
+        return new Zdd(kernel.addRef(kernel.nonSupersets(index, other.index)), kernel);
+    }
+
+    /**
+     * Returns a new ZDD with the minimal sets of this ZDD wrt. set inclusion.
+     * @return the minimal sets of this ZDD
+     */
+    public Zdd minimal() {
+        return new Zdd(kernel.addRef(kernel.minimal(index)), kernel);
+    }
+
+    /**
+     * Returns a new ZDD with all sets of this ZDD which do not contain the
+     * given literal.
+     * @param literal the literal
+     * @return the sets without the literal
+     */
+    public Zdd subset0(final Literal literal) {
+        final int idx = kernel.getIndexForLiteral(literal);
+        return idx < 0 ? this : new Zdd(kernel.addRef(kernel.subset0(index, idx)), kernel);
+    }
+
+    /**
+     * Returns a new ZDD with all sets of this ZDD which contain the given
+     * literal, with the literal removed from the sets.
+     * @param literal the literal
+     * @return the sets with the literal, with the literal removed
+     */
+    public Zdd subset1(final Literal literal) {
+        final int idx = kernel.getIndexForLiteral(literal);
+        return idx < 0 ? new Zdd(ZddKernel.ZDD_EMPTY, kernel)
+                : new Zdd(kernel.addRef(kernel.subset1(index, idx)), kernel);
+    }
+
+    /**
+     * Returns a new ZDD in which the given literal is toggled in each set of
+     * this ZDD, i.e. removed from the sets containing it and added to all
+     * other sets.
+     * @param literal the literal
+     * @return the ZDD with the literal toggled
+     */
+    public Zdd change(final Literal literal) {
+        return new Zdd(kernel.addRef(kernel.change(index, kernel.getOrAddIndex(literal))), kernel);
+    }
+
+    /**
+     * Returns the number of sets of this ZDD.
+     * @return the number of sets
+     */
+    public BigInteger count() {
+        return kernel.count(index);
+    }
+
+    /**
+     * Returns whether this ZDD is the empty family.
+     * @return {@code true} if this ZDD contains no set
+     */
+    public boolean isEmpty() {
+        return index == ZddKernel.ZDD_EMPTY;
+    }
+
+    /**
+     * Returns whether this ZDD contains the empty set.
+     * @return {@code true} if this ZDD contains the empty set
+     */
+    public boolean containsEmptySet() {
+        return kernel.containsEmptySet(index);
+    }
+
+    /**
+     * Returns the number of inner nodes of this ZDD.
+     * @return the number of inner nodes
+     */
+    public int nodeCount() {
+        return kernel.nodeCount(index);
+    }
+
+    /**
+     * Returns all sets of this ZDD.
+     * @return the sets
+     */
+    public List<SortedSet<Literal>> enumerateAllSets() {
+        final List<SortedSet<Literal>> sets = new ArrayList<>();
+        iterator().forEachRemaining(sets::add);
+        return sets;
+    }
+
+    /**
+     * Returns a lazy iterator over the sets of this ZDD.
+     * <p>
+     * The kernel must not be modified during the iteration.
+     * @return the iterator over the sets
+     */
+    @Override
+    public Iterator<SortedSet<Literal>> iterator() {
+        return new ZddSetIterator(kernel, index);
+    }
+
+    /**
+     * Returns a lazy stream of the sets of this ZDD.
+     * <p>
+     * The kernel must not be modified while the stream is consumed.
+     * @return the stream of sets
+     */
+    public Stream<SortedSet<Literal>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    private void checkKernel(final Zdd other) {
+        if (other.kernel != kernel) {
+            throw new IllegalArgumentException("Only ZDDs with the same kernel can be processed");
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, kernel);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other ||
+                other instanceof Zdd && index == ((Zdd) other).index && Objects.equals(kernel, ((Zdd) other).kernel);
+    }
+
+    @Override
+    public String toString() {
+        return "ZDD{" + index + "}";
+    }
+}
@@ -0,0 +1,98 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.zdds;
+
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddPrime;
+
+/**
+ * The operation cache of a {@link ZddKernel}.
+ * <p>
+ * The cache is a lossy hash table storing the result of an operation for two
+ * operands and an operation id. The entries are stored in parallel arrays,
+ * a colliding entry simply overwrites the old one.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+final class ZddCache {
+    private final int[] a;
+    private final int[] b;
+    private final int[] op;
+    private final int[] res;
+
+    private long lookups;
+    private long hits;
+
+    /**
+     * Constructs a new ZDD cache with at least the given number of entries.
+     * @param size the minimal cache size
+     */
+    ZddCache(final int size) {
+        final int cs = new BddPrime().primeGte(Math.max(size, 3));
+        a = new int[cs];
+        b = new int[cs];
+        op = new int[cs];
+        res = new int[cs];
+        reset();
+    }
+
+    /**
+     * Resets (clears) the cache.
+     */
+    void reset() {
+        for (int i = 0; i < a.length; i++) {
+            a[i] = -1;
+        }
+    }
+
+    /**
+     * Returns the cached result for the given operation or -1 if there is no
+     * such entry.
+     * @param l  the first operand
+     * @param r  the second operand
+     * @param id the operation id
+     * @return the cached result or -1
+     */
+    int lookup(final int l, final int r, final int id) {
+        lookups++;
+        final int slot = slot(l, r, id);
+        if (a[slot] == l && b[slot] == r && op[slot] == id) {
+            hits++;
+            return res[slot];
+        }
+        return -1;
+    }
+
+    /**
+     * Stores the result of an operation.
+     * @param l      the first operand
+     * @param r      the second operand
+     * @param id     the operation id
+     * @param result the result
+     */
+    void store(final int l, final int r, final int id, final int result) {
+        final int slot = slot(l, r, id);
+        a[slot] = l;
+        b[slot] = r;
+        op[slot] = id;
+        res[slot] = result;
+    }
+
+    private int slot(final int l, final int r, final int id) {
+        final long hash = (l * 0x9E3779B1L) ^ (r * 0x85EBCA77L) ^ (id * 0xC2B2AE3DL);
+        return Math.floorMod(hash ^ (hash >>> 29), a.length);
+    }
+
+    int size() {
+        return a.length;
+    }
+
+    long lookups() {
+        return lookups;
+    }
+
+    long hits() {
+        return hits;
+    }
+}
@@ -0,0 +1,190 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.zdds;
+
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.knowledgecompilation.bdds.Bdd;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddConstruction;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The factory for ZDDs.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ZddFactory {
+
+    protected ZddFactory() {
+        // not to be instantiated
+    }
+
+    /**
+     * Returns the ZDD for the empty family.
+     * @param kernel the ZDD kernel
+     * @return the empty family
+     */
+    public static Zdd empty(final ZddKernel kernel) {
+        return new Zdd(ZddKernel.ZDD_EMPTY, kernel);
+    }
+
+    /**
+     * Returns the ZDD for the family containing only the empty set.
+     * @param kernel the ZDD kernel
+     * @return the family containing only the empty set
+     */
+    public static Zdd base(final ZddKernel kernel) {
+        return new Zdd(ZddKernel.ZDD_BASE, kernel);
+    }
+
+    /**
+     * Builds a ZDD for a family of sets of literals, e.g. a set of prime
+     * implicants. Unknown literals are registered at the kernel.
+     * @param kernel the ZDD kernel
+     * @param sets   the sets of literals
+     * @return the ZDD for the family
+     */
+    public static Zdd fromSets(final ZddKernel kernel, final Collection<? extends Collection<? extends Literal>> sets) {
+        int res = ZddKernel.ZDD_EMPTY;
+        for (final Collection<? extends Literal> set : sets) {
+            final int[] indices = new int[set.size()];
+            int i = 0;
+            for (final Literal lit : set) {
+                indices[i++] = kernel.getOrAddIndex(lit);
+            }
+            final int single = kernel.addRef(kernel.singleton(indices));
+            final int union = kernel.addRef(kernel.union(res, single));
+            kernel.delRef(single);
+            kernel.delRef(res);
+            res = union;
+        }
+        return new Zdd(res, kernel);
+    }
+
+    /**
+     * Builds a ZDD for a collection of models. Each model is represented by
+     * the set of its positive variables.
+     * @param kernel the ZDD kernel
+     * @param models the models
+     * @return the ZDD for the models
+     */
+    public static Zdd fromModels(final ZddKernel kernel, final Collection<Model> models) {
+        final List<Collection<Variable>> sets = new ArrayList<>(models.size());
+        for (final Model model : models) {
+            sets.add(model.positiveVariables());
+        }
+        return fromSets(kernel, sets);
+    }
+
+    /**
+     * Builds a ZDD for the models of a BDD wrt. all variables of the BDD's
+     * kernel. Each model is represented by the set of its positive variables.
+     * <p>
+     * The conversion works directly on the nodes of the BDD: the skipped
+     * variables on an edge of the BDD are don't-cares which are expanded by
+     * ZDD operations. Variables which are unknown to the ZDD kernel are
+     * registered in the current variable order of the BDD kernel, so that
+     * the ZDD follows the order of the BDD.
+     * @param kernel the ZDD kernel
+     * @param bdd    the BDD
+     * @return the ZDD for the models of the BDD
+     */
+    public static Zdd fromBdd(final ZddKernel kernel, final Bdd bdd) {
+        final BddConversion conversion = new BddConversion(kernel, bdd.getUnderlyingKernel());
+        final int root = bdd.getIndex();
+        final int res = conversion.expand(conversion.convert(root), 0, conversion.level(root));
+        conversion.release();
+        return new Zdd(res, kernel);
+    }
+
+    private static final class BddConversion {
+        private final ZddKernel kernel;
+        private final BddConstruction construction;
+        private final int[] var2level;
+        private final int[] level2element;
+        private final Map<Integer, Integer> cache;
+
+        private BddConversion(final ZddKernel kernel, final BddKernel bddKernel) {
+            this.kernel = kernel;
+            construction = new BddConstruction(bddKernel);
+            final int[] order = bddKernel.getCurrentVarOrder();
+            var2level = new int[order.length];
+            level2element = new int[order.length];
+            for (int level = 0; level < order.length; level++) {
+                var2level[order[level]] = level;
+                final Variable var = bddKernel.getVariableForIndex(order[level]);
+                level2element[level] = var == null ? -1 : kernel.getOrAddIndex(var);
+            }
+            cache = new HashMap<>();
+        }
+
+        private int level(final int node) {
+            return node < 2 ? var2level.length : var2level[construction.bddVar(node)];
+        }
+
+        /**
+         * Converts a BDD node wrt. the variables from its level on. The
+         * result is referenced by the cache.
+         * @param node the BDD node
+         * @return the ZDD node
+         */
+        private int convert(final int node) {
+            if (node < 2) {
+                return node == BddKernel.BDD_TRUE ? ZddKernel.ZDD_BASE : ZddKernel.ZDD_EMPTY;
+            }
+            final Integer cached = cache.get(node);
+            if (cached != null) {
+                return cached;
+            }
+            final int level = level(node);
+            final int bddLow = construction.bddLow(node);
+            final int bddHigh = construction.bddHigh(node);
+            final int low = expand(convert(bddLow), level + 1, level(bddLow));
+            final int high = expand(convert(bddHigh), level + 1, level(bddHigh));
+            final int changed = kernel.addRef(kernel.change(high, level2element[level]));
+            final int res = kernel.addRef(kernel.union(low, changed));
+            kernel.delRef(low);
+            kernel.delRef(high);
+            kernel.delRef(changed);
+            cache.put(node, res);
+            return res;
+        }
+
+        /**
+         * Expands a ZDD node by the don't-care variables of the levels
+         * {@code from} (inclusive) to {@code to} (exclusive).
+         * @param node the ZDD node
+         * @param from the first level
+         * @param to   the last level (exclusive)
+         * @return the expanded ZDD node with a new reference
+         */
+        private int expand(final int node, final int from, final int to) {
+            int res = kernel.addRef(node);
+            for (int level = to - 1; level >= from; level--) {
+                if (level2element[level] >= 0) {
+                    final int changed = kernel.addRef(kernel.change(res, level2element[level]));
+                    final int union = kernel.addRef(kernel.union(res, changed));
+                    kernel.delRef(changed);
+                    kernel.delRef(res);
+                    res = union;
+                }
+            }
+            return res;
+        }
+
+        private void release() {
+            for (final int node : cache.values()) {
+                kernel.delRef(node);
+            }
+        }
+    }
+}
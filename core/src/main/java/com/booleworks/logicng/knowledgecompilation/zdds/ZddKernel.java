@@ -0,0 +1,1014 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.zdds;
+
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddPrime;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * A kernel for zero-suppressed decision diagrams (ZDDs).
+ * <p>
+ * A ZDD represents a family of sets. The elements of the sets are literals,
+ * so a family can hold sets of variables (e.g. the positive literals of
+ * models) as well as sets of literals of both phases (e.g. prime implicants).
+ * The elements are ordered by the order in which they are registered at the
+ * kernel, the level of an element is its index. There is no reordering.
+ * <p>
+ * The kernel shares the design of the
+ * {@link com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel
+ * BDD kernel}: all nodes are stored in one integer array with a unique table
+ * realized by hash chains, results of operations are stored in an operation
+ * cache, and unused nodes are reclaimed by a mark-and-sweep garbage
+ * collection. Nodes which are used outside of an operation must be protected
+ * from the garbage collection by {@link #addRef(int)}. The terminal
+ * {@link #ZDD_EMPTY} is the empty family, the terminal {@link #ZDD_BASE} is
+ * the family containing only the empty set. A node whose high child is the
+ * empty family is never created (zero-suppression rule).
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ZddKernel {
+
+    public static final int ZDD_EMPTY = 0;
+    public static final int ZDD_BASE = 1;
+
+    public static final int MAXLEVEL = 0x3FFFFFFF;
+    public static final int MAXREF = 0x3FF;
+    public static final int MARKON = 0x40000000;
+    public static final int MARKOFF = 0x3FFFFFFF;
+
+    protected static final int OP_UNION = 0;
+    protected static final int OP_INTERSECTION = 1;
+    protected static final int OP_DIFFERENCE = 2;
+    protected static final int OP_SUBSETS = 3;
+    protected static final int OP_NON_SUPERSETS = 4;
+    protected static final int OP_MINIMAL = 5;
+    protected static final int OP_SUBSET0 = 6;
+    protected static final int OP_SUBSET1 = 7;
+    protected static final int OP_CHANGE = 8;
+
+    protected final BddPrime prime;
+    protected final FormulaFactory f;
+    protected final SortedMap<Literal, Integer> lit2idx;
+    protected final SortedMap<Integer, Literal> idx2lit;
+
+    protected int[] nodes; // All the zdd nodes
+    // Minimal % of nodes that has to be left after a garbage collection
+    protected final int minfreenodes;
+    protected int gbcollectnum; // Number of garbage collections
+    protected int nodesize; // Number of allocated nodes
+    protected final int maxnodeincrease; // Max. # of nodes used to inc. table
+    protected int freepos; // First free node
+    protected int freenum; // Number of free nodes
+    protected long produced; // Number of new nodes ever produced
+    protected int[] refstack; // Internal node reference stack
+    protected int refstacktop; // Internal node reference stack top
+
+    private final ZddCache cache; // Cache for all operation results
+
+    /**
+     * Constructor for the ZDD kernel.
+     * @param f         the formula factory to use
+     * @param nodeSize  the initial number of nodes in the nodetable
+     * @param cacheSize the fixed size of the operation cache
+     */
+    public ZddKernel(final FormulaFactory f, final int nodeSize, final int cacheSize) {
+        this.f = f;
+        prime = new BddPrime();
+        lit2idx = new TreeMap<>();
+        idx2lit = new TreeMap<>();
+        nodesize = prime.primeGte(Math.max(nodeSize, 3));
+        nodes = new int[nodesize * 6];
+        minfreenodes = 20;
+        maxnodeincrease = 50000;
+        for (int n = 0; n < nodesize; n++) {
+            setRefcou(n, 0);
+            setLow(n, -1);
+            setHash(n, 0);
+            setLevel(n, 0);
+            setNext(n, n + 1);
+        }
+        setNext(nodesize - 1, 0);
+        for (int n = 0; n < 2; n++) {
+            setRefcou(n, MAXREF);
+            setLevel(n, MAXLEVEL);
+            setLow(n, n);
+            setHigh(n, n);
+        }
+        freepos = 2;
+        freenum = nodesize - 2;
+        refstack = new int[64];
+        cache = new ZddCache(cacheSize);
+    }
+
+    /**
+     * Returns the index (and therefore the level) for the given literal.
+     * <p>
+     * If the literal hasn't been seen before, the next free index is assigned
+     * to it, i.e. it is placed below all known literals.
+     * @param literal the literal
+     * @return the index for the literal
+     */
+    public int getOrAddIndex(final Literal literal) {
+        Integer index = lit2idx.get(literal);
+        if (index == null) {
+            if (lit2idx.size() >= MAXLEVEL) {
+                throw new IllegalArgumentException("No free indices left for new literals.");
+            }
+            index = lit2idx.size();
+            lit2idx.put(literal, index);
+            idx2lit.put(index, literal);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index for the given literal or -1 if the literal is unknown.
+     * @param literal the literal
+     * @return the index for the given literal
+     */
+    public int getIndexForLiteral(final Literal literal) {
+        final Integer index = lit2idx.get(literal);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the literal for the given index or {@code null} if no such index
+     * exists.
+     * @param idx the index
+     * @return the literal for the given index
+     */
+    public Literal getLiteralForIndex(final int idx) {
+        return idx2lit.get(idx);
+    }
+
+    /**
+     * Returns the mapping from indices to literals.
+     * @return the mapping from indices to literals
+     */
+    public SortedMap<Integer, Literal> idx2lit() {
+        return idx2lit;
+    }
+
+    /**
+     * Returns the formula factory.
+     * @return the formula factory
+     */
+    public FormulaFactory getFactory() {
+        return f;
+    }
+
+    /**
+     * Returns the union of two families.
+     * @param l the first family
+     * @param r the second family
+     * @return the union
+     */
+    public int union(final int l, final int r) {
+        return binary(l, r, OP_UNION);
+    }
+
+    /**
+     * Returns the intersection of two families.
+     * @param l the first family
+     * @param r the second family
+     * @return the intersection
+     */
+    public int intersection(final int l, final int r) {
+        return binary(l, r, OP_INTERSECTION);
+    }
+
+    /**
+     * Returns the difference of two families, i.e. all sets of {@code l}
+     * which are not in {@code r}.
+     * @param l the first family
+     * @param r the second family
+     * @return the difference
+     */
+    public int difference(final int l, final int r) {
+        return binary(l, r, OP_DIFFERENCE);
+    }
+
+    /**
+     * Returns all sets of {@code l} which are a subset of some set of
+     * {@code r}.
+     * @param l the first family
+     * @param r the second family
+     * @return the sets of {@code l} which are contained in a set of {@code r}
+     */
+    public int subsets(final int l, final int r) {
+        return binary(l, r, OP_SUBSETS);
+    }
+
+    /**
+     * Returns all sets of {@code l} which are a superset of some set of
+     * {@code r}.
+     * @param l the first family
+     * @param r the second family
+     * @return the sets of {@code l} which contain a set of {@code r}
+     */
+    public int supersets(final int l, final int r) {
+        initRef();
+        pushRef(l);
+        pushRef(r);
+        final int nonSupersets = pushRef(nonSupersetsRec(l, r));
+        return differenceRec(l, nonSupersets);
+    }
+
+    /**
+     * Returns all sets of {@code l} which are not a superset of any set of
+     * {@code r}.
+     * @param l the first family
+     * @param r the second family
+     * @return the sets of {@code l} which contain no set of {@code r}
+     */
+    public int nonSupersets(final int l, final int r) {
+        return binary(l, r, OP_NON_SUPERSETS);
+    }
+
+    /**
+     * Returns the minimal sets of a family wrt. set inclusion.
+     * @param r the family
+     * @return the minimal sets
+     */
+    public int minimal(final int r) {
+        initRef();
+        pushRef(r);
+        return minimalRec(r);
+    }
+
+    /**
+     * Returns all sets of a family which do not contain the element with the
+     * given index.
+     * @param r   the family
+     * @param idx the index of the element
+     * @return all sets without the element
+     */
+    public int subset0(final int r, final int idx) {
+        return unary(r, idx, OP_SUBSET0);
+    }
+
+    /**
+     * Returns all sets of a family which contain the element with the given
+     * index, with the element removed.
+     * @param r   the family
+     * @param idx the index of the element
+     * @return all sets with the element, with the element removed
+     */
+    public int subset1(final int r, final int idx) {
+        return unary(r, idx, OP_SUBSET1);
+    }
+
+    /**
+     * Toggles the element with the given index in all sets of a family.
+     * @param r   the family
+     * @param idx the index of the element
+     * @return the family with the element toggled in each set
+     */
+    public int change(final int r, final int idx) {
+        return unary(r, idx, OP_CHANGE);
+    }
+
+    /**
+     * Returns the family consisting of the single set with the elements of
+     * the given indices.
+     * @param indices the indices of the elements, may contain duplicates
+     * @return the family with the single set
+     */
+    public int singleton(final int[] indices) {
+        final int[] sorted = indices.clone();
+        Arrays.sort(sorted);
+        initRef();
+        int res = ZDD_BASE;
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            if (i == sorted.length - 1 || sorted[i] != sorted[i + 1]) {
+                checkLevel(sorted[i]);
+                res = makeNode(sorted[i], ZDD_EMPTY, res);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Returns the number of sets in a family.
+     * @param r the family
+     * @return the number of sets
+     */
+    public BigInteger count(final int r) {
+        return countRec(r, new HashMap<>());
+    }
+
+    /**
+     * Returns whether the given family contains the empty set.
+     * @param r the family
+     * @return {@code true} if the family contains the empty set
+     */
+    public boolean containsEmptySet(final int r) {
+        int node = r;
+        while (node >= 2) {
+            node = low(node);
+        }
+        return node == ZDD_BASE;
+    }
+
+    /**
+     * Returns the number of inner nodes of a ZDD.
+     * @param r the root node
+     * @return the number of inner nodes
+     */
+    public int nodeCount(final int r) {
+        final int count = markCount(r);
+        unmark(r);
+        return count;
+    }
+
+    /**
+     * Returns the level (the index of the element) of a node. Terminals have
+     * the level {@link #MAXLEVEL}.
+     * @param node the node
+     * @return the level
+     */
+    public int zddLevel(final int node) {
+        return level(node) & MARKOFF;
+    }
+
+    /**
+     * Returns the low child of a node, i.e. the family of sets without the
+     * element of the node.
+     * @param node the node
+     * @return the low child
+     */
+    public int zddLow(final int node) {
+        return low(node);
+    }
+
+    /**
+     * Returns the high child of a node, i.e. the family of sets with the
+     * element of the node, with the element removed.
+     * @param node the node
+     * @return the high child
+     */
+    public int zddHigh(final int node) {
+        return high(node);
+    }
+
+    /**
+     * Adds a reference for a given node. Reference counting is done on
+     * externally referenced nodes only and the count for a specific node
+     * {@code r} can and must be increased using this function to avoid losing
+     * the node in the next garbage collection.
+     * @param root the node
+     * @return return the node
+     * @throws IllegalArgumentException if the root node was invalid
+     */
+    public int addRef(final int root) {
+        if (root < 2) {
+            return root;
+        }
+        if (root >= nodesize || low(root) == -1) {
+            throw new IllegalArgumentException("Not a valid ZDD root node: " + root);
+        }
+        if (refcou(root) < MAXREF) {
+            setRefcou(root, refcou(root) + 1);
+        }
+        return root;
+    }
+
+    /**
+     * Deletes a reference for a given node.
+     * @param root the node
+     * @throws IllegalStateException if the root node was invalid
+     */
+    public void delRef(final int root) {
+        if (root < 2) {
+            return;
+        }
+        if (root >= nodesize || low(root) == -1) {
+            throw new IllegalStateException("Cannot dereference an invalid node: " + root);
+        }
+        if (refcou(root) <= 0) {
+            throw new IllegalStateException("Cannot dereference a node which has no reference");
+        }
+        if (refcou(root) != MAXREF) {
+            setRefcou(root, refcou(root) - 1);
+        }
+    }
+
+    protected int binary(final int l, final int r, final int op) {
+        initRef();
+        pushRef(l);
+        pushRef(r);
+        switch (op) {
+            case OP_UNION:
+                return unionRec(l, r);
+            case OP_INTERSECTION:
+                return intersectionRec(l, r);
+            case OP_DIFFERENCE:
+                return differenceRec(l, r);
+            case OP_SUBSETS:
+                return subsetsRec(l, r);
+            case OP_NON_SUPERSETS:
+                return nonSupersetsRec(l, r);
+            default:
+                throw new IllegalArgumentException("Unknown binary operation: " + op);
+        }
+    }
+
+    protected int unary(final int r, final int idx, final int op) {
+        checkLevel(idx);
+        initRef();
+        pushRef(r);
+        switch (op) {
+            case OP_SUBSET0:
+                return subset0Rec(r, idx);
+            case OP_SUBSET1:
+                return subset1Rec(r, idx);
+            case OP_CHANGE:
+                return changeRec(r, idx);
+            default:
+                throw new IllegalArgumentException("Unknown unary operation: " + op);
+        }
+    }
+
+    protected int unionRec(final int l, final int r) {
+        if (l == ZDD_EMPTY) {
+            return r;
+        }
+        if (r == ZDD_EMPTY || l == r) {
+            return l;
+        }
+        final int a = Math.min(l, r);
+        final int b = Math.max(l, r);
+        final int cached = cache.lookup(a, b, OP_UNION);
+        if (cached >= 0) {
+            return cached;
+        }
+        final int res;
+        if (level(a) < level(b)) {
+            res = makeNode(level(a), pushRef(unionRec(low(a), b)), high(a));
+            popref(1);
+        } else if (level(a) > level(b)) {
+            res = makeNode(level(b), pushRef(unionRec(a, low(b))), high(b));
+            popref(1);
+        } else {
+            pushRef(unionRec(low(a), low(b)));
+            pushRef(unionRec(high(a), high(b)));
+            res = makeNode(level(a), readRef(2), readRef(1));
+            popref(2);
+        }
+        cache.store(a, b, OP_UNION, res);
+        return res;
+    }
+
+    protected int intersectionRec(final int l, final int r) {
+        if (l == ZDD_EMPTY || r == ZDD_EMPTY) {
+            return ZDD_EMPTY;
+        }
+        if (l == r) {
+            return l;
+        }
+        final int a = Math.min(l, r);
+        final int b = Math.max(l, r);
+        final int cached = cache.lookup(a, b, OP_INTERSECTION);
+        if (cached >= 0) {
+            return cached;
+        }
+        final int res;
+        if (level(a) < level(b)) {
+            res = intersectionRec(low(a), b);
+        } else if (level(a) > level(b)) {
+            res = intersectionRec(a, low(b));
+        } else {
+            pushRef(intersectionRec(low(a), low(b)));
+            pushRef(intersectionRec(high(a), high(b)));
+            res = makeNode(level(a), readRef(2), readRef(1));
+            popref(2);
+        }
+        cache.store(a, b, OP_INTERSECTION, res);
+        return res;
+    }
+
+    protected int differenceRec(final int l, final int r) {
+        if (l == ZDD_EMPTY || l == r) {
+            return ZDD_EMPTY;
+        }
+        if (r == ZDD_EMPTY) {
+            return l;
+        }
+        final int cached = cache.lookup(l, r, OP_DIFFERENCE);
+        if (cached >= 0) {
+            return cached;
+        }
+        final int res;
+        if (level(l) < level(r)) {
+            res = makeNode(level(l), pushRef(differenceRec(low(l), r)), high(l));
+            popref(1);
+        } else if (level(l) > level(r)) {
+            res = differenceRec(l, low(r));
+        } else {
+            pushRef(differenceRec(low(l), low(r)));
+            pushRef(differenceRec(high(l), high(r)));
+            res = makeNode(level(l), readRef(2), readRef(1));
+            popref(2);
+        }
+        cache.store(l, r, OP_DIFFERENCE, res);
+        return res;
+    }
+
+    protected int subsetsRec(final int l, final int r) {
+        if (l == ZDD_EMPTY || r == ZDD_EMPTY) {
+            return ZDD_EMPTY;
+        }
+        if (l == r) {
+            return l;
+        }
+        if (l == ZDD_BASE) {
+            return ZDD_BASE;
+        }
+        if (r == ZDD_BASE) {
+            return containsEmptySet(l) ? ZDD_BASE : ZDD_EMPTY;
+        }
+        final int cached = cache.lookup(l, r, OP_SUBSETS);
+        if (cached >= 0) {
+            return cached;
+        }
+        final int res;
+        if (level(l) < level(r)) {
+            res = subsetsRec(low(l), r);
+        } else if (level(l) > level(r)) {
+            final int both = pushRef(unionRec(low(r), high(r)));
+            res = subsetsRec(l, both);
+            popref(1);
+        } else {
+            final int both = pushRef(unionRec(low(r), high(r)));
+            pushRef(subsetsRec(low(l), both));
+            pushRef(subsetsRec(high(l), high(r)));
+            res = makeNode(level(l), readRef(2), readRef(1));
+            popref(3);
+        }
+        cache.store(l, r, OP_SUBSETS, res);
+        return res;
+    }
+
+    protected int nonSupersetsRec(final int l, final int r) {
+        if (r == ZDD_EMPTY) {
+            return l;
+        }
+        if (l == ZDD_EMPTY || l == r || containsEmptySet(r)) {
+            return ZDD_EMPTY;
+        }
+        if (l == ZDD_BASE) {
+            return ZDD_BASE;
+        }
+        final int cached = cache.lookup(l, r, OP_NON_SUPERSETS);
+        if (cached >= 0) {
+            return cached;
+        }
+        final int res;
+        if (level(l) < level(r)) {
+            pushRef(nonSupersetsRec(low(l), r));
+            pushRef(nonSupersetsRec(high(l), r));
+            res = makeNode(level(l), readRef(2), readRef(1));
+            popref(2);
+        } else if (level(l) > level(r)) {
+            res = nonSupersetsRec(l, low(r));
+        } else {
+            pushRef(nonSupersetsRec(low(l), low(r)));
+            pushRef(nonSupersetsRec(high(l), high(r)));
+            pushRef(nonSupersetsRec(high(l), low(r)));
+            pushRef(intersectionRec(readRef(2), readRef(1)));
+            res = makeNode(level(l), readRef(4), readRef(1));
+            popref(4);
+        }
+        cache.store(l, r, OP_NON_SUPERSETS, res);
+        return res;
+    }
+
+    protected int minimalRec(final int r) {
+        if (r < 2) {
+            return r;
+        }
+        final int cached = cache.lookup(r, 0, OP_MINIMAL);
+        if (cached >= 0) {
+            return cached;
+        }
+        final int low = pushRef(minimalRec(low(r)));
+        final int high = pushRef(minimalRec(high(r)));
+        pushRef(nonSupersetsRec(high, low));
+        final int res = makeNode(level(r), low, readRef(1));
+        popref(3);
+        cache.store(r, 0, OP_MINIMAL, res);
+        return res;
+    }
+
+    protected int subset0Rec(final int r, final int idx) {
+        if (level(r) > idx) {
+            return r;
+        }
+        if (level(r) == idx) {
+            return low(r);
+        }
+        final int cached = cache.lookup(r, idx, OP_SUBSET0);
+        if (cached >= 0) {
+            return cached;
+        }
+        pushRef(subset0Rec(low(r), idx));
+        pushRef(subset0Rec(high(r), idx));
+        final int res = makeNode(level(r), readRef(2), readRef(1));
+        popref(2);
+        cache.store(r, idx, OP_SUBSET0, res);
+        return res;
+    }
+
+    protected int subset1Rec(final int r, final int idx) {
+        if (level(r) > idx) {
+            return ZDD_EMPTY;
+        }
+        if (level(r) == idx) {
+            return high(r);
+        }
+        final int cached = cache.lookup(r, idx, OP_SUBSET1);
+        if (cached >= 0) {
+            return cached;
+        }
+        pushRef(subset1Rec(low(r), idx));
+        pushRef(subset1Rec(high(r), idx));
+        final int res = makeNode(level(r), readRef(2), readRef(1));
+        popref(2);
+        cache.store(r, idx, OP_SUBSET1, res);
+        return res;
+    }
+
+    protected int changeRec(final int r, final int idx) {
+        if (level(r) > idx) {
+            return makeNode(idx, ZDD_EMPTY, r);
+        }
+        if (level(r) == idx) {
+            return makeNode(idx, high(r), low(r));
+        }
+        final int cached = cache.lookup(r, idx, OP_CHANGE);
+        if (cached >= 0) {
+            return cached;
+        }
+        pushRef(changeRec(low(r), idx));
+        pushRef(changeRec(high(r), idx));
+        final int res = makeNode(level(r), readRef(2), readRef(1));
+        popref(2);
+        cache.store(r, idx, OP_CHANGE, res);
+        return res;
+    }
+
+    protected BigInteger countRec(final int r, final Map<Integer, BigInteger> counts) {
+        if (r < 2) {
+            return r == ZDD_BASE ? BigInteger.ONE : BigInteger.ZERO;
+        }
+        final BigInteger cached = counts.get(r);
+        if (cached != null) {
+            return cached;
+        }
+        final BigInteger count = countRec(low(r), counts).add(countRec(high(r), counts));
+        counts.put(r, count);
+        return count;
+    }
+
+    protected void checkLevel(final int idx) {
+        if (idx < 0 || idx >= lit2idx.size()) {
+            throw new IllegalArgumentException("Unknown element index: " + idx);
+        }
+    }
+
+    protected int makeNode(final int level, final int low, final int high) {
+        if (high == ZDD_EMPTY) {
+            return low;
+        }
+        int hash = nodehash(level, low, high);
+        int res = hash(hash);
+        while (res != 0) {
+            if (level(res) == level && low(res) == low && high(res) == high) {
+                return res;
+            }
+            res = next(res);
+        }
+        if (freepos == 0) {
+            pushRef(low);
+            pushRef(high);
+            gbc();
+            popref(2);
+            if ((freenum * 100) / nodesize <= minfreenodes) {
+                nodeResize();
+                hash = nodehash(level, low, high);
+            }
+            if (freepos == 0) {
+                throw new IllegalStateException("Cannot allocate more space for more nodes.");
+            }
+        }
+        res = freepos;
+        freepos = next(freepos);
+        freenum--;
+        produced++;
+        setLevel(res, level);
+        setLow(res, low);
+        setHigh(res, high);
+        setNext(res, hash(hash));
+        setHash(hash, res);
+        return res;
+    }
+
+    protected void unmark(final int i) {
+        if (i < 2 || !marked(i) || low(i) == -1) {
+            return;
+        }
+        setLevel(i, level(i) & MARKOFF);
+        unmark(low(i));
+        unmark(high(i));
+    }
+
+    protected int markCount(final int i) {
+        if (i < 2 || marked(i) || low(i) == -1) {
+            return 0;
+        }
+        setLevel(i, level(i) | MARKON);
+        return 1 + markCount(low(i)) + markCount(high(i));
+    }
+
+    protected void gbc() {
+        for (int r = 0; r < refstacktop; r++) {
+            mark(refstack[r]);
+        }
+        for (int n = 0; n < nodesize; n++) {
+            if (refcou(n) > 0) {
+                mark(n);
+            }
+            setHash(n, 0);
+        }
+        freepos = 0;
+        freenum = 0;
+        for (int n = nodesize - 1; n >= 2; n--) {
+            if (marked(n) && low(n) != -1) {
+                setLevel(n, level(n) & MARKOFF);
+                final int hash = nodehash(level(n), low(n), high(n));
+                setNext(n, hash(hash));
+                setHash(hash, n);
+            } else {
+                setLow(n, -1);
+                setNext(n, freepos);
+                freepos = n;
+                freenum++;
+            }
+        }
+        cache.reset();
+        gbcollectnum++;
+    }
+
+    protected void mark(final int i) {
+        if (i < 2 || marked(i) || low(i) == -1) {
+            return;
+        }
+        setLevel(i, level(i) | MARKON);
+        mark(low(i));
+        mark(high(i));
+    }
+
+    protected void nodeResize() {
+        final int oldsize = nodesize;
+        nodesize = nodesize << 1;
+        if (nodesize > oldsize + maxnodeincrease) {
+            nodesize = oldsize + maxnodeincrease;
+        }
+        nodesize = prime.primeLte(nodesize);
+        final int[] newnodes = new int[nodesize * 6];
+        System.arraycopy(nodes, 0, newnodes, 0, nodes.length);
+        nodes = newnodes;
+        for (int n = 0; n < oldsize; n++) {
+            setHash(n, 0);
+        }
+        for (int n = oldsize; n < nodesize; n++) {
+            setRefcou(n, 0);
+            setHash(n, 0);
+            setLevel(n, 0);
+            setLow(n, -1);
+            setNext(n, n + 1);
+        }
+        setNext(nodesize - 1, freepos);
+        freepos = oldsize;
+        freenum += nodesize - oldsize;
+        for (int n = oldsize - 1; n >= 2; n--) {
+            if (low(n) != -1) {
+                final int hash = nodehash(level(n), low(n), high(n));
+                setNext(n, hash(hash));
+                setHash(hash, n);
+            }
+        }
+    }
+
+    protected int refcou(final int node) {
+        return nodes[6 * node];
+    }
+
+    protected int level(final int node) {
+        return nodes[6 * node + 1];
+    }
+
+    protected int low(final int node) {
+        return nodes[6 * node + 2];
+    }
+
+    protected int high(final int node) {
+        return nodes[6 * node + 3];
+    }
+
+    protected int hash(final int node) {
+        return nodes[6 * node + 4];
+    }
+
+    protected int next(final int node) {
+        return nodes[6 * node + 5];
+    }
+
+    protected void setRefcou(final int node, final int refcou) {
+        nodes[6 * node] = refcou;
+    }
+
+    protected void setLevel(final int node, final int level) {
+        nodes[6 * node + 1] = level;
+    }
+
+    protected void setLow(final int node, final int low) {
+        nodes[6 * node + 2] = low;
+    }
+
+    protected void setHigh(final int node, final int high) {
+        nodes[6 * node + 3] = high;
+    }
+
+    protected void setHash(final int node, final int hash) {
+        nodes[6 * node + 4] = hash;
+    }
+
+    protected void setNext(final int node, final int next) {
+        nodes[6 * node + 5] = next;
+    }
+
+    protected void initRef() {
+        refstacktop = 0;
+    }
+
+    protected int pushRef(final int n) {
+        if (refstacktop == refstack.length) {
+            refstack = Arrays.copyOf(refstack, refstack.length * 2);
+        }
+        refstack[refstacktop++] = n;
+        return n;
+    }
+
+    protected int readRef(final int n) {
+        return refstack[refstacktop - n];
+    }
+
+    protected void popref(final int n) {
+        refstacktop -= n;
+    }
+
+    protected boolean marked(final int n) {
+        return (level(n) & MARKON) != 0;
+    }
+
+    protected int nodehash(final int lvl, final int l, final int h) {
+        return Math.abs(triple(lvl, l, h) % nodesize);
+    }
+
+    protected int pair(final int a, final int b) {
+        return (a + b) * (a + b + 1) / 2 + a;
+    }
+
+    protected int triple(final int a, final int b, final int c) {
+        return pair(c, pair(a, b));
+    }
+
+    /**
+     * Returns the statistics of this kernel.
+     * @return the statistics
+     */
+    public ZddStatistics statistics() {
+        final ZddStatistics statistics = new ZddStatistics();
+        statistics.produced = produced;
+        statistics.nodesize = nodesize;
+        statistics.freenum = freenum;
+        statistics.numElements = lit2idx.size();
+        statistics.cachesize = cache.size();
+        statistics.gbcollectnum = gbcollectnum;
+        statistics.cacheLookups = cache.lookups();
+        statistics.cacheHits = cache.hits();
+        return statistics;
+    }
+
+    /**
+     * A class for ZDD statistics.
+     */
+    public final static class ZddStatistics {
+        private long produced;
+        private int nodesize;
+        private int freenum;
+        private int numElements;
+        private int cachesize;
+        private int gbcollectnum;
+        private long cacheLookups;
+        private long cacheHits;
+
+        /**
+         * Returns the number of produced nodes.
+         * @return the number of produced nodes
+         */
+        public long produced() {
+            return produced;
+        }
+
+        /**
+         * Returns the number of allocated nodes.
+         * @return the number of allocated nodes
+         */
+        public int nodesize() {
+            return nodesize;
+        }
+
+        /**
+         * Returns the number of free nodes.
+         * @return the number of free nodes
+         */
+        public int freenum() {
+            return freenum;
+        }
+
+        /**
+         * Returns the number of registered elements.
+         * @return the number of registered elements
+         */
+        public int numElements() {
+            return numElements;
+        }
+
+        /**
+         * Returns the size of the operation cache.
+         * @return the cache size
+         */
+        public int cachesize() {
+            return cachesize;
+        }
+
+        /**
+         * Returns the number of garbage collections.
+         * @return the number of garbage collections
+         */
+        public int gbcollectnum() {
+            return gbcollectnum;
+        }
+
+        /**
+         * Returns the number of used nodes.
+         * @return the number of used nodes
+         */
+        public int usedNodes() {
+            return nodesize - freenum;
+        }
+
+        /**
+         * Returns the number of lookups in the operation cache.
+         * @return the number of cache lookups
+         */
+        public long cacheLookups() {
+            return cacheLookups;
+        }
+
+        /**
+         * Returns the number of hits in the operation cache.
+         * @return the number of cache hits
+         */
+        public long cacheHits() {
+            return cacheHits;
+        }
+
+        @Override
+        public String toString() {
+            return "ZddStatistics{" +
+                    "produced nodes=" + produced +
+                    ", allocated nodes=" + nodesize +
+                    ", free nodes=" + freenum +
+                    ", elements=" + numElements +
+                    ", cache size=" + cachesize +
+                    ", garbage collections=" + gbcollectnum +
+                    ", cache lookups=" + cacheLookups +
+                    ", cache hits=" + cacheHits +
+                    '}';
+        }
+    }
+}
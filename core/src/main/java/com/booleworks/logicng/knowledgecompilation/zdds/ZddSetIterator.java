@@ -0,0 +1,98 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.zdds;
+
+import com.booleworks.logicng.formulas.Literal;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A lazy iterator over the sets of a ZDD. The paths of the ZDD to the
+ * {@link ZddKernel#ZDD_BASE base terminal} are traversed depth-first with an
+ * explicit stack, each path yields one set consisting of the elements of the
+ * nodes at which the high edge is taken.
+ * <p>
+ * The kernel must not be modified while the iteration is in progress.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ZddSetIterator implements Iterator<SortedSet<Literal>> {
+
+    private static final int UNEXPLORED = 0;
+    private static final int LOW = 1;
+    private static final int HIGH = 2;
+
+    private final ZddKernel kernel;
+    private int[] nodes;
+    private int[] states;
+    private int top;
+    private boolean hasNext;
+
+    /**
+     * Constructs a new set iterator.
+     * @param kernel the kernel
+     * @param root   the root node of the ZDD
+     */
+    public ZddSetIterator(final ZddKernel kernel, final int root) {
+        this.kernel = kernel;
+        nodes = new int[16];
+        states = new int[16];
+        push(root);
+        hasNext = advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public SortedSet<Literal> next() {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+        final SortedSet<Literal> set = new TreeSet<>();
+        for (int i = 0; i < top - 1; i++) {
+            if (states[i] == HIGH) {
+                set.add(kernel.getLiteralForIndex(kernel.zddLevel(nodes[i])));
+            }
+        }
+        hasNext = advance();
+        return set;
+    }
+
+    private boolean advance() {
+        while (top > 0) {
+            final int node = nodes[top - 1];
+            final int state = states[top - 1];
+            if (node == ZddKernel.ZDD_EMPTY || state == HIGH || node == ZddKernel.ZDD_BASE && state != UNEXPLORED) {
+                top--;
+            } else if (node == ZddKernel.ZDD_BASE) {
+                states[top - 1] = LOW;
+                return true;
+            } else if (state == UNEXPLORED) {
+                states[top - 1] = LOW;
+                push(kernel.zddLow(node));
+            } else {
+                states[top - 1] = HIGH;
+                push(kernel.zddHigh(node));
+            }
+        }
+        return false;
+    }
+
+    private void push(final int node) {
+        if (top == nodes.length) {
+            nodes = Arrays.copyOf(nodes, top * 2);
+            states = Arrays.copyOf(states, top * 2);
+        }
+        nodes[top] = node;
+        states[top++] = UNEXPLORED;
+    }
+}
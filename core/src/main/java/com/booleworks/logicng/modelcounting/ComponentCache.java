@@ -0,0 +1,267 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.modelcounting;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache for the model counts of components with a bounded memory size.
+ * <p>
+ * A component is identified by its variables and clauses which are encoded
+ * in a compact key: both sorted index lists are stored as variable-length
+ * encoded differences. If the estimated size of the cache exceeds the given
+ * maximum, the least recently used entries are evicted.
+ * <p>
+ * The cache supports removing all entries which were stored after a given
+ * {@link #mark() mark}. The model counter uses this to remove entries which
+ * were computed in the context of an unsatisfiable component.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ComponentCache {
+
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final long maxSize;
+    private final LinkedHashMap<Key, Entry> entries;
+    private List<Entry> log;
+    private long size;
+    private long nextId;
+    private long lookups;
+    private long hits;
+    private long evictions;
+
+    /**
+     * Constructs a new component cache.
+     * @param maxSize the maximum estimated size of the cache in bytes
+     */
+    public ComponentCache(final long maxSize) {
+        this.maxSize = maxSize;
+        entries = new LinkedHashMap<>(1024, 0.75f, true);
+        log = new ArrayList<>();
+    }
+
+    /**
+     * Returns the key for a component.
+     * @param variables    the variables of the component, sorted ascending
+     * @param numVariables the number of variables
+     * @param clauses      the clauses of the component, sorted ascending
+     * @param numClauses   the number of clauses
+     * @return the key
+     */
+    public static Key key(final int[] variables, final int numVariables, final int[] clauses, final int numClauses) {
+        final byte[] buffer = new byte[5 * (numVariables + numClauses + 1)];
+        int pos = writeVarInt(buffer, 0, numVariables);
+        int last = -1;
+        for (int i = 0; i < numVariables; i++) {
+            pos = writeVarInt(buffer, pos, variables[i] - last);
+            last = variables[i];
+        }
+        last = -1;
+        for (int i = 0; i < numClauses; i++) {
+            pos = writeVarInt(buffer, pos, clauses[i] - last);
+            last = clauses[i];
+        }
+        return new Key(Arrays.copyOf(buffer, pos));
+    }
+
+    private static int writeVarInt(final byte[] buffer, final int pos, final int value) {
+        int p = pos;
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            buffer[p++] = (byte) (v & 0x7F | 0x80);
+            v >>>= 7;
+        }
+        buffer[p++] = (byte) v;
+        return p;
+    }
+
+    /**
+     * Returns the cached model count for the given key or {@code null} if
+     * there is no such entry.
+     * @param key the key
+     * @return the cached model count or {@code null}
+     */
+    public BigInteger get(final Key key) {
+        lookups++;
+        final Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        hits++;
+        return entry.count;
+    }
+
+    /**
+     * Stores the model count for the given key. Evicts the least recently
+     * used entries if the maximum size is exceeded.
+     * @param key   the key
+     * @param count the model count
+     */
+    public void put(final Key key, final BigInteger count) {
+        final Entry entry = new Entry(key, count, nextId++);
+        final Entry old = entries.put(key, entry);
+        if (old != null) {
+            release(old);
+        }
+        size += entry.size();
+        log.add(entry);
+        final Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        while (size > maxSize && it.hasNext()) {
+            final Entry evicted = it.next().getValue();
+            it.remove();
+            release(evicted);
+            evictions++;
+        }
+        if (log.size() > 2 * entries.size() + 1024) {
+            compactLog();
+        }
+    }
+
+    /**
+     * Returns a mark for the current state of the cache.
+     * @return the mark
+     */
+    public long mark() {
+        return nextId;
+    }
+
+    /**
+     * Removes all entries which were stored after the given mark.
+     * @param mark the mark
+     */
+    public void removeSince(final long mark) {
+        while (!log.isEmpty() && log.get(log.size() - 1).id >= mark) {
+            final Entry entry = log.remove(log.size() - 1);
+            if (entry.key != null) {
+                entries.remove(entry.key);
+                release(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    public void clear() {
+        entries.clear();
+        log.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the number of entries in the cache.
+     * @return the number of entries
+     */
+    public int numberOfEntries() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the estimated size of the cache in bytes.
+     * @return the estimated size
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups.
+     * @return the number of lookups
+     */
+    public long lookups() {
+        return lookups;
+    }
+
+    /**
+     * Returns the number of cache hits.
+     * @return the number of cache hits
+     */
+    public long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of entries evicted due to the size limit.
+     * @return the number of evicted entries
+     */
+    public long evictions() {
+        return evictions;
+    }
+
+    private void release(final Entry entry) {
+        size -= entry.size();
+        entry.key = null;
+        entry.count = null;
+    }
+
+    private void compactLog() {
+        final List<Entry> compacted = new ArrayList<>(entries.size());
+        for (final Entry entry : log) {
+            if (entry.key != null) {
+                compacted.add(entry);
+            }
+        }
+        log = compacted;
+    }
+
+    @Override
+    public String toString() {
+        return "ComponentCache{" +
+                "entries=" + entries.size() +
+                ", size=" + size +
+                ", lookups=" + lookups +
+                ", hits=" + hits +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    /**
+     * The compact key of a component.
+     */
+    public static final class Key {
+        private final byte[] data;
+        private final int hash;
+
+        private Key(final byte[] data) {
+            this.data = data;
+            hash = Arrays.hashCode(data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return this == o || o instanceof Key && hash == ((Key) o).hash && Arrays.equals(data, ((Key) o).data);
+        }
+    }
+
+    private static final class Entry {
+        private Key key;
+        private BigInteger count;
+        private final long id;
+        private final long size;
+
+        private Entry(final Key key, final BigInteger count, final long id) {
+            this.key = key;
+            this.count = count;
+            this.id = id;
+            size = ENTRY_OVERHEAD + key.data.length + count.bitLength() / 8;
+        }
+
+        private long size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,551 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.modelcounting;
+
+import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.MODEL_COUNTING_STARTED;
+import static com.booleworks.logicng.handlers.events.SimpleEvent.MODEL_COUNTING_DECISION;
+import static com.booleworks.logicng.solvers.sat.LngCoreSolver.mkLit;
+import static com.booleworks.logicng.solvers.sat.LngCoreSolver.var;
+
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.configurations.ConfigurationType;
+import com.booleworks.logicng.datastructures.Tristate;
+import com.booleworks.logicng.formulas.FType;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.handlers.events.LngEvent;
+import com.booleworks.logicng.knowledgecompilation.dnnf.DnnfCoreSolver;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An exact model counter for formulas in CNF based on component caching.
+ * <p>
+ * The counter works like a DPLL procedure which splits the current formula
+ * into independent components after each decision, counts each component
+ * separately and caches the model counts of the components. Unit propagation
+ * and conflict-driven clause learning with backjumping are performed by the
+ * {@link DnnfCoreSolver}. Before each decision, failed literals on the binary
+ * clauses of the component are detected (implicit BCP). In contrast to the
+ * {@link com.booleworks.logicng.knowledgecompilation.dnnf.DnnfCompiler DNNF
+ * compiler} no circuit is generated, the memory consumption is dominated by
+ * the {@link ComponentCache component cache} whose size is bounded.
+ * <p>
+ * The models are counted over the variables of the CNF. Optionally a set of
+ * projection variables can be given, in this case the number of assignments
+ * to the projection variables which can be extended to a model of the CNF is
+ * counted, i.e. all other variables are existentially quantified. Then the
+ * counter always decides the projection variables of a component first. Once
+ * a component contains no unassigned projection variables, it only remains
+ * to be checked whether the component is satisfiable.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ComponentModelCounter {
+
+    protected final int numberOfVariables;
+    protected final DnnfCoreSolver solver;
+    protected final int[][] clauses;
+    protected final int[][] occurrences;
+    protected final ComponentCache cache;
+    protected final boolean implicitBcp;
+    protected final boolean[] projected;
+
+    protected final int[] variableStamps;
+    protected final int[] clauseStamps;
+    protected int stamp;
+    protected final int[] scores;
+    protected final LngIntVector stack;
+    protected final LngIntVector componentVariables;
+    protected final LngIntVector componentClauses;
+
+    protected ComputationHandler handler;
+    protected LngEvent cancelCause;
+    protected int assertions;
+
+    /**
+     * Constructs a new model counter for the given CNF with the model counter
+     * configuration of the formula factory.
+     * @param f   the formula factory
+     * @param cnf the CNF
+     * @throws IllegalArgumentException if the formula is not in CNF
+     */
+    public ComponentModelCounter(final FormulaFactory f, final Formula cnf) {
+        this(f, cnf, (ModelCounterConfig) f.configurationFor(ConfigurationType.MODEL_COUNTING));
+    }
+
+    /**
+     * Constructs a new model counter for the given CNF.
+     * @param f      the formula factory
+     * @param cnf    the CNF
+     * @param config the configuration which determines the size of the
+     *               component cache and whether implicit BCP is performed
+     * @throws IllegalArgumentException if the formula is not in CNF
+     */
+    public ComponentModelCounter(final FormulaFactory f, final Formula cnf, final ModelCounterConfig config) {
+        this(f, cnf, null, config);
+    }
+
+    /**
+     * Constructs a new projected model counter for the given CNF.
+     * @param f                   the formula factory
+     * @param cnf                 the CNF
+     * @param projectionVariables the projection variables, {@code null} if
+     *                            the models should be counted over all
+     *                            variables of the CNF
+     * @param config              the configuration which determines the size
+     *                            of the component cache and whether implicit
+     *                            BCP is performed
+     * @throws IllegalArgumentException if the formula is not in CNF
+     */
+    public ComponentModelCounter(final FormulaFactory f, final Formula cnf,
+                                 final Collection<Variable> projectionVariables, final ModelCounterConfig config) {
+        if (!cnf.isCnf(f)) {
+            throw new IllegalArgumentException("The component model counter can only count CNFs: " + cnf);
+        }
+        numberOfVariables = cnf.variables(f).size();
+        solver = new DnnfCoreSolver(f, numberOfVariables);
+        solver.add(cnf);
+        final List<Formula> cnfClauses = new ArrayList<>();
+        if (cnf.getType() == FType.AND) {
+            cnf.forEach(cnfClauses::add);
+        } else if (cnf.getType() == FType.OR || cnf.getType() == FType.LITERAL) {
+            cnfClauses.add(cnf);
+        }
+        clauses = new int[cnfClauses.size()][];
+        final int[] numOccurrences = new int[numberOfVariables];
+        for (int i = 0; i < clauses.length; i++) {
+            final List<Literal> literals = new ArrayList<>(cnfClauses.get(i).literals(f));
+            clauses[i] = new int[literals.size()];
+            for (int j = 0; j < literals.size(); j++) {
+                final Literal lit = literals.get(j);
+                clauses[i][j] = mkLit(solver.variableIndex(lit), !lit.getPhase());
+                numOccurrences[var(clauses[i][j])]++;
+            }
+        }
+        occurrences = new int[numberOfVariables][];
+        for (int v = 0; v < numberOfVariables; v++) {
+            occurrences[v] = new int[numOccurrences[v]];
+        }
+        Arrays.fill(numOccurrences, 0);
+        for (int i = 0; i < clauses.length; i++) {
+            for (final int lit : clauses[i]) {
+                occurrences[var(lit)][numOccurrences[var(lit)]++] = i;
+            }
+        }
+        cache = new ComponentCache(config.maxCacheSize);
+        implicitBcp = config.implicitBcp;
+        projected = new boolean[numberOfVariables];
+        if (projectionVariables == null) {
+            Arrays.fill(projected, true);
+        } else {
+            for (final Variable var : projectionVariables) {
+                final int index = solver.variableIndex(var);
+                if (index != -1) {
+                    projected[index] = true;
+                }
+            }
+        }
+        variableStamps = new int[numberOfVariables];
+        clauseStamps = new int[clauses.length];
+        scores = new int[numberOfVariables];
+        stack = new LngIntVector();
+        componentVariables = new LngIntVector();
+        componentClauses = new LngIntVector();
+        handler = NopHandler.get();
+    }
+
+    /**
+     * Counts the models of the given CNF over its variables.
+     * @param f   the formula factory
+     * @param cnf the CNF
+     * @return the model count
+     * @throws IllegalArgumentException if the formula is not in CNF
+     */
+    public static BigInteger count(final FormulaFactory f, final Formula cnf) {
+        return new ComponentModelCounter(f, cnf).count(NopHandler.get()).getResult();
+    }
+
+    /**
+     * Counts the models of the given CNF over its variables.
+     * @param f       the formula factory
+     * @param cnf     the CNF
+     * @param handler the computation handler
+     * @return the model count or the cancellation cause if the handler
+     * canceled the computation
+     * @throws IllegalArgumentException if the formula is not in CNF
+     */
+    public static LngResult<BigInteger> count(final FormulaFactory f, final Formula cnf,
+                                              final ComputationHandler handler) {
+        return new ComponentModelCounter(f, cnf).count(handler);
+    }
+
+    /**
+     * Counts the models of the given CNF projected to the given variables.
+     * Projection variables which do not occur in the CNF are ignored.
+     * @param f                   the formula factory
+     * @param cnf                 the CNF
+     * @param projectionVariables the projection variables
+     * @return the projected model count
+     * @throws IllegalArgumentException if the formula is not in CNF
+     */
+    public static BigInteger countProjected(final FormulaFactory f, final Formula cnf,
+                                            final Collection<Variable> projectionVariables) {
+        return countProjected(f, cnf, projectionVariables, NopHandler.get()).getResult();
+    }
+
+    /**
+     * Counts the models of the given CNF projected to the given variables.
+     * Projection variables which do not occur in the CNF are ignored.
+     * @param f                   the formula factory
+     * @param cnf                 the CNF
+     * @param projectionVariables the projection variables
+     * @param handler             the computation handler
+     * @return the projected model count or the cancellation cause if the
+     * handler canceled the computation
+     * @throws IllegalArgumentException if the formula is not in CNF
+     */
+    public static LngResult<BigInteger> countProjected(final FormulaFactory f, final Formula cnf,
+                                                       final Collection<Variable> projectionVariables,
+                                                       final ComputationHandler handler) {
+        return new ComponentModelCounter(f, cnf, projectionVariables,
+                (ModelCounterConfig) f.configurationFor(ConfigurationType.MODEL_COUNTING)).count(handler);
+    }
+
+    /**
+     * Counts the models of the CNF of this counter over its variables or its
+     * projection variables respectively.
+     * @param handler the computation handler
+     * @return the model count or the cancellation cause if the handler
+     * canceled the computation
+     */
+    public LngResult<BigInteger> count(final ComputationHandler handler) {
+        this.handler = handler;
+        cancelCause = null;
+        if (!handler.shouldResume(MODEL_COUNTING_STARTED)) {
+            return LngResult.canceled(MODEL_COUNTING_STARTED);
+        }
+        if (!solver.ok() || !solver.start()) {
+            return LngResult.of(BigInteger.ZERO);
+        }
+        final int[] variables = new int[numberOfVariables];
+        for (int v = 0; v < numberOfVariables; v++) {
+            variables[v] = v;
+        }
+        final BigInteger count = countVariables(variables);
+        return count == null ? LngResult.canceled(cancelCause) : LngResult.of(count);
+    }
+
+    /**
+     * Returns the component cache of this counter.
+     * @return the component cache
+     */
+    public ComponentCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Counts the models of the formula restricted to the given variables. The
+     * unassigned variables are split into independent components which are
+     * counted separately. If the count of a component is zero, all cache
+     * entries stored since the start of this method are removed since they
+     * might have been computed with literals which are only implied because
+     * of the unsatisfiable component.
+     * @param variables the variables
+     * @return the model count, {@code null} if the computation was canceled
+     */
+    protected BigInteger countVariables(final int[] variables) {
+        final List<Component> components = new ArrayList<>();
+        final int freeVariables = decompose(variables, components);
+        final int decompositionAssertions = assertions;
+        final long mark = cache.mark();
+        BigInteger count = BigInteger.ONE.shiftLeft(freeVariables);
+        for (final Component component : components) {
+            BigInteger componentCount;
+            if (assertions != decompositionAssertions) {
+                componentCount = countVariables(component.variables);
+            } else {
+                final ComponentCache.Key key = key(component);
+                componentCount = cache.get(key);
+                if (componentCount == null) {
+                    componentCount = countComponent(component);
+                    if (componentCount != null && componentCount.signum() != 0) {
+                        cache.put(assertions == decompositionAssertions ? key : key(component), componentCount);
+                    }
+                }
+            }
+            if (componentCount == null) {
+                return null;
+            }
+            if (componentCount.signum() == 0) {
+                cache.removeSince(mark);
+                return BigInteger.ZERO;
+            }
+            count = count.multiply(componentCount);
+        }
+        return count;
+    }
+
+    /**
+     * Counts the models of a single component by a decision on one of its
+     * variables. If the decision variable is not a projection variable, the
+     * component contains no more unassigned projection variables and its
+     * count is one if one of the branches is satisfiable.
+     * @param component the component
+     * @return the model count, {@code null} if the computation was canceled
+     */
+    protected BigInteger countComponent(final Component component) {
+        if (implicitBcp) {
+            for (final int var : binaryClauseVariables(component)) {
+                for (final boolean phase : new boolean[]{true, false}) {
+                    final boolean consistent = solver.decide(var, phase);
+                    solver.undoDecide(var);
+                    if (!consistent) {
+                        return assertOrBackjump(component);
+                    }
+                }
+            }
+        }
+        final int var = chooseVariable(component);
+        if (!handler.shouldResume(MODEL_COUNTING_DECISION)) {
+            cancelCause = MODEL_COUNTING_DECISION;
+            return null;
+        }
+        final BigInteger positive = countBranch(component, var, true);
+        if (positive == null) {
+            return null;
+        }
+        if (positive.signum() == 0) {
+            return assertOrBackjump(component);
+        }
+        if (!projected[var]) {
+            return positive;
+        }
+        final BigInteger negative = countBranch(component, var, false);
+        if (negative == null) {
+            return null;
+        }
+        if (negative.signum() == 0) {
+            return assertOrBackjump(component);
+        }
+        return positive.add(negative);
+    }
+
+    protected BigInteger countBranch(final Component component, final int var, final boolean phase) {
+        BigInteger count = BigInteger.ZERO;
+        if (solver.decide(var, phase)) {
+            count = countVariables(component.variables);
+        }
+        solver.undoDecide(var);
+        return count;
+    }
+
+    /**
+     * Handles a failed branch: if the solver is at the assertion level of the
+     * last conflict, the learnt literal is asserted and the component is
+     * counted again, otherwise zero is returned in order to backjump to the
+     * assertion level.
+     * @param component the component
+     * @return the model count of the component after the assertion or zero
+     */
+    protected BigInteger assertOrBackjump(final Component component) {
+        if (solver.atAssertionLevel() && solver.assertCdLiteral()) {
+            assertions++;
+            return countVariables(component.variables);
+        }
+        return BigInteger.ZERO;
+    }
+
+    /**
+     * Splits the unassigned variables of the given variables into independent
+     * components wrt. the unsatisfied clauses.
+     * @param variables  the variables
+     * @param components the list for the components with at least one clause
+     * @return the number of unassigned projection variables which occur in
+     * no unsatisfied clause
+     */
+    protected int decompose(final int[] variables, final List<Component> components) {
+        stamp++;
+        int freeVariables = 0;
+        for (final int start : variables) {
+            if (variableStamps[start] == stamp || !unassigned(start)) {
+                continue;
+            }
+            variableStamps[start] = stamp;
+            componentVariables.clear();
+            componentClauses.clear();
+            stack.push(start);
+            while (!stack.isEmpty()) {
+                final int v = stack.back();
+                stack.pop();
+                componentVariables.push(v);
+                for (final int c : occurrences[v]) {
+                    if (clauseStamps[c] == stamp) {
+                        continue;
+                    }
+                    clauseStamps[c] = stamp;
+                    if (satisfied(c)) {
+                        continue;
+                    }
+                    componentClauses.push(c);
+                    for (final int lit : clauses[c]) {
+                        final int u = var(lit);
+                        if (variableStamps[u] != stamp && unassigned(u)) {
+                            variableStamps[u] = stamp;
+                            stack.push(u);
+                        }
+                    }
+                }
+            }
+            if (componentClauses.isEmpty()) {
+                if (projected[start]) {
+                    freeVariables++;
+                }
+            } else {
+                componentVariables.sort();
+                componentClauses.sort();
+                components.add(new Component(componentVariables.toArray(), componentClauses.toArray()));
+            }
+        }
+        return freeVariables;
+    }
+
+    /**
+     * Computes the cache key of a component in the current assignment. The key
+     * consists of the unassigned variables and the unsatisfied clauses of the
+     * component. Clauses without an assigned literal are omitted since they
+     * are determined by the variables.
+     * @param component the component
+     * @return the cache key
+     */
+    protected ComponentCache.Key key(final Component component) {
+        final int[] keyVariables = new int[component.variables.length];
+        int numVariables = 0;
+        for (final int v : component.variables) {
+            if (unassigned(v)) {
+                keyVariables[numVariables++] = v;
+            }
+        }
+        final int[] keyClauses = new int[component.clauses.length];
+        int numClauses = 0;
+        for (final int c : component.clauses) {
+            if (!satisfied(c) && hasAssignedLiteral(c)) {
+                keyClauses[numClauses++] = c;
+            }
+        }
+        return ComponentCache.key(keyVariables, numVariables, keyClauses, numClauses);
+    }
+
+    /**
+     * Returns the unassigned variables of the component which occur in a
+     * binary unsatisfied clause, ordered by their number of occurrences in
+     * such clauses.
+     * @param component the component
+     * @return the variables in binary clauses
+     */
+    protected int[] binaryClauseVariables(final Component component) {
+        final LngIntVector binaryVariables = new LngIntVector();
+        for (final int c : component.clauses) {
+            if (satisfied(c) || numberOfUnassignedLiterals(c) != 2) {
+                continue;
+            }
+            for (final int lit : clauses[c]) {
+                final int v = var(lit);
+                if (unassigned(v) && scores[v]++ == 0) {
+                    binaryVariables.push(v);
+                }
+            }
+        }
+        final int[] result = binaryVariables.toArray();
+        for (final int v : result) {
+            scores[v] = 0;
+        }
+        return result;
+    }
+
+    /**
+     * Chooses the decision variable of a component: the unassigned variable
+     * with the most occurrences in the unsatisfied clauses of the component.
+     * Projection variables are always preferred over other variables.
+     * @param component the component
+     * @return the decision variable
+     */
+    protected int chooseVariable(final Component component) {
+        for (final int c : component.clauses) {
+            if (!satisfied(c)) {
+                for (final int lit : clauses[c]) {
+                    scores[var(lit)]++;
+                }
+            }
+        }
+        int best = -1;
+        for (final int v : component.variables) {
+            if (unassigned(v) && (best == -1 || projected[v] && !projected[best]
+                    || projected[v] == projected[best] && scores[v] > scores[best])) {
+                best = v;
+            }
+        }
+        for (final int c : component.clauses) {
+            for (final int lit : clauses[c]) {
+                scores[var(lit)] = 0;
+            }
+        }
+        return best;
+    }
+
+    protected boolean unassigned(final int var) {
+        return solver.valueOf(mkLit(var, false)) == Tristate.UNDEF;
+    }
+
+    protected boolean satisfied(final int clause) {
+        for (final int lit : clauses[clause]) {
+            if (solver.valueOf(lit) == Tristate.TRUE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected boolean hasAssignedLiteral(final int clause) {
+        for (final int lit : clauses[clause]) {
+            if (solver.valueOf(lit) != Tristate.UNDEF) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected int numberOfUnassignedLiterals(final int clause) {
+        int num = 0;
+        for (final int lit : clauses[clause]) {
+            if (solver.valueOf(lit) == Tristate.UNDEF) {
+                num++;
+            }
+        }
+        return num;
+    }
+
+    /**
+     * A component of the formula given by its variables and clauses.
+     */
+    protected static final class Component {
+        protected final int[] variables;
+        protected final int[] clauses;
+
+        protected Component(final int[] variables, final int[] clauses) {
+            this.variables = variables;
+            this.clauses = clauses;
+        }
+    }
+}
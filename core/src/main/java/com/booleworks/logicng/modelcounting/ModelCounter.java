@@ -4,6 +4,7 @@
 
 package com.booleworks.logicng.modelcounting;
 
+import com.booleworks.logicng.configurations.ConfigurationType;
 import com.booleworks.logicng.datastructures.Assignment;
 import com.booleworks.logicng.formulas.FType;
 import com.booleworks.logicng.formulas.Formula;
@@ -17,9 +18,9 @@ import com.booleworks.logicng.graphs.generators.ConstraintGraphGenerator;
 import com.booleworks.logicng.handlers.ComputationHandler;
 import com.booleworks.logicng.handlers.LngResult;
 import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.handlers.SynchronizedHandler;
 import com.booleworks.logicng.knowledgecompilation.dnnf.DnnfCompiler;
 import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.Dnnf;
-import com.booleworks.logicng.knowledgecompilation.dnnf.functions.DnnfModelCountFunction;
 import com.booleworks.logicng.transformations.PureExpansionTransformation;
 import com.booleworks.logicng.transformations.cnf.CnfConfig;
 import com.booleworks.logicng.transformations.cnf.CnfEncoder;
@@ -28,14 +29,31 @@ import com.booleworks.logicng.util.FormulaHelper;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 
 /**
  * A model counter for large formulas.
+ * <p>
+ * The formulas are split into independent components which are counted
+ * separately. Depending on the {@link ModelCounterConfig configuration}, each
+ * component is either compiled to a DNNF or counted by the
+ * {@link ComponentModelCounter component caching model counter}. Optionally
+ * the components can be counted in parallel, in this case each component is
+ * counted on its own formula factory by a worker thread.
+ * <p>
+ * Projected model counting is supported by
+ * {@link #countProjected(FormulaFactory, Collection, SortedSet) countProjected}:
+ * here all variables which are not projection variables, especially the
+ * auxiliary variables introduced by the CNF encoding, are existentially
+ * quantified. Projected counts are always computed by the
+ * {@link ComponentModelCounter}.
  * @version 3.0.0
  * @since 2.0.0
  */
@@ -48,8 +66,8 @@ public class ModelCounter {
     /**
      * Computes the model count for a given set of formulas (interpreted as
      * conjunction) and a set of relevant variables. This set can only be a
-     * superset of the original formulas' variables. No projected model counting
-     * is supported.
+     * superset of the original formulas' variables. For projected model
+     * counting use {@code countProjected}.
      * @param f         the formula factory to generate new formulas
      * @param formulas  the list of formulas
      * @param variables the relevant variables
@@ -63,8 +81,8 @@ public class ModelCounter {
     /**
      * Computes the model count for a given set of formulas (interpreted as
      * conjunction) and a set of relevant variables. This set can only be a
-     * superset of the original formulas' variables. No projected model counting
-     * is supported.
+     * superset of the original formulas' variables. For projected model
+     * counting use {@code countProjected}.
      * @param f         the formula factory to generate new formulas
      * @param formulas  the list of formulas
      * @param variables the relevant variables
@@ -74,6 +92,92 @@ public class ModelCounter {
      */
     public static LngResult<BigInteger> count(final FormulaFactory f, final Collection<Formula> formulas,
                                               final SortedSet<Variable> variables, final ComputationHandler handler) {
+        return count(f, formulas, variables,
+                (ModelCounterConfig) f.configurationFor(ConfigurationType.MODEL_COUNTING), handler);
+    }
+
+    /**
+     * Computes the model count for a given set of formulas (interpreted as
+     * conjunction) and a set of relevant variables. This set can only be a
+     * superset of the original formulas' variables. For projected model
+     * counting use {@code countProjected}.
+     * <p>
+     * The independent components of the formulas are counted in parallel by
+     * the given number of worker threads.
+     * @param f           the formula factory to generate new formulas
+     * @param formulas    the list of formulas
+     * @param variables   the relevant variables
+     * @param parallelism the number of worker threads, {@code 1} counts the
+     *                    components sequentially in the calling thread
+     * @return the model count of the formulas for the variables
+     */
+    public static BigInteger count(final FormulaFactory f, final Collection<Formula> formulas,
+                                   final SortedSet<Variable> variables, final int parallelism) {
+        return count(f, formulas, variables, parallelism, NopHandler.get()).getResult();
+    }
+
+    /**
+     * Computes the model count for a given set of formulas (interpreted as
+     * conjunction) and a set of relevant variables. This set can only be a
+     * superset of the original formulas' variables. For projected model
+     * counting use {@code countProjected}.
+     * <p>
+     * The independent components of the formulas are counted in parallel by
+     * the given number of worker threads. The handler is called by all worker
+     * threads (synchronized), a cancellation stops all workers.
+     * @param f           the formula factory to generate new formulas
+     * @param formulas    the list of formulas
+     * @param variables   the relevant variables
+     * @param parallelism the number of worker threads, {@code 1} counts the
+     *                    components sequentially in the calling thread
+     * @param handler     the computation handler
+     * @return the model count of the formulas for the variables or the
+     * cancellation cause if the handler canceled the DNNF computation
+     */
+    public static LngResult<BigInteger> count(final FormulaFactory f, final Collection<Formula> formulas,
+                                              final SortedSet<Variable> variables, final int parallelism,
+                                              final ComputationHandler handler) {
+        final ModelCounterConfig config = (ModelCounterConfig) f.configurationFor(ConfigurationType.MODEL_COUNTING);
+        return count(f, formulas, variables, ModelCounterConfig.builder()
+                .backend(config.backend)
+                .parallelism(parallelism)
+                .maxCacheSize(config.maxCacheSize)
+                .implicitBcp(config.implicitBcp)
+                .build(), handler);
+    }
+
+    /**
+     * Computes the model count for a given set of formulas (interpreted as
+     * conjunction) and a set of relevant variables. This set can only be a
+     * superset of the original formulas' variables. For projected model
+     * counting use {@code countProjected}.
+     * @param f         the formula factory to generate new formulas
+     * @param formulas  the list of formulas
+     * @param variables the relevant variables
+     * @param config    the model counter configuration
+     * @return the model count of the formulas for the variables
+     */
+    public static BigInteger count(final FormulaFactory f, final Collection<Formula> formulas,
+                                   final SortedSet<Variable> variables, final ModelCounterConfig config) {
+        return count(f, formulas, variables, config, NopHandler.get()).getResult();
+    }
+
+    /**
+     * Computes the model count for a given set of formulas (interpreted as
+     * conjunction) and a set of relevant variables. This set can only be a
+     * superset of the original formulas' variables. For projected model
+     * counting use {@code countProjected}.
+     * @param f         the formula factory to generate new formulas
+     * @param formulas  the list of formulas
+     * @param variables the relevant variables
+     * @param config    the model counter configuration
+     * @param handler   the computation handler
+     * @return the model count of the formulas for the variables or the
+     * cancellation cause if the handler canceled the computation
+     */
+    public static LngResult<BigInteger> count(final FormulaFactory f, final Collection<Formula> formulas,
+                                              final SortedSet<Variable> variables, final ModelCounterConfig config,
+                                              final ComputationHandler handler) {
         if (!variables.containsAll(FormulaHelper.variables(f, formulas))) {
             throw new IllegalArgumentException("Expected variables to contain all of the formulas' variables.");
         }
@@ -84,7 +188,7 @@ public class ModelCounter {
         }
         final List<Formula> cnfs = encodeAsCnf(f, formulas);
         final SimplificationResult simplification = simplify(f, cnfs);
-        final LngResult<BigInteger> count = count(f, simplification.simplifiedFormulas, handler);
+        final LngResult<BigInteger> count = count(f, simplification.simplifiedFormulas, config, handler);
         if (!count.isSuccess()) {
             return count;
         }
@@ -92,6 +196,74 @@ public class ModelCounter {
         return LngResult.of(count.getResult().multiply(BigInteger.valueOf(2).pow(dontCareVariables.size())));
     }
 
+    /**
+     * Computes the projected model count for a given set of formulas
+     * (interpreted as conjunction) and a set of projection variables, i.e. the
+     * number of assignments to the projection variables which can be extended
+     * to a model of the formulas. The projection variables may contain
+     * variables which do not occur in the formulas.
+     * @param f                   the formula factory to generate new formulas
+     * @param formulas            the list of formulas
+     * @param projectionVariables the projection variables
+     * @return the projected model count of the formulas
+     */
+    public static BigInteger countProjected(final FormulaFactory f, final Collection<Formula> formulas,
+                                            final SortedSet<Variable> projectionVariables) {
+        return countProjected(f, formulas, projectionVariables, NopHandler.get()).getResult();
+    }
+
+    /**
+     * Computes the projected model count for a given set of formulas
+     * (interpreted as conjunction) and a set of projection variables, i.e. the
+     * number of assignments to the projection variables which can be extended
+     * to a model of the formulas. The projection variables may contain
+     * variables which do not occur in the formulas.
+     * @param f                   the formula factory to generate new formulas
+     * @param formulas            the list of formulas
+     * @param projectionVariables the projection variables
+     * @param handler             the computation handler
+     * @return the projected model count of the formulas or the cancellation
+     * cause if the handler canceled the computation
+     */
+    public static LngResult<BigInteger> countProjected(final FormulaFactory f, final Collection<Formula> formulas,
+                                                       final SortedSet<Variable> projectionVariables,
+                                                       final ComputationHandler handler) {
+        return countProjected(f, formulas, projectionVariables,
+                (ModelCounterConfig) f.configurationFor(ConfigurationType.MODEL_COUNTING), handler);
+    }
+
+    /**
+     * Computes the projected model count for a given set of formulas
+     * (interpreted as conjunction) and a set of projection variables, i.e. the
+     * number of assignments to the projection variables which can be extended
+     * to a model of the formulas. The projection variables may contain
+     * variables which do not occur in the formulas.
+     * <p>
+     * The backend of the configuration is ignored, the components are always
+     * counted by the {@link ComponentModelCounter}.
+     * @param f                   the formula factory to generate new formulas
+     * @param formulas            the list of formulas
+     * @param projectionVariables the projection variables
+     * @param config              the model counter configuration
+     * @param handler             the computation handler
+     * @return the projected model count of the formulas or the cancellation
+     * cause if the handler canceled the computation
+     */
+    public static LngResult<BigInteger> countProjected(final FormulaFactory f, final Collection<Formula> formulas,
+                                                       final SortedSet<Variable> projectionVariables,
+                                                       final ModelCounterConfig config,
+                                                       final ComputationHandler handler) {
+        final List<Formula> cnfs = encodeAsCnf(f, formulas);
+        final SimplificationResult simplification = simplify(f, cnfs);
+        final LngResult<BigInteger> count =
+                countComponents(f, simplification.simplifiedFormulas, projectionVariables, config, handler);
+        if (!count.isSuccess()) {
+            return count;
+        }
+        final SortedSet<Variable> dontCareVariables = simplification.getDontCareVariables(projectionVariables);
+        return LngResult.of(count.getResult().multiply(BigInteger.valueOf(2).pow(dontCareVariables.size())));
+    }
+
     protected static List<Formula> encodeAsCnf(final FormulaFactory f, final Collection<Formula> formulas) {
         final PureExpansionTransformation expander = new PureExpansionTransformation(f);
         final List<Formula> expandedFormulas =
@@ -126,21 +298,105 @@ public class ModelCounter {
 
     protected static LngResult<BigInteger> count(final FormulaFactory f, final Collection<Formula> formulas,
                                                  final ComputationHandler handler) {
+        return count(f, formulas, (ModelCounterConfig) f.configurationFor(ConfigurationType.MODEL_COUNTING), handler);
+    }
+
+    protected static LngResult<BigInteger> count(final FormulaFactory f, final Collection<Formula> formulas,
+                                                 final ModelCounterConfig config, final ComputationHandler handler) {
+        return countComponents(f, formulas, null, config, handler);
+    }
+
+    protected static LngResult<BigInteger> countComponents(final FormulaFactory f, final Collection<Formula> formulas,
+                                                           final SortedSet<Variable> projectionVariables,
+                                                           final ModelCounterConfig config,
+                                                           final ComputationHandler handler) {
         final Graph<Variable> constraintGraph = ConstraintGraphGenerator.generateFromFormulas(f, formulas);
         final Set<Set<Node<Variable>>> ccs = ConnectedComponentsComputation.compute(constraintGraph);
         final List<List<Formula>> components =
                 ConnectedComponentsComputation.splitFormulasByComponent(f, formulas, ccs);
+        if (config.parallelism > 1 && components.size() > 1) {
+            return countParallel(f, components, projectionVariables, config, handler);
+        }
         BigInteger count = BigInteger.ONE;
         for (final List<Formula> component : components) {
-            final LngResult<Dnnf> dnnf = DnnfCompiler.compile(f, f.and(component), handler);
-            if (!dnnf.isSuccess()) {
-                return LngResult.canceled(dnnf.getCancelCause());
+            final LngResult<BigInteger> componentCount =
+                    countComponent(f, f.and(component), projectionVariables, config, handler);
+            if (!componentCount.isSuccess()) {
+                return componentCount;
             }
-            count = count.multiply(dnnf.getResult().execute(new DnnfModelCountFunction(f)));
+            count = count.multiply(componentCount.getResult());
         }
         return LngResult.of(count);
     }
 
+    /**
+     * Counts the given components in parallel on a fork/join pool. The
+     * components are submitted in descending order of their size, s.t. the
+     * largest components are started first. Each component is imported into
+     * a new formula factory of its worker since the given factory does not
+     * need to be thread-safe.
+     * @param f           the formula factory
+     * @param components          the components
+     * @param projectionVariables the projection variables, {@code null} if
+     *                            the models are not projected
+     * @param config              the model counter configuration
+     * @param handler             the handler
+     * @return the product of the model counts of the components
+     */
+    protected static LngResult<BigInteger> countParallel(final FormulaFactory f,
+                                                         final List<List<Formula>> components,
+                                                         final SortedSet<Variable> projectionVariables,
+                                                         final ModelCounterConfig config,
+                                                         final ComputationHandler handler) {
+        final List<Formula> conjunctions = components.stream()
+                .sorted(Comparator.comparingInt(List<Formula>::size).reversed())
+                .map(f::and)
+                .collect(Collectors.toList());
+        final SynchronizedHandler sharedHandler = new SynchronizedHandler(handler);
+        final ForkJoinPool pool = new ForkJoinPool(config.parallelism);
+        try {
+            final List<ForkJoinTask<LngResult<BigInteger>>> tasks = new ArrayList<>(conjunctions.size());
+            for (final Formula conjunction : conjunctions) {
+                tasks.add(pool.submit(() -> countComponent(conjunction, projectionVariables, config, sharedHandler)));
+            }
+            BigInteger count = BigInteger.ONE;
+            for (final ForkJoinTask<LngResult<BigInteger>> task : tasks) {
+                final LngResult<BigInteger> componentCount = task.join();
+                if (componentCount.isSuccess()) {
+                    count = count.multiply(componentCount.getResult());
+                }
+            }
+            return sharedHandler.getCancelCause() == null ? LngResult.of(count)
+                    : LngResult.canceled(sharedHandler.getCancelCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    protected static LngResult<BigInteger> countComponent(final Formula component,
+                                                          final SortedSet<Variable> projectionVariables,
+                                                          final ModelCounterConfig config,
+                                                          final ComputationHandler handler) {
+        final FormulaFactory workerFactory = FormulaFactory.caching();
+        final List<Variable> workerProjection = projectionVariables == null ? null
+                : projectionVariables.stream().map(v -> workerFactory.variable(v.getName()))
+                .collect(Collectors.toList());
+        return countComponent(workerFactory, workerFactory.importFormula(component), workerProjection, config,
+                handler);
+    }
+
+    protected static LngResult<BigInteger> countComponent(final FormulaFactory f, final Formula component,
+                                                          final Collection<Variable> projectionVariables,
+                                                          final ModelCounterConfig config,
+                                                          final ComputationHandler handler) {
+        if (projectionVariables != null || config.backend == ModelCounterConfig.Backend.COMPONENT_CACHING) {
+            return new ComponentModelCounter(f, component, projectionVariables, config).count(handler);
+        }
+        final LngResult<Dnnf> dnnf = DnnfCompiler.compile(f, component, handler);
+        return dnnf.isSuccess() ? LngResult.of(dnnf.getResult().getCompactDnnf().modelCount())
+                : LngResult.canceled(dnnf.getCancelCause());
+    }
+
     protected static class SimplificationResult {
         public final List<Formula> simplifiedFormulas;
         public final SortedSet<Variable> backboneVariables;
@@ -0,0 +1,147 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.modelcounting;
+
+import com.booleworks.logicng.configurations.Configuration;
+import com.booleworks.logicng.configurations.ConfigurationType;
+
+/**
+ * The configuration object for the {@link ModelCounter}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class ModelCounterConfig extends Configuration {
+
+    /**
+     * The backend which counts the models of the components.
+     */
+    public enum Backend {
+        /**
+         * Compiles each component to a DNNF and counts its models.
+         */
+        DNNF,
+        /**
+         * Counts the models of each component with the
+         * {@link ComponentModelCounter} without compiling a circuit.
+         */
+        COMPONENT_CACHING
+    }
+
+    final Backend backend;
+    final int parallelism;
+    final long maxCacheSize;
+    final boolean implicitBcp;
+
+    /**
+     * Constructs a new configuration with a given type.
+     * @param builder the builder
+     */
+    private ModelCounterConfig(final Builder builder) {
+        super(ConfigurationType.MODEL_COUNTING);
+        backend = builder.backend;
+        parallelism = builder.parallelism;
+        maxCacheSize = builder.maxCacheSize;
+        implicitBcp = builder.implicitBcp;
+    }
+
+    /**
+     * Returns a new builder for the configuration.
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ModelCounterConfig{").append(System.lineSeparator());
+        sb.append("backend=").append(backend).append(System.lineSeparator());
+        sb.append("parallelism=").append(parallelism).append(System.lineSeparator());
+        sb.append("maxCacheSize=").append(maxCacheSize).append(System.lineSeparator());
+        sb.append("implicitBcp=").append(implicitBcp).append(System.lineSeparator());
+        sb.append("}").append(System.lineSeparator());
+        return sb.toString();
+    }
+
+    /**
+     * The builder for a model counter configuration.
+     * @version 3.0.0
+     * @since 3.0.0
+     */
+    public static final class Builder {
+        private Backend backend = Backend.DNNF;
+        private int parallelism = 1;
+        private long maxCacheSize = 256L * 1024 * 1024;
+        private boolean implicitBcp = true;
+
+        private Builder() {
+            // Initialize only via factory
+        }
+
+        /**
+         * Sets the backend which counts the models of the components. The
+         * default is {@link Backend#DNNF}.
+         * @param backend the backend
+         * @return the current builder
+         */
+        public Builder backend(final Backend backend) {
+            this.backend = backend;
+            return this;
+        }
+
+        /**
+         * Sets the number of worker threads which count the independent
+         * components in parallel. The default is {@code 1}, i.e. the
+         * components are counted sequentially in the calling thread.
+         * @param parallelism the number of worker threads
+         * @return the current builder
+         * @throws IllegalArgumentException if the parallelism is less than 1
+         */
+        public Builder parallelism(final int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("The parallelism must be at least 1: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of the component cache of the
+         * {@link Backend#COMPONENT_CACHING component caching} backend in bytes.
+         * The default is 256 MiB.
+         * @param maxCacheSize the maximum size of the component cache
+         * @return the current builder
+         * @throws IllegalArgumentException if the maximum cache size is less
+         *                                  than 1
+         */
+        public Builder maxCacheSize(final long maxCacheSize) {
+            if (maxCacheSize < 1) {
+                throw new IllegalArgumentException("The maximum cache size must be at least 1: " + maxCacheSize);
+            }
+            this.maxCacheSize = maxCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets whether the {@link Backend#COMPONENT_CACHING component caching}
+         * backend detects failed literals on the binary clauses of a component
+         * before each decision. The default is {@code true}.
+         * @param implicitBcp whether failed literals are detected
+         * @return the current builder
+         */
+        public Builder implicitBcp(final boolean implicitBcp) {
+            this.implicitBcp = implicitBcp;
+            return this;
+        }
+
+        /**
+         * Builds the model counter configuration.
+         * @return the configuration
+         */
+        public ModelCounterConfig build() {
+            return new ModelCounterConfig(this);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.modelcounting;
+
+import java.math.BigDecimal;
+
+/**
+ * A commutative semiring in which weighted model counts are computed.
+ * <p>
+ * The weighted model count of a formula is the sum over all models of the
+ * product of the weights of the literals in the model. Different semirings
+ * allow to trade precision for speed:
+ * <ul>
+ *     <li>{@link #DOUBLE}: plain floating point arithmetic</li>
+ *     <li>{@link #LOG}: floating point arithmetic in log-space, i.e. all
+ *     weights and results are natural logarithms. This avoids underflows for
+ *     large numbers of variables with weights smaller than one (e.g.
+ *     probabilities).</li>
+ *     <li>{@link #BIG_DECIMAL}: exact arithmetic on decimal numbers</li>
+ * </ul>
+ * @param <T> the type of the weights
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public interface WeightSemiring<T> {
+
+    /**
+     * The semiring of doubles with the usual addition and multiplication.
+     */
+    WeightSemiring<Double> DOUBLE = new WeightSemiring<>() {
+        @Override
+        public Double zero() {
+            return 0.0;
+        }
+
+        @Override
+        public Double one() {
+            return 1.0;
+        }
+
+        @Override
+        public Double plus(final Double a, final Double b) {
+            return a + b;
+        }
+
+        @Override
+        public Double times(final Double a, final Double b) {
+            return a * b;
+        }
+
+        @Override
+        public String toString() {
+            return "DOUBLE";
+        }
+    };
+
+    /**
+     * The log-space semiring of doubles: each element is the natural logarithm
+     * of the represented weight, multiplication is addition and addition is
+     * computed via the log-sum-exp trick.
+     */
+    WeightSemiring<Double> LOG = new WeightSemiring<>() {
+        @Override
+        public Double zero() {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        @Override
+        public Double one() {
+            return 0.0;
+        }
+
+        @Override
+        public Double plus(final Double a, final Double b) {
+            if (a == Double.NEGATIVE_INFINITY) {
+                return b;
+            }
+            if (b == Double.NEGATIVE_INFINITY) {
+                return a;
+            }
+            final double max = Math.max(a, b);
+            return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+        }
+
+        @Override
+        public Double times(final Double a, final Double b) {
+            return a + b;
+        }
+
+        @Override
+        public String toString() {
+            return "LOG";
+        }
+    };
+
+    /**
+     * The semiring of big decimals with exact addition and multiplication.
+     */
+    WeightSemiring<BigDecimal> BIG_DECIMAL = new WeightSemiring<>() {
+        @Override
+        public BigDecimal zero() {
+            return BigDecimal.ZERO;
+        }
+
+        @Override
+        public BigDecimal one() {
+            return BigDecimal.ONE;
+        }
+
+        @Override
+        public BigDecimal plus(final BigDecimal a, final BigDecimal b) {
+            return a.add(b);
+        }
+
+        @Override
+        public BigDecimal times(final BigDecimal a, final BigDecimal b) {
+            return a.multiply(b);
+        }
+
+        @Override
+        public String toString() {
+            return "BIG_DECIMAL";
+        }
+    };
+
+    /**
+     * Returns the neutral element of the addition.
+     * @return the zero element
+     */
+    T zero();
+
+    /**
+     * Returns the neutral element of the multiplication.
+     * @return the one element
+     */
+    T one();
+
+    /**
+     * Returns the sum of two elements.
+     * @param a the first element
+     * @param b the second element
+     * @return the sum
+     */
+    T plus(T a, T b);
+
+    /**
+     * Returns the product of two elements.
+     * @param a the first element
+     * @param b the second element
+     * @return the product
+     */
+    T times(T a, T b);
+}
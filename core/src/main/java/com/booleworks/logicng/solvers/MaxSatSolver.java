@@ -4,20 +4,27 @@
 
 package com.booleworks.logicng.solvers;
 
+import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.ANYTIME;
+import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.INC_OLL;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.INC_WBO;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.OLL;
+import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.PORTFOLIO;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.WBO;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.WMSU3;
 import static com.booleworks.logicng.solvers.sat.SatSolverConfig.CnfMethod.FACTORY_CNF;
 import static com.booleworks.logicng.solvers.sat.SatSolverConfig.CnfMethod.PG_ON_SOLVER;
 
+import com.booleworks.logicng.collections.LngIntVector;
 import com.booleworks.logicng.configurations.ConfigurationType;
 import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
 import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.handlers.ComputationHandler;
 import com.booleworks.logicng.handlers.LngResult;
 import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.solvers.maxsat.algorithms.Anytime;
+import com.booleworks.logicng.solvers.maxsat.algorithms.IncOll;
 import com.booleworks.logicng.solvers.maxsat.algorithms.IncWbo;
 import com.booleworks.logicng.solvers.maxsat.algorithms.LinearSu;
 import com.booleworks.logicng.solvers.maxsat.algorithms.LinearUs;
@@ -26,10 +33,13 @@ import com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig;
 import com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatState;
 import com.booleworks.logicng.solvers.maxsat.algorithms.Msu3;
 import com.booleworks.logicng.solvers.maxsat.algorithms.Oll;
+import com.booleworks.logicng.solvers.maxsat.algorithms.Portfolio;
 import com.booleworks.logicng.solvers.maxsat.algorithms.Wbo;
 import com.booleworks.logicng.solvers.maxsat.algorithms.Wmsu3;
 import com.booleworks.logicng.transformations.cnf.PlaistedGreenbaumTransformationMaxSatSolver;
 
+import java.util.Collection;
+
 /**
  * A wrapper for the OpenWBO solver.
  * @version 3.0.0
@@ -78,6 +88,12 @@ public class MaxSatSolver {
                 return new Wmsu3(f, configuration);
             case OLL:
                 return new Oll(f, configuration);
+            case INC_OLL:
+                return new IncOll(f, configuration);
+            case ANYTIME:
+                return new Anytime(f, configuration);
+            case PORTFOLIO:
+                return new Portfolio(f, configuration);
             default:
                 throw new IllegalArgumentException("Unknown MaxSAT algorithm: " + configuration.getAlgorithm());
         }
@@ -109,7 +125,8 @@ public class MaxSatSolver {
      */
     public boolean supportsWeighted() {
         final MaxSatConfig.Algorithm algorithm = configuration.getAlgorithm();
-        return algorithm == INC_WBO || algorithm == WMSU3 || algorithm == WBO || algorithm == OLL;
+        return algorithm == INC_WBO || algorithm == WMSU3 || algorithm == WBO || algorithm == OLL ||
+                algorithm == INC_OLL || algorithm == ANYTIME || algorithm == PORTFOLIO;
     }
 
     /**
@@ -215,13 +232,58 @@ public class MaxSatSolver {
         if (result != null && result.isSuccess()) {
             return result;
         }
+        updateProblemType();
+        result = solver.search(handler);
+        return result;
+    }
+
+    /**
+     * Solves the formula on the solver under the given assumptions and
+     * returns the result. The assumptions only hold for this call, the
+     * formulas on the solver are not changed and the result is not cached.
+     * <p>
+     * With the {@link MaxSatConfig.Algorithm#INC_OLL} algorithm, the
+     * assumptions are passed to the SAT solver which is kept between the
+     * calls. All other algorithms add them as hard clauses for this call.
+     * @param assumptions the literals which are assumed to be true
+     * @return the result (SAT, UNSAT, Optimum found)
+     */
+    public MaxSatResult solve(final Collection<? extends Literal> assumptions) {
+        return solve(NopHandler.get(), assumptions).getResult();
+    }
+
+    /**
+     * Solves the formula on the solver under the given assumptions and
+     * returns the result. The assumptions only hold for this call, the
+     * formulas on the solver are not changed and the result is not cached.
+     * <p>
+     * With the {@link MaxSatConfig.Algorithm#INC_OLL} algorithm, the
+     * assumptions are passed to the SAT solver which is kept between the
+     * calls. All other algorithms add them as hard clauses for this call.
+     * @param handler     a MaxSAT handler
+     * @param assumptions the literals which are assumed to be true
+     * @return the result (SAT, UNSAT, Optimum found, or UNDEF if canceled by
+     * the handler)
+     */
+    public LngResult<MaxSatResult> solve(final ComputationHandler handler,
+                                         final Collection<? extends Literal> assumptions) {
+        if (assumptions.isEmpty()) {
+            return solve(handler);
+        }
+        final LngIntVector assumptionLits = new LngIntVector(assumptions.size());
+        for (final Literal lit : assumptions) {
+            assumptionLits.push(solver.literal(lit));
+        }
+        updateProblemType();
+        return solver.search(handler, assumptionLits);
+    }
+
+    private void updateProblemType() {
         if (solver.currentWeight() == 1) {
             solver.setProblemType(MaxSat.ProblemType.UNWEIGHTED);
         } else {
             solver.setProblemType(MaxSat.ProblemType.WEIGHTED);
         }
-        result = solver.search(handler);
-        return result;
     }
 
     /**
@@ -0,0 +1,307 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.functions;
+
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.sat.LngCoreSolver;
+import com.booleworks.logicng.solvers.sat.SatCall;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+
+/**
+ * A core-guided optimizer for the number of satisfied literals of objectives
+ * on a SAT solver.
+ * <p>
+ * An objective is minimized by the OLL algorithm: the solver is called with
+ * the negations of the terms of the objective as assumptions. If the call is
+ * unsatisfiable, the conflict of the assumptions is a core of which at least
+ * one term must be satisfied. The lower bound is increased, the terms of the
+ * core are replaced by a totalizer over them, and the outputs of the totalizer
+ * become new terms. The first satisfiable call yields an optimal model.
+ * <p>
+ * The totalizers are added to the solver as clauses and are only extended if
+ * a higher output is required. Once an objective is minimized,
+ * {@link #fix(Objective)} returns assumptions which bound the objective by its
+ * optimum, such that subsequent objectives reuse the encoding of the previous
+ * ones. All clauses are added permanently, so the caller has to save and load
+ * the state of the solver.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+final class CoreGuidedOptimizer {
+
+    static final String AUX_PREFIX = "@CORE_OPT_";
+
+    private final SatSolver solver;
+    private final FormulaFactory f;
+    private final SortedSet<Variable> resultModelVariables;
+    private int auxCounter;
+    private Model model;
+
+    /**
+     * Constructs a new optimizer.
+     * @param solver               the SAT solver
+     * @param resultModelVariables the variables of the resulting models
+     */
+    CoreGuidedOptimizer(final SatSolver solver, final SortedSet<Variable> resultModelVariables) {
+        this.solver = solver;
+        f = solver.getFactory();
+        this.resultModelVariables = resultModelVariables;
+    }
+
+    /**
+     * Returns a new objective which counts the satisfied literals of the
+     * given collection.
+     * @param literals the literals
+     * @return the objective
+     */
+    Objective objective(final Collection<? extends Literal> literals) {
+        return new Objective(literals);
+    }
+
+    /**
+     * Returns the model of the last successful call of
+     * {@link #minimize(Objective, Collection, ComputationHandler)}.
+     * @return the model
+     */
+    Model model() {
+        return model;
+    }
+
+    /**
+     * Minimizes the given objective under the given assumptions. The lower
+     * bound of the objective is increased by every core, so an objective can
+     * be minimized again after further clauses were added to the solver.
+     * @param objective   the objective
+     * @param assumptions the assumptions
+     * @param handler     the handler
+     * @return {@code true} if an optimal model was found (which is then
+     * available via {@link #model()}), {@code false} if the formula is
+     * unsatisfiable under the assumptions, or the cancel cause of the handler
+     */
+    LngResult<Boolean> minimize(final Objective objective, final Collection<? extends Literal> assumptions,
+                                final ComputationHandler handler) {
+        final LngCoreSolver underlyingSolver = solver.getUnderlyingSolver();
+        while (true) {
+            // a term may coincide with an assumption and every assumption opens a decision level
+            final Set<Literal> callAssumptions = new LinkedHashSet<>(assumptions);
+            for (final Literal term : objective.terms) {
+                callAssumptions.add(term.negate(f));
+            }
+            final List<Literal> core = new ArrayList<>();
+            try (final SatCall satCall = solver.satCall().handler(handler)
+                    .addFormulas(new ArrayList<>(callAssumptions)).solve()) {
+                final LngResult<Boolean> satResult = satCall.getSatResult();
+                if (!satResult.isSuccess()) {
+                    return satResult;
+                } else if (satResult.getResult()) {
+                    model = satCall.model(resultModelVariables);
+                    return satResult;
+                }
+                final LngIntVector conflict = underlyingSolver.assumptionsConflict();
+                for (int i = 0; i < conflict.size(); i++) {
+                    final int lit = conflict.get(i);
+                    final Literal term = f.literal(underlyingSolver.nameForIdx(LngCoreSolver.var(lit)),
+                            !LngCoreSolver.sign(lit));
+                    if (objective.terms.contains(term) && !core.contains(term)) {
+                        core.add(term);
+                    }
+                }
+            }
+            if (core.isEmpty()) {
+                return LngResult.of(false);
+            }
+            relaxCore(objective, core);
+        }
+    }
+
+    /**
+     * Returns the assumptions which bound the given objective by its lower
+     * bound.
+     * @param objective the objective
+     * @return the assumptions
+     */
+    List<Literal> fix(final Objective objective) {
+        final List<Literal> assumptions = new ArrayList<>(objective.terms.size());
+        for (final Literal term : objective.terms) {
+            assumptions.add(term.negate(f));
+        }
+        return assumptions;
+    }
+
+    /**
+     * Adds clauses to the solver which bound the number of satisfied literals
+     * to the given value.
+     * @param totalizer the totalizer over the literals
+     * @param bound     the bound
+     */
+    void addUpperBound(final Totalizer totalizer, final int bound) {
+        if (bound < totalizer.size) {
+            totalizer.extend(bound + 1);
+            solver.add(totalizer.outputs.get(bound).negate(f));
+        }
+    }
+
+    /**
+     * Returns a new totalizer over the given literals.
+     * @param literals the literals
+     * @return the totalizer
+     */
+    Totalizer totalizer(final List<Literal> literals) {
+        if (literals.size() == 1) {
+            return new Totalizer(literals.get(0));
+        }
+        final int middle = literals.size() / 2;
+        return new Totalizer(totalizer(literals.subList(0, middle)),
+                totalizer(literals.subList(middle, literals.size())));
+    }
+
+    /**
+     * Relaxes a core of the objective: the lower bound is increased, each
+     * term of the core is replaced by its next totalizer output, and a new
+     * totalizer over the core provides the term for a second satisfied
+     * literal of the core.
+     * @param objective the objective
+     * @param core      the terms of the core
+     */
+    private void relaxCore(final Objective objective, final List<Literal> core) {
+        objective.lowerBound++;
+        for (final Literal term : core) {
+            objective.terms.remove(term);
+            final Output output = objective.outputs.remove(term);
+            if (output != null) {
+                addOutputTerm(objective, output.totalizer, output.index + 1);
+            }
+        }
+        if (core.size() > 1) {
+            addOutputTerm(objective, totalizer(core), 1);
+        }
+    }
+
+    private void addOutputTerm(final Objective objective, final Totalizer totalizer, final int index) {
+        if (index < totalizer.size) {
+            totalizer.extend(index + 1);
+            final Literal term = totalizer.outputs.get(index);
+            objective.terms.add(term);
+            objective.outputs.put(term, new Output(totalizer, index));
+        }
+    }
+
+    private Variable newAuxVariable() {
+        return f.variable(AUX_PREFIX + auxCounter++);
+    }
+
+    /**
+     * An objective to minimize. The cost of a model is at most the lower
+     * bound plus the number of satisfied terms.
+     */
+    final class Objective {
+        private final Set<Literal> terms;
+        private final Map<Literal, Output> outputs;
+        private int lowerBound;
+
+        private Objective(final Collection<? extends Literal> literals) {
+            terms = new LinkedHashSet<>(literals);
+            outputs = new HashMap<>();
+        }
+
+        /**
+         * Returns the lower bound of the objective. After a successful
+         * minimization, this is the optimum.
+         * @return the lower bound
+         */
+        int lowerBound() {
+            return lowerBound;
+        }
+    }
+
+    /**
+     * A totalizer whose outputs are created on demand. The output with index
+     * {@code i} is implied if at least {@code i + 1} inputs are satisfied.
+     */
+    final class Totalizer {
+        private final Totalizer left;
+        private final Totalizer right;
+        private final int size;
+        private final List<Literal> outputs;
+
+        private Totalizer(final Literal input) {
+            left = null;
+            right = null;
+            size = 1;
+            outputs = new ArrayList<>(1);
+            outputs.add(input);
+        }
+
+        private Totalizer(final Totalizer left, final Totalizer right) {
+            this.left = left;
+            this.right = right;
+            size = left.size + right.size;
+            outputs = new ArrayList<>();
+        }
+
+        /**
+         * Extends the totalizer to the given number of outputs.
+         * @param limit the number of outputs
+         */
+        void extend(final int limit) {
+            final int oldLimit = outputs.size();
+            final int newLimit = Math.min(limit, size);
+            if (newLimit <= oldLimit) {
+                return;
+            }
+            left.extend(newLimit);
+            right.extend(newLimit);
+            for (int s = oldLimit + 1; s <= newLimit; s++) {
+                final Literal output = newAuxVariable();
+                outputs.add(output);
+                for (int i = Math.max(0, s - right.outputs.size()); i <= Math.min(s, left.outputs.size()); i++) {
+                    final int j = s - i;
+                    final List<Literal> clause = new ArrayList<>(3);
+                    if (i > 0) {
+                        clause.add(left.outputs.get(i - 1).negate(f));
+                    }
+                    if (j > 0) {
+                        clause.add(right.outputs.get(j - 1).negate(f));
+                    }
+                    clause.add(output);
+                    solver.add(f.clause(clause));
+                }
+            }
+        }
+
+        /**
+         * Returns the number of inputs of the totalizer.
+         * @return the number of inputs
+         */
+        int size() {
+            return size;
+        }
+    }
+
+    private static final class Output {
+        private final Totalizer totalizer;
+        private final int index;
+
+        private Output(final Totalizer totalizer, final int index) {
+            this.totalizer = totalizer;
+            this.index = index;
+        }
+    }
+}
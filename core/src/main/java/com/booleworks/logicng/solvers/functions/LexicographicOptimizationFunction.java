@@ -0,0 +1,264 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.functions;
+
+import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.OPTIMIZATION_FUNCTION_STARTED;
+
+import com.booleworks.logicng.datastructures.Assignment;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.events.OptimizationFoundBetterBoundEvent;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.SolverState;
+import com.booleworks.logicng.solvers.sat.SatCall;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A solver function for computing a model for the formula on the solver which
+ * is optimal wrt. a lexicographic order of several objectives. Each objective
+ * minimizes or maximizes the number of satisfied literals of a set of
+ * literals. The first objective has the highest priority, the second objective
+ * is optimized among all models which are optimal for the first objective,
+ * and so on.
+ * <p>
+ * Each objective is minimized by core-guided lower bounding. The encoding of
+ * an optimized objective is reused to bound it by its optimum while the
+ * subsequent objectives are optimized. Each model which is lexicographically
+ * better than the previous one is reported via an
+ * {@link OptimizationFoundBetterBoundEvent}.
+ * <p>
+ * <b>The formula must be satisfiable, otherwise an
+ * {@link IllegalArgumentException} will be thrown.</b>
+ * <p>
+ * Lexicographic optimization functions are instantiated via their builder
+ * {@link #builder()}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class LexicographicOptimizationFunction implements SolverFunction<Model> {
+
+    protected final List<Collection<? extends Literal>> objectives;
+    protected final List<Boolean> maximize;
+    protected final SortedSet<Variable> resultModelVariables;
+
+    protected LexicographicOptimizationFunction(final List<Collection<? extends Literal>> objectives,
+                                                final List<Boolean> maximize,
+                                                final Collection<Variable> additionalVariables) {
+        this.objectives = objectives;
+        this.maximize = maximize;
+        resultModelVariables = new TreeSet<>(additionalVariables);
+        for (final Collection<? extends Literal> objective : objectives) {
+            for (final Literal lit : objective) {
+                resultModelVariables.add(lit.variable());
+            }
+        }
+    }
+
+    /**
+     * Returns the builder for this function.
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public LngResult<Model> apply(final SatSolver solver, final ComputationHandler handler) {
+        final SolverState initialState = solver.saveState();
+        final LngResult<Model> model = optimize(solver, handler);
+        solver.loadState(initialState);
+        return model;
+    }
+
+    protected LngResult<Model> optimize(final SatSolver solver, final ComputationHandler handler) {
+        if (!handler.shouldResume(OPTIMIZATION_FUNCTION_STARTED)) {
+            return LngResult.canceled(OPTIMIZATION_FUNCTION_STARTED);
+        }
+        final CoreGuidedOptimizer optimizer = new CoreGuidedOptimizer(solver, resultModelVariables);
+        final List<Literal> fixed = new ArrayList<>();
+        Model lastResultModel = null;
+        int[] lastCosts = null;
+        for (int i = 0; i < objectives.size(); i++) {
+            final CoreGuidedOptimizer.Objective objective =
+                    optimizer.objective(terms(solver, objectives.get(i), maximize.get(i)));
+            final LngResult<Boolean> result = optimizer.minimize(objective, fixed, handler);
+            if (!result.isSuccess()) {
+                return lastResultModel == null
+                       ? LngResult.canceled(result.getCancelCause())
+                       : LngResult.partial(lastResultModel, result.getCancelCause());
+            }
+            if (!result.getResult()) {
+                throw new IllegalArgumentException("The given formula must be satisfiable");
+            }
+            final Model model = optimizer.model();
+            final int[] costs = costs(solver, model);
+            if (lastCosts == null || isLexicographicallyBetter(costs, lastCosts)) {
+                lastResultModel = model;
+                lastCosts = costs;
+                final OptimizationFoundBetterBoundEvent betterBoundEvent =
+                        new OptimizationFoundBetterBoundEvent(() -> model);
+                if (!handler.shouldResume(betterBoundEvent)) {
+                    return LngResult.partial(lastResultModel, betterBoundEvent);
+                }
+            }
+            fixed.addAll(optimizer.fix(objective));
+        }
+        if (lastResultModel == null) {
+            try (final SatCall satCall = solver.satCall().handler(handler).solve()) {
+                if (!satCall.getSatResult().isSuccess()) {
+                    return LngResult.canceled(satCall.getSatResult().getCancelCause());
+                }
+                if (!satCall.getSatResult().getResult()) {
+                    throw new IllegalArgumentException("The given formula must be satisfiable");
+                }
+                return LngResult.of(satCall.model(resultModelVariables));
+            }
+        }
+        return LngResult.of(lastResultModel);
+    }
+
+    /**
+     * Returns the terms of an objective to minimize. A maximized literal is
+     * minimized by its negation. Duplicate literals are counted once.
+     * @param solver   the solver
+     * @param literals the literals of the objective
+     * @param maximize whether the literals are maximized
+     * @return the terms
+     */
+    protected static List<Literal> terms(final SatSolver solver, final Collection<? extends Literal> literals,
+                                         final boolean maximize) {
+        final Set<Literal> terms = new LinkedHashSet<>();
+        for (final Literal lit : literals) {
+            terms.add(maximize ? lit.negate(solver.getFactory()) : lit);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private int[] costs(final SatSolver solver, final Model model) {
+        final int[] costs = new int[objectives.size()];
+        final Assignment assignment = model.toAssignment();
+        for (int i = 0; i < objectives.size(); i++) {
+            for (final Literal term : terms(solver, objectives.get(i), maximize.get(i))) {
+                if (term.evaluate(assignment)) {
+                    costs[i]++;
+                }
+            }
+        }
+        return costs;
+    }
+
+    private static boolean isLexicographicallyBetter(final int[] costs, final int[] otherCosts) {
+        for (int i = 0; i < costs.length; i++) {
+            if (costs[i] != otherCosts[i]) {
+                return costs[i] < otherCosts[i];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The builder for a lexicographic optimization function.
+     */
+    public static final class Builder {
+        private final List<Collection<? extends Literal>> objectives = new ArrayList<>();
+        private final List<Boolean> maximize = new ArrayList<>();
+        private Collection<Variable> additionalVariables = new TreeSet<>();
+
+        private Builder() {
+            // Initialize only via factory
+        }
+
+        /**
+         * Adds an objective which minimizes the number of satisfied literals
+         * of the given set. The objective has a lower priority than all
+         * previously added objectives.
+         * @param literals the set of literals
+         * @return the current builder
+         */
+        public Builder minimize(final Collection<? extends Literal> literals) {
+            objectives.add(literals);
+            maximize.add(false);
+            return this;
+        }
+
+        /**
+         * Adds an objective which minimizes the number of satisfied literals
+         * of the given set. The objective has a lower priority than all
+         * previously added objectives.
+         * @param literals the set of literals
+         * @return the current builder
+         */
+        public Builder minimize(final Literal... literals) {
+            return minimize(Arrays.asList(literals));
+        }
+
+        /**
+         * Adds an objective which maximizes the number of satisfied literals
+         * of the given set. The objective has a lower priority than all
+         * previously added objectives.
+         * @param literals the set of literals
+         * @return the current builder
+         */
+        public Builder maximize(final Collection<? extends Literal> literals) {
+            objectives.add(literals);
+            maximize.add(true);
+            return this;
+        }
+
+        /**
+         * Adds an objective which maximizes the number of satisfied literals
+         * of the given set. The objective has a lower priority than all
+         * previously added objectives.
+         * @param literals the set of literals
+         * @return the current builder
+         */
+        public Builder maximize(final Literal... literals) {
+            return maximize(Arrays.asList(literals));
+        }
+
+        /**
+         * Sets an additional set of variables which should occur in the
+         * resulting model.
+         * @param variables the additional variables for the resulting model
+         * @return the current builder
+         */
+        public Builder additionalVariables(final Collection<Variable> variables) {
+            additionalVariables = variables;
+            return this;
+        }
+
+        /**
+         * Sets an additional set of variables which should occur in the
+         * resulting model.
+         * @param variables the additional variables for the resulting model
+         * @return the current builder
+         */
+        public Builder additionalVariables(final Variable... variables) {
+            additionalVariables = Arrays.asList(variables);
+            return this;
+        }
+
+        /**
+         * Builds the lexicographic optimization function with the current
+         * builder's configuration.
+         * @return the lexicographic optimization function
+         */
+        public LexicographicOptimizationFunction build() {
+            return new LexicographicOptimizationFunction(new ArrayList<>(objectives), new ArrayList<>(maximize),
+                    additionalVariables);
+        }
+    }
+}
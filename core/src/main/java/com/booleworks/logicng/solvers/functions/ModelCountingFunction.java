@@ -6,6 +6,8 @@ package com.booleworks.logicng.solvers.functions;
 
 import static com.booleworks.logicng.handlers.events.SimpleEvent.MODEL_ENUMERATION_COMMIT;
 import static com.booleworks.logicng.handlers.events.SimpleEvent.MODEL_ENUMERATION_ROLLBACK;
+import static com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationCommon.expandCube;
+import static com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationCommon.numberOfModelsForEvent;
 import static java.util.Arrays.asList;
 
 import com.booleworks.logicng.collections.LngBooleanVector;
@@ -70,6 +72,11 @@ public class ModelCountingFunction extends AbstractModelEnumerationFunction<BigI
         return new ModelCountCollector(dontCareVariablesNotOnSolver.size());
     }
 
+    @Override
+    protected BigInteger mergeResults(final FormulaFactory f, final BigInteger result, final BigInteger workerResult) {
+        return result.add(workerResult);
+    }
+
     /**
      * The builder for a model counting function.
      */
@@ -109,26 +116,38 @@ public class ModelCountingFunction extends AbstractModelEnumerationFunction<BigI
 
     static final class ModelCountCollector implements EnumerationCollector<BigInteger> {
         private BigInteger committedCount = BigInteger.ZERO;
+        private BigInteger uncommittedCount = BigInteger.ZERO;
         private final List<LngBooleanVector> uncommittedModels = new ArrayList<>(100);
         private final List<LngIntVector> uncommittedIndices = new ArrayList<>(100);
-        private final BigInteger dontCareFactor;
+        private final List<LngIntVector> uncommittedDontCares = new ArrayList<>(100);
+        private final int numberDontCareVariablesNotOnSolver;
 
         public ModelCountCollector(final int numberDontCareVariablesNotOnSolver) {
-            dontCareFactor = BigInteger.valueOf(2).pow(numberDontCareVariablesNotOnSolver);
+            this.numberDontCareVariablesNotOnSolver = numberDontCareVariablesNotOnSolver;
         }
 
         @Override
         public LngEvent addModel(final LngBooleanVector modelFromSolver, final SatSolver solver,
                                  final LngIntVector relevantAllIndices, final ComputationHandler handler) {
-            final EnumerationFoundModelsEvent event = new EnumerationFoundModelsEvent(dontCareFactor.intValue());
-            uncommittedModels.add(modelFromSolver);
+            return addCube(modelFromSolver, new LngIntVector(0), solver, relevantAllIndices, handler);
+        }
+
+        @Override
+        public LngEvent addCube(final LngBooleanVector cube, final LngIntVector dontCares, final SatSolver solver,
+                                final LngIntVector relevantAllIndices, final ComputationHandler handler) {
+            final int numberOfDontCares = numberDontCareVariablesNotOnSolver + dontCares.size();
+            final EnumerationFoundModelsEvent event =
+                    new EnumerationFoundModelsEvent(numberOfModelsForEvent(numberOfDontCares));
+            uncommittedCount = uncommittedCount.add(BigInteger.ONE.shiftLeft(numberOfDontCares));
+            uncommittedModels.add(cube);
             uncommittedIndices.add(relevantAllIndices);
+            uncommittedDontCares.add(new LngIntVector(dontCares));
             return handler.shouldResume(event) ? null : event;
         }
 
         @Override
         public LngEvent commit(final ComputationHandler handler) {
-            committedCount = committedCount.add(BigInteger.valueOf(uncommittedModels.size()).multiply(dontCareFactor));
+            committedCount = committedCount.add(uncommittedCount);
             clearUncommitted();
             return handler.shouldResume(MODEL_ENUMERATION_COMMIT) ? null : MODEL_ENUMERATION_COMMIT;
         }
@@ -143,8 +162,10 @@ public class ModelCountingFunction extends AbstractModelEnumerationFunction<BigI
         public LngResult<List<Model>> rollbackAndReturnModels(final SatSolver solver, final ComputationHandler handler) {
             final List<Model> modelsToReturn = new ArrayList<>(uncommittedModels.size());
             for (int i = 0; i < uncommittedModels.size(); i++) {
-                modelsToReturn.add(new Model(solver.getUnderlyingSolver().convertInternalModel(uncommittedModels.get(i),
-                        uncommittedIndices.get(i))));
+                for (final LngBooleanVector model : expandCube(uncommittedModels.get(i), uncommittedDontCares.get(i))) {
+                    modelsToReturn.add(new Model(
+                            solver.getUnderlyingSolver().convertInternalModel(model, uncommittedIndices.get(i))));
+                }
             }
             final LngEvent cancelCause = rollback(handler);
             return cancelCause == null ? LngResult.of(modelsToReturn) : LngResult.canceled(cancelCause);
@@ -156,8 +177,10 @@ public class ModelCountingFunction extends AbstractModelEnumerationFunction<BigI
         }
 
         private void clearUncommitted() {
+            uncommittedCount = BigInteger.ZERO;
             uncommittedModels.clear();
             uncommittedIndices.clear();
+            uncommittedDontCares.clear();
         }
     }
 }
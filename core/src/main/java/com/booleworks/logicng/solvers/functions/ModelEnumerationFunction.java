@@ -76,6 +76,19 @@ public class ModelEnumerationFunction extends AbstractModelEnumerationFunction<L
         return new ModelEnumerationCollector(f, dontCareVariablesNotOnSolver, additionalVariablesNotOnSolver);
     }
 
+    @Override
+    protected List<Model> mergeResults(final FormulaFactory f, final List<Model> result,
+                                       final List<Model> workerResult) {
+        for (final Model model : workerResult) {
+            final List<Literal> literals = new ArrayList<>(model.size());
+            for (final Literal lit : model.getLiterals()) {
+                literals.add(f.literal(lit.getName(), lit.getPhase()));
+            }
+            result.add(new Model(literals));
+        }
+        return result;
+    }
+
     /**
      * The builder for a model enumeration function.
      */
@@ -6,6 +6,9 @@ package com.booleworks.logicng.solvers.functions;
 
 import static com.booleworks.logicng.handlers.events.SimpleEvent.MODEL_ENUMERATION_COMMIT;
 import static com.booleworks.logicng.handlers.events.SimpleEvent.MODEL_ENUMERATION_ROLLBACK;
+import static com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationCommon.cubeIndices;
+import static com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationCommon.expandCube;
+import static com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationCommon.numberOfModelsForEvent;
 import static java.util.Arrays.asList;
 
 import com.booleworks.logicng.collections.LngBooleanVector;
@@ -16,10 +19,12 @@ import com.booleworks.logicng.formulas.Literal;
 import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.handlers.ComputationHandler;
 import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.NopHandler;
 import com.booleworks.logicng.handlers.events.EnumerationFoundModelsEvent;
 import com.booleworks.logicng.handlers.events.LngEvent;
 import com.booleworks.logicng.knowledgecompilation.bdds.Bdd;
 import com.booleworks.logicng.knowledgecompilation.bdds.BddFactory;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddConstruction;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
 import com.booleworks.logicng.solvers.SatSolver;
 import com.booleworks.logicng.solvers.functions.modelenumeration.AbstractModelEnumerationFunction;
@@ -29,9 +34,12 @@ import com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumeratio
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * A solver function for enumerating models on the solver and storing the result
@@ -74,7 +82,53 @@ public class ModelEnumerationToBddFunction extends AbstractModelEnumerationFunct
     protected EnumerationCollector<Bdd> newCollector(final FormulaFactory f, final SortedSet<Variable> knownVariables,
                                                      final SortedSet<Variable> dontCareVariablesNotOnSolver,
                                                      final SortedSet<Variable> additionalVariablesNotOnSolver) {
-        return new BddModelEnumerationCollector(f, variables, knownVariables, dontCareVariablesNotOnSolver.size());
+        final SortedSet<Variable> importedVariables = variables == null ? null
+                : variables.stream().map(v -> f.variable(v.getName())).collect(Collectors.toCollection(TreeSet::new));
+        return new BddModelEnumerationCollector(f, importedVariables, knownVariables,
+                dontCareVariablesNotOnSolver.size());
+    }
+
+    /**
+     * Merges the BDD of a worker by transferring it node by node to the kernel
+     * of the given result and computing the disjunction. Both kernels are
+     * constructed with the same variable order and are never reordered.
+     * @param f            the formula factory of the enumeration
+     * @param result       the current result of the enumeration
+     * @param workerResult the result of the worker
+     * @return the disjunction of both BDDs in the kernel of {@code result}
+     */
+    @Override
+    protected Bdd mergeResults(final FormulaFactory f, final Bdd result, final Bdd workerResult) {
+        final BddKernel kernel = result.getUnderlyingKernel();
+        final Map<Integer, Integer> mapping = new HashMap<>();
+        final int root = transfer(workerResult.getIndex(), new BddConstruction(workerResult.getUnderlyingKernel()),
+                workerResult.getUnderlyingKernel(), new BddConstruction(kernel), kernel, mapping);
+        kernel.addRef(root, NopHandler.get());
+        for (final int node : mapping.values()) {
+            kernel.delRef(node);
+        }
+        final Bdd merged = result.or(new Bdd(root, kernel));
+        kernel.delRef(root);
+        return merged;
+    }
+
+    private static int transfer(final int node, final BddConstruction from, final BddKernel fromKernel,
+                                final BddConstruction to, final BddKernel toKernel,
+                                final Map<Integer, Integer> mapping) {
+        if (node < 2) {
+            return node;
+        }
+        final Integer transferred = mapping.get(node);
+        if (transferred != null) {
+            return transferred;
+        }
+        final int low = transfer(from.bddLow(node), from, fromKernel, to, toKernel, mapping);
+        final int high = transfer(from.bddHigh(node), from, fromKernel, to, toKernel, mapping);
+        final Variable var = fromKernel.getVariableForIndex(from.bddVar(node));
+        final int result = toKernel.addRef(to.makeNode(toKernel.getIndexForVariable(var), low, high),
+                NopHandler.get());
+        mapping.put(node, result);
+        return result;
     }
 
     /**
@@ -117,7 +171,10 @@ public class ModelEnumerationToBddFunction extends AbstractModelEnumerationFunct
         private final BddKernel kernel;
         private Bdd committedModels;
         private final List<Model> uncommittedModels = new ArrayList<>();
-        private final int dontCareFactor;
+        private final List<LngBooleanVector> uncommittedCubes = new ArrayList<>();
+        private final List<LngIntVector> uncommittedIndices = new ArrayList<>();
+        private final List<LngIntVector> uncommittedDontCares = new ArrayList<>();
+        private final int numberDontCareVariablesNotOnSolver;
 
         public BddModelEnumerationCollector(final FormulaFactory f, final SortedSet<Variable> variables,
                                             final SortedSet<Variable> knownVariables,
@@ -127,17 +184,27 @@ public class ModelEnumerationToBddFunction extends AbstractModelEnumerationFunct
             final int numVars = sortedVariables.size();
             kernel = new BddKernel(f, sortedVariables, numVars * 30, numVars * 50);
             committedModels = BddFactory.build(f, f.falsum(), kernel);
-            dontCareFactor = (int) Math.pow(2, numberDontCareVariablesNotOnSolver);
+            this.numberDontCareVariablesNotOnSolver = numberDontCareVariablesNotOnSolver;
         }
 
         @Override
         public LngEvent addModel(final LngBooleanVector modelFromSolver, final SatSolver solver,
                                  final LngIntVector relevantAllIndices,
                                  final ComputationHandler handler) {
-            final EnumerationFoundModelsEvent event = new EnumerationFoundModelsEvent(dontCareFactor);
-            final Model model =
-                    new Model(solver.getUnderlyingSolver().convertInternalModel(modelFromSolver, relevantAllIndices));
-            uncommittedModels.add(model);
+            return addCube(modelFromSolver, new LngIntVector(0), solver, relevantAllIndices, handler);
+        }
+
+        @Override
+        public LngEvent addCube(final LngBooleanVector cube, final LngIntVector dontCares, final SatSolver solver,
+                                final LngIntVector relevantAllIndices, final ComputationHandler handler) {
+            final EnumerationFoundModelsEvent event = new EnumerationFoundModelsEvent(
+                    numberOfModelsForEvent(numberDontCareVariablesNotOnSolver + dontCares.size()));
+            final LngIntVector cubeIndices =
+                    dontCares.isEmpty() ? relevantAllIndices : cubeIndices(relevantAllIndices, dontCares);
+            uncommittedModels.add(new Model(solver.getUnderlyingSolver().convertInternalModel(cube, cubeIndices)));
+            uncommittedCubes.add(cube);
+            uncommittedIndices.add(relevantAllIndices);
+            uncommittedDontCares.add(new LngIntVector(dontCares));
             return handler.shouldResume(event) ? null : event;
         }
 
@@ -146,7 +213,7 @@ public class ModelEnumerationToBddFunction extends AbstractModelEnumerationFunct
             for (final Model uncommittedModel : uncommittedModels) {
                 committedModels = committedModels.or(model2Bdd(uncommittedModel));
             }
-            uncommittedModels.clear();
+            clearUncommitted();
             return handler.shouldResume(MODEL_ENUMERATION_COMMIT) ? null : MODEL_ENUMERATION_COMMIT;
         }
 
@@ -160,13 +227,24 @@ public class ModelEnumerationToBddFunction extends AbstractModelEnumerationFunct
 
         @Override
         public LngEvent rollback(final ComputationHandler handler) {
-            uncommittedModels.clear();
+            clearUncommitted();
             return handler.shouldResume(MODEL_ENUMERATION_ROLLBACK) ? null : MODEL_ENUMERATION_ROLLBACK;
         }
 
         @Override
         public LngResult<List<Model>> rollbackAndReturnModels(final SatSolver solver, final ComputationHandler handler) {
-            final List<Model> modelsToReturn = new ArrayList<>(uncommittedModels);
+            final List<Model> modelsToReturn = new ArrayList<>(uncommittedModels.size());
+            for (int i = 0; i < uncommittedModels.size(); i++) {
+                if (uncommittedDontCares.get(i).isEmpty()) {
+                    modelsToReturn.add(uncommittedModels.get(i));
+                } else {
+                    for (final LngBooleanVector model : expandCube(uncommittedCubes.get(i),
+                            uncommittedDontCares.get(i))) {
+                        modelsToReturn.add(new Model(
+                                solver.getUnderlyingSolver().convertInternalModel(model, uncommittedIndices.get(i))));
+                    }
+                }
+            }
             final LngEvent cancelCause = rollback(handler);
             return cancelCause == null ? LngResult.of(modelsToReturn) : LngResult.canceled(cancelCause);
         }
@@ -175,5 +253,12 @@ public class ModelEnumerationToBddFunction extends AbstractModelEnumerationFunct
         public Bdd getResult() {
             return committedModels;
         }
+
+        private void clearUncommitted() {
+            uncommittedModels.clear();
+            uncommittedCubes.clear();
+            uncommittedIndices.clear();
+            uncommittedDontCares.clear();
+        }
     }
 }
@@ -0,0 +1,296 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.functions;
+
+import static com.booleworks.logicng.handlers.events.SimpleEvent.MODEL_ENUMERATION_COMMIT;
+import static com.booleworks.logicng.handlers.events.SimpleEvent.MODEL_ENUMERATION_ROLLBACK;
+import static com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationCommon.numberOfModelsForEvent;
+import static java.util.Arrays.asList;
+
+import com.booleworks.logicng.collections.LngBooleanVector;
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.events.EnumerationFoundModelsEvent;
+import com.booleworks.logicng.handlers.events.LngEvent;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.functions.modelenumeration.AbstractModelEnumerationFunction;
+import com.booleworks.logicng.solvers.functions.modelenumeration.EnumerationCollector;
+import com.booleworks.logicng.solvers.functions.modelenumeration.ModelConsumer;
+import com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationConfig;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A solver function which streams the models on the solver to a
+ * {@link ModelConsumer} instead of collecting them in a list.
+ * <p>
+ * Each model is delivered as a reusable bitset over a fixed variable index,
+ * the sorted union of the enumeration variables and the additional variables
+ * (see {@link #getVariableIndex()}). Models are delivered as soon as the
+ * enumeration commits them, i.e. after each split assignment of the model
+ * enumeration strategy. So only the models of the current split assignment
+ * are buffered and a strategy with a small maximum number of models per
+ * enumeration bounds the memory of the enumeration. Without split assignments
+ * all models are delivered at the end of the enumeration. The result of the
+ * function is the number of delivered models.
+ * <p>
+ * In a parallel enumeration the consumer is called by different threads, but
+ * never concurrently.
+ * <p>
+ * Model streaming functions are instantiated via their builder
+ * {@link Builder}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ModelStreamingFunction extends AbstractModelEnumerationFunction<BigInteger> {
+
+    private final List<Variable> variableIndex;
+    private final ModelConsumer consumer;
+
+    protected ModelStreamingFunction(final SortedSet<Variable> variables,
+                                     final SortedSet<Variable> additionalVariables,
+                                     final ModelEnumerationConfig config, final ModelConsumer consumer) {
+        super(variables, additionalVariables, configuration(variables, config));
+        final SortedSet<Variable> index = new TreeSet<>(variables);
+        if (additionalVariables != null) {
+            index.addAll(additionalVariables);
+        }
+        variableIndex = Collections.unmodifiableList(new ArrayList<>(index));
+        this.consumer = consumer;
+    }
+
+    /**
+     * Constructs a new model streaming function with the given set of
+     * variables.
+     * @param variables the variables for the enumeration
+     * @param consumer  the consumer for the models
+     * @return the builder for the function
+     */
+    public static Builder builder(final Collection<Variable> variables, final ModelConsumer consumer) {
+        return new Builder(variables, consumer);
+    }
+
+    /**
+     * Constructs a new model streaming function with the given set of
+     * variables.
+     * @param variables the variables for the enumeration
+     * @param consumer  the consumer for the models
+     * @return the builder for the function
+     */
+    public static Builder builder(final Variable[] variables, final ModelConsumer consumer) {
+        return new Builder(new TreeSet<>(asList(variables)), consumer);
+    }
+
+    /**
+     * Returns the variable index of the streamed models. The i-th bit of a
+     * streamed model is the phase of the i-th variable of this list.
+     * @return the variable index of the streamed models
+     */
+    public List<Variable> getVariableIndex() {
+        return variableIndex;
+    }
+
+    @Override
+    protected EnumerationCollector<BigInteger> newCollector(final FormulaFactory f,
+                                                            final SortedSet<Variable> knownVariables,
+                                                            final SortedSet<Variable> dontCareVariablesNotOnSolver,
+                                                            final SortedSet<Variable> additionalVariablesNotOnSolver) {
+        return new ModelStreamingCollector(variableIndex, consumer, dontCareVariablesNotOnSolver);
+    }
+
+    @Override
+    protected BigInteger mergeResults(final FormulaFactory f, final BigInteger result, final BigInteger workerResult) {
+        return result.add(workerResult);
+    }
+
+    /**
+     * The builder for a model streaming function.
+     */
+    public static final class Builder {
+        private final SortedSet<Variable> variables;
+        private final ModelConsumer consumer;
+        private SortedSet<Variable> additionalVariables;
+        private ModelEnumerationConfig configuration;
+
+        /**
+         * Constructs a new model streaming function with the given set of
+         * variables.
+         * @param variables the variables for the enumeration
+         * @param consumer  the consumer for the models
+         */
+        private Builder(final Collection<Variable> variables, final ModelConsumer consumer) {
+            this.variables = new TreeSet<>(variables);
+            this.consumer = consumer;
+        }
+
+        /**
+         * Sets an additional set of variables which should occur in every
+         * model. Only set this field if 'variables' is non-empty.
+         * @param variables the additional variables for each model
+         * @return the current builder
+         */
+        public Builder additionalVariables(final Collection<Variable> variables) {
+            additionalVariables = new TreeSet<>(variables);
+            return this;
+        }
+
+        /**
+         * Sets an additional set of variables which should occur in every
+         * model. Only set this field if 'variables' is non-empty.
+         * @param variables the additional variables for each model
+         * @return the current builder
+         */
+        public Builder additionalVariables(final Variable... variables) {
+            additionalVariables = new TreeSet<>(asList(variables));
+            return this;
+        }
+
+        /**
+         * Sets the configuration for the model enumeration split algorithm.
+         * @param configuration the configuration
+         * @return the current builder
+         */
+        public Builder configuration(final ModelEnumerationConfig configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+
+        /**
+         * Builds the model streaming function with the current builder's
+         * configuration.
+         * @return the model streaming function
+         */
+        public ModelStreamingFunction build() {
+            return new ModelStreamingFunction(variables, additionalVariables, configuration, consumer);
+        }
+    }
+
+    static final class ModelStreamingCollector implements EnumerationCollector<BigInteger> {
+        private final List<Variable> variableIndex;
+        private final ModelConsumer consumer;
+        private final long[] bits;
+        private final int[] dontCarePositions;
+        private final List<LngBooleanVector> uncommittedModels = new ArrayList<>(100);
+        private final List<LngIntVector> uncommittedIndices = new ArrayList<>(100);
+        private int[] solverIndices;
+        private BigInteger committedCount = BigInteger.ZERO;
+
+        ModelStreamingCollector(final List<Variable> variableIndex, final ModelConsumer consumer,
+                                final SortedSet<Variable> dontCareVariablesNotOnSolver) {
+            this.variableIndex = variableIndex;
+            this.consumer = consumer;
+            bits = new long[(variableIndex.size() + 63) >>> 6];
+            final Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < variableIndex.size(); i++) {
+                positions.put(variableIndex.get(i).getName(), i);
+            }
+            dontCarePositions = new int[dontCareVariablesNotOnSolver.size()];
+            int i = 0;
+            for (final Variable var : dontCareVariablesNotOnSolver) {
+                dontCarePositions[i++] = positions.get(var.getName());
+            }
+        }
+
+        @Override
+        public LngEvent addModel(final LngBooleanVector modelFromSolver, final SatSolver solver,
+                                 final LngIntVector relevantAllIndices, final ComputationHandler handler) {
+            if (solverIndices == null) {
+                solverIndices = new int[variableIndex.size()];
+                for (int i = 0; i < solverIndices.length; i++) {
+                    solverIndices[i] = solver.getUnderlyingSolver().idxForName(variableIndex.get(i).getName());
+                }
+            }
+            uncommittedModels.add(modelFromSolver);
+            uncommittedIndices.add(relevantAllIndices);
+            final EnumerationFoundModelsEvent event =
+                    new EnumerationFoundModelsEvent(numberOfModelsForEvent(dontCarePositions.length));
+            return handler.shouldResume(event) ? null : event;
+        }
+
+        @Override
+        public LngEvent commit(final ComputationHandler handler) {
+            if (!uncommittedModels.isEmpty()) {
+                synchronized (consumer) {
+                    for (final LngBooleanVector model : uncommittedModels) {
+                        deliver(model);
+                    }
+                }
+                committedCount = committedCount.add(
+                        BigInteger.valueOf(uncommittedModels.size()).shiftLeft(dontCarePositions.length));
+            }
+            clearUncommitted();
+            return handler.shouldResume(MODEL_ENUMERATION_COMMIT) ? null : MODEL_ENUMERATION_COMMIT;
+        }
+
+        @Override
+        public LngEvent rollback(final ComputationHandler handler) {
+            clearUncommitted();
+            return handler.shouldResume(MODEL_ENUMERATION_ROLLBACK) ? null : MODEL_ENUMERATION_ROLLBACK;
+        }
+
+        @Override
+        public LngResult<List<Model>> rollbackAndReturnModels(final SatSolver solver, final ComputationHandler handler) {
+            final List<Model> modelsToReturn = new ArrayList<>(uncommittedModels.size());
+            for (int i = 0; i < uncommittedModels.size(); i++) {
+                modelsToReturn.add(new Model(solver.getUnderlyingSolver().convertInternalModel(uncommittedModels.get(i),
+                        uncommittedIndices.get(i))));
+            }
+            final LngEvent cancelCause = rollback(handler);
+            return cancelCause == null ? LngResult.of(modelsToReturn) : LngResult.canceled(cancelCause);
+        }
+
+        @Override
+        public BigInteger getResult() {
+            return committedCount;
+        }
+
+        /**
+         * Writes the given model to the bitset and delivers it to the
+         * consumer, once for each assignment of the don't care variables which
+         * are not on the solver. Variables which are not on the solver and no
+         * don't care variables are additional variables and always negative.
+         * @param model the model from the solver
+         */
+        private void deliver(final LngBooleanVector model) {
+            Arrays.fill(bits, 0L);
+            for (int i = 0; i < solverIndices.length; i++) {
+                final int idx = solverIndices[i];
+                if (idx != -1 && model.get(idx)) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+            final long numAssignments = 1L << dontCarePositions.length;
+            for (long assignment = 0; assignment < numAssignments; assignment++) {
+                for (int j = 0; j < dontCarePositions.length; j++) {
+                    final int pos = dontCarePositions[j];
+                    if ((assignment & (1L << j)) != 0) {
+                        bits[pos >>> 6] |= 1L << pos;
+                    } else {
+                        bits[pos >>> 6] &= ~(1L << pos);
+                    }
+                }
+                consumer.accept(variableIndex, bits);
+            }
+        }
+
+        private void clearUncommitted() {
+            uncommittedModels.clear();
+            uncommittedIndices.clear();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.functions;
+
+import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.OPTIMIZATION_FUNCTION_STARTED;
+import static com.booleworks.logicng.solvers.functions.LexicographicOptimizationFunction.terms;
+
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.events.OptimizationFoundBetterBoundEvent;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.SolverState;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A solver function for computing the Pareto front of two objectives on the
+ * formula on the solver. Each objective minimizes or maximizes the number of
+ * satisfied literals of a set of literals.
+ * <p>
+ * The result contains one model for each Pareto-optimal pair of objective
+ * values, i.e. no other model is better in one objective and at least as good
+ * in the other one. The models are sorted by increasing value of the first
+ * objective (decreasing if it is maximized).
+ * <p>
+ * The front is computed by alternating lexicographic optimization: the first
+ * objective is minimized by core-guided lower bounding, the second objective
+ * is minimized under the optimum of the first one, and afterwards the second
+ * objective is bounded below the found value. The lower bound and the
+ * encoding of the first objective are kept over all iterations. Each point of
+ * the front is reported via an {@link OptimizationFoundBetterBoundEvent}.
+ * <p>
+ * If the formula is unsatisfiable, the front is empty.
+ * <p>
+ * Pareto front functions are instantiated via their builder
+ * {@link #builder()}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ParetoFrontFunction implements SolverFunction<List<Model>> {
+
+    protected final List<Collection<? extends Literal>> objectives;
+    protected final List<Boolean> maximize;
+    protected final SortedSet<Variable> resultModelVariables;
+
+    protected ParetoFrontFunction(final List<Collection<? extends Literal>> objectives, final List<Boolean> maximize,
+                                  final Collection<Variable> additionalVariables) {
+        this.objectives = objectives;
+        this.maximize = maximize;
+        resultModelVariables = new TreeSet<>(additionalVariables);
+        for (final Collection<? extends Literal> objective : objectives) {
+            for (final Literal lit : objective) {
+                resultModelVariables.add(lit.variable());
+            }
+        }
+    }
+
+    /**
+     * Returns the builder for this function.
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public LngResult<List<Model>> apply(final SatSolver solver, final ComputationHandler handler) {
+        final SolverState initialState = solver.saveState();
+        final LngResult<List<Model>> front = computeFront(solver, handler);
+        solver.loadState(initialState);
+        return front;
+    }
+
+    protected LngResult<List<Model>> computeFront(final SatSolver solver, final ComputationHandler handler) {
+        if (!handler.shouldResume(OPTIMIZATION_FUNCTION_STARTED)) {
+            return LngResult.canceled(OPTIMIZATION_FUNCTION_STARTED);
+        }
+        final CoreGuidedOptimizer optimizer = new CoreGuidedOptimizer(solver, resultModelVariables);
+        final CoreGuidedOptimizer.Objective first =
+                optimizer.objective(terms(solver, objectives.get(0), maximize.get(0)));
+        final List<Literal> secondTerms = terms(solver, objectives.get(1), maximize.get(1));
+        CoreGuidedOptimizer.Totalizer secondBound = null;
+        final List<Model> front = new ArrayList<>();
+        while (true) {
+            final LngResult<Boolean> firstResult = optimizer.minimize(first, List.of(), handler);
+            if (!firstResult.isSuccess()) {
+                return LngResult.partial(front, firstResult.getCancelCause());
+            } else if (!firstResult.getResult()) {
+                return LngResult.of(front);
+            }
+            final CoreGuidedOptimizer.Objective second = optimizer.objective(secondTerms);
+            final LngResult<Boolean> secondResult = optimizer.minimize(second, optimizer.fix(first), handler);
+            if (!secondResult.isSuccess()) {
+                return LngResult.partial(front, secondResult.getCancelCause());
+            }
+            assert secondResult.getResult();
+            final Model model = optimizer.model();
+            front.add(model);
+            final OptimizationFoundBetterBoundEvent betterBoundEvent =
+                    new OptimizationFoundBetterBoundEvent(() -> model);
+            if (!handler.shouldResume(betterBoundEvent)) {
+                return LngResult.partial(front, betterBoundEvent);
+            }
+            if (second.lowerBound() == 0 || secondTerms.isEmpty()) {
+                return LngResult.of(front);
+            }
+            if (secondBound == null) {
+                secondBound = optimizer.totalizer(secondTerms);
+            }
+            optimizer.addUpperBound(secondBound, second.lowerBound() - 1);
+        }
+    }
+
+    /**
+     * The builder for a Pareto front function.
+     */
+    public static final class Builder {
+        private final List<Collection<? extends Literal>> objectives = new ArrayList<>();
+        private final List<Boolean> maximize = new ArrayList<>();
+        private Collection<Variable> additionalVariables = new TreeSet<>();
+
+        private Builder() {
+            // Initialize only via factory
+        }
+
+        /**
+         * Adds an objective which minimizes the number of satisfied literals
+         * of the given set.
+         * @param literals the set of literals
+         * @return the current builder
+         */
+        public Builder minimize(final Collection<? extends Literal> literals) {
+            objectives.add(literals);
+            maximize.add(false);
+            return this;
+        }
+
+        /**
+         * Adds an objective which minimizes the number of satisfied literals
+         * of the given set.
+         * @param literals the set of literals
+         * @return the current builder
+         */
+        public Builder minimize(final Literal... literals) {
+            return minimize(Arrays.asList(literals));
+        }
+
+        /**
+         * Adds an objective which maximizes the number of satisfied literals
+         * of the given set.
+         * @param literals the set of literals
+         * @return the current builder
+         */
+        public Builder maximize(final Collection<? extends Literal> literals) {
+            objectives.add(literals);
+            maximize.add(true);
+            return this;
+        }
+
+        /**
+         * Adds an objective which maximizes the number of satisfied literals
+         * of the given set.
+         * @param literals the set of literals
+         * @return the current builder
+         */
+        public Builder maximize(final Literal... literals) {
+            return maximize(Arrays.asList(literals));
+        }
+
+        /**
+         * Sets an additional set of variables which should occur in each
+         * resulting model.
+         * @param variables the additional variables for the resulting models
+         * @return the current builder
+         */
+        public Builder additionalVariables(final Collection<Variable> variables) {
+            additionalVariables = variables;
+            return this;
+        }
+
+        /**
+         * Sets an additional set of variables which should occur in each
+         * resulting model.
+         * @param variables the additional variables for the resulting models
+         * @return the current builder
+         */
+        public Builder additionalVariables(final Variable... variables) {
+            additionalVariables = Arrays.asList(variables);
+            return this;
+        }
+
+        /**
+         * Builds the Pareto front function with the current builder's
+         * configuration.
+         * @return the Pareto front function
+         * @throws IllegalArgumentException if not exactly two objectives were
+         *                                  added
+         */
+        public ParetoFrontFunction build() {
+            if (objectives.size() != 2) {
+                throw new IllegalArgumentException("A Pareto front requires exactly two objectives, but " +
+                        objectives.size() + " were given.");
+            }
+            return new ParetoFrontFunction(new ArrayList<>(objectives), new ArrayList<>(maximize),
+                    additionalVariables);
+        }
+    }
+}
@@ -20,14 +20,19 @@ import com.booleworks.logicng.formulas.Literal;
 import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.handlers.ComputationHandler;
 import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.SynchronizedHandler;
 import com.booleworks.logicng.handlers.events.LngEvent;
 import com.booleworks.logicng.solvers.SatSolver;
 import com.booleworks.logicng.solvers.SolverState;
 import com.booleworks.logicng.solvers.functions.SolverFunction;
+import com.booleworks.logicng.solvers.sat.LngCoreSolver;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +47,7 @@ public abstract class AbstractModelEnumerationFunction<RESULT> implements Solver
     protected final SortedSet<Variable> variables;
     protected final SortedSet<Variable> additionalVariables;
     protected final ModelEnumerationStrategy strategy;
+    protected final int parallelism;
 
     protected AbstractModelEnumerationFunction(final SortedSet<Variable> variables,
                                                final SortedSet<Variable> additionalVariables,
@@ -49,6 +55,7 @@ public abstract class AbstractModelEnumerationFunction<RESULT> implements Solver
         this.variables = variables;
         this.additionalVariables = additionalVariables;
         strategy = configuration.strategy == null ? NoSplitModelEnumerationStrategy.get() : configuration.strategy;
+        parallelism = configuration.parallelism;
     }
 
     protected abstract EnumerationCollector<RESULT> newCollector(final FormulaFactory f,
@@ -56,6 +63,27 @@ public abstract class AbstractModelEnumerationFunction<RESULT> implements Solver
                                                                  final SortedSet<Variable> dontCareVariablesNotOnSolver,
                                                                  SortedSet<Variable> additionalVariablesNotOnSolver);
 
+    /**
+     * Merges the result of a worker of a parallel enumeration into the result
+     * of the enumeration. The result of the worker refers to the formula
+     * factory of the worker and has to be imported to the given formula
+     * factory.
+     * <p>
+     * This method is only called for a parallel enumeration, i.e. if the
+     * parallelism of the configuration is greater than 1. Functions which
+     * support a parallel enumeration have to override it, the default
+     * implementation throws an {@link IllegalStateException}.
+     * @param f            the formula factory of the enumeration
+     * @param result       the current result of the enumeration
+     * @param workerResult the result of the worker
+     * @return the merged result
+     * @throws IllegalStateException if the function does not support a
+     *                               parallel enumeration
+     */
+    protected RESULT mergeResults(final FormulaFactory f, final RESULT result, final RESULT workerResult) {
+        throw new IllegalStateException(getClass().getSimpleName() + " does not support a parallel enumeration");
+    }
+
     @Override
     public LngResult<RESULT> apply(final SatSolver solver, final ComputationHandler handler) {
         if (!handler.shouldResume(MODEL_ENUMERATION_STARTED)) {
@@ -71,8 +99,16 @@ public abstract class AbstractModelEnumerationFunction<RESULT> implements Solver
                 knownVariables.stream().filter(variables::contains).collect(Collectors.toCollection(TreeSet::new));
         final SortedSet<Variable> initialSplitVars =
                 nullSafe(() -> strategy.splitVarsForRecursionDepth(enumerationVars, solver, 0), TreeSet::new);
-        final LngEvent cancelCause = enumerateRecursive(collector, solver, new TreeSet<>(), enumerationVars, initialSplitVars, 0, handler);
-        final RESULT result = collector.getResult();
+        final ParallelEnumeration parallel = parallelism > 1 ? new ParallelEnumeration(solver,
+                dontCareVariablesNotOnSolver, additionalVarsNotOnSolver, handler) : null;
+        final LngEvent cancelCause = enumerateRecursive(collector, solver, new TreeSet<>(), enumerationVars,
+                initialSplitVars, 0, parallel, parallel == null ? handler : parallel.handler);
+        RESULT result = collector.getResult();
+        if (parallel != null) {
+            for (final EnumerationCollector<RESULT> workerCollector : parallel.collectors) {
+                result = mergeResults(solver.getFactory(), result, workerCollector.getResult());
+            }
+        }
         if (cancelCause == null) {
             return LngResult.of(result);
         } else {
@@ -82,11 +118,12 @@ public abstract class AbstractModelEnumerationFunction<RESULT> implements Solver
 
     private LngEvent enumerateRecursive(final EnumerationCollector<RESULT> collector, final SatSolver solver,
                                         final SortedSet<Literal> splitModel, final SortedSet<Variable> enumerationVars,
-                                        final SortedSet<Variable> splitVars, final int recursionDepth, final ComputationHandler handler) {
+                                        final SortedSet<Variable> splitVars, final int recursionDepth,
+                                        final ParallelEnumeration parallel, final ComputationHandler handler) {
         final int maxNumberOfModelsForEnumeration = strategy.maxNumberOfModelsForEnumeration(recursionDepth);
         final SolverState state = solver.saveState();
         solver.add(splitModel);
-        final LngResult<Boolean> enumerationSucceeded = enumerate(collector, solver, enumerationVars,
+        final LngResult<Boolean> enumerationSucceeded = enumerateStep(collector, solver, enumerationVars,
                 additionalVariables, maxNumberOfModelsForEnumeration, handler);
         if (!enumerationSucceeded.isSuccess()) {
             collector.commit(handler);
@@ -102,7 +139,7 @@ public abstract class AbstractModelEnumerationFunction<RESULT> implements Solver
             final int maxNumberOfModelsForSplitAssignments =
                     strategy.maxNumberOfModelsForSplitAssignments(recursionDepth);
             while (true) {
-                final LngResult<Boolean> enumerationForSplit = enumerate(
+                final LngResult<Boolean> enumerationForSplit = enumerateStep(
                         collector, solver, newSplitVars, null, maxNumberOfModelsForSplitAssignments, handler);
                 if (!enumerationForSplit.isSuccess()) {
                     solver.loadState(state);
@@ -133,11 +170,16 @@ public abstract class AbstractModelEnumerationFunction<RESULT> implements Solver
             }
             final SortedSet<Variable> recursiveSplitVars =
                     strategy.splitVarsForRecursionDepth(remainingVars, solver, recursionDepth + 1);
+            if (parallel != null && newSplitResult.getPartialResult().size() > 1) {
+                solver.loadState(state);
+                return parallel.enumerate(newSplitResult.getPartialResult(), splitModel, enumerationVars,
+                        recursiveSplitVars, recursionDepth + 1);
+            }
             for (final Model newSplitAssignment : newSplitResult.getPartialResult()) {
                 final SortedSet<Literal> recursiveSplitModel = new TreeSet<>(newSplitAssignment.getLiterals());
                 recursiveSplitModel.addAll(splitModel);
                 enumerateRecursive(collector, solver, recursiveSplitModel, enumerationVars, recursiveSplitVars,
-                        recursionDepth + 1, handler);
+                        recursionDepth + 1, null, handler);
                 final LngEvent commitEvent = collector.commit(handler);
                 if (commitEvent != null) {
                     solver.loadState(state);
@@ -155,6 +197,17 @@ public abstract class AbstractModelEnumerationFunction<RESULT> implements Solver
         return null;
     }
 
+    private LngResult<Boolean> enumerateStep(final EnumerationCollector<RESULT> collector, final SatSolver solver,
+                                             final SortedSet<Variable> variables,
+                                             final SortedSet<Variable> additionalVariables, final int maxModels,
+                                             final ComputationHandler handler) {
+        if (strategy instanceof BacktrackingModelEnumerationStrategy) {
+            return enumerateByBacktracking(collector, solver, variables, additionalVariables, maxModels,
+                    ((BacktrackingModelEnumerationStrategy) strategy).shrinkModels(), handler);
+        }
+        return enumerate(collector, solver, variables, additionalVariables, maxModels, handler);
+    }
+
     protected static <R> LngResult<Boolean> enumerate(final EnumerationCollector<R> collector, final SatSolver solver,
                                                       final SortedSet<Variable> variables,
                                                       final SortedSet<Variable> additionalVariables, final int maxModels,
@@ -184,6 +237,52 @@ public abstract class AbstractModelEnumerationFunction<RESULT> implements Solver
         return cancelCause == null ? LngResult.of(true) : LngResult.canceled(cancelCause);
     }
 
+    protected static <R> LngResult<Boolean> enumerateByBacktracking(final EnumerationCollector<R> collector,
+                                                                    final SatSolver solver,
+                                                                    final SortedSet<Variable> variables,
+                                                                    final SortedSet<Variable> additionalVariables,
+                                                                    final int maxModels, final boolean shrinkModels,
+                                                                    final ComputationHandler handler) {
+        final SolverState stateBeforeEnumeration = solver.saveState();
+        final LngIntVector relevantIndices = relevantIndicesFromSolver(variables, solver);
+        final LngIntVector relevantAllIndices =
+                relevantAllIndicesFromSolver(variables, additionalVariables, relevantIndices, solver);
+        final LngIntVector projectedIndices = new LngIntVector(relevantIndices.size());
+        for (int i = 0; i < relevantIndices.size(); i++) {
+            if (relevantIndices.get(i) != -1) {
+                projectedIndices.push(relevantIndices.get(i));
+            }
+        }
+        final LngCoreSolver underlyingSolver = solver.getUnderlyingSolver();
+        underlyingSolver.startEnumeration(projectedIndices, shrinkModels);
+        int foundModels = 0;
+        boolean tooManyModels = false;
+        LngEvent cancelCause = null;
+        try {
+            while (cancelCause == null) {
+                final LngResult<Boolean> next = underlyingSolver.nextEnumerationModel(handler);
+                if (!next.isSuccess()) {
+                    cancelCause = next.getCancelCause();
+                } else if (!next.getResult()) {
+                    break;
+                } else if (++foundModels >= maxModels) {
+                    tooManyModels = true;
+                    break;
+                } else {
+                    cancelCause = collector.addCube(underlyingSolver.model(), underlyingSolver.enumerationDontCares(),
+                            solver, relevantAllIndices, handler);
+                }
+            }
+        } finally {
+            underlyingSolver.finishEnumeration();
+        }
+        solver.loadState(stateBeforeEnumeration);
+        if (tooManyModels) {
+            return LngResult.of(false);
+        }
+        return cancelCause == null ? LngResult.of(true) : LngResult.canceled(cancelCause);
+    }
+
     private static boolean modelEnumerationSatCall(final SatSolver solver, final ComputationHandler handler) {
         final LngResult<Boolean> sat = solver.satCall().handler(handler).sat();
         return sat.isSuccess() && sat.getResult();
@@ -200,4 +299,81 @@ public abstract class AbstractModelEnumerationFunction<RESULT> implements Solver
                 : config;
     }
 
+    /**
+     * The parallel enumeration of split assignments. Each split assignment is
+     * a task of a work-stealing pool. Each thread of the pool lazily creates
+     * its own worker, consisting of a formula factory, a copy of the solver,
+     * and a collector. The collectors of all workers are merged after the
+     * enumeration. All workers share a synchronized handler.
+     */
+    private final class ParallelEnumeration {
+        private final SatSolver solver;
+        private final SortedSet<Variable> dontCareVariablesNotOnSolver;
+        private final SortedSet<Variable> additionalVariablesNotOnSolver;
+        private final SynchronizedHandler handler;
+        private final List<EnumerationCollector<RESULT>> collectors = new ArrayList<>();
+
+        private ParallelEnumeration(final SatSolver solver, final SortedSet<Variable> dontCareVariablesNotOnSolver,
+                                    final SortedSet<Variable> additionalVariablesNotOnSolver,
+                                    final ComputationHandler handler) {
+            this.solver = solver;
+            this.dontCareVariablesNotOnSolver = dontCareVariablesNotOnSolver;
+            this.additionalVariablesNotOnSolver = additionalVariablesNotOnSolver;
+            this.handler = new SynchronizedHandler(handler);
+        }
+
+        private LngEvent enumerate(final List<Model> splitAssignments, final SortedSet<Literal> splitModel,
+                                   final SortedSet<Variable> enumerationVars, final SortedSet<Variable> splitVars,
+                                   final int recursionDepth) {
+            final int numWorkers = Math.min(parallelism, splitAssignments.size());
+            final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+            final ForkJoinPool pool = new ForkJoinPool(numWorkers);
+            try {
+                final List<ForkJoinTask<?>> tasks = new ArrayList<>(splitAssignments.size());
+                for (final Model splitAssignment : splitAssignments) {
+                    tasks.add(pool.submit(() -> {
+                        if (handler.getCancelCause() == null) {
+                            final Worker worker = workers.get();
+                            final SortedSet<Literal> workerSplitModel = new TreeSet<>();
+                            for (final Literal lit : splitAssignment.getLiterals()) {
+                                workerSplitModel.add(worker.f.literal(lit.getName(), lit.getPhase()));
+                            }
+                            for (final Literal lit : splitModel) {
+                                workerSplitModel.add(worker.f.literal(lit.getName(), lit.getPhase()));
+                            }
+                            enumerateRecursive(worker.collector, worker.solver, workerSplitModel, enumerationVars,
+                                    splitVars, recursionDepth, null, handler);
+                            worker.collector.commit(handler);
+                        }
+                    }));
+                }
+                for (final ForkJoinTask<?> task : tasks) {
+                    task.join();
+                }
+            } finally {
+                pool.shutdown();
+            }
+            return handler.getCancelCause();
+        }
+
+        private final class Worker {
+            private final FormulaFactory f = FormulaFactory.caching();
+            private final SatSolver solver;
+            private final EnumerationCollector<RESULT> collector;
+
+            private Worker() {
+                solver = new SatSolver(f, ParallelEnumeration.this.solver.getUnderlyingSolver().copy(f));
+                collector = newCollector(f, solver.getUnderlyingSolver().knownVariables(),
+                        importVariables(f, dontCareVariablesNotOnSolver),
+                        importVariables(f, additionalVariablesNotOnSolver));
+                synchronized (collectors) {
+                    collectors.add(collector);
+                }
+            }
+        }
+    }
+
+    private static SortedSet<Variable> importVariables(final FormulaFactory f, final SortedSet<Variable> variables) {
+        return variables.stream().map(v -> f.variable(v.getName())).collect(Collectors.toCollection(TreeSet::new));
+    }
 }
@@ -0,0 +1,135 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.functions.modelenumeration;
+
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.sat.LngCoreSolver;
+
+import java.util.Collection;
+import java.util.SortedSet;
+
+/**
+ * A strategy for the model enumeration which enumerates the models of each
+ * enumeration step by chronological backtracking inside the SAT solver (see
+ * {@link LngCoreSolver#startEnumeration}) instead of solving the formula again
+ * for each model and adding a blocking clause for it.
+ * <p>
+ * Since no blocking clauses are added to the solver, its clause database does
+ * not grow with the number of models and learnt clauses and variable
+ * activities are kept between the models. If {@link #shrinkModels} is set, the
+ * models are shrunk to partial assignments of the enumeration variables which
+ * are passed as cubes to the collector of the enumeration function. Thereby a
+ * single solver model can cover an exponential number of models. Model counts
+ * and BDDs are computed from the cubes directly, only an enumeration of the
+ * complete models expands them.
+ * <p>
+ * The split behaviour is delegated to another strategy, the default is
+ * {@link NoSplitModelEnumerationStrategy}. Note that the maximum number of
+ * models of the delegate refers to the models found by the solver, i.e. the
+ * partial models before their expansion.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class BacktrackingModelEnumerationStrategy implements ModelEnumerationStrategy {
+
+    protected final ModelEnumerationStrategy splitStrategy;
+    protected final boolean shrinkModels;
+
+    /**
+     * Constructs a new backtracking model enumeration strategy.
+     * @param splitStrategy the strategy to which the split behaviour is
+     *                      delegated
+     * @param shrinkModels  whether the models found by the solver should be
+     *                      shrunk to partial assignments
+     */
+    protected BacktrackingModelEnumerationStrategy(final ModelEnumerationStrategy splitStrategy,
+                                                   final boolean shrinkModels) {
+        this.splitStrategy = splitStrategy;
+        this.shrinkModels = shrinkModels;
+    }
+
+    /**
+     * Returns a new builder for the strategy.
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns whether the models found by the solver are shrunk to partial
+     * assignments.
+     * @return whether the models found by the solver are shrunk
+     */
+    public boolean shrinkModels() {
+        return shrinkModels;
+    }
+
+    @Override
+    public int maxNumberOfModelsForEnumeration(final int recursionDepth) {
+        return splitStrategy.maxNumberOfModelsForEnumeration(recursionDepth);
+    }
+
+    @Override
+    public int maxNumberOfModelsForSplitAssignments(final int recursionDepth) {
+        return splitStrategy.maxNumberOfModelsForSplitAssignments(recursionDepth);
+    }
+
+    @Override
+    public SortedSet<Variable> splitVarsForRecursionDepth(final Collection<Variable> variables, final SatSolver solver,
+                                                          final int recursionDepth) {
+        return splitStrategy.splitVarsForRecursionDepth(variables, solver, recursionDepth);
+    }
+
+    @Override
+    public SortedSet<Variable> reduceSplitVars(final Collection<Variable> variables, final int recursionDepth) {
+        return splitStrategy.reduceSplitVars(variables, recursionDepth);
+    }
+
+    /**
+     * The builder for a backtracking model enumeration strategy.
+     * @version 3.0.0
+     * @since 3.0.0
+     */
+    public static class Builder {
+        private ModelEnumerationStrategy splitStrategy = NoSplitModelEnumerationStrategy.get();
+        private boolean shrinkModels = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the strategy to which the split behaviour is delegated. The
+         * default is {@link NoSplitModelEnumerationStrategy}.
+         * @param splitStrategy the split strategy
+         * @return the builder
+         */
+        public Builder splitStrategy(final ModelEnumerationStrategy splitStrategy) {
+            this.splitStrategy = splitStrategy;
+            return this;
+        }
+
+        /**
+         * Sets whether the models found by the solver should be shrunk to
+         * partial assignments. Models are never shrunk on solvers with
+         * cardinality constraints. The default is {@code true}.
+         * @param shrinkModels whether the models should be shrunk
+         * @return the builder
+         */
+        public Builder shrinkModels(final boolean shrinkModels) {
+            this.shrinkModels = shrinkModels;
+            return this;
+        }
+
+        /**
+         * Returns the strategy.
+         * @return the strategy
+         */
+        public BacktrackingModelEnumerationStrategy build() {
+            return new BacktrackingModelEnumerationStrategy(splitStrategy, shrinkModels);
+        }
+    }
+}
@@ -4,6 +4,9 @@
 
 package com.booleworks.logicng.solvers.functions.modelenumeration;
 
+import static com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationCommon.assignDontCares;
+import static com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationCommon.checkExpandable;
+
 import com.booleworks.logicng.collections.LngBooleanVector;
 import com.booleworks.logicng.collections.LngIntVector;
 import com.booleworks.logicng.datastructures.Model;
@@ -43,6 +46,45 @@ public interface EnumerationCollector<RESULT> {
     LngEvent addModel(LngBooleanVector modelFromSolver, SatSolver solver, LngIntVector relevantAllIndices,
                       ComputationHandler handler);
 
+    /**
+     * Add a cube to the enumeration collector, i.e. a model from the solver
+     * in which the variables with the given solver indices are don't care
+     * variables. The cube represents all models which result from any
+     * assignment of its don't care variables.
+     * <p>
+     * The default implementation adds each model of the cube by
+     * {@link #addModel(LngBooleanVector, SatSolver, LngIntVector, ComputationHandler)}.
+     * Collectors which can represent a cube without expanding it should
+     * override this method.
+     * @param cube               the cube from the solver, the values of the
+     *                           don't care variables are ignored
+     * @param dontCares          the solver indices of the don't care
+     *                           variables, the vector may be reused by the
+     *                           solver after this call
+     * @param solver             the solver
+     * @param relevantAllIndices the relevant indices
+     * @param handler            the model enumeration handler
+     * @return an event if the handler canceled the computation,
+     *         otherwise {@code null}
+     * @throws IllegalStateException if the cube has to be expanded and has 63
+     *                               or more don't care variables
+     */
+    default LngEvent addCube(final LngBooleanVector cube, final LngIntVector dontCares, final SatSolver solver,
+                             final LngIntVector relevantAllIndices, final ComputationHandler handler) {
+        if (dontCares.isEmpty()) {
+            return addModel(cube, solver, relevantAllIndices, handler);
+        }
+        checkExpandable(dontCares);
+        for (long assignment = 0; assignment < 1L << dontCares.size(); assignment++) {
+            final LngEvent cancelCause =
+                    addModel(assignDontCares(cube, dontCares, assignment), solver, relevantAllIndices, handler);
+            if (cancelCause != null) {
+                return cancelCause;
+            }
+        }
+        return null;
+    }
+
     /**
      * All founds models since the last commit call are confirmed and cannot be
      * rolled back.
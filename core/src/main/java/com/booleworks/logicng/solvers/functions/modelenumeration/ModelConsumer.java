@@ -0,0 +1,37 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.functions.modelenumeration;
+
+import com.booleworks.logicng.datastructures.CompactModel;
+import com.booleworks.logicng.formulas.Variable;
+
+import java.util.List;
+
+/**
+ * A consumer for models of a streaming model enumeration.
+ * <p>
+ * Each model is delivered as a bitset over a fixed variable index: the i-th
+ * bit of the bitset is the phase of the i-th variable of the index. The index
+ * and the bitset are the same objects for each call, so the consumer must not
+ * keep a reference to the bitset. A model which should outlive the call can
+ * be copied, e.g. via {@code new CompactModel(variables, bits.clone())}.
+ * <p>
+ * The enumeration waits until the consumer returns, so a slow consumer
+ * automatically throttles the enumeration.
+ * @version 3.0.0
+ * @since 3.0.0
+ * @see CompactModel
+ */
+@FunctionalInterface
+public interface ModelConsumer {
+
+    /**
+     * Consumes a model.
+     * @param variables the variable index of the enumeration
+     * @param bits      the bitset with the phases of the variables, reused for
+     *                  the next model
+     */
+    void accept(List<Variable> variables, long[] bits);
+}
@@ -10,7 +10,9 @@ import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.solvers.SatSolver;
 
 import java.util.Collection;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -117,4 +119,91 @@ public interface ModelEnumerationCommon {
         }
         return relevantAllIndices;
     }
+
+    /**
+     * Returns the given relevant indices without the don't care variables of
+     * a cube. The indices of the don't care variables are replaced by
+     * {@code -1}, such that the cube can be converted by
+     * {@link com.booleworks.logicng.solvers.sat.LngCoreSolver#convertInternalModel(LngBooleanVector, LngIntVector)
+     * convertInternalModel} to its literals.
+     * @param relevantAllIndices the relevant indices
+     * @param dontCares          the solver indices of the don't care variables
+     * @return the relevant indices without the don't care variables
+     */
+    static LngIntVector cubeIndices(final LngIntVector relevantAllIndices, final LngIntVector dontCares) {
+        final LngIntVector cubeIndices = new LngIntVector(relevantAllIndices);
+        for (int i = 0; i < cubeIndices.size(); i++) {
+            for (int j = 0; j < dontCares.size(); j++) {
+                if (cubeIndices.get(i) == dontCares.get(j)) {
+                    cubeIndices.set(i, -1);
+                    break;
+                }
+            }
+        }
+        return cubeIndices;
+    }
+
+    /**
+     * Expands a cube from the solver to all of its models, i.e. to all
+     * assignments of its don't care variables.
+     * @param cube      the cube from the solver, the values of the don't care
+     *                  variables are ignored
+     * @param dontCares the solver indices of the don't care variables
+     * @return the models of the cube
+     * @throws IllegalStateException if the cube has 63 or more don't care
+     *                               variables
+     */
+    static List<LngBooleanVector> expandCube(final LngBooleanVector cube, final LngIntVector dontCares) {
+        checkExpandable(dontCares);
+        final List<LngBooleanVector> models = new ArrayList<>();
+        for (long assignment = 0; assignment < 1L << dontCares.size(); assignment++) {
+            models.add(assignDontCares(cube, dontCares, assignment));
+        }
+        return models;
+    }
+
+    /**
+     * Returns a copy of the given cube in which the don't care variables are
+     * assigned by the bits of the given assignment.
+     * @param cube       the cube from the solver
+     * @param dontCares  the solver indices of the don't care variables
+     * @param assignment the assignment, bit {@code i} is the value of the
+     *                   {@code i}-th don't care variable
+     * @return the model of the cube for the assignment
+     */
+    static LngBooleanVector assignDontCares(final LngBooleanVector cube, final LngIntVector dontCares,
+                                            final long assignment) {
+        final LngBooleanVector model = new LngBooleanVector(cube);
+        for (int i = 0; i < dontCares.size(); i++) {
+            model.set(dontCares.get(i), (assignment >>> i & 1) == 1);
+        }
+        return model;
+    }
+
+    /**
+     * Checks that a cube with the given don't care variables can be expanded
+     * to its models, i.e. that the number of its models fits into a
+     * {@code long}.
+     * @param dontCares the solver indices of the don't care variables
+     * @throws IllegalStateException if there are 63 or more don't care
+     *                               variables
+     */
+    static void checkExpandable(final LngIntVector dontCares) {
+        if (dontCares.size() >= 63) {
+            throw new IllegalStateException("Cannot expand a cube with " + dontCares.size() +
+                    " don't care variables to its models");
+        }
+    }
+
+    /**
+     * Returns the number of models of a cube with the given number of don't
+     * care variables for an
+     * {@link com.booleworks.logicng.handlers.events.EnumerationFoundModelsEvent}.
+     * The number is clamped to {@link Integer#MAX_VALUE}.
+     * @param numberOfDontCares the number of don't care variables
+     * @return the number of models, at most {@link Integer#MAX_VALUE}
+     */
+    static int numberOfModelsForEvent(final int numberOfDontCares) {
+        return numberOfDontCares >= 31 ? Integer.MAX_VALUE : 1 << numberOfDontCares;
+    }
 }
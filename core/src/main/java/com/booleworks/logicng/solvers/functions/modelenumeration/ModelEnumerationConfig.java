@@ -17,6 +17,7 @@ import com.booleworks.logicng.solvers.functions.modelenumeration.splitprovider.M
 public final class ModelEnumerationConfig extends Configuration {
 
     final ModelEnumerationStrategy strategy;
+    final int parallelism;
 
     /**
      * Constructs a new configuration with a given type.
@@ -25,6 +26,7 @@ public final class ModelEnumerationConfig extends Configuration {
     private ModelEnumerationConfig(final Builder builder) {
         super(ConfigurationType.MODEL_ENUMERATION);
         strategy = builder.strategy;
+        parallelism = builder.parallelism;
     }
 
     /**
@@ -42,6 +44,7 @@ public final class ModelEnumerationConfig extends Configuration {
      */
     public final static class Builder {
         private ModelEnumerationStrategy strategy = DefaultModelEnumerationStrategy.builder().build();
+        private int parallelism = 1;
 
         private Builder() {
             // Initialize only via factory
@@ -63,6 +66,31 @@ public final class ModelEnumerationConfig extends Configuration {
             return this;
         }
 
+        /**
+         * Sets the number of worker threads for the enumeration. The default
+         * is {@code 1}, i.e. the enumeration is performed sequentially.
+         * <p>
+         * With a parallelism greater than one, the split assignments of the
+         * first recursion step of the strategy are enumerated in parallel on
+         * copies of the solver in a work-stealing pool. Each worker collects
+         * its models separately and the results of the workers are merged at
+         * the end. Therefore, the strategy must split the enumeration (e.g.
+         * {@link DefaultModelEnumerationStrategy}) and must be thread-safe for
+         * recursion depths greater than zero. The events of all workers are
+         * passed synchronized to the handler, and a cancellation stops all
+         * workers.
+         * @param parallelism the number of worker threads
+         * @return the current builder
+         * @throws IllegalArgumentException if the parallelism is less than 1
+         */
+        public Builder parallelism(final int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("The parallelism must be at least 1: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
         /**
          * Builds the model enumeration configuration with the current builder's
          * configuration.
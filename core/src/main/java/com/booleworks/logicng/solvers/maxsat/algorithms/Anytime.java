@@ -0,0 +1,267 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.maxsat.algorithms;
+
+import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Verbosity;
+
+import com.booleworks.logicng.collections.LngBooleanVector;
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.events.LngEvent;
+import com.booleworks.logicng.solvers.MaxSatResult;
+import com.booleworks.logicng.solvers.datastructures.LngSoftClause;
+import com.booleworks.logicng.solvers.maxsat.encodings.Encoder;
+import com.booleworks.logicng.solvers.sat.LngCoreSolver;
+
+/**
+ * Anytime solver which combines core-guided lower bounding with
+ * solution-improving search.
+ * <p>
+ * The solver first computes a solution with the SAT solver. Then the
+ * {@link Oll} algorithm runs on a copy of the formula for a limited number of
+ * conflicts and either proves the optimum or provides a lower bound.
+ * Afterwards, a linear SAT-UNSAT search constrains the cost to be lower than
+ * the best solution until the constraint becomes unsatisfiable or the best
+ * solution reaches the lower bound. Each solution is improved by the
+ * {@link SatLike} local search and the phases of the SAT solver are set to the
+ * best solution. Every new upper bound is reported to the handler, and if the
+ * handler cancels the computation, the best solution is available as partial
+ * result.
+ * <p>
+ * Based on "Core-Boosted Linear Search for Incomplete MaxSAT" by Berg,
+ * Demirović, and Stuckey.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class Anytime extends MaxSat {
+
+    protected static final long LOCAL_SEARCH_SEED = 42;
+
+    protected SatLike localSearch;
+
+    /**
+     * Constructs a new solver with a given configuration.
+     * @param f      the formula factory
+     * @param config the configuration
+     */
+    public Anytime(final FormulaFactory f, final MaxSatConfig config) {
+        super(f, config);
+    }
+
+    @Override
+    protected LngResult<MaxSatResult> internalSearch(final ComputationHandler handler) {
+        encoder = new Encoder(config.cardinalityEncoding);
+        encoder.setPbEncoding(config.pbEncoding);
+        nbInitialVariables = nVars();
+        localSearch = config.localSearchFlips > 0
+                      ? new SatLike(nbInitialVariables, hardClauses, softClauses, LOCAL_SEARCH_SEED)
+                      : null;
+        final LngIntVector objFunction = new LngIntVector();
+        final LngIntVector coeffs = new LngIntVector();
+        initRelaxation(objFunction, coeffs);
+        final LngCoreSolver solver = rebuildSolver();
+        final LngResult<Boolean> res = searchSatSolver(solver, handler);
+        if (!res.isSuccess()) {
+            return LngResult.canceled(res.getCancelCause());
+        } else if (!res.getResult()) {
+            nbCores++;
+            return unsat();
+        }
+        nbSatisfiable++;
+        final LngEvent upperBoundEvent = improve(solver, solver.model(), handler);
+        if (upperBoundEvent != null) {
+            return LngResult.canceled(upperBoundEvent);
+        }
+        if (ubCost == 0) {
+            return optimum();
+        }
+        final LngEvent lowerBoundEvent = coreGuidedPhase(solver, handler);
+        if (lowerBoundEvent != null) {
+            return LngResult.canceled(lowerBoundEvent);
+        }
+        return linearSearch(solver, objFunction, coeffs, handler);
+    }
+
+    /**
+     * Computes a lower bound with the {@link Oll} algorithm on a copy of the
+     * formula within the conflict budget of the core-guided phase. If the
+     * algorithm finishes within the budget, the lower bound is the optimum.
+     * @param solver  the SAT solver of the solution-improving phase
+     * @param handler the handler
+     * @return the event if the handler canceled the computation, otherwise
+     * {@code null}
+     */
+    protected LngEvent coreGuidedPhase(final LngCoreSolver solver, final ComputationHandler handler) {
+        if (config.coreGuidedConflictBudget == 0) {
+            return null;
+        }
+        final Oll oll = new Oll(f, config.cardinalityEncoding == MaxSatConfig.CardinalityEncoding.TOTALIZER
+                                   ? config
+                                   : new MaxSatConfig(config, MaxSatConfig.CardinalityEncoding.TOTALIZER));
+        copyFormula(oll);
+        final ConflictBudgetHandler budgetHandler = new ConflictBudgetHandler(handler, config.coreGuidedConflictBudget);
+        final LngResult<MaxSatResult> result = oll.internalSearch(budgetHandler);
+        nbCores += oll.nbCores;
+        sumSizeCores += oll.sumSizeCores;
+        nbSatisfiable += oll.nbSatisfiable;
+        nbHardenedSoftClauses += oll.nbHardenedSoftClauses;
+        nbMinimizedCoreLiterals += oll.nbMinimizedCoreLiterals;
+        nbExhaustedCores += oll.nbExhaustedCores;
+        nbStratificationLevels += oll.nbStratificationLevels;
+        if (result.isSuccess() || budgetHandler.budgetExceeded) {
+            lbCost = result.isSuccess() ? result.getResult().getUnsatisfiedWeight() : oll.lbCost;
+        }
+        if (!oll.model.isEmpty()) {
+            final LngEvent upperBoundEvent = improve(solver, oll.model, handler);
+            if (upperBoundEvent != null) {
+                return upperBoundEvent;
+            }
+        }
+        if (!result.isSuccess() && !budgetHandler.budgetExceeded) {
+            return result.getCancelCause();
+        }
+        if (verbosity != Verbosity.NONE) {
+            output.println("c LB : " + lbCost);
+        }
+        return foundLowerBound(lbCost, handler);
+    }
+
+    /**
+     * Linear SAT-UNSAT search which constrains the cost of the next solution
+     * to be lower than the cost of the best solution.
+     * @param solver      the SAT solver
+     * @param objFunction the relaxation literals of the soft clauses
+     * @param coeffs      the weights of the soft clauses
+     * @param handler     the handler
+     * @return the optimum or the cancel cause of the handler
+     */
+    protected LngResult<MaxSatResult> linearSearch(final LngCoreSolver solver, final LngIntVector objFunction,
+                                                   final LngIntVector coeffs, final ComputationHandler handler) {
+        while (true) {
+            final int bound = sharedUpperBound(ubCost);
+            if (lbCost >= bound) {
+                break;
+            }
+            if (problemType == ProblemType.WEIGHTED) {
+                if (!encoder.hasPbEncoding()) {
+                    encoder.encodePb(solver, objFunction, coeffs, bound - 1);
+                } else {
+                    encoder.updatePb(solver, bound - 1);
+                }
+            } else {
+                if (!encoder.hasCardEncoding()) {
+                    encoder.encodeCardinality(solver, objFunction, bound - 1);
+                } else {
+                    encoder.updateCardinality(solver, bound - 1);
+                }
+            }
+            final LngResult<Boolean> res = searchSatSolver(solver, handler);
+            if (!res.isSuccess()) {
+                return LngResult.canceled(res.getCancelCause());
+            } else if (!res.getResult()) {
+                nbCores++;
+                break;
+            }
+            nbSatisfiable++;
+            final LngEvent upperBoundEvent = improve(solver, solver.model(), handler);
+            if (upperBoundEvent != null) {
+                return LngResult.canceled(upperBoundEvent);
+            }
+        }
+        return optimum();
+    }
+
+    /**
+     * Saves a solution if it is better than the current best solution and
+     * improves it with the local search. Each new best solution is reported
+     * to the handler and used as phases of the SAT solver.
+     * @param solver   the SAT solver
+     * @param solution the solution
+     * @param handler  the handler
+     * @return the event if the handler canceled the computation, otherwise
+     * {@code null}
+     */
+    protected LngEvent improve(final LngCoreSolver solver, final LngBooleanVector solution,
+                               final ComputationHandler handler) {
+        final int cost = computeCostModel(solution, Integer.MAX_VALUE);
+        if (model.isEmpty() || cost < ubCost) {
+            final LngEvent upperBoundEvent = newBestSolution(solver, solution, cost, handler);
+            if (upperBoundEvent != null) {
+                return upperBoundEvent;
+            }
+        }
+        if (localSearch == null || ubCost <= lbCost) {
+            return null;
+        }
+        final LngResult<Boolean> res = localSearch.search(solution, ubCost, lbCost, config.localSearchFlips, handler);
+        final LngEvent upperBoundEvent = localSearch.bestCost() < ubCost
+                                         ? newBestSolution(solver, localSearch.bestModel(),
+                                                 (int) localSearch.bestCost(), handler)
+                                         : null;
+        return res.isSuccess() ? upperBoundEvent : res.getCancelCause();
+    }
+
+    /**
+     * Saves a new best solution, sets the phases of the SAT solver to the
+     * solution, and reports the new upper bound to the handler.
+     * @param solver   the SAT solver
+     * @param solution the solution
+     * @param cost     the cost of the solution
+     * @param handler  the handler
+     * @return the event if the handler canceled the computation, otherwise
+     * {@code null}
+     */
+    protected LngEvent newBestSolution(final LngCoreSolver solver, final LngBooleanVector solution, final int cost,
+                                       final ComputationHandler handler) {
+        saveModel(solution);
+        ubCost = cost;
+        for (int i = 0; i < nbInitialVariables; i++) {
+            solver.getVariables().get(i).setPolarity(!solution.get(i));
+        }
+        if (verbosity != Verbosity.NONE) {
+            output.println("o " + ubCost);
+        }
+        return foundUpperBound(ubCost, handler);
+    }
+
+    /**
+     * Rebuilds a SAT solver with the current MaxSAT formula.
+     * @return the rebuilt solver
+     */
+    protected LngCoreSolver rebuildSolver() {
+        final LngCoreSolver s = newSatSolver();
+        for (int i = 0; i < nVars(); i++) {
+            newSatVariable(s);
+        }
+        for (int i = 0; i < hardClauses.size(); i++) {
+            s.addClause(hardClauses.get(i).clause(), null);
+        }
+        for (int i = 0; i < softClauses.size(); i++) {
+            final LngIntVector clause = new LngIntVector(softClauses.get(i).clause());
+            for (int j = 0; j < softClauses.get(i).relaxationVars().size(); j++) {
+                clause.push(softClauses.get(i).relaxationVars().get(j));
+            }
+            s.addClause(clause, null);
+        }
+        return s;
+    }
+
+    /**
+     * Initializes the relaxation variables by adding a fresh variable to the
+     * 'relaxationVars' of each soft clause.
+     * @param objFunction the relaxation literals
+     * @param coeffs      the weights of the soft clauses
+     */
+    protected void initRelaxation(final LngIntVector objFunction, final LngIntVector coeffs) {
+        for (final LngSoftClause softClause : softClauses) {
+            final int l = newLiteral(false);
+            softClause.relaxationVars().push(l);
+            objFunction.push(l);
+            coeffs.push(softClause.weight());
+        }
+    }
+}
@@ -0,0 +1,403 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.maxsat.algorithms;
+
+import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Verbosity;
+
+import com.booleworks.logicng.collections.LngBooleanVector;
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.collections.LngVector;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.events.LngEvent;
+import com.booleworks.logicng.solvers.MaxSatResult;
+import com.booleworks.logicng.solvers.datastructures.LngHardClause;
+import com.booleworks.logicng.solvers.datastructures.LngSoftClause;
+import com.booleworks.logicng.solvers.maxsat.encodings.Encoder;
+import com.booleworks.logicng.solvers.sat.LngCoreSolver;
+import com.booleworks.logicng.util.Pair;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Incremental OLL solver.
+ * <p>
+ * In contrast to all other algorithms, this solver keeps its SAT solver
+ * between two calls of {@link #search}. Hard and soft clauses which were added
+ * since the last call are added to the existing SAT solver, such that its
+ * learnt clauses, the cores found so far, their totalizer encodings, and the
+ * lower bound derived from them are reused. This is sound since adding clauses
+ * cannot invalidate a core. The best model of the last call is reused as
+ * upper bound if it still satisfies all hard clauses. Only if a state is
+ * loaded which removes clauses that were already added to the SAT solver, the
+ * solver is rebuilt on the next call.
+ * <p>
+ * The assumptions of {@link #search(ComputationHandler, LngIntVector)} are
+ * passed to the SAT solver as assumptions. Cores found under assumptions may
+ * depend on them, so in this case the solver works on a copy of the objective
+ * and the next call starts again from the cores found without assumptions.
+ * <p>
+ * Based on "Unsatisfiability-based optimization in clasp*" by Andres, Kaufmann,
+ * Matheis, and Schaub.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class IncOll extends MaxSat {
+
+    protected LngCoreSolver solver;
+    protected final LngIntVector solverVars;
+    protected int nbLoadedHard;
+    protected int nbLoadedSoft;
+    protected Objective objective;
+    protected final LngVector<Encoder> totalizers;
+    protected final LngIntVector totalizerBounds;
+    protected final Map<Integer, Pair<Integer, Integer>> outputMapping;
+    protected LngBooleanVector lastModel;
+
+    /**
+     * Constructs a new solver with a given configuration.
+     * @param f      the formula factory
+     * @param config the configuration
+     */
+    public IncOll(final FormulaFactory f, final MaxSatConfig config) {
+        super(f, config);
+        solverVars = new LngIntVector();
+        totalizers = new LngVector<>();
+        totalizerBounds = new LngIntVector();
+        outputMapping = new HashMap<>();
+        objective = new Objective();
+    }
+
+    @Override
+    protected LngResult<MaxSatResult> internalSearch(final ComputationHandler handler) {
+        return internalSearch(handler, new LngIntVector());
+    }
+
+    @Override
+    protected LngResult<MaxSatResult> internalSearch(final ComputationHandler handler,
+                                                     final LngIntVector assumptions) {
+        nbInitialVariables = nVars();
+        loadFormula();
+        final LngIntVector userAssumptions = new LngIntVector(assumptions.size());
+        for (int i = 0; i < assumptions.size(); i++) {
+            userAssumptions.push(solverLiteral(assumptions.get(i)));
+        }
+        final Objective working = assumptions.isEmpty() ? objective : new Objective(objective);
+        lbCost = working.lowerBound;
+        if (lbCost > 0) {
+            final LngEvent lowerBoundEvent = foundLowerBound(lbCost, handler);
+            if (lowerBoundEvent != null) {
+                return LngResult.canceled(lowerBoundEvent);
+            }
+        }
+        final LngBooleanVector previousModel = previousModel(assumptions);
+        if (previousModel != null) {
+            final LngEvent upperBoundEvent = newBestModel(previousModel, handler);
+            if (upperBoundEvent != null) {
+                return LngResult.canceled(upperBoundEvent);
+            }
+            if (lbCost == ubCost) {
+                return optimum();
+            }
+        }
+        int minWeight = config.weightStrategy == MaxSatConfig.WeightStrategy.NONE
+                        ? 1
+                        : nextWeight(working, Integer.MAX_VALUE);
+        final LngIntVector solverAssumptions = new LngIntVector();
+        while (true) {
+            solverAssumptions.clear();
+            for (int i = 0; i < userAssumptions.size(); i++) {
+                solverAssumptions.push(userAssumptions.get(i));
+            }
+            for (final Map.Entry<Integer, Integer> term : working.weights.entrySet()) {
+                if (term.getValue() >= minWeight) {
+                    solverAssumptions.push(LngCoreSolver.not(term.getKey()));
+                }
+            }
+            final LngResult<Boolean> res = searchSatSolver(solver, handler, solverAssumptions);
+            if (!res.isSuccess()) {
+                return LngResult.canceled(res.getCancelCause());
+            } else if (res.getResult()) {
+                nbSatisfiable++;
+                final LngBooleanVector solverModel = solver.model();
+                final LngBooleanVector newModel = new LngBooleanVector(nbInitialVariables);
+                for (int i = 0; i < nbInitialVariables; i++) {
+                    newModel.push(solverModel.get(solverVars.get(i)));
+                }
+                final int newCost = computeCostModel(newModel, Integer.MAX_VALUE);
+                if (model.isEmpty() || newCost < ubCost) {
+                    final LngEvent upperBoundEvent = newBestModel(newModel, handler);
+                    if (upperBoundEvent != null) {
+                        return LngResult.canceled(upperBoundEvent);
+                    }
+                }
+                if (lbCost == ubCost) {
+                    return optimum();
+                }
+                minWeight = nextWeight(working, minWeight);
+                if (minWeight == 0) {
+                    assert lbCost == newCost;
+                    return optimum();
+                }
+                nbStratificationLevels++;
+            } else {
+                final LngResult<LngIntVector> minimizedCore =
+                        minimizeCore(solver, solver.assumptionsConflict(), handler);
+                if (!minimizedCore.isSuccess()) {
+                    return LngResult.canceled(minimizedCore.getCancelCause());
+                }
+                final LngIntVector core = new LngIntVector();
+                for (int i = 0; i < minimizedCore.getResult().size(); i++) {
+                    final int lit = minimizedCore.getResult().get(i);
+                    if (working.weights.containsKey(lit)) {
+                        core.push(lit);
+                    }
+                }
+                nbCores++;
+                if (core.isEmpty()) {
+                    return unsat();
+                }
+                sumSizeCores += core.size();
+                relaxCore(working, core);
+                lbCost = working.lowerBound;
+                if (verbosity != Verbosity.NONE) {
+                    output.println("c LB : " + lbCost);
+                }
+                final LngEvent lowerBoundEvent = foundLowerBound(lbCost, handler);
+                if (lowerBoundEvent != null) {
+                    return LngResult.canceled(lowerBoundEvent);
+                }
+                if (!model.isEmpty() && lbCost == ubCost) {
+                    return optimum();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void loadState(final MaxSatState state) {
+        super.loadState(state);
+        if (state.getNbVars() < solverVars.size() || state.getNbHard() < nbLoadedHard ||
+                state.getNbSoft() < nbLoadedSoft) {
+            reset();
+        }
+    }
+
+    /**
+     * Discards the SAT solver and all cores, such that the SAT solver is
+     * rebuilt on the next call.
+     */
+    protected void reset() {
+        solver = null;
+        solverVars.clear();
+        nbLoadedHard = 0;
+        nbLoadedSoft = 0;
+        objective = new Objective();
+        totalizers.clear();
+        totalizerBounds.clear();
+        outputMapping.clear();
+        lastModel = null;
+    }
+
+    /**
+     * Adds the variables, hard clauses, and soft clauses which were added
+     * since the last call to the SAT solver. Each soft clause is relaxed by a
+     * fresh variable which becomes a term of the objective.
+     */
+    protected void loadFormula() {
+        if (solver == null) {
+            solver = newSatSolver();
+        }
+        while (solverVars.size() < nVars()) {
+            solverVars.push(solver.nVars());
+            newSatVariable(solver);
+        }
+        for (; nbLoadedHard < hardClauses.size(); nbLoadedHard++) {
+            final LngHardClause hardClause = hardClauses.get(nbLoadedHard);
+            solver.addClause(solverClause(hardClause.clause()), null);
+        }
+        for (; nbLoadedSoft < softClauses.size(); nbLoadedSoft++) {
+            final LngSoftClause softClause = softClauses.get(nbLoadedSoft);
+            final int relaxation = LngCoreSolver.mkLit(solver.nVars(), false);
+            newSatVariable(solver);
+            final LngIntVector clause = solverClause(softClause.clause());
+            clause.push(relaxation);
+            solver.addClause(clause, null);
+            objective.weights.put(relaxation, softClause.weight());
+        }
+    }
+
+    /**
+     * Relaxes a core of the objective. The lower bound of the objective is
+     * increased by the minimal weight of the core and the weights of all terms
+     * of the core are decreased by it. For each output of a totalizer in the
+     * core, the bound of the totalizer is increased and its next output becomes
+     * a term. For cores with more than one term, a new totalizer over the
+     * terms is built and its second output becomes a term.
+     * @param working the objective
+     * @param core    the terms of the core
+     */
+    protected void relaxCore(final Objective working, final LngIntVector core) {
+        int minCore = Integer.MAX_VALUE;
+        for (int i = 0; i < core.size(); i++) {
+            minCore = Math.min(minCore, working.weights.get(core.get(i)));
+        }
+        working.lowerBound += minCore;
+        for (int i = 0; i < core.size(); i++) {
+            final int lit = core.get(i);
+            final int weight = working.weights.get(lit) - minCore;
+            if (weight == 0) {
+                working.weights.remove(lit);
+            } else {
+                working.weights.put(lit, weight);
+            }
+            final Pair<Integer, Integer> output = outputMapping.get(lit);
+            if (output != null) {
+                addOutput(working, output.getFirst(), output.getSecond() + 1, minCore);
+            }
+        }
+        if (core.size() > 1) {
+            final Encoder totalizer = new Encoder(MaxSatConfig.CardinalityEncoding.TOTALIZER);
+            totalizer.setIncremental(MaxSatConfig.IncrementalStrategy.ITERATIVE);
+            totalizer.buildCardinality(solver, core, 1);
+            totalizers.push(totalizer);
+            totalizerBounds.push(1);
+            addOutput(working, totalizers.size() - 1, 1, minCore);
+        }
+    }
+
+    /**
+     * Adds the output of a totalizer for the given bound as term to the
+     * objective. The encoding of the totalizer is extended to the bound if
+     * necessary. If the bound is the number of inputs, no output is added.
+     * @param working   the objective
+     * @param totalizer the index of the totalizer
+     * @param bound     the bound
+     * @param weight    the weight of the output
+     */
+    protected void addOutput(final Objective working, final int totalizer, final int bound, final int weight) {
+        final Encoder encoder = totalizers.get(totalizer);
+        if (bound >= encoder.outputs().size()) {
+            return;
+        }
+        if (bound > totalizerBounds.get(totalizer)) {
+            encoder.incUpdateCardinality(solver, new LngIntVector(), encoder.lits(), bound, new LngIntVector());
+            totalizerBounds.set(totalizer, bound);
+        }
+        final int out = encoder.outputs().get(bound);
+        outputMapping.put(out, new Pair<>(totalizer, bound));
+        working.weights.merge(out, weight, Integer::sum);
+    }
+
+    /**
+     * Returns the largest weight of a term of the objective which is lower
+     * than the given weight or 0 if there is no such term.
+     * @param working the objective
+     * @param weight  the weight
+     * @return the next weight for the stratification
+     */
+    protected int nextWeight(final Objective working, final int weight) {
+        int nextWeight = 0;
+        for (final int w : working.weights.values()) {
+            if (w < weight && w > nextWeight) {
+                nextWeight = w;
+            }
+        }
+        return nextWeight;
+    }
+
+    /**
+     * Saves a new best model, uses it as phases of the SAT solver, and
+     * reports the new upper bound to the handler.
+     * @param newModel the model on the original variables
+     * @param handler  the handler
+     * @return the event if the handler canceled the computation, otherwise
+     * {@code null}
+     */
+    protected LngEvent newBestModel(final LngBooleanVector newModel, final ComputationHandler handler) {
+        saveModel(newModel);
+        ubCost = computeCostModel(newModel, Integer.MAX_VALUE);
+        lastModel = new LngBooleanVector(newModel);
+        for (int i = 0; i < nbInitialVariables; i++) {
+            solver.getVariables().get(solverVars.get(i)).setPolarity(!newModel.get(i));
+        }
+        if (verbosity != Verbosity.NONE) {
+            output.println("o " + ubCost);
+        }
+        return foundUpperBound(ubCost, handler);
+    }
+
+    /**
+     * Returns the best model of the last call extended to the current
+     * variables if it satisfies all hard clauses and the given assumptions,
+     * otherwise {@code null}.
+     * @param assumptions the assumptions
+     * @return the model of the last call or {@code null}
+     */
+    protected LngBooleanVector previousModel(final LngIntVector assumptions) {
+        if (lastModel == null) {
+            return null;
+        }
+        final LngBooleanVector previous = new LngBooleanVector(nbInitialVariables);
+        for (int i = 0; i < nbInitialVariables; i++) {
+            previous.push(i < lastModel.size() && lastModel.get(i));
+        }
+        for (final LngHardClause hardClause : hardClauses) {
+            if (!satisfied(hardClause.clause(), previous)) {
+                return null;
+            }
+        }
+        for (int i = 0; i < assumptions.size(); i++) {
+            if (LngCoreSolver.sign(assumptions.get(i)) == previous.get(LngCoreSolver.var(assumptions.get(i)))) {
+                return null;
+            }
+        }
+        return previous;
+    }
+
+    private static boolean satisfied(final LngIntVector clause, final LngBooleanVector values) {
+        for (int i = 0; i < clause.size(); i++) {
+            if (LngCoreSolver.sign(clause.get(i)) != values.get(LngCoreSolver.var(clause.get(i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int solverLiteral(final int lit) {
+        return LngCoreSolver.mkLit(solverVars.get(LngCoreSolver.var(lit)), LngCoreSolver.sign(lit));
+    }
+
+    private LngIntVector solverClause(final LngIntVector clause) {
+        final LngIntVector result = new LngIntVector(clause.size() + 1);
+        for (int i = 0; i < clause.size(); i++) {
+            result.push(solverLiteral(clause.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * The objective of the solver. It consists of a lower bound and weighted
+     * terms, which are the relaxation literals of the soft clauses and the
+     * outputs of the totalizers. The optimum is the lower bound plus the
+     * minimal weight of the terms which are true in a model.
+     */
+    protected static final class Objective {
+        private final Map<Integer, Integer> weights;
+        private int lowerBound;
+
+        private Objective() {
+            weights = new LinkedHashMap<>();
+        }
+
+        private Objective(final Objective other) {
+            weights = new LinkedHashMap<>(other.weights);
+            lowerBound = other.lowerBound;
+        }
+    }
+}
@@ -152,21 +152,22 @@ public class LinearSu extends MaxSat {
                 if (verbosity != Verbosity.NONE) {
                     output.println("o " + newCost);
                 }
-                if (newCost == 0) {
+                final int bound = sharedUpperBound(newCost);
+                if (bound == 0) {
                     ubCost = newCost;
                     return optimum();
                 } else {
                     if (problemType == ProblemType.WEIGHTED) {
                         if (!encoder.hasPbEncoding()) {
-                            encoder.encodePb(solver, objFunction, coeffs, newCost - 1);
+                            encoder.encodePb(solver, objFunction, coeffs, bound - 1);
                         } else {
-                            encoder.updatePb(solver, newCost - 1);
+                            encoder.updatePb(solver, bound - 1);
                         }
                     } else {
                         if (!encoder.hasCardEncoding()) {
-                            encoder.encodeCardinality(solver, objFunction, newCost - 1);
+                            encoder.encodeCardinality(solver, objFunction, bound - 1);
                         } else {
-                            encoder.updateCardinality(solver, newCost - 1);
+                            encoder.updateCardinality(solver, bound - 1);
                         }
                     }
                     ubCost = newCost;
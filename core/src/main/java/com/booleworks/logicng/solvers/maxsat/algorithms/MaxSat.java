@@ -6,6 +6,7 @@ package com.booleworks.logicng.solvers.maxsat.algorithms;
 
 import static com.booleworks.logicng.handlers.events.ComputationFinishedEvent.MAX_SAT_CALL_FINISHED;
 import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.MAX_SAT_CALL_STARTED;
+import static com.booleworks.logicng.handlers.events.SimpleEvent.SAT_CONFLICT_DETECTED;
 import static com.booleworks.logicng.solvers.MaxSatSolver.SEL_PREFIX;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Verbosity;
 import static com.booleworks.logicng.solvers.sat.LngCoreSolver.LIT_UNDEF;
@@ -79,7 +80,12 @@ public abstract class MaxSat {
     protected int ubCost;
     protected int lbCost;
     protected int currentWeight;
+    protected int nbStratificationLevels;
+    protected int nbHardenedSoftClauses;
+    protected int nbMinimizedCoreLiterals;
+    protected int nbExhaustedCores;
     protected MaxSat.Stats lastStats;
+    protected SharedBounds sharedBounds;
 
     // bookkeeping of solver states
     protected LngIntVector validStates;
@@ -113,6 +119,10 @@ public abstract class MaxSat {
         nbCores = 0;
         nbSatisfiable = 0;
         sumSizeCores = 0;
+        nbStratificationLevels = 0;
+        nbHardenedSoftClauses = 0;
+        nbMinimizedCoreLiterals = 0;
+        nbExhaustedCores = 0;
         orderWeights = new LngIntVector();
         validStates = new LngIntVector();
         nextStateId = 0;
@@ -151,24 +161,59 @@ public abstract class MaxSat {
 
     /**
      * The main MaxSAT solving method.
+     * <p>
+     * If the handler cancels the computation after a solution was found, the
+     * best solution found so far is returned as partial result. Its
+     * unsatisfied weight is an upper bound of the optimum.
      * @param handler a MaxSAT handler
      * @return the result of the solving process
      * @throws IllegalArgumentException if the configuration was not valid
      */
     public final LngResult<MaxSatResult> search(final ComputationHandler handler) {
+        return search(handler, new LngIntVector());
+    }
+
+    /**
+     * The main MaxSAT solving method under assumptions. The assumptions only
+     * hold for this call.
+     * <p>
+     * If the handler cancels the computation after a solution was found, the
+     * best solution found so far is returned as partial result. Its
+     * unsatisfied weight is an upper bound of the optimum.
+     * @param handler     a MaxSAT handler
+     * @param assumptions the literals which are assumed to be true
+     * @return the result of the solving process
+     * @throws IllegalArgumentException if the configuration was not valid
+     */
+    public final LngResult<MaxSatResult> search(final ComputationHandler handler, final LngIntVector assumptions) {
         if (!handler.shouldResume(MAX_SAT_CALL_STARTED)) {
             return LngResult.canceled(MAX_SAT_CALL_STARTED);
         }
         final MaxSatState stateBeforeSolving = saveState();
-        final LngResult<MaxSatResult> result = internalSearch(handler);
+        final LngResult<MaxSatResult> result = internalSearch(handler, assumptions);
+        lastStats = new Stats();
+        final LngBooleanVector bestModel = new LngBooleanVector(model);
+        loadState(stateBeforeSolving);
+        if (!result.isSuccess()) {
+            return bestModel.isEmpty() ? result : LngResult.partial(bestSolution(bestModel), result.getCancelCause());
+        }
         if (!handler.shouldResume(MAX_SAT_CALL_FINISHED)) {
             return LngResult.canceled(MAX_SAT_CALL_FINISHED);
         }
-        lastStats = new Stats();
-        loadState(stateBeforeSolving);
         return result;
     }
 
+    /**
+     * Creates the result for the best solution found before the computation
+     * was canceled.
+     * @param bestModel the best model
+     * @return the result
+     */
+    protected MaxSatResult bestSolution(final LngBooleanVector bestModel) {
+        final int cost = computeCostModel(bestModel, Integer.MAX_VALUE);
+        return new MaxSatResult(true, totalSoftWeight - cost, cost, createModel(bestModel));
+    }
+
     /**
      * Saves and returns the solver state.
      * @return the current solver state
@@ -222,6 +267,10 @@ public abstract class MaxSat {
         nbSymmetryClauses = 0;
         sumSizeCores = 0;
         nbSatisfiable = 0;
+        nbStratificationLevels = 0;
+        nbHardenedSoftClauses = 0;
+        nbMinimizedCoreLiterals = 0;
+        nbExhaustedCores = 0;
         ubCost = state.getUbCost();
         lbCost = 0;
         currentWeight = state.getCurrentWeight();
@@ -240,11 +289,20 @@ public abstract class MaxSat {
      * @return the model
      */
     protected Model createModel() {
+        return createModel(model);
+    }
+
+    /**
+     * Creates a model from a given Boolean vector of the solver.
+     * @param values the Boolean vector
+     * @return the model
+     */
+    protected Model createModel(final LngBooleanVector values) {
         final List<Literal> mdl = new ArrayList<>();
-        for (int i = 0; i < model.size(); i++) {
+        for (int i = 0; i < values.size(); i++) {
             final Variable var = varForIndex(i);
             if (var != null && !var.getName().startsWith(SEL_PREFIX)) {
-                mdl.add(model.get(i) ? var : var.negate(f));
+                mdl.add(values.get(i) ? var : var.negate(f));
             }
         }
         return new Model(mdl);
@@ -257,6 +315,22 @@ public abstract class MaxSat {
      */
     protected abstract LngResult<MaxSatResult> internalSearch(ComputationHandler handler);
 
+    /**
+     * The main MaxSAT solving method under assumptions. By default, the
+     * assumptions are added as unit hard clauses, which are removed again
+     * after the call.
+     * @param handler     the handler
+     * @param assumptions the literals which are assumed to be true
+     * @return the result of the solving process
+     */
+    protected LngResult<MaxSatResult> internalSearch(final ComputationHandler handler,
+                                                     final LngIntVector assumptions) {
+        for (int i = 0; i < assumptions.size(); i++) {
+            addHardClause(LngIntVector.of(assumptions.get(i)));
+        }
+        return internalSearch(handler);
+    }
+
     /**
      * Returns the number of variables in the working MaxSAT formula.
      * @return the number of variables in the working MaxSAT formula
@@ -429,6 +503,38 @@ public abstract class MaxSat {
         for (int i = 0; i < nbInitialVariables; i++) {
             model.push(currentModel.get(i));
         }
+        if (sharedBounds != null) {
+            sharedBounds.publishModel(model);
+        }
+    }
+
+    /**
+     * Returns the given upper bound or the upper bound shared by the other
+     * workers of a {@link Portfolio} if it is lower.
+     * @param upperBound the upper bound of this solver
+     * @return the lower of the two upper bounds
+     */
+    protected int sharedUpperBound(final int upperBound) {
+        return sharedBounds == null ? upperBound : Math.min(upperBound, sharedBounds.upperBound());
+    }
+
+    /**
+     * Copies the variables and the hard and soft clauses of this solver to
+     * the given solver. The relaxation variables of the soft clauses are not
+     * copied.
+     * @param target the solver to copy the formula to
+     */
+    protected void copyFormula(final MaxSat target) {
+        for (int i = 0; i < nbInitialVariables; i++) {
+            target.newVar();
+        }
+        for (final LngHardClause hardClause : hardClauses) {
+            target.addClause(new LngIntVector(hardClause.clause()), -1);
+        }
+        for (final LngSoftClause softClause : softClauses) {
+            target.addClause(new LngIntVector(softClause.clause()), softClause.weight());
+        }
+        target.setProblemType(problemType);
     }
 
     /**
@@ -465,6 +571,56 @@ public abstract class MaxSat {
         return currentCost;
     }
 
+    /**
+     * Minimizes a core if core minimization is configured. Each literal of the
+     * core is tentatively removed and the solver is called with the remaining
+     * literals as assumptions. If this call is unsatisfiable, the core is
+     * replaced by the new conflict, otherwise the literal is kept. All calls
+     * share the conflict budget per core. If the budget is used up, the
+     * current core is returned.
+     * @param s       the SAT solver
+     * @param core    the core, i.e. the negated assumptions of the conflict,
+     *                which is not modified
+     * @param handler the handler
+     * @return the minimized core or the cancel cause of the handler
+     */
+    protected LngResult<LngIntVector> minimizeCore(final LngCoreSolver s, final LngIntVector core,
+                                                   final ComputationHandler handler) {
+        final LngIntVector original = new LngIntVector(core);
+        if (!config.coreMinimization || original.size() <= 1) {
+            return LngResult.of(original);
+        }
+        final ConflictBudgetHandler budgetHandler = new ConflictBudgetHandler(handler, config.coreConflictBudget);
+        final LngIntVector assumptions = new LngIntVector(original.size());
+        LngIntVector current = original;
+        for (int i = 0; i < original.size() && current.size() > 1; i++) {
+            final int lit = original.get(i);
+            assumptions.clear();
+            boolean contained = false;
+            for (int j = 0; j < current.size(); j++) {
+                if (current.get(j) == lit) {
+                    contained = true;
+                } else {
+                    assumptions.push(LngCoreSolver.not(current.get(j)));
+                }
+            }
+            if (!contained) {
+                continue;
+            }
+            final LngResult<Boolean> res = searchSatSolver(s, budgetHandler, assumptions);
+            if (!res.isSuccess()) {
+                if (budgetHandler.budgetExceeded) {
+                    break;
+                }
+                return LngResult.canceled(res.getCancelCause());
+            } else if (!res.getResult()) {
+                current = new LngIntVector(s.assumptionsConflict());
+            }
+        }
+        nbMinimizedCoreLiterals += original.size() - current.size();
+        return LngResult.of(current);
+    }
+
     /**
      * Tests if the MaxSAT formula has lexicographical optimization criterion.
      * @param cache indicates whether the result should be cached.
@@ -520,6 +676,9 @@ public abstract class MaxSat {
      * {@code null}
      */
     protected LngEvent foundLowerBound(final int lowerBound, final ComputationHandler handler) {
+        if (sharedBounds != null) {
+            sharedBounds.publishLowerBound(lowerBound);
+        }
         final MaxSatNewLowerBoundEvent event = new MaxSatNewLowerBoundEvent(lowerBound);
         return handler.shouldResume(event) ? null : event;
     }
@@ -555,6 +714,39 @@ public abstract class MaxSat {
         return LngResult.of(UNSAT);
     }
 
+    /**
+     * A handler which delegates to another handler and additionally cancels
+     * the computation after a given number of conflicts.
+     */
+    protected static final class ConflictBudgetHandler implements ComputationHandler {
+        private final ComputationHandler handler;
+        private final int budget;
+        private int conflicts;
+        protected boolean budgetExceeded;
+
+        /**
+         * Constructs a new handler.
+         * @param handler the handler to delegate to
+         * @param budget  the maximum number of conflicts
+         */
+        protected ConflictBudgetHandler(final ComputationHandler handler, final int budget) {
+            this.handler = handler;
+            this.budget = budget;
+        }
+
+        @Override
+        public boolean shouldResume(final LngEvent event) {
+            if (!handler.shouldResume(event)) {
+                return false;
+            }
+            if (event == SAT_CONFLICT_DETECTED && ++conflicts > budget) {
+                budgetExceeded = true;
+                return false;
+            }
+            return true;
+        }
+    }
+
     /**
      * The MaxSAT solver statistics.
      */
@@ -564,6 +756,10 @@ public abstract class MaxSat {
         protected final int nbC;
         protected final double avgCs;
         protected final int nbSc;
+        protected final int nbSl;
+        protected final int nbHsc;
+        protected final int nbMcl;
+        protected final int nbEc;
 
         protected Stats() {
             ubC = model.isEmpty() ? -1 : ubCost;
@@ -571,6 +767,10 @@ public abstract class MaxSat {
             nbC = nbCores;
             avgCs = nbCores != 0 ? (double) sumSizeCores / nbCores : 0.0;
             nbSc = nbSymmetryClauses;
+            nbSl = nbStratificationLevels;
+            nbHsc = nbHardenedSoftClauses;
+            nbMcl = nbMinimizedCoreLiterals;
+            nbEc = nbExhaustedCores;
         }
 
         /**
@@ -613,12 +813,46 @@ public abstract class MaxSat {
             return nbSc;
         }
 
+        /**
+         * Returns the number of weight levels of the stratification.
+         * @return the number of weight levels of the stratification
+         */
+        public int stratificationLevels() {
+            return nbSl;
+        }
+
+        /**
+         * Returns the number of soft clauses which were hardened.
+         * @return the number of soft clauses which were hardened
+         */
+        public int hardenedSoftClauses() {
+            return nbHsc;
+        }
+
+        /**
+         * Returns the number of literals which were removed from cores by the
+         * core minimization.
+         * @return the number of literals removed by the core minimization
+         */
+        public int minimizedCoreLiterals() {
+            return nbMcl;
+        }
+
+        /**
+         * Returns the number of additional cores found by the core exhaustion.
+         * @return the number of additional cores found by the core exhaustion
+         */
+        public int exhaustedCores() {
+            return nbEc;
+        }
+
         @Override
         public String toString() {
             return String.format(Locale.ENGLISH,
                     "MaxSat.Stats{best solution=%d, #sat calls=%d, #unsat calls=%d, average core size=%.2f, #symmetry"
-                            + " clauses=%d}",
-                    ubC, nbS, nbC, avgCs, nbSc);
+                            + " clauses=%d, #stratification levels=%d, #hardened soft clauses=%d, #minimized core"
+                            + " literals=%d, #exhausted cores=%d}",
+                    ubC, nbS, nbC, avgCs, nbSc, nbSl, nbHsc, nbMcl, nbEc);
         }
     }
 }
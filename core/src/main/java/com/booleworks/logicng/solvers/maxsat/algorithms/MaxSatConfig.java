@@ -9,6 +9,7 @@ import com.booleworks.logicng.configurations.ConfigurationType;
 import com.booleworks.logicng.solvers.sat.SatSolverConfig;
 
 import java.io.PrintStream;
+import java.util.List;
 
 /**
  * The configuration object for a MaxSAT solver.
@@ -33,6 +34,9 @@ public final class MaxSatConfig extends Configuration {
             .algorithm(Algorithm.OLL)
             .incremental(IncrementalStrategy.ITERATIVE)
             .build();
+    public static final MaxSatConfig CONFIG_INC_OLL = MaxSatConfig.builder().algorithm(Algorithm.INC_OLL).build();
+    public static final MaxSatConfig CONFIG_ANYTIME = MaxSatConfig.builder().algorithm(Algorithm.ANYTIME).build();
+    public static final MaxSatConfig CONFIG_PORTFOLIO = MaxSatConfig.builder().algorithm(Algorithm.PORTFOLIO).build();
 
     /**
      * The MaxSAT algorithm
@@ -44,7 +48,10 @@ public final class MaxSatConfig extends Configuration {
         LINEAR_US,
         MSU3,
         WMSU3,
-        OLL
+        OLL,
+        INC_OLL,
+        ANYTIME,
+        PORTFOLIO
     }
 
     /**
@@ -106,6 +113,13 @@ public final class MaxSatConfig extends Configuration {
     final boolean symmetry;
     final int limit;
     final boolean bmo;
+    final boolean hardening;
+    final boolean coreMinimization;
+    final boolean coreExhaustion;
+    final int coreConflictBudget;
+    final int localSearchFlips;
+    final int coreGuidedConflictBudget;
+    final List<Algorithm> portfolioAlgorithms;
 
     /**
      * Constructor for a MaxSAT configuration.
@@ -125,6 +139,13 @@ public final class MaxSatConfig extends Configuration {
         symmetry = builder.symmetry;
         limit = builder.limit;
         bmo = builder.bmo;
+        hardening = builder.hardening;
+        coreMinimization = builder.coreMinimization;
+        coreExhaustion = builder.coreExhaustion;
+        coreConflictBudget = builder.coreConflictBudget;
+        localSearchFlips = builder.localSearchFlips;
+        coreGuidedConflictBudget = builder.coreGuidedConflictBudget;
+        portfolioAlgorithms = builder.portfolioAlgorithms;
     }
 
     /**
@@ -146,6 +167,13 @@ public final class MaxSatConfig extends Configuration {
         symmetry = config.symmetry;
         limit = config.limit;
         bmo = config.bmo;
+        hardening = config.hardening;
+        coreMinimization = config.coreMinimization;
+        coreExhaustion = config.coreExhaustion;
+        coreConflictBudget = config.coreConflictBudget;
+        localSearchFlips = config.localSearchFlips;
+        coreGuidedConflictBudget = config.coreGuidedConflictBudget;
+        portfolioAlgorithms = config.portfolioAlgorithms;
     }
 
     /**
@@ -167,6 +195,41 @@ public final class MaxSatConfig extends Configuration {
         symmetry = config.symmetry;
         limit = config.limit;
         bmo = config.bmo;
+        hardening = config.hardening;
+        coreMinimization = config.coreMinimization;
+        coreExhaustion = config.coreExhaustion;
+        coreConflictBudget = config.coreConflictBudget;
+        localSearchFlips = config.localSearchFlips;
+        coreGuidedConflictBudget = config.coreGuidedConflictBudget;
+        portfolioAlgorithms = config.portfolioAlgorithms;
+    }
+
+    /**
+     * Copy Constructor with another algorithm.
+     * @param config    the configuration to copy
+     * @param algorithm the algorithm
+     */
+    public MaxSatConfig(final MaxSatConfig config, final Algorithm algorithm) {
+        super(ConfigurationType.MAXSAT);
+        this.algorithm = algorithm;
+        cnfMethod = config.cnfMethod;
+        incrementalStrategy = config.incrementalStrategy;
+        amoEncoding = config.amoEncoding;
+        pbEncoding = config.pbEncoding;
+        cardinalityEncoding = config.cardinalityEncoding;
+        weightStrategy = config.weightStrategy;
+        verbosity = config.verbosity;
+        output = config.output;
+        symmetry = config.symmetry;
+        limit = config.limit;
+        bmo = config.bmo;
+        hardening = config.hardening;
+        coreMinimization = config.coreMinimization;
+        coreExhaustion = config.coreExhaustion;
+        coreConflictBudget = config.coreConflictBudget;
+        localSearchFlips = config.localSearchFlips;
+        coreGuidedConflictBudget = config.coreGuidedConflictBudget;
+        portfolioAlgorithms = config.portfolioAlgorithms;
     }
 
     /**
@@ -207,6 +270,13 @@ public final class MaxSatConfig extends Configuration {
         sb.append("symmetry=").append(symmetry).append(System.lineSeparator());
         sb.append("limit=").append(limit).append(System.lineSeparator());
         sb.append("bmo=").append(bmo).append(System.lineSeparator());
+        sb.append("hardening=").append(hardening).append(System.lineSeparator());
+        sb.append("coreMinimization=").append(coreMinimization).append(System.lineSeparator());
+        sb.append("coreExhaustion=").append(coreExhaustion).append(System.lineSeparator());
+        sb.append("coreConflictBudget=").append(coreConflictBudget).append(System.lineSeparator());
+        sb.append("localSearchFlips=").append(localSearchFlips).append(System.lineSeparator());
+        sb.append("coreGuidedConflictBudget=").append(coreGuidedConflictBudget).append(System.lineSeparator());
+        sb.append("portfolioAlgorithms=").append(portfolioAlgorithms).append(System.lineSeparator());
         sb.append("}");
         return sb.toString();
     }
@@ -227,6 +297,14 @@ public final class MaxSatConfig extends Configuration {
         private boolean symmetry = true;
         private int limit = Integer.MAX_VALUE;
         private boolean bmo = true;
+        private boolean hardening = false;
+        private boolean coreMinimization = false;
+        private boolean coreExhaustion = false;
+        private int coreConflictBudget = 1000;
+        private int localSearchFlips = 20000;
+        private int coreGuidedConflictBudget = 100000;
+        private List<Algorithm> portfolioAlgorithms =
+                List.of(Algorithm.OLL, Algorithm.INC_WBO, Algorithm.LINEAR_SU, Algorithm.WMSU3);
 
         /**
          * Constructor for the builder.
@@ -321,6 +399,131 @@ public final class MaxSatConfig extends Configuration {
             return this;
         }
 
+        /**
+         * Enables the hardening of soft clauses. A soft clause whose weight
+         * exceeds the gap between the current upper and lower bound cannot be
+         * falsified by a solution better than the current best solution and is
+         * therefore added as a hard clause. Hardening is used by the weighted
+         * search of {@link Algorithm#OLL} and {@link Algorithm#WBO}. The
+         * default value is {@code false}.
+         * @param hardening {code true} if hardening should be activated,
+         *                  {@code false} otherwise
+         * @return the builder
+         */
+        public Builder hardening(final boolean hardening) {
+            this.hardening = hardening;
+            return this;
+        }
+
+        /**
+         * Enables the minimization of cores. Each core found by
+         * {@link Algorithm#OLL} or {@link Algorithm#WBO} is shrunk by
+         * tentatively removing its literals before it is relaxed. Smaller
+         * cores lead to smaller cardinality constraints and often to higher
+         * lower bounds. The default value is {@code false}.
+         * @param coreMinimization {code true} if core minimization should be
+         *                         activated, {@code false} otherwise
+         * @return the builder
+         */
+        public Builder coreMinimization(final boolean coreMinimization) {
+            this.coreMinimization = coreMinimization;
+            return this;
+        }
+
+        /**
+         * Enables the exhaustion of cores in {@link Algorithm#OLL}. After a
+         * core is relaxed, the bound of its cardinality constraint is
+         * increased as long as the constraint alone is unsatisfiable, and each
+         * increase raises the lower bound by the weight of the core. The
+         * default value is {@code false}.
+         * @param coreExhaustion {code true} if core exhaustion should be
+         *                       activated, {@code false} otherwise
+         * @return the builder
+         */
+        public Builder coreExhaustion(final boolean coreExhaustion) {
+            this.coreExhaustion = coreExhaustion;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of conflicts which may be spent on the
+         * minimization and on the exhaustion of a single core. If the budget
+         * is used up, the core is processed as it is. The default value is
+         * {@code 1000}.
+         * @param coreConflictBudget the conflict budget per core
+         * @return the builder
+         * @throws IllegalArgumentException if the budget is negative
+         */
+        public Builder coreConflictBudget(final int coreConflictBudget) {
+            if (coreConflictBudget < 0) {
+                throw new IllegalArgumentException("The conflict budget per core must not be negative");
+            }
+            this.coreConflictBudget = coreConflictBudget;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of flips of a single local search call in
+         * {@link Algorithm#ANYTIME}. The local search tries to improve each
+         * solution found by the SAT solver. A value of {@code 0} disables the
+         * local search. The default value is {@code 20000}.
+         * @param localSearchFlips the maximum number of flips per local search
+         * @return the builder
+         * @throws IllegalArgumentException if the number of flips is negative
+         */
+        public Builder localSearchFlips(final int localSearchFlips) {
+            if (localSearchFlips < 0) {
+                throw new IllegalArgumentException("The number of local search flips must not be negative");
+            }
+            this.localSearchFlips = localSearchFlips;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of conflicts of the core-guided phase of
+         * {@link Algorithm#ANYTIME}. The core-guided phase computes a lower
+         * bound before the solution-improving phase starts. A value of
+         * {@code 0} skips the core-guided phase. The default value is
+         * {@code 100000}.
+         * @param coreGuidedConflictBudget the conflict budget of the
+         *                                 core-guided phase
+         * @return the builder
+         * @throws IllegalArgumentException if the budget is negative
+         */
+        public Builder coreGuidedConflictBudget(final int coreGuidedConflictBudget) {
+            if (coreGuidedConflictBudget < 0) {
+                throw new IllegalArgumentException("The conflict budget of the core-guided phase must not be negative");
+            }
+            this.coreGuidedConflictBudget = coreGuidedConflictBudget;
+            return this;
+        }
+
+        /**
+         * Sets the algorithms of {@link Algorithm#PORTFOLIO}. Each algorithm
+         * runs in its own thread on a copy of the formula, and the algorithms
+         * share their best upper and lower bounds. Algorithms which do not
+         * support the type of the instance are skipped, e.g.
+         * {@link Algorithm#MSU3} for weighted instances or
+         * {@link Algorithm#WMSU3} for instances which are not BMO. The
+         * default value is {@code OLL, INC_WBO, LINEAR_SU, WMSU3}.
+         * @param algorithms the algorithms of the portfolio
+         * @return the builder
+         * @throws IllegalArgumentException if no algorithm is given or if one
+         *                                  of the algorithms is a portfolio
+         */
+        public Builder portfolioAlgorithms(final Algorithm... algorithms) {
+            if (algorithms.length == 0) {
+                throw new IllegalArgumentException("The portfolio must contain at least one algorithm");
+            }
+            for (final Algorithm algorithm : algorithms) {
+                if (algorithm == Algorithm.PORTFOLIO) {
+                    throw new IllegalArgumentException("The portfolio must not contain a portfolio");
+                }
+            }
+            portfolioAlgorithms = List.of(algorithms);
+            return this;
+        }
+
         /**
          * Sets the verbosity. The default value is {@code NONE}. If you set the
          * verbosity to {@code SOME} you have also to set an output stream.
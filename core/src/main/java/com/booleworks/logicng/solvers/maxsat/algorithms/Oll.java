@@ -14,6 +14,7 @@ import com.booleworks.logicng.solvers.MaxSatResult;
 import com.booleworks.logicng.solvers.maxsat.encodings.Encoder;
 import com.booleworks.logicng.solvers.sat.LngCoreSolver;
 
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.SortedMap;
@@ -116,6 +117,12 @@ public class Oll extends MaxSat {
                     return optimum();
                 }
             } else {
+                final LngResult<LngIntVector> minimizedCore =
+                        minimizeCore(solver, solver.assumptionsConflict(), handler);
+                if (!minimizedCore.isSuccess()) {
+                    return LngResult.canceled(minimizedCore.getCancelCause());
+                }
+                final LngIntVector core = minimizedCore.getResult();
                 lbCost++;
                 nbCores++;
                 if (nbSatisfiable == 0) {
@@ -125,16 +132,16 @@ public class Oll extends MaxSat {
                     assert nbSatisfiable > 0;
                     return optimum();
                 }
-                sumSizeCores += solver.assumptionsConflict().size();
+                sumSizeCores += core.size();
                 final LngIntVector softRelax = new LngIntVector();
                 final LngIntVector cardinalityRelax = new LngIntVector();
 
-                for (int i = 0; i < solver.assumptionsConflict().size(); i++) {
-                    final int p = solver.assumptionsConflict().get(i);
+                for (int i = 0; i < core.size(); i++) {
+                    final int p = core.get(i);
                     if (coreMapping.containsKey(p)) {
                         assert !activeSoft.get(coreMapping.get(p));
-                        activeSoft.set(coreMapping.get(solver.assumptionsConflict().get(i)), true);
-                        assert p == softClauses.get(coreMapping.get(solver.assumptionsConflict().get(i)))
+                        activeSoft.set(coreMapping.get(core.get(i)), true);
+                        assert p == softClauses.get(coreMapping.get(core.get(i)))
                                 .relaxationVars().get(0);
                         softRelax.push(p);
                     }
@@ -145,7 +152,7 @@ public class Oll extends MaxSat {
                         cardinalityRelax.push(p);
 
                         // this is a soft cardinality -- bound must be increased
-                        final IntTriple softId = boundMapping.get(solver.assumptionsConflict().get(i));
+                        final IntTriple softId = boundMapping.get(core.get(i));
                         // // increase the bound
                         assert softId.id < softCardinality.size();
                         assert softCardinality.get(softId.id).hasCardEncoding();
@@ -183,9 +190,18 @@ public class Oll extends MaxSat {
                     softCardinality.push(e);
                     assert e.outputs().size() > 1;
 
-                    final int out = e.outputs().get(1);
-                    boundMapping.put(out, new IntTriple(softCardinality.size() - 1, 1, 1));
-                    cardinalityAssumptions.add(out);
+                    final LngResult<Integer> bound = exhaustCore(solver, e, 1, handler);
+                    if (!bound.isSuccess()) {
+                        return LngResult.canceled(bound.getCancelCause());
+                    }
+                    if (bound.getResult() < e.outputs().size()) {
+                        final int out = e.outputs().get(bound.getResult());
+                        boundMapping.put(out, new IntTriple(softCardinality.size() - 1, bound.getResult(), 1));
+                        cardinalityAssumptions.add(out);
+                    }
+                    if (lbCost == ubCost) {
+                        return optimum();
+                    }
                 }
 
                 // reset the assumptions
@@ -221,6 +237,7 @@ public class Oll extends MaxSat {
 
         final LinkedHashSet<Integer> cardinalityAssumptions = new LinkedHashSet<>();
         final LngVector<Encoder> softCardinality = new LngVector<>();
+        final Set<Integer> hardened = new HashSet<>();
         int minWeight = currentWeight;
 
         while (true) {
@@ -237,6 +254,7 @@ public class Oll extends MaxSat {
                 }
                 if (nbSatisfiable == 1) {
                     minWeight = findNextWeightDiversity(minWeight, cardinalityAssumptions, boundMapping);
+                    nbStratificationLevels++;
                     for (int i = 0; i < softClauses.size(); i++) {
                         if (softClauses.get(i).weight() >= minWeight) {
                             assumptions.push(LngCoreSolver.not(softClauses.get(i).assumptionVar()));
@@ -258,7 +276,9 @@ public class Oll extends MaxSat {
                         }
                     }
                     if (notConsidered != 0) {
+                        hardenSoftClauses(solver, activeSoft, cardinalityAssumptions, boundMapping, hardened);
                         minWeight = findNextWeightDiversity(minWeight, cardinalityAssumptions, boundMapping);
+                        nbStratificationLevels++;
                         assumptions.clear();
                         for (int i = 0; i < softClauses.size(); i++) {
                             if (!activeSoft.get(i) && softClauses.get(i).weight() >= minWeight) {
@@ -278,18 +298,24 @@ public class Oll extends MaxSat {
                     }
                 }
             } else {
+                final LngResult<LngIntVector> minimizedCore =
+                        minimizeCore(solver, solver.assumptionsConflict(), handler);
+                if (!minimizedCore.isSuccess()) {
+                    return LngResult.canceled(minimizedCore.getCancelCause());
+                }
+                final LngIntVector core = minimizedCore.getResult();
                 // reduce the weighted to the unweighted case
                 int minCore = Integer.MAX_VALUE;
-                for (int i = 0; i < solver.assumptionsConflict().size(); i++) {
-                    final int p = solver.assumptionsConflict().get(i);
+                for (int i = 0; i < core.size(); i++) {
+                    final int p = core.get(i);
                     if (coreMapping.containsKey(p)) {
                         assert !activeSoft.get(coreMapping.get(p));
-                        if (softClauses.get(coreMapping.get(solver.assumptionsConflict().get(i))).weight() < minCore) {
-                            minCore = softClauses.get(coreMapping.get(solver.assumptionsConflict().get(i))).weight();
+                        if (softClauses.get(coreMapping.get(core.get(i))).weight() < minCore) {
+                            minCore = softClauses.get(coreMapping.get(core.get(i))).weight();
                         }
                     }
                     if (boundMapping.containsKey(p)) {
-                        final IntTriple softId = boundMapping.get(solver.assumptionsConflict().get(i));
+                        final IntTriple softId = boundMapping.get(core.get(i));
                         if (softId.weight < minCore) {
                             minCore = softId.weight;
                         }
@@ -304,12 +330,12 @@ public class Oll extends MaxSat {
                     assert nbSatisfiable > 0;
                     return optimum();
                 }
-                sumSizeCores += solver.assumptionsConflict().size();
+                sumSizeCores += core.size();
                 final LngIntVector softRelax = new LngIntVector();
                 final LngIntVector cardinalityRelax = new LngIntVector();
 
-                for (int i = 0; i < solver.assumptionsConflict().size(); i++) {
-                    final int p = solver.assumptionsConflict().get(i);
+                for (int i = 0; i < core.size(); i++) {
+                    final int p = core.get(i);
                     if (coreMapping.containsKey(p)) {
                         if (softClauses.get(coreMapping.get(p)).weight() > minCore) {
                             assert !activeSoft.get(coreMapping.get(p));
@@ -353,7 +379,7 @@ public class Oll extends MaxSat {
                             assert softClauses.get(coreMapping.get(l)).weight() == minCore;
                             assert activeSoft.size() == softClauses.size();
                         } else {
-                            assert softClauses.get(coreMapping.get(solver.assumptionsConflict().get(i))).weight() ==
+                            assert softClauses.get(coreMapping.get(core.get(i))).weight() ==
                                     minCore;
                             softRelax.push(p);
                             assert !activeSoft.get(coreMapping.get(p));
@@ -363,7 +389,7 @@ public class Oll extends MaxSat {
                     if (boundMapping.containsKey(p)) {
                         assert cardinalityAssumptions.contains(p);
                         // this is a soft cardinality -- bound must be increased
-                        final IntTriple softId = boundMapping.get(solver.assumptionsConflict().get(i));
+                        final IntTriple softId = boundMapping.get(core.get(i));
 
                         // increase the bound
                         assert softId.id < softCardinality.size();
@@ -433,10 +459,20 @@ public class Oll extends MaxSat {
                     e.buildCardinality(solver, relaxHarden, 1);
                     softCardinality.push(e);
                     assert e.outputs().size() > 1;
-                    final int out = e.outputs().get(1);
-                    boundMapping.put(out, new IntTriple(softCardinality.size() - 1, 1, minCore));
-                    cardinalityAssumptions.add(out);
+                    final LngResult<Integer> bound = exhaustCore(solver, e, minCore, handler);
+                    if (!bound.isSuccess()) {
+                        return LngResult.canceled(bound.getCancelCause());
+                    }
+                    if (bound.getResult() < e.outputs().size()) {
+                        final int out = e.outputs().get(bound.getResult());
+                        boundMapping.put(out, new IntTriple(softCardinality.size() - 1, bound.getResult(), minCore));
+                        cardinalityAssumptions.add(out);
+                    }
+                    if (lbCost == ubCost) {
+                        return optimum();
+                    }
                 }
+                hardenSoftClauses(solver, activeSoft, cardinalityAssumptions, boundMapping, hardened);
                 assumptions.clear();
                 for (int i = 0; i < softClauses.size(); i++) {
                     if (!activeSoft.get(i) && softClauses.get(i).weight() >= minWeight) {
@@ -462,6 +498,90 @@ public class Oll extends MaxSat {
         }
     }
 
+    /**
+     * Exhausts a new cardinality constraint if core exhaustion is configured.
+     * As long as the constraint alone is unsatisfiable with its current bound,
+     * the bound is increased and the lower bound is raised by the weight of
+     * the constraint. The SAT calls share the conflict budget per core.
+     * @param solver  the SAT solver
+     * @param encoder the encoder of the cardinality constraint with bound 1
+     * @param weight  the weight of the cardinality constraint
+     * @param handler the handler
+     * @return the new bound of the cardinality constraint or the cancel cause
+     * of the handler
+     */
+    protected LngResult<Integer> exhaustCore(final LngCoreSolver solver, final Encoder encoder, final int weight,
+                                             final ComputationHandler handler) {
+        int bound = 1;
+        if (!config.coreExhaustion) {
+            return LngResult.of(bound);
+        }
+        final ConflictBudgetHandler budgetHandler = new ConflictBudgetHandler(handler, config.coreConflictBudget);
+        final LngIntVector assumptions = new LngIntVector(1);
+        final LngIntVector joinObjFunction = new LngIntVector();
+        final LngIntVector encodingAssumptions = new LngIntVector();
+        while (bound < encoder.outputs().size() && lbCost < ubCost) {
+            assumptions.clear();
+            assumptions.push(LngCoreSolver.not(encoder.outputs().get(bound)));
+            final LngResult<Boolean> res = searchSatSolver(solver, budgetHandler, assumptions);
+            if (!res.isSuccess()) {
+                if (budgetHandler.budgetExceeded) {
+                    break;
+                }
+                return LngResult.canceled(res.getCancelCause());
+            } else if (res.getResult()) {
+                final int newCost = computeCostModel(solver.model(), Integer.MAX_VALUE);
+                if (newCost < ubCost) {
+                    saveModel(solver.model());
+                    ubCost = newCost;
+                }
+                break;
+            }
+            lbCost += weight;
+            nbExhaustedCores++;
+            joinObjFunction.clear();
+            encodingAssumptions.clear();
+            encoder.incUpdateCardinality(solver, joinObjFunction, encoder.lits(), bound + 1, encodingAssumptions);
+            bound++;
+        }
+        return LngResult.of(bound);
+    }
+
+    /**
+     * Hardens all soft clauses and cardinality constraints whose weight
+     * exceeds the gap between the upper and the lower bound, if hardening is
+     * configured. Such a soft clause cannot be falsified by a solution better
+     * than the current best solution.
+     * @param solver                 the SAT solver
+     * @param activeSoft             the soft clauses which are already relaxed
+     * @param cardinalityAssumptions the outputs of the cardinality constraints
+     * @param boundMapping           the mapping from outputs to cardinality
+     *                               constraints
+     * @param hardened               the assumption literals which are already
+     *                               hardened
+     */
+    protected void hardenSoftClauses(final LngCoreSolver solver, final LngBooleanVector activeSoft,
+                                     final Set<Integer> cardinalityAssumptions,
+                                     final SortedMap<Integer, IntTriple> boundMapping, final Set<Integer> hardened) {
+        if (!config.hardening) {
+            return;
+        }
+        final int gap = sharedUpperBound(ubCost) - lbCost;
+        for (int i = 0; i < softClauses.size(); i++) {
+            final int l = softClauses.get(i).assumptionVar();
+            if (!activeSoft.get(i) && softClauses.get(i).weight() > gap && hardened.add(l)) {
+                solver.addClause(LngCoreSolver.not(l), null);
+                nbHardenedSoftClauses++;
+            }
+        }
+        for (final Integer it : cardinalityAssumptions) {
+            if (boundMapping.get(it).weight > gap && hardened.add(it)) {
+                solver.addClause(LngCoreSolver.not(it), null);
+                nbHardenedSoftClauses++;
+            }
+        }
+    }
+
     protected int findNextWeightDiversity(final int weight, final Set<Integer> cardinalityAssumptions,
                                           final SortedMap<Integer, IntTriple> boundMapping) {
         assert (nbSatisfiable > 0);
@@ -0,0 +1,261 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.maxsat.algorithms;
+
+import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Verbosity;
+
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.SynchronizedHandler;
+import com.booleworks.logicng.handlers.events.LngEvent;
+import com.booleworks.logicng.handlers.events.MaxSatNewLowerBoundEvent;
+import com.booleworks.logicng.handlers.events.MaxSatNewUpperBoundEvent;
+import com.booleworks.logicng.solvers.MaxSatResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Portfolio solver which runs several MaxSAT algorithms in parallel.
+ * <p>
+ * Each algorithm of {@link MaxSatConfig.Builder#portfolioAlgorithms} which
+ * supports the type of the instance runs in its own thread on a copy of the
+ * formula with its own formula factory. The workers share their best model and
+ * their lower bounds via {@link SharedBounds}: a linear search constrains the
+ * cost below the best model of all workers and hardening uses the global upper
+ * bound. All workers stop as soon as one of them finishes its search or the
+ * global lower bound reaches the global upper bound. Improvements of the global
+ * bounds are reported to the handler, and if the handler cancels the
+ * computation, the best model of all workers is available as partial result.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class Portfolio extends MaxSat {
+
+    /**
+     * Constructs a new solver with a given configuration.
+     * @param f      the formula factory
+     * @param config the configuration
+     */
+    public Portfolio(final FormulaFactory f, final MaxSatConfig config) {
+        super(f, config);
+    }
+
+    @Override
+    protected LngResult<MaxSatResult> internalSearch(final ComputationHandler handler) {
+        nbInitialVariables = nVars();
+        final List<MaxSatConfig.Algorithm> algorithms = applicableAlgorithms();
+        if (algorithms.isEmpty()) {
+            throw new IllegalStateException("Error: None of the portfolio algorithms " + config.portfolioAlgorithms +
+                    " supports " + problemType + " MaxSAT instances.");
+        }
+        if (verbosity != Verbosity.NONE) {
+            output.println("c Portfolio : " + algorithms);
+        }
+        final SharedBounds bounds = new SharedBounds(this);
+        final WorkerHandler workerHandler = new WorkerHandler(new SynchronizedHandler(handler), bounds);
+        final List<MaxSat> workers = new ArrayList<>(algorithms.size());
+        for (final MaxSatConfig.Algorithm algorithm : algorithms) {
+            final MaxSat worker = newWorker(algorithm);
+            copyFormula(worker);
+            worker.sharedBounds = bounds;
+            workers.add(worker);
+        }
+        final List<LngResult<MaxSatResult>> results = new ArrayList<>(workers.size());
+        final ForkJoinPool pool = new ForkJoinPool(workers.size());
+        try {
+            final List<ForkJoinTask<LngResult<MaxSatResult>>> tasks = new ArrayList<>(workers.size());
+            for (final MaxSat worker : workers) {
+                tasks.add(pool.submit(() -> runWorker(worker, workerHandler, bounds)));
+            }
+            for (final ForkJoinTask<LngResult<MaxSatResult>> task : tasks) {
+                results.add(task.join());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        for (final MaxSat worker : workers) {
+            nbCores += worker.nbCores;
+            sumSizeCores += worker.sumSizeCores;
+            nbSatisfiable += worker.nbSatisfiable;
+            nbStratificationLevels += worker.nbStratificationLevels;
+            nbHardenedSoftClauses += worker.nbHardenedSoftClauses;
+            nbMinimizedCoreLiterals += worker.nbMinimizedCoreLiterals;
+            nbExhaustedCores += worker.nbExhaustedCores;
+        }
+        return combineResults(results, bounds, workerHandler.handler.getCancelCause());
+    }
+
+    /**
+     * Returns the algorithms of the portfolio which support the type of the
+     * current instance. On weighted instances, {@link LinearSu} and
+     * {@link Wmsu3} are only used for BMO instances since the size of their
+     * pseudo-Boolean constraints and the effort of their lower bound
+     * computation grow with the weights.
+     * @return the applicable algorithms
+     */
+    protected List<MaxSatConfig.Algorithm> applicableAlgorithms() {
+        final boolean bmo = problemType == ProblemType.WEIGHTED && config.bmo && isBmo(false);
+        final List<MaxSatConfig.Algorithm> algorithms = new ArrayList<>();
+        for (final MaxSatConfig.Algorithm algorithm : config.portfolioAlgorithms) {
+            final boolean applicable;
+            switch (algorithm) {
+                case WMSU3:
+                    applicable = bmo;
+                    break;
+                case MSU3:
+                case LINEAR_US:
+                    applicable = problemType == ProblemType.UNWEIGHTED;
+                    break;
+                case LINEAR_SU:
+                    applicable = problemType == ProblemType.UNWEIGHTED || bmo;
+                    break;
+                default:
+                    applicable = true;
+            }
+            if (applicable && !algorithms.contains(algorithm)) {
+                algorithms.add(algorithm);
+            }
+        }
+        return algorithms;
+    }
+
+    /**
+     * Creates a worker for the given algorithm with its own formula factory.
+     * The worker uses the configuration of the portfolio, except for the
+     * totalizer encoding which is required by {@link Oll}.
+     * @param algorithm the algorithm
+     * @return the worker
+     */
+    protected MaxSat newWorker(final MaxSatConfig.Algorithm algorithm) {
+        final FormulaFactory workerFactory = FormulaFactory.caching();
+        final MaxSatConfig workerConfig = new MaxSatConfig(config, algorithm);
+        switch (algorithm) {
+            case WBO:
+                return new Wbo(workerFactory, workerConfig);
+            case INC_WBO:
+                return new IncWbo(workerFactory, workerConfig);
+            case LINEAR_SU:
+                return new LinearSu(workerFactory, workerConfig);
+            case LINEAR_US:
+                return new LinearUs(workerFactory, workerConfig);
+            case MSU3:
+                return new Msu3(workerFactory, workerConfig);
+            case WMSU3:
+                return new Wmsu3(workerFactory, workerConfig);
+            case OLL:
+                return new Oll(workerFactory,
+                        workerConfig.cardinalityEncoding == MaxSatConfig.CardinalityEncoding.TOTALIZER
+                        ? workerConfig
+                        : new MaxSatConfig(workerConfig, MaxSatConfig.CardinalityEncoding.TOTALIZER));
+            case INC_OLL:
+                return new IncOll(workerFactory, workerConfig);
+            case ANYTIME:
+                return new Anytime(workerFactory, workerConfig);
+            default:
+                throw new IllegalArgumentException("Unknown portfolio algorithm: " + algorithm);
+        }
+    }
+
+    /**
+     * Runs the search of a worker. If the worker finishes its search, the
+     * bounds are closed such that all other workers stop.
+     * @param worker  the worker
+     * @param handler the handler of the workers
+     * @param bounds  the shared bounds
+     * @return the result of the worker
+     */
+    protected static LngResult<MaxSatResult> runWorker(final MaxSat worker, final ComputationHandler handler,
+                                                       final SharedBounds bounds) {
+        try {
+            final LngResult<MaxSatResult> result = worker.internalSearch(handler);
+            if (result.isSuccess()) {
+                if (result.getResult().isSatisfiable()) {
+                    bounds.publishModel(worker.model);
+                }
+                bounds.close();
+            }
+            return result;
+        } catch (final RuntimeException e) {
+            bounds.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Combines the results of the workers. If a worker finished its search or
+     * the bounds met, the best model of all workers is optimal.
+     * @param results     the results of the workers
+     * @param bounds      the shared bounds
+     * @param cancelCause the event on which the handler of the portfolio
+     *                    canceled the computation or {@code null}
+     * @return the result of the portfolio
+     */
+    protected LngResult<MaxSatResult> combineResults(final List<LngResult<MaxSatResult>> results,
+                                                     final SharedBounds bounds, final LngEvent cancelCause) {
+        boolean finished = false;
+        for (final LngResult<MaxSatResult> result : results) {
+            if (result.isSuccess()) {
+                if (!result.getResult().isSatisfiable()) {
+                    return unsat();
+                }
+                finished = true;
+            }
+        }
+        if (bounds.bestModel() != null) {
+            saveModel(bounds.bestModel());
+            ubCost = bounds.upperBound();
+            lbCost = finished ? ubCost : bounds.lowerBound();
+        }
+        if (finished || bounds.bestModel() != null && lbCost >= ubCost) {
+            if (verbosity != Verbosity.NONE) {
+                output.println("o " + ubCost);
+            }
+            return optimum();
+        }
+        return LngResult.canceled(cancelCause != null ? cancelCause : results.get(0).getCancelCause());
+    }
+
+    /**
+     * The handler of the workers. It stops a worker once the bounds are
+     * closed and passes the improvements of the global bounds and all other
+     * events to the synchronized handler of the portfolio.
+     */
+    protected static final class WorkerHandler implements ComputationHandler {
+        private final SynchronizedHandler handler;
+        private final SharedBounds bounds;
+
+        /**
+         * Constructs a new handler.
+         * @param handler the synchronized handler of the portfolio
+         * @param bounds  the shared bounds
+         */
+        protected WorkerHandler(final SynchronizedHandler handler, final SharedBounds bounds) {
+            this.handler = handler;
+            this.bounds = bounds;
+        }
+
+        @Override
+        public boolean shouldResume(final LngEvent event) {
+            if (bounds.isClosed()) {
+                return false;
+            }
+            if (event instanceof MaxSatNewUpperBoundEvent || event instanceof MaxSatNewLowerBoundEvent) {
+                final int upperBound = bounds.upperBound();
+                if (bounds.reportUpperBound(upperBound) &&
+                        !handler.shouldResume(new MaxSatNewUpperBoundEvent(upperBound))) {
+                    return false;
+                }
+                final int lowerBound = bounds.lowerBound();
+                return !bounds.reportLowerBound(lowerBound) ||
+                        handler.shouldResume(new MaxSatNewLowerBoundEvent(lowerBound));
+            }
+            return handler.shouldResume(event);
+        }
+    }
+}
@@ -0,0 +1,444 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.maxsat.algorithms;
+
+import static com.booleworks.logicng.handlers.events.SimpleEvent.MAX_SAT_LOCAL_SEARCH_FLIPS;
+
+import com.booleworks.logicng.collections.LngBooleanVector;
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.collections.LngVector;
+import com.booleworks.logicng.handlers.ComputationHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.solvers.datastructures.LngHardClause;
+import com.booleworks.logicng.solvers.datastructures.LngSoftClause;
+import com.booleworks.logicng.solvers.sat.LngCoreSolver;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A stochastic local search for (weighted) partial MaxSAT.
+ * <p>
+ * Based on "Solving (Weighted) Partial MaxSAT by Dynamic Local Search for SAT"
+ * by Lei and Cai. Each clause has a dynamic weight which is increased while
+ * the clause is falsified in a local optimum. The search greedily flips
+ * variables with a positive score w.r.t. the dynamic weights (the best of a
+ * sample of such variables) and otherwise updates the weights and flips the
+ * best variable of a random falsified clause, preferring hard clauses. The
+ * dynamic weight of a soft clause is bounded by its original weight scaled to
+ * {@code [1, 1000]}.
+ * <p>
+ * The search works on the hard and soft clauses of a MaxSAT solver without
+ * relaxation variables and keeps the best assignment which satisfies all hard
+ * clauses.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class SatLike {
+
+    private static final int SOFT_WEIGHT_LIMIT = 1000;
+    private static final int BMS_SAMPLES = 15;
+    private static final double SMOOTH_PROBABILITY = 0.01;
+    private static final int FLIPS_PER_EVENT = 1024;
+
+    private final Random random;
+    private final int nbVars;
+    private final int nbHard;
+    private final int[][] clauses;
+    private final int[] originalWeights;
+    private final int[] weightLimits;
+    private final int hardIncrement;
+    private final long constantCost;
+    private final boolean infeasible;
+    private final int[][] occurrences;
+
+    private final boolean[] assignment;
+    private final long[] weights;
+    private final long[] scores;
+    private final long[] lastFlip;
+    private final int[] nbTrueLits;
+    private final int[] trueVar;
+    private final int[] unsatHard;
+    private final int[] unsatSoft;
+    private final int[] unsatPos;
+    private final int[] goodVars;
+    private final int[] goodPos;
+    private int nbUnsatHard;
+    private int nbUnsatSoft;
+    private int nbGoodVars;
+    private long softCost;
+    private long step;
+
+    private final LngBooleanVector bestModel;
+    private long bestCost;
+
+    /**
+     * Constructs a new local search for the given clauses. Tautologies are
+     * ignored, empty soft clauses contribute a constant cost, and an empty
+     * hard clause makes the search infeasible.
+     * @param nbVars      the number of variables
+     * @param hardClauses the hard clauses
+     * @param softClauses the soft clauses
+     * @param seed        the seed for the random number generator
+     */
+    public SatLike(final int nbVars, final LngVector<LngHardClause> hardClauses,
+                   final LngVector<LngSoftClause> softClauses, final long seed) {
+        random = new Random(seed);
+        this.nbVars = nbVars;
+        final int[][] allClauses = new int[hardClauses.size() + softClauses.size()][];
+        final int[] allWeights = new int[allClauses.length];
+        int nbClauses = 0;
+        boolean emptyHardClause = false;
+        for (final LngHardClause hardClause : hardClauses) {
+            final int[] clause = normalize(hardClause.clause());
+            if (clause != null && clause.length == 0) {
+                emptyHardClause = true;
+            } else if (clause != null) {
+                allClauses[nbClauses++] = clause;
+            }
+        }
+        nbHard = nbClauses;
+        long constant = 0;
+        int maxWeight = 1;
+        for (final LngSoftClause softClause : softClauses) {
+            final int[] clause = normalize(softClause.clause());
+            if (clause != null && clause.length == 0) {
+                constant += softClause.weight();
+            } else if (clause != null) {
+                allWeights[nbClauses] = softClause.weight();
+                allClauses[nbClauses++] = clause;
+                maxWeight = Math.max(maxWeight, softClause.weight());
+            }
+        }
+        clauses = Arrays.copyOf(allClauses, nbClauses);
+        originalWeights = Arrays.copyOf(allWeights, nbClauses);
+        weightLimits = new int[nbClauses];
+        for (int i = nbHard; i < nbClauses; i++) {
+            weightLimits[i] = (int) Math.max(1, (long) originalWeights[i] * SOFT_WEIGHT_LIMIT / maxWeight);
+        }
+        hardIncrement = maxWeight == 1 ? 1 : 3;
+        constantCost = constant;
+        infeasible = emptyHardClause;
+        occurrences = computeOccurrences();
+        assignment = new boolean[nbVars];
+        weights = new long[nbClauses];
+        scores = new long[nbVars];
+        lastFlip = new long[nbVars];
+        nbTrueLits = new int[nbClauses];
+        trueVar = new int[nbClauses];
+        unsatHard = new int[nbHard];
+        unsatSoft = new int[nbClauses - nbHard];
+        unsatPos = new int[nbClauses];
+        goodVars = new int[nbVars];
+        goodPos = new int[nbVars];
+        bestModel = new LngBooleanVector(nbVars);
+        bestCost = Long.MAX_VALUE;
+    }
+
+    /**
+     * Searches for an assignment which satisfies all hard clauses and has a
+     * lower cost than the given upper bound. The search starts at the given
+     * assignment with fresh clause weights and stops after the given number of
+     * flips, if an assignment with the given lower bound is found, or if the
+     * handler cancels the computation.
+     * @param start      the start assignment, must contain at least one
+     *                   value for each variable
+     * @param upperBound the cost to improve
+     * @param lowerBound the lower bound on the cost
+     * @param maxFlips   the maximum number of flips
+     * @param handler    the handler
+     * @return {@code true} if an assignment with a lower cost than the upper
+     * bound was found, {@code false} otherwise, or the cancel cause of the
+     * handler
+     */
+    public LngResult<Boolean> search(final LngBooleanVector start, final long upperBound, final long lowerBound,
+                                     final int maxFlips, final ComputationHandler handler) {
+        bestCost = upperBound;
+        if (infeasible) {
+            return LngResult.of(false);
+        }
+        initialize(start);
+        for (int flips = 0; flips <= maxFlips; flips++) {
+            if (nbUnsatHard == 0 && softCost + constantCost < bestCost) {
+                bestCost = softCost + constantCost;
+                bestModel.clear();
+                for (final boolean value : assignment) {
+                    bestModel.push(value);
+                }
+                if (bestCost <= lowerBound) {
+                    break;
+                }
+            }
+            if (flips % FLIPS_PER_EVENT == FLIPS_PER_EVENT - 1 && !handler.shouldResume(MAX_SAT_LOCAL_SEARCH_FLIPS)) {
+                return LngResult.canceled(MAX_SAT_LOCAL_SEARCH_FLIPS);
+            }
+            if (flips == maxFlips || nbUnsatHard + nbUnsatSoft == 0) {
+                break;
+            }
+            int var = pickGoodVar();
+            if (var == -1) {
+                updateWeights();
+                final int clause = nbUnsatHard > 0
+                                   ? unsatHard[random.nextInt(nbUnsatHard)]
+                                   : unsatSoft[random.nextInt(nbUnsatSoft)];
+                var = bestVar(clauses[clause]);
+            }
+            flip(var);
+        }
+        return LngResult.of(bestCost < upperBound);
+    }
+
+    /**
+     * Returns the best assignment found by the last search which improved its
+     * upper bound.
+     * @return the best assignment
+     */
+    public LngBooleanVector bestModel() {
+        return bestModel;
+    }
+
+    /**
+     * Returns the cost of the best assignment found by the last search, or its
+     * upper bound if no better assignment was found.
+     * @return the cost of the best assignment
+     */
+    public long bestCost() {
+        return bestCost;
+    }
+
+    private static int[] normalize(final LngIntVector clause) {
+        final LngIntVector lits = new LngIntVector(clause.size());
+        for (int i = 0; i < clause.size(); i++) {
+            final int lit = clause.get(i);
+            boolean duplicate = false;
+            for (int j = 0; j < lits.size(); j++) {
+                if (lits.get(j) == LngCoreSolver.not(lit)) {
+                    return null;
+                }
+                duplicate |= lits.get(j) == lit;
+            }
+            if (!duplicate) {
+                lits.push(lit);
+            }
+        }
+        return lits.toArray();
+    }
+
+    private int[][] computeOccurrences() {
+        final int[] counts = new int[nbVars];
+        for (final int[] clause : clauses) {
+            for (final int lit : clause) {
+                counts[LngCoreSolver.var(lit)]++;
+            }
+        }
+        final int[][] occs = new int[nbVars][];
+        for (int v = 0; v < nbVars; v++) {
+            occs[v] = new int[counts[v]];
+            counts[v] = 0;
+        }
+        for (int c = 0; c < clauses.length; c++) {
+            for (final int lit : clauses[c]) {
+                final int v = LngCoreSolver.var(lit);
+                occs[v][counts[v]++] = c;
+            }
+        }
+        return occs;
+    }
+
+    private boolean isTrue(final int lit) {
+        return assignment[LngCoreSolver.var(lit)] != LngCoreSolver.sign(lit);
+    }
+
+    private void initialize(final LngBooleanVector start) {
+        for (int v = 0; v < nbVars; v++) {
+            assignment[v] = start.get(v);
+            scores[v] = 0;
+            lastFlip[v] = 0;
+        }
+        step = 0;
+        nbUnsatHard = 0;
+        nbUnsatSoft = 0;
+        nbGoodVars = 0;
+        softCost = 0;
+        for (int c = 0; c < clauses.length; c++) {
+            weights[c] = 1;
+            nbTrueLits[c] = 0;
+            for (final int lit : clauses[c]) {
+                if (isTrue(lit)) {
+                    nbTrueLits[c]++;
+                    trueVar[c] = LngCoreSolver.var(lit);
+                }
+            }
+            if (nbTrueLits[c] == 0) {
+                makeUnsat(c);
+                for (final int lit : clauses[c]) {
+                    scores[LngCoreSolver.var(lit)] += weights[c];
+                }
+            } else if (nbTrueLits[c] == 1) {
+                scores[trueVar[c]] -= weights[c];
+            }
+        }
+        for (int v = 0; v < nbVars; v++) {
+            updateGoodVar(v);
+        }
+    }
+
+    private int pickGoodVar() {
+        if (nbGoodVars == 0) {
+            return -1;
+        }
+        int best = -1;
+        if (nbGoodVars <= BMS_SAMPLES) {
+            for (int i = 0; i < nbGoodVars; i++) {
+                best = better(best, goodVars[i]);
+            }
+        } else {
+            for (int i = 0; i < BMS_SAMPLES; i++) {
+                best = better(best, goodVars[random.nextInt(nbGoodVars)]);
+            }
+        }
+        return best;
+    }
+
+    private int bestVar(final int[] clause) {
+        int best = -1;
+        for (final int lit : clause) {
+            best = better(best, LngCoreSolver.var(lit));
+        }
+        return best;
+    }
+
+    private int better(final int best, final int candidate) {
+        if (best == -1 || scores[candidate] > scores[best] ||
+                scores[candidate] == scores[best] && lastFlip[candidate] < lastFlip[best]) {
+            return candidate;
+        }
+        return best;
+    }
+
+    private void flip(final int var) {
+        assignment[var] = !assignment[var];
+        lastFlip[var] = ++step;
+        scores[var] = -scores[var];
+        updateGoodVar(var);
+        for (final int c : occurrences[var]) {
+            final int[] clause = clauses[c];
+            final long weight = weights[c];
+            if (isTrue(litOf(clause, var))) {
+                nbTrueLits[c]++;
+                if (nbTrueLits[c] == 1) {
+                    trueVar[c] = var;
+                    makeSat(c);
+                    addToScores(clause, var, -weight);
+                } else if (nbTrueLits[c] == 2) {
+                    scores[trueVar[c]] += weight;
+                    updateGoodVar(trueVar[c]);
+                }
+            } else {
+                nbTrueLits[c]--;
+                if (nbTrueLits[c] == 0) {
+                    makeUnsat(c);
+                    addToScores(clause, var, weight);
+                } else if (nbTrueLits[c] == 1) {
+                    for (final int lit : clause) {
+                        if (isTrue(lit)) {
+                            trueVar[c] = LngCoreSolver.var(lit);
+                            break;
+                        }
+                    }
+                    scores[trueVar[c]] -= weight;
+                    updateGoodVar(trueVar[c]);
+                }
+            }
+        }
+    }
+
+    private static int litOf(final int[] clause, final int var) {
+        for (final int lit : clause) {
+            if (LngCoreSolver.var(lit) == var) {
+                return lit;
+            }
+        }
+        throw new IllegalStateException("Variable " + var + " does not occur in the clause");
+    }
+
+    private void addToScores(final int[] clause, final int except, final long delta) {
+        for (final int lit : clause) {
+            final int v = LngCoreSolver.var(lit);
+            if (v != except) {
+                scores[v] += delta;
+                updateGoodVar(v);
+            }
+        }
+    }
+
+    private void updateWeights() {
+        if (random.nextDouble() < SMOOTH_PROBABILITY) {
+            for (int c = 0; c < clauses.length; c++) {
+                final long delta = c < nbHard ? Math.min(hardIncrement, weights[c] - 1) : weights[c] > 1 ? 1 : 0;
+                if (nbTrueLits[c] > 0 && delta > 0) {
+                    weights[c] -= delta;
+                    if (nbTrueLits[c] == 1) {
+                        scores[trueVar[c]] += delta;
+                        updateGoodVar(trueVar[c]);
+                    }
+                }
+            }
+        } else {
+            for (int i = 0; i < nbUnsatHard; i++) {
+                increaseWeight(unsatHard[i], hardIncrement);
+            }
+            for (int i = 0; i < nbUnsatSoft; i++) {
+                final int c = unsatSoft[i];
+                if (weights[c] < weightLimits[c]) {
+                    increaseWeight(c, 1);
+                }
+            }
+        }
+    }
+
+    private void increaseWeight(final int c, final long delta) {
+        weights[c] += delta;
+        addToScores(clauses[c], -1, delta);
+    }
+
+    private void makeUnsat(final int c) {
+        if (c < nbHard) {
+            unsatPos[c] = nbUnsatHard;
+            unsatHard[nbUnsatHard++] = c;
+        } else {
+            unsatPos[c] = nbUnsatSoft;
+            unsatSoft[nbUnsatSoft++] = c;
+            softCost += originalWeights[c];
+        }
+    }
+
+    private void makeSat(final int c) {
+        final int[] unsat;
+        final int last;
+        if (c < nbHard) {
+            unsat = unsatHard;
+            last = unsatHard[--nbUnsatHard];
+        } else {
+            unsat = unsatSoft;
+            last = unsatSoft[--nbUnsatSoft];
+            softCost -= originalWeights[c];
+        }
+        unsat[unsatPos[c]] = last;
+        unsatPos[last] = unsatPos[c];
+    }
+
+    private void updateGoodVar(final int var) {
+        final boolean good = goodPos[var] < nbGoodVars && goodVars[goodPos[var]] == var;
+        if (scores[var] > 0 && !good) {
+            goodPos[var] = nbGoodVars;
+            goodVars[nbGoodVars++] = var;
+        } else if (scores[var] <= 0 && good) {
+            final int last = goodVars[--nbGoodVars];
+            goodVars[goodPos[var]] = last;
+            goodPos[last] = goodPos[var];
+        }
+    }
+}
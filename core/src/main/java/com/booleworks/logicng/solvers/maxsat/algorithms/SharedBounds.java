@@ -0,0 +1,134 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.maxsat.algorithms;
+
+import com.booleworks.logicng.collections.LngBooleanVector;
+
+/**
+ * The bounds which are shared by the workers of a {@link Portfolio}.
+ * <p>
+ * A worker publishes each model it saves and each lower bound it finds. The
+ * best model is kept together with its cost, which is the global upper bound.
+ * Once the global lower bound reaches the global upper bound or a worker
+ * finishes its search, the bounds are closed and all workers stop.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public final class SharedBounds {
+
+    private final MaxSat portfolio;
+    private LngBooleanVector bestModel;
+    private volatile int upperBound;
+    private volatile int lowerBound;
+    private volatile boolean closed;
+    private int reportedUpperBound;
+    private int reportedLowerBound;
+
+    /**
+     * Constructs new shared bounds for the given portfolio.
+     * @param portfolio the portfolio whose soft clauses determine the cost of
+     *                  a model
+     */
+    SharedBounds(final MaxSat portfolio) {
+        this.portfolio = portfolio;
+        upperBound = Integer.MAX_VALUE;
+        reportedUpperBound = Integer.MAX_VALUE;
+        reportedLowerBound = -1;
+    }
+
+    /**
+     * Publishes a model of a worker. If its cost is lower than the global
+     * upper bound, it becomes the new best model.
+     * @param model the model on the original variables
+     */
+    synchronized void publishModel(final LngBooleanVector model) {
+        final int cost = portfolio.computeCostModel(model, Integer.MAX_VALUE);
+        if (cost < upperBound) {
+            bestModel = new LngBooleanVector(model);
+            upperBound = cost;
+            closed |= lowerBound >= upperBound;
+        }
+    }
+
+    /**
+     * Publishes a lower bound of a worker.
+     * @param bound the lower bound
+     */
+    synchronized void publishLowerBound(final int bound) {
+        if (bound > lowerBound) {
+            lowerBound = bound;
+            closed |= lowerBound >= upperBound;
+        }
+    }
+
+    /**
+     * Returns whether an upper bound should be reported to the handler of the
+     * portfolio, i.e. whether it improves all upper bounds reported so far.
+     * @param bound the upper bound
+     * @return {@code true} if the upper bound should be reported
+     */
+    synchronized boolean reportUpperBound(final int bound) {
+        if (bound < reportedUpperBound) {
+            reportedUpperBound = bound;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a lower bound should be reported to the handler of the
+     * portfolio, i.e. whether it improves all lower bounds reported so far.
+     * @param bound the lower bound
+     * @return {@code true} if the lower bound should be reported
+     */
+    synchronized boolean reportLowerBound(final int bound) {
+        if (bound > reportedLowerBound) {
+            reportedLowerBound = bound;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Closes the bounds such that all workers stop.
+     */
+    void close() {
+        closed = true;
+    }
+
+    /**
+     * Returns whether the bounds are closed, i.e. whether the workers should
+     * stop.
+     * @return {@code true} if the bounds are closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns the global upper bound or {@link Integer#MAX_VALUE} if no model
+     * was published yet.
+     * @return the global upper bound
+     */
+    public int upperBound() {
+        return upperBound;
+    }
+
+    /**
+     * Returns the global lower bound.
+     * @return the global lower bound
+     */
+    public int lowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Returns the best model or {@code null} if no model was published yet.
+     * @return the best model
+     */
+    public synchronized LngBooleanVector bestModel() {
+        return bestModel;
+    }
+}
@@ -42,6 +42,7 @@ public class Wbo extends MaxSat {
     protected LngVector<LngIntVector> relaxationMapping;
     protected Set<Pair<Integer, Integer>> duplicatedSymmetryClauses;
     protected int symmetryBreakingLimit;
+    protected Set<Integer> hardenedAssumptions;
 
     /**
      * Constructs a new solver with a given configuration.
@@ -61,6 +62,7 @@ public class Wbo extends MaxSat {
         softMapping = new LngVector<>();
         relaxationMapping = new LngVector<>();
         duplicatedSymmetryClauses = new HashSet<>();
+        hardenedAssumptions = new HashSet<>();
     }
 
     @Override
@@ -72,6 +74,7 @@ public class Wbo extends MaxSat {
         softMapping.clear();
         relaxationMapping.clear();
         duplicatedSymmetryClauses.clear();
+        hardenedAssumptions.clear();
         if (currentWeight == 1) {
             weightStrategy = WeightStrategy.NONE;
         }
@@ -152,6 +155,7 @@ public class Wbo extends MaxSat {
     }
 
     protected void updateCurrentWeight(final WeightStrategy strategy) {
+        nbStratificationLevels++;
         switch (strategy) {
             case NORMAL:
                 currentWeight = findNextWeight(currentWeight);
@@ -440,16 +444,23 @@ public class Wbo extends MaxSat {
             } else if (!res.getResult()) {
                 nbCores++;
                 assert !solver.assumptionsConflict().isEmpty();
-                final int coreCost = computeCostCore(solver.assumptionsConflict());
+                final LngResult<LngIntVector> minimizedCore =
+                        minimizeCore(solver, solver.assumptionsConflict(), handler);
+                if (!minimizedCore.isSuccess()) {
+                    return LngResult.canceled(minimizedCore.getCancelCause());
+                }
+                final LngIntVector core = minimizedCore.getResult();
+                final int coreCost = computeCostCore(core);
                 lbCost += coreCost;
                 if (verbosity != Verbosity.NONE) {
-                    output.printf("c LB : %d CS : %d W : %d%n", lbCost, solver.assumptionsConflict().size(), coreCost);
+                    output.printf("c LB : %d CS : %d W : %d%n", lbCost, core.size(), coreCost);
                 }
                 final LngEvent lowerBoundEvent = foundLowerBound(lbCost, handler);
                 if (lowerBoundEvent != null) {
                     return LngResult.canceled(lowerBoundEvent);
                 }
-                relaxCore(solver.assumptionsConflict(), coreCost, assumptions);
+                relaxCore(core, coreCost, assumptions);
+                hardenSoftClauses();
                 solver = rebuildWeightSolver(weightStrategy);
             } else {
                 nbSatisfiable++;
@@ -487,6 +498,7 @@ public class Wbo extends MaxSat {
                             return LngResult.canceled(upperBoundEvent);
                         }
                     }
+                    hardenSoftClauses();
                     solver = rebuildWeightSolver(weightStrategy);
                 }
             }
@@ -509,10 +521,16 @@ public class Wbo extends MaxSat {
             } else if (!res.getResult()) {
                 nbCores++;
                 assert !solver.assumptionsConflict().isEmpty();
-                final int coreCost = computeCostCore(solver.assumptionsConflict());
+                final LngResult<LngIntVector> minimizedCore =
+                        minimizeCore(solver, solver.assumptionsConflict(), handler);
+                if (!minimizedCore.isSuccess()) {
+                    return LngResult.canceled(minimizedCore.getCancelCause());
+                }
+                final LngIntVector core = minimizedCore.getResult();
+                final int coreCost = computeCostCore(core);
                 lbCost += coreCost;
                 if (verbosity != Verbosity.NONE) {
-                    output.printf("c LB : %d CS : %d W : %d%n", lbCost, solver.assumptionsConflict().size(), coreCost);
+                    output.printf("c LB : %d CS : %d W : %d%n", lbCost, core.size(), coreCost);
                 }
                 if (lbCost == ubCost) {
                     if (verbosity != Verbosity.NONE) {
@@ -525,7 +543,8 @@ public class Wbo extends MaxSat {
                         return LngResult.canceled(lowerBoundEvent);
                     }
                 }
-                relaxCore(solver.assumptionsConflict(), coreCost, assumptions);
+                relaxCore(core, coreCost, assumptions);
+                hardenSoftClauses();
                 solver = rebuildSolver();
             } else {
                 nbSatisfiable++;
@@ -540,6 +559,26 @@ public class Wbo extends MaxSat {
         }
     }
 
+    /**
+     * Hardens all soft clauses whose weight exceeds the gap between the upper
+     * and the lower bound, if hardening is configured. Such a soft clause
+     * cannot be falsified by a solution better than the current best solution
+     * and is therefore forced by a new hard clause.
+     */
+    protected void hardenSoftClauses() {
+        if (!config.hardening || problemType == ProblemType.UNWEIGHTED || nbSatisfiable == 0) {
+            return;
+        }
+        final int gap = sharedUpperBound(ubCost) - lbCost;
+        for (int i = 0; i < softClauses.size(); i++) {
+            final int l = softClauses.get(i).assumptionVar();
+            if (softClauses.get(i).weight() > gap && hardenedAssumptions.add(l)) {
+                addHardClause(LngIntVector.of(LngCoreSolver.not(l)));
+                nbHardenedSoftClauses++;
+            }
+        }
+    }
+
     protected void initAssumptions() {
         for (int i = 0; i < softClauses.size(); i++) {
             final int l = newLiteral(false);
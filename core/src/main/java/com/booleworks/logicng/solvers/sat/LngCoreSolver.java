@@ -127,6 +127,16 @@ public class LngCoreSolver {
     protected LngIntVector selectionOrder = new LngIntVector();
     protected int selectionOrderIdx = 0;
 
+    // backtracking-based model enumeration
+    protected LngHeap enumerationHeap;
+    protected LngBooleanVector enumerationProjected;
+    protected LngBooleanVector enumerationFlipped;
+    protected LngIntVector enumerationDontCares;
+    protected boolean enumerationShrink;
+    protected boolean enumerationModelFound;
+    protected boolean enumerationFinished;
+    protected int enumerationCubeLevel;
+
     // internal glucose-related state
     protected LngVector<LngVector<LngWatcher>> watchesBin = new LngVector<>();
     protected LngIntVector permDiff = new LngIntVector();
@@ -636,6 +646,50 @@ public class LngCoreSolver {
         }
     }
 
+    /**
+     * Returns a copy of this solver for the given formula factory. The copy
+     * has the same variables (with the same indices and names), the same
+     * original clauses and at-most constraints, and the same unit clauses.
+     * Learnt clauses, variable activities, solver states, and proof
+     * information are not copied. The copy is independent of this solver and
+     * can e.g. be used in another thread with its own formula factory.
+     * @param f the formula factory of the copy
+     * @return the copy of this solver
+     * @throws IllegalStateException if a {@link SatCall} is currently running
+     *                               on this solver
+     */
+    public LngCoreSolver copy(final FormulaFactory f) {
+        assertNotInSatCall();
+        final LngCoreSolver copy = new LngCoreSolver(f, config);
+        for (int i = 0; i < vars.size(); i++) {
+            final LngVariable var = vars.get(i);
+            copy.newVar(var.polarity(), var.decision());
+            final String name = idx2name.get(i);
+            if (name != null) {
+                copy.addName(name, i);
+            }
+        }
+        if (!ok) {
+            copy.ok = false;
+            return copy;
+        }
+        for (int i = 0; i < unitClauses.size(); i++) {
+            copy.addClause(unitClauses.get(i), null);
+        }
+        for (final LngClause clause : clauses) {
+            final LngIntVector lits = new LngIntVector(clause.size());
+            for (int i = 0; i < clause.size(); i++) {
+                lits.push(clause.get(i));
+            }
+            if (clause.isAtMost()) {
+                copy.addAtMost(lits, clause.size() - clause.atMostWatchers() + 1);
+            } else {
+                copy.addClause(lits, null);
+            }
+        }
+        return copy;
+    }
+
     /**
      * Returns the number of variables of the solver.
      * @return the number of variables of the solver
@@ -691,6 +745,10 @@ public class LngCoreSolver {
         if (!orderHeap.inHeap(x) && vars.get(x).decision()) {
             orderHeap.insert(x);
         }
+        if (enumerationHeap != null && x < enumerationProjected.size() && enumerationProjected.get(x)
+                && !enumerationHeap.inHeap(x)) {
+            enumerationHeap.insert(x);
+        }
     }
 
     /**
@@ -698,6 +756,14 @@ public class LngCoreSolver {
      * @return the literal or -1 if there are no unassigned literals left
      */
     protected int pickBranchLit() {
+        if (enumerationHeap != null) {
+            while (!enumerationHeap.empty()) {
+                final int next = enumerationHeap.removeMin();
+                if (vars.get(next).assignment() == UNDEF) {
+                    return mkLit(next, vars.get(next).polarity());
+                }
+            }
+        }
         if (!selectionOrder.isEmpty() && selectionOrderIdx < selectionOrder.size()) {
             while (selectionOrderIdx < selectionOrder.size()) {
                 final int lit = selectionOrder.get(selectionOrderIdx++);
@@ -751,6 +817,9 @@ public class LngCoreSolver {
         if (orderHeap.inHeap(v)) {
             orderHeap.decrease(v);
         }
+        if (enumerationHeap != null && enumerationHeap.inHeap(v)) {
+            enumerationHeap.decrease(v);
+        }
     }
 
     /**
@@ -1999,6 +2068,234 @@ public class LngCoreSolver {
         return type == BackboneType.POSITIVE_AND_NEGATIVE;
     }
 
+    /**
+     * Starts a backtracking-based model enumeration over the given projected
+     * variables (given by their indices).
+     * <p>
+     * Instead of solving the formula again for each model and blocking the
+     * found models with clauses, the solver keeps its trail after a model was
+     * found and chronologically backtracks to the last projected decision
+     * which was not yet flipped. The current path of decisions is stored in
+     * the assumptions of the solver, so restarts and conflict driven
+     * backjumping never leave the remaining search space. Projected variables
+     * are always decided before all other variables.
+     * <p>
+     * If {@code shrinkModels} is set, each model is shrunk to a partial
+     * assignment of the projected variables which is still an implicant of
+     * the formula (for the current assignment of the non-projected
+     * variables). The projected variables which are not part of this
+     * assignment can be obtained by {@link #enumerationDontCares()}. Models
+     * can only be shrunk on solvers without cardinality constraints.
+     * <p>
+     * The enumeration must be finished with {@link #finishEnumeration()}
+     * before the solver is used for anything else. No clauses must be added
+     * during the enumeration.
+     * @param projectedVars the indices of the projected variables
+     * @param shrinkModels  whether the models should be shrunk to partial
+     *                      assignments
+     */
+    public void startEnumeration(final LngIntVector projectedVars, final boolean shrinkModels) {
+        cancelUntil(0);
+        enumerationProjected = new LngBooleanVector(vars.size(), false);
+        enumerationHeap = new LngHeap(this);
+        for (int i = 0; i < projectedVars.size(); i++) {
+            final int var = projectedVars.get(i);
+            if (!enumerationProjected.get(var)) {
+                enumerationProjected.set(var, true);
+                enumerationHeap.insert(var);
+            }
+        }
+        enumerationShrink = shrinkModels;
+        for (final LngClause clause : clauses) {
+            if (clause.isAtMost()) {
+                enumerationShrink = false;
+                break;
+            }
+        }
+        enumerationFlipped = new LngBooleanVector();
+        enumerationDontCares = new LngIntVector();
+        enumerationModelFound = false;
+        enumerationFinished = false;
+        assumptions = new LngIntVector();
+        assumptionPropositions = new LngVector<>();
+    }
+
+    /**
+     * Computes the next model of an enumeration started with
+     * {@link #startEnumeration(LngIntVector, boolean)}. If a model is found,
+     * it can be obtained by {@link #model()} and the projected variables
+     * which can be assigned arbitrarily in this model by
+     * {@link #enumerationDontCares()}. Each returned model is a fresh vector
+     * which is not altered by the solver afterwards. No model is returned
+     * twice wrt. the projected variables.
+     * @param handler the computation handler
+     * @return {@code true} if a new model was found, {@code false} if all
+     * models were enumerated, or a canceled result if the handler canceled
+     * the computation
+     */
+    public LngResult<Boolean> nextEnumerationModel(final ComputationHandler handler) {
+        if (!handler.shouldResume(SAT_CALL_STARTED)) {
+            return LngResult.canceled(SAT_CALL_STARTED);
+        }
+        model = new LngBooleanVector();
+        enumerationDontCares.clear();
+        if (enumerationModelFound) {
+            enumerationModelFound = false;
+            if (!backtrackEnumeration(enumerationCubeLevel)) {
+                enumerationFinished = true;
+            }
+        }
+        if (!ok || enumerationFinished) {
+            return LngResult.of(false);
+        }
+        while (true) {
+            assumptionsConflict.clear();
+            while (assumptionPropositions.size() < assumptions.size()) {
+                assumptionPropositions.push(null);
+            }
+            final LngResult<Tristate> status = search(handler);
+            if (!status.isSuccess()) {
+                return LngResult.canceled(status.getCancelCause());
+            }
+            if (status.getResult() == TRUE) {
+                enumerationModelFound();
+                break;
+            } else if (status.getResult() == FALSE) {
+                if (assumptionsConflict.isEmpty()) {
+                    ok = false;
+                    enumerationFinished = true;
+                    break;
+                } else if (!backtrackEnumeration(decisionLevel() + 1)) {
+                    enumerationFinished = true;
+                    break;
+                }
+            }
+        }
+        if (!handler.shouldResume(SAT_CALL_FINISHED)) {
+            return LngResult.canceled(SAT_CALL_FINISHED);
+        }
+        return LngResult.of(enumerationModelFound);
+    }
+
+    /**
+     * Returns the indices of the projected variables which can be assigned
+     * arbitrarily in the last model found by
+     * {@link #nextEnumerationModel(ComputationHandler)}.
+     * @return the indices of the projected don't care variables
+     */
+    public LngIntVector enumerationDontCares() {
+        return enumerationDontCares;
+    }
+
+    /**
+     * Finishes an enumeration started with
+     * {@link #startEnumeration(LngIntVector, boolean)} and resets the solver
+     * to decision level 0.
+     */
+    public void finishEnumeration() {
+        cancelUntil(0);
+        assumptions.clear();
+        assumptionPropositions.clear();
+        assumptionsConflict.clear();
+        enumerationHeap = null;
+        enumerationProjected = null;
+        enumerationFlipped = null;
+        enumerationDontCares = null;
+        enumerationModelFound = false;
+        enumerationFinished = false;
+    }
+
+    /**
+     * Records a model of the enumeration: extends the decision path by the
+     * new projected decisions, stores the model, and computes the level up to
+     * which the decisions have to be kept for the next model.
+     */
+    protected void enumerationModelFound() {
+        enumerationModelFound = true;
+        for (int level = assumptions.size(); level < decisionLevel(); level++) {
+            final int decision = trail.get(trailLim.get(level));
+            if (!enumerationProjected.get(var(decision))) {
+                break;
+            }
+            assumptions.push(decision);
+            enumerationFlipped.push(false);
+        }
+        model = new LngBooleanVector(vars.size());
+        for (final LngVariable v : vars) {
+            model.push(v.assignment() == TRUE);
+        }
+        int lastFlipped = enumerationFlipped.size() - 1;
+        while (lastFlipped >= 0 && !enumerationFlipped.get(lastFlipped)) {
+            lastFlipped--;
+        }
+        enumerationCubeLevel = enumerationShrink ? Math.max(lastFlipped + 1, implicantLevel()) : assumptions.size();
+        for (int i = 0; i < enumerationProjected.size(); i++) {
+            if (enumerationProjected.get(i) && vars.get(i).level() > enumerationCubeLevel) {
+                enumerationDontCares.push(i);
+            }
+        }
+    }
+
+    /**
+     * Greedily computes an implicant of the original clauses in the current
+     * (complete) assignment which prefers non-projected literals and
+     * projected literals assigned on low decision levels. Returns the
+     * highest decision level of a projected literal in this implicant.
+     * @return the highest decision level of a projected literal in the
+     * implicant
+     */
+    protected int implicantLevel() {
+        int maxLevel = 0;
+        for (final LngClause clause : clauses) {
+            int best = -1;
+            int bestLevel = Integer.MAX_VALUE;
+            for (int i = 0; i < clause.size(); i++) {
+                final int lit = clause.get(i);
+                if (value(lit) != TRUE) {
+                    continue;
+                }
+                final int level = enumerationProjected.get(var(lit)) ? vars.get(var(lit)).level() : -1;
+                if (level <= maxLevel) {
+                    best = -1;
+                    break;
+                }
+                if (level < bestLevel) {
+                    best = lit;
+                    bestLevel = level;
+                }
+            }
+            if (best != -1) {
+                maxLevel = bestLevel;
+            }
+        }
+        return maxLevel;
+    }
+
+    /**
+     * Backtracks the enumeration to the last decision among the first
+     * {@code size} decisions of the path which was not yet flipped and flips
+     * it.
+     * @param size the number of decisions of the path to consider
+     * @return {@code true} if a decision was flipped, {@code false} if all
+     * decisions were already flipped, i.e. the enumeration is finished
+     */
+    protected boolean backtrackEnumeration(final int size) {
+        int i = Math.min(size, assumptions.size()) - 1;
+        while (i >= 0 && enumerationFlipped.get(i)) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        cancelUntil(i);
+        final int flipped = not(assumptions.get(i));
+        assumptions.shrinkTo(i);
+        enumerationFlipped.shrinkTo(i);
+        assumptions.push(flipped);
+        enumerationFlipped.push(true);
+        return true;
+    }
+
     /**
      * Returns the clauses loaded on the solver.
      * @return the clauses loaded on the solver
@@ -44,6 +44,7 @@ module logicng.core {
     exports com.booleworks.logicng.knowledgecompilation.dnnf.datastructures;
     exports com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree;
     exports com.booleworks.logicng.knowledgecompilation.dnnf.functions;
+    exports com.booleworks.logicng.knowledgecompilation.zdds;
 
     exports com.booleworks.logicng.modelcounting;
 
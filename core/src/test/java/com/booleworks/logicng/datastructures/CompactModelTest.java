@@ -0,0 +1,75 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.datastructures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.booleworks.logicng.formulas.FormulaContext;
+import com.booleworks.logicng.formulas.TestWithFormulaContext;
+import com.booleworks.logicng.formulas.Variable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for the class {@link CompactModel}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class CompactModelTest extends TestWithFormulaContext {
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    public void testPhasesAndLiterals(final FormulaContext _c) {
+        final List<Variable> vars = Arrays.asList(_c.a, _c.b, _c.x);
+        final CompactModel model = new CompactModel(vars, new long[]{0b101});
+        assertThat(model.size()).isEqualTo(3);
+        assertThat(model.getVariables()).containsExactly(_c.a, _c.b, _c.x);
+        assertThat(model.phase(0)).isTrue();
+        assertThat(model.phase(1)).isFalse();
+        assertThat(model.phase(2)).isTrue();
+        assertThat(model.literal(_c.f, 1)).isEqualTo(_c.nb);
+        assertThat(model.numberOfPositiveVariables()).isEqualTo(2);
+        assertThat(model.toModel(_c.f)).isEqualTo(new Model(_c.a, _c.nb, _c.x));
+        assertThat(model.toString()).isEqualTo("CompactModel{a, ~b, x}");
+        assertThat(new CompactModel(Collections.emptyList(), new long[0]).toModel(_c.f)).isEqualTo(new Model());
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    public void testManyVariables(final FormulaContext _c) {
+        final List<Variable> vars = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            vars.add(_c.f.variable("v" + i));
+        }
+        final CompactModel model = new CompactModel(vars, new long[]{1L, 1L << 63, 0b10});
+        assertThat(model.phase(0)).isTrue();
+        assertThat(model.phase(127)).isTrue();
+        assertThat(model.phase(129)).isTrue();
+        assertThat(model.phase(128)).isFalse();
+        assertThat(model.numberOfPositiveVariables()).isEqualTo(3);
+        assertThatThrownBy(() -> new CompactModel(vars, new long[2])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    public void testEquals(final FormulaContext _c) {
+        final List<Variable> vars = Arrays.asList(_c.a, _c.b);
+        final CompactModel model = new CompactModel(vars, new long[]{0b10});
+        assertThat(model).isEqualTo(model);
+        assertThat(model).isEqualTo(new CompactModel(vars, new long[]{0b10}));
+        assertThat(model).isEqualTo(new CompactModel(Arrays.asList(_c.a, _c.b), new long[]{0b10}));
+        assertThat(model.hashCode()).isEqualTo(new CompactModel(vars, new long[]{0b10}).hashCode());
+        assertThat(model).isNotEqualTo(new CompactModel(vars, new long[]{0b01}));
+        assertThat(model).isNotEqualTo(new CompactModel(Arrays.asList(_c.b, _c.a), new long[]{0b10}));
+        assertThat(model).isNotEqualTo(null);
+        assertThat(model).isNotEqualTo(new Model(_c.na, _c.b));
+    }
+}
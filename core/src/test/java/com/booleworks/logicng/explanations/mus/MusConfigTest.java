@@ -16,7 +16,8 @@ public class MusConfigTest {
     @Test
     public void testMUSConfiguration() {
         final MusConfig config = MusConfig.builder().algorithm(MusConfig.Algorithm.valueOf("DELETION")).build();
-        assertThat(config.toString()).isEqualTo(String.format("MusConfig{%nalgorithm=DELETION%n}%n"));
+        assertThat(config.toString()).isEqualTo(
+                String.format("MusConfig{%nalgorithm=DELETION%nclauseSetRefinement=true%nmodelRotation=true%n}%n"));
         assertThat(Arrays.asList(CnfConfig.Algorithm.values()))
                 .contains(CnfConfig.Algorithm.valueOf("TSEITIN"));
     }
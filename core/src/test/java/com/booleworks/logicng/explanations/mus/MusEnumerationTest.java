@@ -0,0 +1,229 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.explanations.mus;
+
+import static com.booleworks.logicng.TestWithExampleFormulas.parse;
+import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.MUS_ENUMERATION_STARTED;
+import static com.booleworks.logicng.handlers.events.SimpleEvent.MUS_ENUMERATION_FOUND_MUS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.booleworks.logicng.explanations.UnsatCore;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.handlers.BoundedSatHandler;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.io.readers.DimacsReader;
+import com.booleworks.logicng.propositions.StandardProposition;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+public class MusEnumerationTest {
+
+    private final FormulaFactory f = FormulaFactory.caching();
+
+    @Test
+    public void testBuilder() {
+        assertThatThrownBy(() -> MusEnumeration.builder()
+                .musConfig(MusConfig.builder().algorithm(MusConfig.Algorithm.DELETION).build()).build())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported MUS algorithm for the MUS enumeration: DELETION");
+        assertThatThrownBy(() -> MusEnumeration.builder().parallelism(0).build())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The parallelism must be at least 1, but was 0");
+    }
+
+    @Test
+    public void testSimpleExample() {
+        final List<StandardProposition> propositions = propositions("a", "~a", "b", "~a | ~b");
+        for (final MusEnumeration enumeration : enumerations()) {
+            final Collector collector = new Collector(propositions);
+            assertThat(enumeration.enumerate(f, propositions, collector)).isTrue();
+            assertThat(collector.muses).containsExactlyInAnyOrder(Set.of(0, 1), Set.of(0, 2, 3));
+            assertThat(collector.mcses).containsExactlyInAnyOrder(Set.of(0), Set.of(1, 2), Set.of(1, 3));
+        }
+    }
+
+    @Test
+    public void testSatisfiablePropositions() {
+        final List<StandardProposition> propositions = propositions("a | b", "~a", "c");
+        for (final MusEnumeration enumeration : enumerations()) {
+            final Collector collector = new Collector(propositions);
+            assertThat(enumeration.enumerate(f, propositions, collector)).isFalse();
+            assertThat(collector.muses).isEmpty();
+            assertThat(collector.mcses).containsExactly(Set.of());
+        }
+        final Collector collector = new Collector(List.of());
+        assertThat(MusEnumeration.builder().build().enumerate(f, List.of(), collector)).isFalse();
+        assertThat(collector.mcses).containsExactly(Set.of());
+    }
+
+    @Test
+    public void testCompareWithBruteForce() {
+        final FormulaRandomizer randomizer =
+                new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(4).weightPbc(1).seed(42).build());
+        final Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            final List<StandardProposition> propositions = new ArrayList<>();
+            final int numPropositions = 1 + random.nextInt(8);
+            for (int j = 0; j < numPropositions; j++) {
+                propositions.add(new StandardProposition(randomizer.formula(2)));
+            }
+            final Set<Set<Integer>> expectedMuses = new HashSet<>();
+            final Set<Set<Integer>> expectedMcses = new HashSet<>();
+            bruteForce(propositions, expectedMuses, expectedMcses);
+            for (final MusEnumeration enumeration : enumerations()) {
+                final Collector collector = new Collector(propositions);
+                assertThat(enumeration.enumerate(f, propositions, collector)).isEqualTo(!expectedMuses.isEmpty());
+                assertThat(collector.muses).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(expectedMuses);
+                assertThat(collector.mcses).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(expectedMcses);
+            }
+        }
+    }
+
+    @Test
+    public void testHandler() throws IOException {
+        final List<StandardProposition> propositions = propositions("a", "~a", "b", "~a | ~b");
+        final MusEnumeration enumeration = MusEnumeration.builder().build();
+        final Collector canceledAtStart = new Collector(propositions);
+        final LngResult<Boolean> startResult =
+                enumeration.enumerate(f, propositions, canceledAtStart, e -> e != MUS_ENUMERATION_STARTED);
+        assertThat(startResult.isSuccess()).isFalse();
+        assertThat(startResult.getCancelCause()).isEqualTo(MUS_ENUMERATION_STARTED);
+        assertThat(canceledAtStart.muses).isEmpty();
+
+        for (final int parallelism : new int[]{1, 3}) {
+            final Collector firstMus = new Collector(propositions);
+            final LngResult<Boolean> result = MusEnumeration.builder().parallelism(parallelism).build()
+                    .enumerate(f, propositions, firstMus, e -> e != MUS_ENUMERATION_FOUND_MUS);
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.getCancelCause()).isEqualTo(MUS_ENUMERATION_FOUND_MUS);
+            assertThat(firstMus.muses).hasSize(1);
+        }
+
+        final List<StandardProposition> unsat = DimacsReader.readCNF(f, "../test_files/sat/unsat/bf0432-007.cnf")
+                .stream().map(StandardProposition::new).collect(Collectors.toList());
+        for (final MusEnumeration e : enumerations()) {
+            for (int numStarts = 0; numStarts < 10; numStarts++) {
+                final LngResult<Boolean> result =
+                        e.enumerate(f, unsat, new Collector(unsat), new BoundedSatHandler(numStarts));
+                assertThat(result.isSuccess()).isFalse();
+            }
+        }
+    }
+
+    private List<MusEnumeration> enumerations() {
+        final List<MusEnumeration> enumerations = new ArrayList<>();
+        for (final MusConfig.Algorithm algorithm : List.of(MusConfig.Algorithm.PROGRESSION,
+                MusConfig.Algorithm.QUICKXPLAIN)) {
+            for (final boolean refinement : List.of(true, false)) {
+                final MusConfig config = MusConfig.builder().algorithm(algorithm)
+                        .clauseSetRefinement(refinement).modelRotation(refinement).build();
+                enumerations.add(MusEnumeration.builder().musConfig(config).build());
+                enumerations.add(MusEnumeration.builder().musConfig(config).parallelism(3).build());
+            }
+        }
+        return enumerations;
+    }
+
+    private List<StandardProposition> propositions(final String... formulas) {
+        final List<StandardProposition> propositions = new ArrayList<>();
+        for (final String formula : formulas) {
+            propositions.add(new StandardProposition(parse(f, formula)));
+        }
+        return propositions;
+    }
+
+    private void bruteForce(final List<StandardProposition> propositions, final Set<Set<Integer>> muses,
+                            final Set<Set<Integer>> mcses) {
+        final int n = propositions.size();
+        final Set<Set<Integer>> satisfiable = new HashSet<>();
+        final List<Set<Integer>> subsets = new ArrayList<>();
+        for (int mask = 0; mask < 1 << n; mask++) {
+            final SatSolver solver = SatSolver.newSolver(f);
+            final Set<Integer> subset = new TreeSet<>();
+            for (int i = 0; i < n; i++) {
+                if ((mask >> i & 1) == 1) {
+                    subset.add(i);
+                    solver.add(propositions.get(i).getFormula());
+                }
+            }
+            subsets.add(subset);
+            if (solver.sat()) {
+                satisfiable.add(subset);
+            }
+        }
+        for (final Set<Integer> subset : subsets) {
+            if (satisfiable.contains(subset)) {
+                final Set<Integer> complement = new TreeSet<>();
+                for (int i = 0; i < n; i++) {
+                    if (!subset.contains(i)) {
+                        complement.add(i);
+                    }
+                }
+                if (complement.stream().noneMatch(i -> satisfiable.contains(with(subset, i)))) {
+                    mcses.add(complement);
+                }
+            } else if (subset.stream().allMatch(i -> satisfiable.contains(without(subset, i)))) {
+                muses.add(subset);
+            }
+        }
+    }
+
+    private static Set<Integer> with(final Set<Integer> set, final int element) {
+        final Set<Integer> result = new TreeSet<>(set);
+        result.add(element);
+        return result;
+    }
+
+    private static Set<Integer> without(final Set<Integer> set, final int element) {
+        final Set<Integer> result = new TreeSet<>(set);
+        result.remove(element);
+        return result;
+    }
+
+    private static final class Collector implements MusMcsConsumer<StandardProposition> {
+        private final List<StandardProposition> propositions;
+        private final List<Set<Integer>> muses = new ArrayList<>();
+        private final List<Set<Integer>> mcses = new ArrayList<>();
+
+        private Collector(final List<StandardProposition> propositions) {
+            this.propositions = propositions;
+        }
+
+        @Override
+        public void acceptMus(final UnsatCore<StandardProposition> mus) {
+            assertThat(mus.isMus()).isTrue();
+            muses.add(indices(mus.getPropositions()));
+        }
+
+        @Override
+        public void acceptMcs(final List<StandardProposition> mcs) {
+            mcses.add(indices(mcs));
+        }
+
+        private Set<Integer> indices(final List<StandardProposition> subset) {
+            final Set<Integer> indices = new TreeSet<>();
+            for (final StandardProposition proposition : subset) {
+                for (int i = 0; i < propositions.size(); i++) {
+                    if (propositions.get(i) == proposition) {
+                        indices.add(i);
+                    }
+                }
+            }
+            return indices;
+        }
+    }
+}
@@ -4,6 +4,7 @@
 
 package com.booleworks.logicng.explanations.mus;
 
+import static com.booleworks.logicng.TestWithExampleFormulas.parse;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -122,6 +123,86 @@ public class MusGenerationTest {
         testMUS(file2, mus7);
     }
 
+    @Test
+    public void testSATFormulaSetQuickXplainMUS() {
+        final MusGeneration mus = new MusGeneration();
+        final StandardProposition proposition = new StandardProposition(f.variable("a"));
+        assertThatThrownBy(() -> mus.computeMus(f, Collections.singletonList(proposition),
+                MusConfig.builder().algorithm(MusConfig.Algorithm.QUICKXPLAIN).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testQuickXplainMUS() {
+        final MusGeneration mus = new MusGeneration();
+        for (final boolean refinement : Arrays.asList(true, false)) {
+            final MusConfig config = MusConfig.builder().algorithm(MusConfig.Algorithm.QUICKXPLAIN)
+                    .clauseSetRefinement(refinement).build();
+            testMUS(pg3, mus.computeMus(f, pg3, config));
+            testMUS(pg4, mus.computeMus(f, pg4, config));
+            testMUS(pg5, mus.computeMus(f, pg5, config));
+            testMUS(file1, mus.computeMus(f, file1, config));
+            testMUS(file2, mus.computeMus(f, file2, config));
+        }
+    }
+
+    @Test
+    public void testSATFormulaSetProgressionBasedMUS() {
+        final MusGeneration mus = new MusGeneration();
+        final StandardProposition proposition = new StandardProposition(f.variable("a"));
+        assertThatThrownBy(() -> mus.computeMus(f, Collections.singletonList(proposition),
+                MusConfig.builder().algorithm(MusConfig.Algorithm.PROGRESSION).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testProgressionBasedMUS() {
+        final MusGeneration mus = new MusGeneration();
+        for (final boolean refinement : Arrays.asList(true, false)) {
+            for (final boolean rotation : Arrays.asList(true, false)) {
+                final MusConfig config = MusConfig.builder().algorithm(MusConfig.Algorithm.PROGRESSION)
+                        .clauseSetRefinement(refinement).modelRotation(rotation).build();
+                testMUS(pg3, mus.computeMus(f, pg3, config));
+                testMUS(pg4, mus.computeMus(f, pg4, config));
+                testMUS(pg5, mus.computeMus(f, pg5, config));
+                testMUS(file1, mus.computeMus(f, file1, config));
+                testMUS(file2, mus.computeMus(f, file2, config));
+            }
+        }
+    }
+
+    @Test
+    @LongRunningTag
+    public void testLargeQuickXplainAndProgressionBasedMUS() {
+        final MusGeneration mus = new MusGeneration();
+        for (final MusConfig.Algorithm algorithm :
+                Arrays.asList(MusConfig.Algorithm.QUICKXPLAIN, MusConfig.Algorithm.PROGRESSION)) {
+            final MusConfig config = MusConfig.builder().algorithm(algorithm).build();
+            testMUS(pg6, mus.computeMus(f, pg6, config));
+            testMUS(pg7, mus.computeMus(f, pg7, config));
+            testMUS(file3, mus.computeMus(f, file3, config));
+            testMUS(file4, mus.computeMus(f, file4, config));
+        }
+    }
+
+    @Test
+    public void testSelectorBasedMUS() {
+        final List<StandardProposition> propositions = new ArrayList<>();
+        propositions.add(new StandardProposition(f.variable("a")));
+        propositions.add(new StandardProposition(parse(f, "a => b")));
+        propositions.add(new StandardProposition(parse(f, "a => ~b & d")));
+        propositions.add(new StandardProposition(parse(f, "d <=> ~c")));
+        propositions.add(new StandardProposition(parse(f, "~a | e")));
+        final MusGeneration mus = new MusGeneration();
+        for (final MusConfig.Algorithm algorithm :
+                Arrays.asList(MusConfig.Algorithm.QUICKXPLAIN, MusConfig.Algorithm.PROGRESSION)) {
+            final UnsatCore<StandardProposition> core =
+                    mus.computeMus(f, propositions, MusConfig.builder().algorithm(algorithm).build());
+            assertThat(core.getPropositions())
+                    .containsExactly(propositions.get(0), propositions.get(1), propositions.get(2));
+        }
+    }
+
     @Test
     public void testDeletionBasedCancellationPoints() throws IOException {
         final MusGeneration mus = new MusGeneration();
@@ -145,7 +226,8 @@ public class MusGenerationTest {
                         .map(StandardProposition::new)
                         .collect(Collectors.toList());
         final List<MusConfig.Algorithm> algorithms =
-                Arrays.asList(MusConfig.Algorithm.DELETION, MusConfig.Algorithm.PLAIN_INSERTION);
+                Arrays.asList(MusConfig.Algorithm.DELETION, MusConfig.Algorithm.PLAIN_INSERTION,
+                        MusConfig.Algorithm.QUICKXPLAIN, MusConfig.Algorithm.PROGRESSION);
         for (final MusConfig.Algorithm algorithm : algorithms) {
             for (int numStarts = 0; numStarts < 10; numStarts++) {
                 final ComputationHandler handler = new BoundedSatHandler(numStarts);
@@ -7,11 +7,15 @@ package com.booleworks.logicng.knowledgecompilation.bdds;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.booleworks.logicng.formulas.Formula;
 import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.io.parsers.ParserException;
 import com.booleworks.logicng.io.parsers.PropositionalParser;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddCacheType;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddConstruction;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernelConfig;
+import com.booleworks.logicng.testutils.NQueensGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -47,6 +51,54 @@ public class BddLowLevelTest {
                 "BDDStatistics{produced nodes=14, allocated nodes=1009, free nodes=993, variables=3, cache size=1000, garbage collections=0}");
     }
 
+    @Test
+    public void testCacheStatistics() {
+        final BddKernel.BddStatistics statistics = bdd.getUnderlyingKernel().statistics();
+        final BddKernel.CacheStatistics apply = statistics.cacheStatistics(BddCacheType.APPLY);
+        assertThat(apply.size()).isEqualTo(1009);
+        assertThat(apply.lookups()).isPositive();
+        assertThat(apply.hits()).isLessThanOrEqualTo(apply.lookups());
+        assertThat(apply.resizes()).isZero();
+        assertThat(statistics.cacheStatistics(BddCacheType.REPLACE).lookups()).isZero();
+        assertThat(statistics.cacheLookups()).isGreaterThanOrEqualTo(apply.lookups());
+        assertThat(statistics.cacheHits()).isLessThanOrEqualTo(statistics.cacheLookups());
+        assertThat(statistics.cacheOverwrites()).isLessThanOrEqualTo(statistics.cacheLookups());
+    }
+
+    @Test
+    public void testConfiguredCacheSizes() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final BddKernelConfig config = BddKernelConfig.builder()
+                .cacheSize(100)
+                .cacheSize(BddCacheType.APPLY, 500)
+                .adaptiveCaches(false)
+                .build();
+        final BddKernel kernel = new BddKernel(f, 3, 1000, config);
+        final BddKernel.BddStatistics statistics = kernel.statistics();
+        assertThat(statistics.cachesize()).isEqualTo(100);
+        assertThat(statistics.cacheStatistics(BddCacheType.APPLY).size()).isEqualTo(503);
+        assertThat(statistics.cacheStatistics(BddCacheType.MISC).size()).isEqualTo(101);
+    }
+
+    @Test
+    public void testAdaptiveCaches() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(7);
+        final int varNum = queens.variables(f).size();
+        final BddKernelConfig config = BddKernelConfig.builder().cacheSize(10).minCacheHitRatio(0.0).build();
+        final BddKernel adaptiveKernel = new BddKernel(f, varNum, 100, config);
+        final Bdd adaptiveBdd = BddFactory.build(f, queens, adaptiveKernel);
+        final BddKernel.BddStatistics statistics = adaptiveKernel.statistics();
+        assertThat(statistics.gbcollectnum()).isPositive();
+        assertThat(statistics.cacheStatistics(BddCacheType.APPLY).resizes()).isPositive();
+        assertThat(statistics.cacheStatistics(BddCacheType.APPLY).size()).isGreaterThan(10)
+                .isLessThanOrEqualTo(statistics.nodesize());
+        final BddKernel fixedKernel = new BddKernel(f, varNum, 100, 10);
+        final Bdd fixedBdd = BddFactory.build(f, queens, fixedKernel);
+        assertThat(fixedKernel.statistics().cacheStatistics(BddCacheType.APPLY).resizes()).isZero();
+        assertThat(adaptiveBdd.modelCount()).isEqualTo(fixedBdd.modelCount()).isEqualTo(40);
+    }
+
     @Test
     public void kernelTests() {
         final BddConstruction kernel = new BddConstruction(bdd.getUnderlyingKernel());
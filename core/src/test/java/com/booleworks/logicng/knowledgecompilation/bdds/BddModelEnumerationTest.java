@@ -8,6 +8,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.booleworks.logicng.LongRunningTag;
+import com.booleworks.logicng.datastructures.CompactModel;
 import com.booleworks.logicng.datastructures.Model;
 import com.booleworks.logicng.formulas.CType;
 import com.booleworks.logicng.formulas.Formula;
@@ -24,10 +25,14 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.stream.Collectors;
 
 public class BddModelEnumerationTest {
 
@@ -127,6 +132,66 @@ public class BddModelEnumerationTest {
         }
     }
 
+    @Test
+    public void testModelStream() {
+        for (int i = 0; i < formulas.size(); i++) {
+            final BddKernel kernel = new BddKernel(f, variables.get(i).size(), 10000, 10000);
+            final Bdd bdd = BddFactory.build(f, formulas.get(i), kernel);
+            final Set<Model> models = bdd.modelStream().map(m -> m.toModel(f)).collect(Collectors.toSet());
+            assertThat(models).containsExactlyInAnyOrderElementsOf(bdd.enumerateAllModels());
+            assertThat(bdd.cubeStream().count()).isEqualTo(expected[i].longValue());
+        }
+    }
+
+    @Test
+    public void testModelStreamProjection() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final List<Variable> vars = generateVariables(f, 100);
+        final Formula constraint = f.amo(vars).cnf(f);
+        final BddKernel kernel = new BddKernel(f, constraint.variables(f).size(), 100000, 1000000);
+        final Bdd bdd = BddFactory.build(f, constraint, kernel);
+        assertThat(bdd.modelStream().count()).isEqualTo(221);
+        final List<CompactModel> projected = bdd.modelStream(vars).collect(Collectors.toList());
+        assertThat(projected).hasSize(101).doesNotHaveDuplicates();
+        assertThat(projected).allSatisfy(m -> assertThat(m.numberOfPositiveVariables()).isLessThanOrEqualTo(1));
+        assertThat(projected.stream().map(m -> m.toModel(f)).collect(Collectors.toSet()))
+                .containsExactlyInAnyOrderElementsOf(bdd.enumerateAllModels(vars));
+    }
+
+    @Test
+    public void testModelStreamEarlyTermination() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final List<Variable> vars = generateVariables(f, 200);
+        final BddKernel kernel = new BddKernel(f, vars, 1000, 1000);
+        final Bdd bdd = BddFactory.build(f, f.or(vars.get(0), vars.get(1)), kernel);
+        assertThat(bdd.modelCount()).isEqualTo(BigInteger.valueOf(3).shiftLeft(198));
+        final List<CompactModel> models = bdd.modelStream().limit(1000).collect(Collectors.toList());
+        assertThat(models).hasSize(1000).doesNotHaveDuplicates();
+        assertThat(models).allSatisfy(m -> {
+            assertThat(m.size()).isEqualTo(200);
+            assertThat(m.phase(0) || m.phase(1)).isTrue();
+        });
+        assertThat(bdd.cubeStream().collect(Collectors.toList()))
+                .containsExactly(new Model(vars.get(0).negate(f), vars.get(1)), new Model(vars.get(0)));
+        assertThat(bdd.modelStream(vars.subList(0, 3)).count()).isEqualTo(6);
+    }
+
+    @Test
+    public void testModelStreamConstants() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final BddKernel kernel = new BddKernel(f, generateVariables(f, 3), 1000, 1000);
+        final Bdd falsum = BddFactory.build(f, f.falsum(), kernel);
+        final Bdd verum = BddFactory.build(f, f.verum(), kernel);
+        assertThat(falsum.modelStream().count()).isZero();
+        assertThat(falsum.cubeStream().count()).isZero();
+        assertThat(verum.modelStream().count()).isEqualTo(8);
+        assertThat(verum.modelStream(Collections.emptyList()).count()).isEqualTo(1);
+        assertThat(verum.cubeStream().collect(Collectors.toList())).containsExactly(new Model());
+        final Iterator<CompactModel> iterator = falsum.modelIterator(null);
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+    }
+
     private List<Variable> generateVariables(final FormulaFactory f, final int n) {
         final List<Variable> result = new ArrayList<>(n);
         for (int i = 0; i < n; i++) {
@@ -14,17 +14,21 @@ import com.booleworks.logicng.formulas.FormulaContext;
 import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.formulas.TestWithFormulaContext;
 import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.events.BddReorderingEvent;
 import com.booleworks.logicng.io.parsers.ParserException;
 import com.booleworks.logicng.knowledgecompilation.bdds.datastructures.BddConstant;
 import com.booleworks.logicng.knowledgecompilation.bdds.datastructures.BddInnerNode;
 import com.booleworks.logicng.knowledgecompilation.bdds.functions.LngBddFunction;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BDDVerification;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernelConfig;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddOperations;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddReordering;
 import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddReorderingMethod;
 import com.booleworks.logicng.predicates.satisfiability.SatPredicate;
 import com.booleworks.logicng.predicates.satisfiability.TautologyPredicate;
+import com.booleworks.logicng.testutils.NQueensGenerator;
 import com.booleworks.logicng.util.FormulaRandomizer;
 import com.booleworks.logicng.util.FormulaRandomizerConfig;
 import org.junit.jupiter.api.Test;
@@ -118,6 +122,26 @@ public class BddReorderingTest extends TestWithFormulaContext {
                         new BddInnerNode(_c.a, BddConstant.getFalsumNode(_c.f), BddConstant.getVerumNode(_c.f))));
     }
 
+    @ParameterizedTest
+    @MethodSource("contexts")
+    public void testSetVariableOrder(final FormulaContext _c) throws ParserException {
+        final BddKernel kernel = new BddKernel(_c.f, List.of(_c.a, _c.b, _c.c), 100, 100);
+        final Formula formula = _c.p.parse("a & b | ~c");
+        final Bdd bdd = BddFactory.build(_c.f, formula, kernel);
+        final BigInteger modelCount = bdd.modelCount();
+        kernel.getReordering().setVariableOrder(new int[]{2, 0, 1});
+        assertThat(bdd.getVariableOrder()).containsExactly(_c.c, _c.a, _c.b);
+        assertThat(bdd.modelCount()).isEqualTo(modelCount);
+        assertThat(_c.f.equivalence(formula, bdd.cnf()).holds(new TautologyPredicate(_c.f))).isTrue();
+        kernel.getReordering().setVariableOrder(new int[]{0, 1, 2});
+        assertThat(bdd.getVariableOrder()).containsExactly(_c.a, _c.b, _c.c);
+        assertThat(_c.f.equivalence(formula, bdd.cnf()).holds(new TautologyPredicate(_c.f))).isTrue();
+        assertThatThrownBy(() -> kernel.getReordering().setVariableOrder(new int[]{0, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> kernel.getReordering().setVariableOrder(new int[]{0, 1, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     @RandomTag
     public void testRandomReorderingQuick() {
@@ -141,6 +165,67 @@ public class BddReorderingTest extends TestWithFormulaContext {
         testReorderOnBuild(25, 50, false);
     }
 
+    @Test
+    public void testAutomaticReordering() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(7);
+        final int varNum = queens.variables(f).size();
+        final BddKernel referenceKernel = new BddKernel(f, varNum, 1000, 1000);
+        final BigInteger modelCount = BddFactory.build(f, queens, referenceKernel).modelCount();
+        for (final BddReorderingMethod method : REORDER_METHODS) {
+            final BddKernelConfig config = BddKernelConfig.builder().reorderMethod(method).build();
+            final BddKernel kernel = new BddKernel(f, varNum, 100, config);
+            final List<BddReorderingEvent> events = new ArrayList<>();
+            final LngResult<Bdd> result = BddFactory.build(f, queens, kernel, event -> {
+                if (event instanceof BddReorderingEvent) {
+                    events.add((BddReorderingEvent) event);
+                }
+                return true;
+            });
+            assertThat(result.isSuccess()).isTrue();
+            assertThat(verifyBddConsistency(f, queens, result.getResult(), modelCount)).isTrue();
+            assertThat(events).isNotEmpty();
+            assertThat(events).allMatch(e -> e.getMethod() == method);
+            assertThat(kernel.statistics().reorderings()).isEqualTo(events.size());
+        }
+    }
+
+    @Test
+    public void testAutomaticReorderingBudgets() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(7);
+        final int varNum = queens.variables(f).size();
+        final BddKernelConfig config = BddKernelConfig.builder()
+                .reorderMethod(BddReorderingMethod.BDD_REORDER_SIFTITE)
+                .maxReorderings(1)
+                .reorderGrowthFactor(1.5)
+                .reorderTimeLimit(10_000)
+                .maxSiftGrowth(1.1)
+                .build();
+        final BddKernel kernel = new BddKernel(f, varNum, 100, config);
+        final Bdd bdd = BddFactory.build(f, queens, kernel);
+        assertThat(bdd.modelCount()).isEqualTo(40);
+        assertThat(kernel.statistics().reorderings()).isEqualTo(1);
+        assertThat(kernel.getReordering().getNumberOfReorderings()).isEqualTo(1);
+        assertThatThrownBy(() -> kernel.getReordering().setGrowthFactor(0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> kernel.getReordering().setMaxSiftGrowth(0.9))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testAutomaticReorderingCanceledByHandler() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(7);
+        final BddKernelConfig config =
+                BddKernelConfig.builder().reorderMethod(BddReorderingMethod.BDD_REORDER_SIFT).build();
+        final BddKernel kernel = new BddKernel(f, queens.variables(f).size(), 100, config);
+        final LngResult<Bdd> result =
+                BddFactory.build(f, queens, kernel, event -> !(event instanceof BddReorderingEvent));
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(kernel.statistics().reorderings()).isEqualTo(1);
+    }
+
     private void testRandomReordering(final int minVars, final int maxVars, final boolean verbose) {
         for (int vars = minVars; vars <= maxVars; vars++) {
             for (int depth = 4; depth <= 6; depth++) {
@@ -0,0 +1,130 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.booleworks.logicng.RandomTag;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddReorderingMethod;
+import com.booleworks.logicng.modelcounting.WeightSemiring;
+import com.booleworks.logicng.testutils.NQueensGenerator;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+
+/**
+ * Unit tests for weighted model counting and marginals on BDDs.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class BddWeightedModelCountTest {
+
+    @Test
+    public void testConstants() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Variable x = f.variable("x");
+        final Variable y = f.variable("y");
+        final BddKernel kernel = new BddKernel(f, List.of(x, y), 100, 100);
+        final Map<Literal, BigDecimal> weights = Map.of(x, new BigDecimal("0.3"), x.negate(f), new BigDecimal("0.7"),
+                y, new BigDecimal("0.5"));
+        final Bdd verum = BddFactory.build(f, f.verum(), kernel);
+        assertThat(verum.weightedModelCount(WeightSemiring.BIG_DECIMAL, weights)).isEqualByComparingTo("1.5");
+        final SortedMap<Literal, BigDecimal> marginals = verum.marginals(WeightSemiring.BIG_DECIMAL, weights);
+        assertThat(marginals.get(x)).isEqualByComparingTo("0.45");
+        assertThat(marginals.get(x.negate(f))).isEqualByComparingTo("1.05");
+        assertThat(marginals.get(y)).isEqualByComparingTo("0.5");
+        assertThat(marginals.get(y.negate(f))).isEqualByComparingTo("1");
+        final Bdd falsum = BddFactory.build(f, f.falsum(), kernel);
+        assertThat(falsum.weightedModelCount(WeightSemiring.DOUBLE, Map.of())).isEqualTo(0.0);
+        assertThat(falsum.marginals(WeightSemiring.DOUBLE, Map.of()).values()).containsOnly(0.0);
+    }
+
+    @Test
+    public void testUnitWeightsYieldModelCount() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(7);
+        final BddKernel kernel = new BddKernel(f, queens.variables(f).size(), 10000, 10000);
+        final Bdd bdd = BddFactory.build(f, queens, kernel);
+        assertThat(bdd.weightedModelCount(WeightSemiring.BIG_DECIMAL, Map.of()).toBigIntegerExact())
+                .isEqualTo(bdd.modelCount());
+        assertThat(bdd.weightedModelCount(WeightSemiring.DOUBLE, Map.of())).isEqualTo(40.0);
+        assertThat(Math.exp(bdd.weightedModelCount(WeightSemiring.LOG, Map.of()))).isCloseTo(40.0, within(1e-9));
+        final SortedMap<Literal, BigDecimal> marginals = bdd.marginals(WeightSemiring.BIG_DECIMAL, Map.of());
+        for (final Variable var : queens.variables(f)) {
+            assertThat(marginals.get(var).add(marginals.get(var.negate(f)))).isEqualByComparingTo("40");
+            assertThat(marginals.get(var).toBigIntegerExact()).isEqualTo(bdd.and(
+                    BddFactory.build(f, var, kernel)).modelCount());
+        }
+    }
+
+    @Test
+    @RandomTag
+    public void testRandomAgainstEnumeration() {
+        final FormulaFactory f = FormulaFactory.caching();
+        for (int i = 0; i < 100; i++) {
+            final Formula formula = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(10).seed(i)
+                    .build()).formula(4);
+            final List<Variable> order = new ArrayList<>();
+            for (int j = 0; j < 12; j++) {
+                order.add(f.variable("v" + j));
+            }
+            Collections.shuffle(order, new Random(i));
+            final BddKernel kernel = new BddKernel(f, order, 1000, 1000);
+            final Bdd bdd = BddFactory.build(f, formula, kernel);
+            if (i % 2 == 0) {
+                kernel.getReordering().reorder(BddReorderingMethod.BDD_REORDER_SIFT);
+            }
+            final Random random = new Random(i);
+            final Map<Literal, BigDecimal> weights = new HashMap<>();
+            final Map<Literal, Double> logWeights = new HashMap<>();
+            for (final Variable var : order) {
+                for (final Literal lit : List.of(var, var.negate(f))) {
+                    if (random.nextInt(5) > 0) {
+                        final BigDecimal weight = BigDecimal.valueOf(random.nextInt(100) + 1, 2);
+                        weights.put(lit, weight);
+                        logWeights.put(lit, Math.log(weight.doubleValue()));
+                    }
+                }
+            }
+            BigDecimal expected = BigDecimal.ZERO;
+            final Map<Literal, BigDecimal> expectedMarginals = new HashMap<>();
+            for (final Model model : bdd.enumerateAllModels()) {
+                BigDecimal product = BigDecimal.ONE;
+                for (final Literal lit : model.getLiterals()) {
+                    product = product.multiply(weights.getOrDefault(lit, BigDecimal.ONE));
+                }
+                expected = expected.add(product);
+                for (final Literal lit : model.getLiterals()) {
+                    expectedMarginals.merge(lit, product, BigDecimal::add);
+                }
+            }
+            assertThat(bdd.weightedModelCount(WeightSemiring.BIG_DECIMAL, weights)).isEqualByComparingTo(expected);
+            assertThat(Math.exp(bdd.weightedModelCount(WeightSemiring.LOG, logWeights)))
+                    .isCloseTo(expected.doubleValue(), within(1e-9));
+            final SortedMap<Literal, BigDecimal> marginals = bdd.marginals(WeightSemiring.BIG_DECIMAL, weights);
+            assertThat(marginals).hasSize(2 * order.size());
+            for (final Map.Entry<Literal, BigDecimal> entry : marginals.entrySet()) {
+                assertThat(entry.getValue())
+                        .isEqualByComparingTo(expectedMarginals.getOrDefault(entry.getKey(), BigDecimal.ZERO));
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.booleworks.logicng.LongRunningTag;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.testutils.NQueensGenerator;
+import org.junit.jupiter.api.Test;
+
+public class ParallelBddPerformanceTest {
+
+    private static final int RUNS = 3;
+
+    @Test
+    @LongRunningTag
+    public void testParallelSpeedUp() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(10);
+        final int numVars = queens.variables(f).size();
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+        long sequentialTime = Long.MAX_VALUE;
+        long parallelTime = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            final BddKernel sequentialKernel = new BddKernel(f, numVars, 100_000, 100_000);
+            final long start = System.nanoTime();
+            final Bdd sequential = BddFactory.build(f, queens, sequentialKernel);
+            final long middle = System.nanoTime();
+            final BddKernel parallelKernel = new BddKernel(f, numVars, 100_000, 100_000);
+            final Bdd parallel = BddFactory.buildParallel(f, queens, parallelKernel, parallelism);
+            final long end = System.nanoTime();
+            assertThat(parallel.modelCount()).isEqualTo(sequential.modelCount());
+            assertThat(parallel.nodeCount()).isEqualTo(sequential.nodeCount());
+            sequentialTime = Math.min(sequentialTime, middle - start);
+            parallelTime = Math.min(parallelTime, end - middle);
+        }
+        if (parallelism >= 4) {
+            assertThat(parallelTime).isLessThan(sequentialTime);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds;
+
+import static com.booleworks.logicng.TestWithExampleFormulas.parse;
+import static com.booleworks.logicng.handlers.events.SimpleEvent.BDD_NEW_REF_ADDED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.booleworks.logicng.LongRunningTag;
+import com.booleworks.logicng.RandomTag;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.handlers.NumberOfNodesBddHandler;
+import com.booleworks.logicng.io.parsers.ParserException;
+import com.booleworks.logicng.io.readers.FormulaReader;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.ParallelBddKernel;
+import com.booleworks.logicng.testutils.NQueensGenerator;
+import com.booleworks.logicng.testutils.PigeonHoleGenerator;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelBddTest {
+
+    @Test
+    public void testQueens() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final NQueensGenerator generator = new NQueensGenerator(f);
+        testQueens(f, generator, 4, 2);
+        testQueens(f, generator, 5, 10);
+        testQueens(f, generator, 6, 4);
+        testQueens(f, generator, 7, 40);
+        testQueens(f, generator, 8, 92);
+    }
+
+    private void testQueens(final FormulaFactory f, final NQueensGenerator generator, final int size,
+                            final int models) {
+        final Formula queens = generator.generate(size);
+        final BddKernel kernel = new BddKernel(f, queens.variables(f).size(), 10000, 10000);
+        final Bdd parallel = BddFactory.buildParallel(f, queens, kernel, 4);
+        final Bdd sequential = BddFactory.build(f, queens, kernel);
+        assertThat(parallel).isEqualTo(sequential);
+        assertThat(parallel.modelCount()).isEqualTo(BigInteger.valueOf(models));
+    }
+
+    @Test
+    public void testPigeonHole() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final PigeonHoleGenerator generator = new PigeonHoleGenerator(f);
+        for (int i = 2; i <= 6; i++) {
+            final Formula pigeon = generator.generate(i);
+            final BddKernel kernel = new BddKernel(f, pigeon.variables(f).size(), 10000, 10000);
+            assertThat(BddFactory.buildParallel(f, pigeon, kernel, 2).isContradiction()).isTrue();
+        }
+    }
+
+    @Test
+    public void testConstantsAndPbc() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final BddKernel kernel = new BddKernel(f, 3, 1000, 1000);
+        assertThat(BddFactory.buildParallel(f, f.verum(), kernel, 2).isTautology()).isTrue();
+        assertThat(BddFactory.buildParallel(f, f.falsum(), kernel, 2).isContradiction()).isTrue();
+        final Formula pbc = parse(f, "a + b + c <= 1 & (a | b)");
+        final Bdd bdd = BddFactory.buildParallel(f, pbc, null, 2);
+        assertThat(bdd).isEqualTo(BddFactory.build(f, pbc, bdd.getUnderlyingKernel()));
+        assertThat(bdd.modelCount()).isEqualTo(BigInteger.valueOf(2));
+    }
+
+    @Test
+    @RandomTag
+    public void testRandomFormulas() {
+        final FormulaFactory f = FormulaFactory.caching();
+        for (int i = 0; i < 200; i++) {
+            final Formula formula =
+                    new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(12).seed(i).build()).formula(5);
+            final BddKernel kernel = new BddKernel(f, 12, 10000, 10000);
+            final Bdd sequential = BddFactory.build(f, formula, kernel);
+            assertThat(BddFactory.buildParallel(f, formula, kernel, 1 + i % 4)).isEqualTo(sequential);
+            final List<Variable> variables = new ArrayList<>(formula.variables(f));
+            final List<Variable> quantified = variables.subList(0, variables.size() / 2);
+            final List<Literal> restriction = new ArrayList<>();
+            for (int j = 0; j < variables.size(); j += 3) {
+                restriction.add(j % 2 == 0 ? variables.get(j) : variables.get(j).negate(f));
+            }
+            try (final ParallelBddKernel parallelKernel = new ParallelBddKernel(kernel, 3)) {
+                final int root = parallelKernel.transferFrom(sequential.getIndex());
+                final int exists = parallelKernel.exists(root, quantified, NopHandler.get());
+                final int restrict = parallelKernel.restrict(root, restriction, NopHandler.get());
+                final int not = parallelKernel.not(root, NopHandler.get());
+                assertThat(new Bdd(parallelKernel.transferTo(exists), kernel)).isEqualTo(sequential.exists(quantified));
+                assertThat(new Bdd(parallelKernel.transferTo(restrict), kernel))
+                        .isEqualTo(sequential.restrict(restriction));
+                assertThat(new Bdd(parallelKernel.transferTo(not), kernel)).isEqualTo(sequential.negate());
+            }
+        }
+    }
+
+    @Test
+    public void testCanceledByHandler() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(10);
+        final BddKernel kernel = new BddKernel(f, queens.variables(f).size(), 10000, 10000);
+        final LngResult<Bdd> result =
+                BddFactory.buildParallel(f, queens, kernel, 4, new NumberOfNodesBddHandler(5));
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getCancelCause()).isEqualTo(BDD_NEW_REF_ADDED);
+    }
+
+    @Test
+    public void testUniqueTableGrowth() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(8);
+        final BddKernel kernel = new BddKernel(f, queens.variables(f).size(), 10000, 10000);
+        final Bdd sequential = BddFactory.build(f, queens, kernel);
+        try (final ParallelBddKernel parallelKernel = new ParallelBddKernel(kernel, 4, 16, 10000)) {
+            final int root = parallelKernel.execute(
+                    () -> BddFactory.buildParallelRec(queens, parallelKernel, NopHandler.get()), NopHandler.get());
+            assertThat(parallelKernel.nodeCount()).isGreaterThan(100 * 16);
+            assertThat(parallelKernel.uniqueTableSize()).isGreaterThanOrEqualTo(parallelKernel.nodeCount() * 4 / 3);
+            assertThat(new Bdd(parallelKernel.transferTo(root), kernel)).isEqualTo(sequential);
+        }
+    }
+
+    @Test
+    public void testGivenPool() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(6);
+        final BddKernel kernel = new BddKernel(f, queens.variables(f).size(), 10000, 10000);
+        final Bdd sequential = BddFactory.build(f, queens, kernel);
+        final ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            final ParallelBddKernel parallelKernel = new ParallelBddKernel(kernel, pool, 1000, 1000);
+            final int root = parallelKernel.execute(
+                    () -> BddFactory.buildParallelRec(queens, parallelKernel, NopHandler.get()), NopHandler.get());
+            parallelKernel.close();
+            assertThat(pool.isShutdown()).isFalse();
+            assertThat(new Bdd(parallelKernel.transferTo(root), kernel)).isEqualTo(sequential);
+        } finally {
+            pool.shutdown();
+        }
+        final ParallelBddKernel commonPoolKernel = new ParallelBddKernel(kernel, ForkJoinPool.commonPool(), 1000, 1000);
+        final int root = commonPoolKernel.and(commonPoolKernel.literal(f.variable("v1")),
+                commonPoolKernel.literal(f.literal("v2", false)), NopHandler.get());
+        assertThat(new Bdd(commonPoolKernel.transferTo(root), kernel).modelCount())
+                .isEqualTo(BigInteger.ONE.shiftLeft(queens.variables(f).size() - 2));
+    }
+
+    @Test
+    @LongRunningTag
+    public void testLargeFormulasAgainstSequential() throws IOException, ParserException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final List<Formula> formulas = new ArrayList<>();
+        FormulaReader.readFormula(f, "../test_files/formulas/small_formulas.txt").forEach(formulas::add);
+        final NQueensGenerator generator = new NQueensGenerator(f);
+        for (int i = 8; i <= 10; i++) {
+            formulas.add(generator.generate(i));
+        }
+        final int parallelism = Runtime.getRuntime().availableProcessors();
+        for (final Formula formula : formulas) {
+            final BddKernel kernel = new BddKernel(f, formula.variables(f).size(), 10000, 10000);
+            final Bdd sequential = BddFactory.build(f, formula, kernel);
+            assertThat(BddFactory.buildParallel(f, formula, kernel, parallelism)).isEqualTo(sequential);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.bdds;
+
+import static com.booleworks.logicng.TestWithExampleFormulas.parse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.booleworks.logicng.RandomTag;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.handlers.NumberOfNodesBddHandler;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.orderings.ConjunctionSchedule;
+import com.booleworks.logicng.knowledgecompilation.bdds.orderings.ForceOrdering;
+import com.booleworks.logicng.testutils.NQueensGenerator;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PartitionedBddTest {
+
+    @Test
+    public void testQueens() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final NQueensGenerator generator = new NQueensGenerator(f);
+        final int[] models = {2, 10, 4, 40, 92};
+        for (int n = 4; n <= 8; n++) {
+            final Formula queens = generator.generate(n);
+            for (final ConjunctionSchedule schedule : ConjunctionSchedule.values()) {
+                final BddKernel kernel = new BddKernel(f, queens.variables(f).size(), 10000, 10000);
+                final Bdd bdd = BddFactory.buildPartitioned(f, queens, kernel, schedule);
+                assertThat(bdd).isEqualTo(BddFactory.build(f, queens, kernel));
+                assertThat(bdd.modelCount()).isEqualTo(BigInteger.valueOf(models[n - 4]));
+            }
+        }
+    }
+
+    @Test
+    public void testProjectedQueens() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(6);
+        final List<Variable> variables = new ArrayList<>(queens.variables(f));
+        final List<Variable> projection = variables.subList(0, 6);
+        final List<Variable> quantified = variables.subList(6, variables.size());
+        for (final ConjunctionSchedule schedule : ConjunctionSchedule.values()) {
+            final BddKernel kernel = new BddKernel(f, variables.size(), 10000, 10000);
+            final Bdd projected =
+                    BddFactory.buildPartitioned(f, queens, kernel, schedule, projection, NopHandler.get()).getResult();
+            assertThat(projected.support()).containsExactlyElementsOf(projection);
+            assertThat(projected).isEqualTo(BddFactory.build(f, queens, kernel).exists(quantified));
+        }
+    }
+
+    @Test
+    public void testClustering() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula formula = parse(f, "(a | b | c) & (a | ~b) & (c => d) & ~d & (b | c)");
+        final BddKernel kernel = new BddKernel(f, 4, 1000, 1000);
+        final List<Formula> conjuncts = new ArrayList<>();
+        formula.forEach(conjuncts::add);
+        final List<BddFactory.Cluster> clusters = BddFactory.clusterBySupport(f, conjuncts, kernel);
+        assertThat(clusters).hasSize(2);
+        for (final ConjunctionSchedule schedule : ConjunctionSchedule.values()) {
+            assertThat(BddFactory.scheduleClusters(clusters, schedule, kernel)).hasSize(2);
+            assertThat(BddFactory.buildPartitioned(f, formula, kernel, schedule))
+                    .isEqualTo(BddFactory.build(f, formula, kernel));
+        }
+    }
+
+    @Test
+    public void testNonConjunctionsAndConstants() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final BddKernel kernel = new BddKernel(f, 3, 1000, 1000);
+        final Formula formula = parse(f, "a | b & ~c");
+        assertThat(BddFactory.buildPartitioned(f, formula, kernel, ConjunctionSchedule.MIN_CUT))
+                .isEqualTo(BddFactory.build(f, formula, kernel));
+        assertThat(BddFactory.buildPartitioned(f, f.verum(), kernel, ConjunctionSchedule.INPUT).isTautology())
+                .isTrue();
+        assertThat(BddFactory.buildPartitioned(f, parse(f, "a & ~a & b"), kernel, ConjunctionSchedule.INPUT)
+                .isContradiction()).isTrue();
+        final Bdd projected = BddFactory.buildPartitioned(f, parse(f, "(a | b) & (b => c)"), kernel,
+                ConjunctionSchedule.VARIABLE_ORDER, List.of(f.variable("a")), NopHandler.get()).getResult();
+        assertThat(projected.isTautology()).isTrue();
+    }
+
+    @Test
+    public void testPbc() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula formula = parse(f, "a + b + c + d <= 1 & (a | b) & (c | ~d)");
+        final Bdd bdd = BddFactory.buildPartitioned(f, formula, null, ConjunctionSchedule.MIN_CUT,
+                List.of(f.variable("a"), f.variable("b")), NopHandler.get()).getResult();
+        assertThat(bdd.support()).containsExactly(f.variable("a"), f.variable("b"));
+        assertThat(bdd).isEqualTo(BddFactory.build(f, parse(f, "a & ~b | ~a & b"), bdd.getUnderlyingKernel()));
+    }
+
+    @Test
+    public void testForceOrderedKernel() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(7);
+        final BddKernel kernel = new BddKernel(f, new ForceOrdering().getOrder(f, queens), 10000, 10000);
+        final Bdd bdd = BddFactory.buildPartitioned(f, queens, kernel, ConjunctionSchedule.VARIABLE_ORDER);
+        assertThat(bdd.modelCount()).isEqualTo(BigInteger.valueOf(40));
+    }
+
+    @Test
+    @RandomTag
+    public void testRandomProjections() {
+        final FormulaFactory f = FormulaFactory.caching();
+        for (int i = 0; i < 100; i++) {
+            final List<Formula> operands = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                operands.add(new FormulaRandomizer(f,
+                        FormulaRandomizerConfig.builder().numVars(15).seed(1000 * j + i).build()).formula(3));
+            }
+            final Formula formula = f.and(operands);
+            final List<Variable> variables = new ArrayList<>(formula.variables(f));
+            final List<Variable> projection = new ArrayList<>();
+            final List<Variable> quantified = new ArrayList<>();
+            for (int j = 0; j < variables.size(); j++) {
+                (j % 2 == 0 ? projection : quantified).add(variables.get(j));
+            }
+            for (final ConjunctionSchedule schedule : ConjunctionSchedule.values()) {
+                final BddKernel kernel = new BddKernel(f, 15, 10000, 10000);
+                final Bdd projected = BddFactory
+                        .buildPartitioned(f, formula, kernel, schedule, projection, NopHandler.get()).getResult();
+                assertThat(projected).isEqualTo(BddFactory.build(f, formula, kernel).exists(quantified));
+            }
+        }
+    }
+
+    @Test
+    public void testCanceledByHandler() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(10);
+        final BddKernel kernel = new BddKernel(f, queens.variables(f).size(), 10000, 10000);
+        final LngResult<Bdd> result = BddFactory.buildPartitioned(f, queens, kernel, ConjunctionSchedule.MIN_CUT,
+                null, new NumberOfNodesBddHandler(5));
+        assertThat(result.isSuccess()).isFalse();
+    }
+}
@@ -31,6 +31,7 @@ import com.booleworks.logicng.graphs.datastructures.Node;
 import com.booleworks.logicng.graphs.generators.ConstraintGraphGenerator;
 import com.booleworks.logicng.handlers.ComputationHandler;
 import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.events.DnnfCacheStatisticsEvent;
 import com.booleworks.logicng.handlers.events.LngEvent;
 import com.booleworks.logicng.io.parsers.FormulaParser;
 import com.booleworks.logicng.io.parsers.ParserException;
@@ -44,6 +45,7 @@ import com.booleworks.logicng.knowledgecompilation.bdds.orderings.ForceOrdering;
 import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.Dnnf;
 import com.booleworks.logicng.knowledgecompilation.dnnf.functions.DnnfModelCountFunction;
 import com.booleworks.logicng.predicates.satisfiability.TautologyPredicate;
+import com.booleworks.logicng.testutils.NQueensGenerator;
 import com.booleworks.logicng.transformations.cnf.CnfFactorization;
 import org.junit.jupiter.api.Test;
 
@@ -125,6 +127,33 @@ public class DnnfCompilerTest {
                 entry(DNNF_COMPUTATION_STARTED, 1),
                 entry(DNNF_SHANNON_EXPANSION, 6866)
         );
+        assertThat(handler.statistics).isNotNull();
+        assertThat(handler.statistics.getHits() + handler.statistics.getMisses()).isPositive();
+        assertThat(handler.statistics.getEvictions()).isZero();
+    }
+
+    @Test
+    public void testCacheBudget() throws IOException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final List<Formula> formulas = List.of(new NQueensGenerator(f).generate(8),
+                f.cnf(DimacsReader.readCNF(f, "../test_files/dnnf/both_bdd_dnnf_1.cnf")),
+                f.cnf(DimacsReader.readCNF(f, "../test_files/dnnf/both_bdd_dnnf_3.cnf")));
+        for (final Formula formula : formulas) {
+            final BigInteger expected = DnnfCompiler.compile(f, formula).execute(new DnnfModelCountFunction(f));
+            for (final DnnfConfig.CacheEvictionPolicy policy : DnnfConfig.CacheEvictionPolicy.values()) {
+                final DnnfConfig config =
+                        DnnfConfig.builder().maxCacheMemory(8 * 1024).cacheEvictionPolicy(policy).build();
+                final DnnfComputationHandler handler = new DnnfComputationHandler();
+                final LngResult<Dnnf> dnnf = DnnfCompiler.compile(f, formula, config, handler);
+                assertThat(dnnf.isSuccess()).isTrue();
+                assertThat(dnnf.getResult().execute(new DnnfModelCountFunction(f))).isEqualTo(expected);
+                assertThat(handler.statistics.getPeakMemory()).isLessThanOrEqualTo(8 * 1024);
+            }
+        }
+        final LngResult<Dnnf> canceled = DnnfCompiler.compile(f, formulas.get(0),
+                DnnfConfig.builder().build(), event -> !(event instanceof DnnfCacheStatisticsEvent));
+        assertThat(canceled.isSuccess()).isFalse();
+        assertThat(canceled.getCancelCause()).isInstanceOf(DnnfCacheStatisticsEvent.class);
     }
 
     @Test
@@ -180,9 +209,14 @@ public class DnnfCompilerTest {
 
     private static class DnnfComputationHandler implements ComputationHandler {
         private final Map<LngEvent, Integer> eventCounter = new LinkedHashMap<>();
+        private DnnfCacheStatisticsEvent statistics;
 
         @Override
         public boolean shouldResume(final LngEvent event) {
+            if (event instanceof DnnfCacheStatisticsEvent) {
+                statistics = (DnnfCacheStatisticsEvent) event;
+                return true;
+            }
             eventCounter.put(event, eventCounter.getOrDefault(event, 0) + 1);
             return true;
         }
@@ -0,0 +1,141 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.booleworks.logicng.RandomTag;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.io.parsers.ParserException;
+import com.booleworks.logicng.io.parsers.PropositionalParser;
+import com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.Dnnf;
+import com.booleworks.logicng.knowledgecompilation.dnnf.functions.DnnfMarginalsFunction;
+import com.booleworks.logicng.knowledgecompilation.dnnf.functions.DnnfModelCountFunction;
+import com.booleworks.logicng.knowledgecompilation.dnnf.functions.DnnfWeightedModelCountFunction;
+import com.booleworks.logicng.modelcounting.WeightSemiring;
+import com.booleworks.logicng.testutils.NQueensGenerator;
+import com.booleworks.logicng.transformations.cnf.CnfFactorization;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Unit tests for weighted model counting and marginals on DNNFs.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class DnnfWeightedModelCountTest {
+
+    @Test
+    public void testSimple() throws ParserException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Variable x = f.variable("x");
+        final Variable y = f.variable("y");
+        final Variable z = f.variable("z");
+        final Map<Literal, BigDecimal> weights = Map.of(x, new BigDecimal("0.3"), x.negate(f), new BigDecimal("0.7"),
+                y, new BigDecimal("0.5"));
+        final Dnnf dnnf = new Dnnf(new TreeSet<>(List.of(x, y, z)), new PropositionalParser(f).parse("x | ~x & y"));
+        assertThat(dnnf.execute(new DnnfWeightedModelCountFunction<>(f, WeightSemiring.BIG_DECIMAL, weights)))
+                .isEqualByComparingTo("1.6");
+        final SortedMap<Literal, BigDecimal> marginals =
+                dnnf.execute(new DnnfMarginalsFunction<>(f, WeightSemiring.BIG_DECIMAL, weights));
+        assertThat(marginals).hasSize(6);
+        assertThat(marginals.get(x)).isEqualByComparingTo("0.9");
+        assertThat(marginals.get(x.negate(f))).isEqualByComparingTo("0.7");
+        assertThat(marginals.get(y)).isEqualByComparingTo("1.0");
+        assertThat(marginals.get(y.negate(f))).isEqualByComparingTo("0.6");
+        assertThat(marginals.get(z)).isEqualByComparingTo("0.8");
+        assertThat(marginals.get(z.negate(f))).isEqualByComparingTo("0.8");
+        final Dnnf falsum = new Dnnf(new TreeSet<>(List.of(x)), f.falsum());
+        assertThat(falsum.execute(new DnnfWeightedModelCountFunction<>(f, WeightSemiring.DOUBLE, Map.of())))
+                .isEqualTo(0.0);
+        assertThat(falsum.execute(new DnnfMarginalsFunction<>(f, WeightSemiring.DOUBLE, Map.of())).values())
+                .containsOnly(0.0);
+    }
+
+    @Test
+    public void testUnitWeightsYieldModelCount() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula queens = new NQueensGenerator(f).generate(7);
+        final Dnnf dnnf = DnnfCompiler.compile(f, queens);
+        assertThat(dnnf.execute(new DnnfWeightedModelCountFunction<>(f, WeightSemiring.BIG_DECIMAL, Map.of()))
+                .toBigIntegerExact()).isEqualTo(BigInteger.valueOf(40));
+        assertThat(Math.exp(dnnf.execute(new DnnfWeightedModelCountFunction<>(f, WeightSemiring.LOG, Map.of()))))
+                .isCloseTo(40.0, within(1e-9));
+        final SortedMap<Literal, BigDecimal> marginals =
+                dnnf.execute(new DnnfMarginalsFunction<>(f, WeightSemiring.BIG_DECIMAL, Map.of()));
+        for (final Variable var : queens.variables(f)) {
+            assertThat(marginals.get(var).add(marginals.get(var.negate(f)))).isEqualByComparingTo("40");
+            assertThat(marginals.get(var).toBigIntegerExact())
+                    .isEqualTo(dnnf.condition(List.of(var)).execute(new DnnfModelCountFunction(f)));
+        }
+    }
+
+    @Test
+    @RandomTag
+    public void testRandomAgainstEnumeration() {
+        for (int i = 0; i < 100; i++) {
+            final FormulaFactory f = FormulaFactory.caching();
+            final Formula formula = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(10)
+                    .weightPbc(0).weightCc(0).weightAmo(0).weightExo(0).seed(i).build()).formula(4)
+                    .transform(new CnfFactorization(f));
+            final SortedSet<Variable> variables = new TreeSet<>(formula.variables(f));
+            variables.add(f.variable("unused"));
+            final Dnnf compiled = DnnfCompiler.compile(f, formula);
+            final Dnnf dnnf = new Dnnf(variables, compiled.getFormula());
+            final Random random = new Random(i);
+            final Map<Literal, BigDecimal> weights = new HashMap<>();
+            final Map<Literal, Double> logWeights = new HashMap<>();
+            for (final Variable var : variables) {
+                for (final Literal lit : List.of(var, var.negate(f))) {
+                    if (random.nextInt(5) > 0) {
+                        final BigDecimal weight = BigDecimal.valueOf(random.nextInt(100) + 1, 2);
+                        weights.put(lit, weight);
+                        logWeights.put(lit, Math.log(weight.doubleValue()));
+                    }
+                }
+            }
+            BigDecimal expected = BigDecimal.ZERO;
+            final Map<Literal, BigDecimal> expectedMarginals = new HashMap<>();
+            for (final Model model : dnnf.getCompactDnnf().enumerateAllModels(f)) {
+                BigDecimal product = BigDecimal.ONE;
+                for (final Literal lit : model.getLiterals()) {
+                    product = product.multiply(weights.getOrDefault(lit, BigDecimal.ONE));
+                }
+                expected = expected.add(product);
+                for (final Literal lit : model.getLiterals()) {
+                    expectedMarginals.merge(lit, product, BigDecimal::add);
+                }
+            }
+            assertThat(dnnf.execute(new DnnfWeightedModelCountFunction<>(f, WeightSemiring.BIG_DECIMAL, weights)))
+                    .isEqualByComparingTo(expected);
+            final double logCount =
+                    dnnf.execute(new DnnfWeightedModelCountFunction<>(f, WeightSemiring.LOG, logWeights));
+            assertThat(Math.exp(logCount)).isCloseTo(expected.doubleValue(), within(1e-9));
+            final SortedMap<Literal, BigDecimal> marginals =
+                    dnnf.execute(new DnnfMarginalsFunction<>(f, WeightSemiring.BIG_DECIMAL, weights));
+            assertThat(marginals).hasSize(2 * variables.size());
+            for (final Map.Entry<Literal, BigDecimal> entry : marginals.entrySet()) {
+                assertThat(entry.getValue())
+                        .isEqualByComparingTo(expectedMarginals.getOrDefault(entry.getKey(), BigDecimal.ZERO));
+            }
+        }
+    }
+}
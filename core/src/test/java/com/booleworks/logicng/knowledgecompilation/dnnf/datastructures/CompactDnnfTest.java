@@ -0,0 +1,138 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.datastructures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.booleworks.logicng.RandomTag;
+import com.booleworks.logicng.datastructures.Assignment;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.io.parsers.ParserException;
+import com.booleworks.logicng.io.parsers.PropositionalParser;
+import com.booleworks.logicng.knowledgecompilation.dnnf.DnnfCompiler;
+import com.booleworks.logicng.knowledgecompilation.dnnf.functions.DnnfModelCountFunction;
+import com.booleworks.logicng.predicates.satisfiability.TautologyPredicate;
+import com.booleworks.logicng.transformations.cnf.CnfFactorization;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Unit tests for {@link CompactDnnf}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class CompactDnnfTest {
+
+    @Test
+    public void testBuilder() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Variable a = f.variable("a");
+        final Variable b = f.variable("b");
+        final CompactDnnf.Builder builder = new CompactDnnf.Builder();
+        final int litA = builder.literal(a);
+        final int litNA = builder.literal(a.negate(f));
+        final int litB = builder.literal(b);
+        assertThat(builder.literal(a, true)).isEqualTo(litA);
+        assertThat(builder.and()).isEqualTo(builder.verum());
+        assertThat(builder.or()).isEqualTo(builder.falsum());
+        assertThat(builder.and(litA)).isEqualTo(litA);
+        assertThat(builder.and(litA, builder.verum())).isEqualTo(litA);
+        assertThat(builder.and(litA, builder.falsum())).isEqualTo(builder.falsum());
+        assertThat(builder.and(litA, litNA)).isEqualTo(builder.falsum());
+        assertThat(builder.or(litA, litNA)).isEqualTo(builder.verum());
+        assertThat(builder.and(litA, litB)).isEqualTo(builder.and(litB, litA, litB));
+        assertThat(builder.or(builder.and(litA, litB), litNA))
+                .isEqualTo(builder.or(litNA, builder.and(litB, litA)));
+        final SortedSet<Variable> vars = new TreeSet<>(List.of(a, b, f.variable("c")));
+        final CompactDnnf dnnf = builder.build(vars, builder.or(builder.and(litA, litB), litNA));
+        assertThat(dnnf.numberOfNodes()).isEqualTo(7);
+        assertThat(dnnf.type(dnnf.root())).isEqualTo(CompactDnnf.OR);
+        assertThat(dnnf.modelCount()).isEqualTo(BigInteger.valueOf(6));
+        assertThat(dnnf.toFormula(f)).isEqualTo(f.or(f.and(a, b), a.negate(f)));
+        assertThat(builder.build(vars, builder.falsum()).modelCount()).isEqualTo(BigInteger.ZERO);
+        assertThat(builder.build(vars, builder.verum()).modelCount()).isEqualTo(BigInteger.valueOf(8));
+        assertThat(builder.build(vars, builder.falsum()).isSatisfiable()).isFalse();
+        assertThatThrownBy(() -> builder.fromFormula(f.implication(a, b)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testCompiledDnnf() throws ParserException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula formula = new PropositionalParser(f).parse("a | ((b & ~c) | (c & (~d | ~a & b)) & e)");
+        final Dnnf dnnf = DnnfCompiler.compile(f, formula);
+        final CompactDnnf compact = dnnf.getCompactDnnf();
+        assertThat(compact.getOriginalVariables()).isEqualTo(formula.variables(f));
+        assertThat(compact.modelCount()).isEqualTo(dnnf.execute(new DnnfModelCountFunction(f)));
+        assertThat(f.equivalence(formula, compact.toFormula(f)).holds(new TautologyPredicate(f))).isTrue();
+        assertThat(CompactDnnf.fromFormula(dnnf.getOriginalVariables(), dnnf.getFormula()).modelCount())
+                .isEqualTo(compact.modelCount());
+        assertThat(new Dnnf(dnnf.getOriginalVariables(), dnnf.getFormula())).isEqualTo(dnnf).hasSameHashCodeAs(dnnf);
+        assertThat(new Dnnf(FormulaFactory.caching(), compact)).isEqualTo(dnnf);
+        assertThat(dnnf.condition(List.of(f.variable("a")))).isNotEqualTo(dnnf);
+    }
+
+    @Test
+    @RandomTag
+    public void testRandomFormulas() {
+        for (int i = 0; i < 100; i++) {
+            final FormulaFactory f = FormulaFactory.caching();
+            final FormulaRandomizer randomizer = new FormulaRandomizer(f,
+                    FormulaRandomizerConfig.builder().numVars(8).weightPbc(0).weightCc(0).weightAmo(0).weightExo(0)
+                            .seed(i).build());
+            final Formula formula = randomizer.formula(4).transform(new CnfFactorization(f));
+            final CompactDnnf dnnf = DnnfCompiler.compile(f, formula).getCompactDnnf();
+            final List<Variable> vars = new ArrayList<>(formula.variables(f));
+            assertThat(dnnf.modelCount()).isEqualTo(bruteForceCount(f, formula, vars));
+            final List<Model> models = dnnf.enumerateAllModels(f);
+            final Set<Set<Literal>> distinct = new HashSet<>();
+            for (final Model model : models) {
+                assertThat(model.size()).isEqualTo(vars.size());
+                assertThat(formula.evaluate(model.toAssignment())).isTrue();
+                distinct.add(new HashSet<>(model.getLiterals()));
+            }
+            assertThat(BigInteger.valueOf(distinct.size())).isEqualTo(dnnf.modelCount());
+            if (vars.size() > 2) {
+                final List<Literal> condition = List.of(vars.get(0).negate(f), vars.get(2));
+                final CompactDnnf conditioned = dnnf.condition(condition);
+                final List<Variable> remaining = new ArrayList<>(vars);
+                remaining.remove(vars.get(0));
+                remaining.remove(vars.get(2));
+                assertThat(conditioned.getOriginalVariables()).containsExactlyElementsOf(remaining);
+                assertThat(conditioned.modelCount()).isEqualTo(
+                        bruteForceCount(f, formula.restrict(f, new Assignment(condition)), remaining));
+            }
+        }
+    }
+
+    private static BigInteger bruteForceCount(final FormulaFactory f, final Formula formula,
+                                              final List<Variable> vars) {
+        long count = 0;
+        for (int i = 0; i < 1 << vars.size(); i++) {
+            final Assignment assignment = new Assignment();
+            for (int j = 0; j < vars.size(); j++) {
+                assignment.addLiteral((i >> j & 1) == 1 ? vars.get(j) : vars.get(j).negate(f));
+            }
+            if (formula.evaluate(assignment)) {
+                count++;
+            }
+        }
+        return BigInteger.valueOf(count);
+    }
+}
@@ -0,0 +1,88 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.datastructures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.booleworks.logicng.handlers.events.DnnfCacheStatisticsEvent;
+import com.booleworks.logicng.knowledgecompilation.dnnf.DnnfConfig.CacheEvictionPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+/**
+ * Unit tests for {@link DnnfCache}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class DnnfCacheTest {
+
+    @Test
+    public void testGetAndPut() {
+        final DnnfCache cache = new DnnfCache(1024 * 1024, CacheEvictionPolicy.OLDEST_HALF);
+        final BitSet key = new BitSet();
+        key.set(1);
+        key.set(42);
+        assertThat(cache.get(key)).isEqualTo(-1);
+        cache.put(key, 7);
+        key.set(100);
+        assertThat(cache.get(key)).isEqualTo(-1);
+        cache.put(key, 8);
+        key.clear(100);
+        assertThat(cache.get(key)).isEqualTo(7);
+        assertThat(cache.get(new BitSet())).isEqualTo(-1);
+        for (int i = 0; i < 10000; i++) {
+            cache.put(key(i, i + 1, 3 * i), i);
+        }
+        for (int i = 0; i < 10000; i++) {
+            assertThat(cache.get(key(i, i + 1, 3 * i))).isEqualTo(i);
+        }
+        assertThat(cache.numberOfEntries()).isEqualTo(10002);
+        final DnnfCacheStatisticsEvent statistics = cache.statistics();
+        assertThat(statistics.getHits()).isEqualTo(10001);
+        assertThat(statistics.getMisses()).isEqualTo(3);
+        assertThat(statistics.getEvictions()).isZero();
+        assertThat(statistics.getPeakEntries()).isEqualTo(10002);
+        assertThat(statistics.getPeakMemory()).isEqualTo(cache.memory());
+    }
+
+    @Test
+    public void testEvictOldestHalf() {
+        final DnnfCache cache = new DnnfCache(16 * 1024, CacheEvictionPolicy.OLDEST_HALF);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(key(i, i + 1000), i);
+            assertThat(cache.memory()).isLessThanOrEqualTo(16 * 1024);
+        }
+        assertThat(cache.get(key(999, 1999))).isEqualTo(999);
+        assertThat(cache.get(key(0, 1000))).isEqualTo(-1);
+        final DnnfCacheStatisticsEvent statistics = cache.statistics();
+        assertThat(statistics.getEvictions()).isEqualTo(1000 - cache.numberOfEntries());
+        assertThat(statistics.getPeakMemory()).isLessThanOrEqualTo(16 * 1024);
+        assertThat(statistics.getPeakEntries()).isGreaterThan(cache.numberOfEntries() / 2);
+    }
+
+    @Test
+    public void testEvictClear() {
+        final DnnfCache cache = new DnnfCache(16 * 1024, CacheEvictionPolicy.CLEAR);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(key(i), i);
+            assertThat(cache.memory()).isLessThanOrEqualTo(16 * 1024);
+        }
+        assertThat(cache.get(key(999))).isEqualTo(999);
+        assertThat(cache.statistics().getEvictions()).isEqualTo(1000 - cache.numberOfEntries());
+        final DnnfCache tooSmall = new DnnfCache(16, CacheEvictionPolicy.CLEAR);
+        tooSmall.put(key(1), 1);
+        assertThat(tooSmall.numberOfEntries()).isZero();
+        assertThat(tooSmall.get(key(1))).isEqualTo(-1);
+    }
+
+    private static BitSet key(final int... bits) {
+        final BitSet key = new BitSet();
+        for (final int bit : bits) {
+            key.set(bit);
+        }
+        return key;
+    }
+}
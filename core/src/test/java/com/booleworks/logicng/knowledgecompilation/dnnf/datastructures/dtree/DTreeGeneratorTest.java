@@ -0,0 +1,115 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.dnnf.datastructures.dtree;
+
+import static com.booleworks.logicng.handlers.events.SimpleEvent.DNNF_DTREE_HYPERGRAPH_BISECTION;
+import static com.booleworks.logicng.handlers.events.SimpleEvent.DNNF_DTREE_MIN_DEGREE_NEW_ITERATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.io.parsers.ParserException;
+import com.booleworks.logicng.io.parsers.PropositionalParser;
+import com.booleworks.logicng.io.readers.DimacsReader;
+import com.booleworks.logicng.knowledgecompilation.dnnf.DnnfCompiler;
+import com.booleworks.logicng.knowledgecompilation.dnnf.DnnfConfig;
+import com.booleworks.logicng.knowledgecompilation.dnnf.functions.DnnfModelCountFunction;
+import com.booleworks.logicng.testutils.NQueensGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Unit tests for the DTree generators and {@link DTreeMetrics}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class DTreeGeneratorTest {
+
+    private static final List<DTreeGenerator> GENERATORS = List.of(new MinFillDTreeGenerator(),
+            new MinDegreeDTreeGenerator(), new HypergraphDTreeGenerator());
+
+    @Test
+    public void testMetrics() throws ParserException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final PropositionalParser p = new PropositionalParser(f);
+        final DTree tree = new DTreeNode(f, new DTreeLeaf(f, 0, p.parse("a | b")),
+                new DTreeNode(f, new DTreeLeaf(f, 1, p.parse("b | c")), new DTreeLeaf(f, 2, p.parse("c | d"))));
+        final DTreeMetrics metrics = DTreeMetrics.of(f, tree);
+        assertThat(metrics.getNumberOfLeafs()).isEqualTo(3);
+        assertThat(metrics.getHeight()).isEqualTo(3);
+        assertThat(metrics.getWidestSeparator()).isEqualTo(1);
+        assertThat(metrics.getWidestCutset()).isEqualTo(1);
+        assertThat(metrics.getWidestContext()).isEqualTo(1);
+        assertThat(metrics.getWidth()).isEqualTo(1);
+        assertThat(DTreeMetrics.of(f, new DTreeLeaf(f, 0, p.parse("a | b | c"))).getWidth()).isEqualTo(2);
+    }
+
+    @Test
+    public void testGenerators() throws IOException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final List<Formula> cnfs = new ArrayList<>();
+        cnfs.add(new NQueensGenerator(f).generate(8).cnf(f));
+        for (int i = 1; i <= 5; i++) {
+            cnfs.add(f.and(DimacsReader.readCNF(f, "../test_files/dnnf/both_bdd_dnnf_" + i + ".cnf")));
+        }
+        for (final Formula cnf : cnfs) {
+            final BigInteger expected = DnnfCompiler.compile(f, cnf).execute(new DnnfModelCountFunction(f));
+            for (final DTreeGenerator generator : GENERATORS) {
+                final DTree tree = generator.generate(f, cnf);
+                final SortedSet<Integer> ids = new TreeSet<>();
+                for (final DTreeLeaf leaf : tree.leafs()) {
+                    ids.add(leaf.getId());
+                }
+                assertThat(ids).hasSize(cnf.numberOfOperands());
+                assertThat(ids.last()).isEqualTo(cnf.numberOfOperands() - 1);
+                final DTreeMetrics metrics = DTreeMetrics.of(f, tree);
+                assertThat(metrics.getNumberOfLeafs()).isEqualTo(cnf.numberOfOperands());
+                assertThat(metrics.getWidth()).isGreaterThanOrEqualTo(metrics.getWidestCutset());
+                if (generator instanceof HypergraphDTreeGenerator) {
+                    assertThat(metrics.getHeight()).isLessThanOrEqualTo(2 * (32 - Integer.numberOfLeadingZeros(
+                            cnf.numberOfOperands())));
+                }
+                final DnnfConfig config = DnnfConfig.builder().dTreeGenerator(generator).build();
+                assertThat(DnnfCompiler.compile(f, cnf, config, NopHandler.get()).getResult()
+                        .execute(new DnnfModelCountFunction(f))).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void testIllegalInput() throws ParserException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final PropositionalParser p = new PropositionalParser(f);
+        assertThatThrownBy(() -> new HypergraphDTreeGenerator().generate(f, p.parse("a => b")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HypergraphDTreeGenerator(1.0, 4, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(new HypergraphDTreeGenerator().generate(f, p.parse("a | b"))).isInstanceOf(DTreeLeaf.class);
+        assertThat(new MinDegreeDTreeGenerator().generate(f, p.parse("a | b"))).isInstanceOf(DTreeLeaf.class);
+    }
+
+    @Test
+    public void testCancellation() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula cnf = new NQueensGenerator(f).generate(6).cnf(f);
+        final LngResult<DTree> hypergraph = new HypergraphDTreeGenerator()
+                .generate(f, cnf, e -> e != DNNF_DTREE_HYPERGRAPH_BISECTION);
+        assertThat(hypergraph.isSuccess()).isFalse();
+        assertThat(hypergraph.getCancelCause()).isEqualTo(DNNF_DTREE_HYPERGRAPH_BISECTION);
+        final LngResult<DTree> minDegree = new MinDegreeDTreeGenerator()
+                .generate(f, cnf, e -> e != DNNF_DTREE_MIN_DEGREE_NEW_ITERATION);
+        assertThat(minDegree.isSuccess()).isFalse();
+        assertThat(minDegree.getCancelCause()).isEqualTo(DNNF_DTREE_MIN_DEGREE_NEW_ITERATION);
+    }
+}
@@ -0,0 +1,222 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.knowledgecompilation.zdds;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.booleworks.logicng.RandomTag;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.io.parsers.ParserException;
+import com.booleworks.logicng.io.parsers.PropositionalParser;
+import com.booleworks.logicng.knowledgecompilation.bdds.Bdd;
+import com.booleworks.logicng.knowledgecompilation.bdds.BddFactory;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.primecomputation.PrimeCompiler;
+import com.booleworks.logicng.primecomputation.PrimeResult;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Unit tests for ZDDs.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ZddTest {
+
+    @Test
+    public void testTerminals() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final ZddKernel kernel = new ZddKernel(f, 100, 100);
+        final Zdd empty = ZddFactory.empty(kernel);
+        final Zdd base = ZddFactory.base(kernel);
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.count()).isEqualTo(BigInteger.ZERO);
+        assertThat(empty.enumerateAllSets()).isEmpty();
+        assertThat(base.isEmpty()).isFalse();
+        assertThat(base.containsEmptySet()).isTrue();
+        assertThat(base.count()).isEqualTo(BigInteger.ONE);
+        assertThat(base.enumerateAllSets()).containsExactly(new TreeSet<>());
+        assertThat(base.union(empty)).isEqualTo(base);
+        assertThat(base.intersection(empty)).isEqualTo(empty);
+        assertThat(base.nodeCount()).isZero();
+        assertThat(ZddFactory.fromSets(kernel, List.of())).isEqualTo(empty);
+    }
+
+    @Test
+    public void testSimpleFamilies() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Variable a = f.variable("a");
+        final Variable b = f.variable("b");
+        final Variable c = f.variable("c");
+        final Literal nb = b.negate(f);
+        final ZddKernel kernel = new ZddKernel(f, 100, 100);
+        final Zdd abc = ZddFactory.fromSets(kernel, List.of(List.of(a, b), List.of(b, c), List.of(a, b, c), List.of()));
+        final Zdd other = ZddFactory.fromSets(kernel, List.of(List.of(a, nb), List.of(b, c)));
+        assertThat(abc.count()).isEqualTo(BigInteger.valueOf(4));
+        assertThat(abc.containsEmptySet()).isTrue();
+        assertThat(abc.enumerateAllSets()).containsExactlyInAnyOrder(set(a, b), set(b, c), set(a, b, c), set());
+        assertThat(abc.union(other).enumerateAllSets())
+                .containsExactlyInAnyOrder(set(a, b), set(b, c), set(a, b, c), set(), set(a, nb));
+        assertThat(abc.intersection(other).enumerateAllSets()).containsExactly(set(b, c));
+        assertThat(abc.difference(other).enumerateAllSets()).containsExactlyInAnyOrder(set(a, b), set(a, b, c), set());
+        assertThat(abc.minimal().enumerateAllSets()).containsExactly(set());
+        assertThat(abc.difference(ZddFactory.base(kernel)).minimal().enumerateAllSets())
+                .containsExactlyInAnyOrder(set(a, b), set(b, c));
+        assertThat(abc.subset0(a).enumerateAllSets()).containsExactlyInAnyOrder(set(b, c), set());
+        assertThat(abc.subset1(a).enumerateAllSets()).containsExactlyInAnyOrder(set(b), set(b, c));
+        assertThat(abc.change(c).enumerateAllSets()).containsExactlyInAnyOrder(set(a, b, c), set(b), set(a, b), set(c));
+        assertThat(abc.subset1(f.variable("unknown"))).isEqualTo(ZddFactory.empty(kernel));
+        assertThat(abc.subset0(f.variable("unknown"))).isEqualTo(abc);
+        final Zdd bc = ZddFactory.fromSets(kernel, List.of(List.of(b, c)));
+        assertThat(abc.subsets(bc).enumerateAllSets()).containsExactlyInAnyOrder(set(b, c), set());
+        assertThat(abc.supersets(bc).enumerateAllSets()).containsExactlyInAnyOrder(set(b, c), set(a, b, c));
+        assertThat(abc.nonSupersets(bc).enumerateAllSets()).containsExactlyInAnyOrder(set(a, b), set());
+        assertThat(abc.stream().count()).isEqualTo(4);
+        assertThatThrownBy(() -> abc.union(ZddFactory.base(new ZddKernel(f, 10, 10))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @RandomTag
+    public void testRandomFamilies() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final List<Literal> literals = List.of(f.variable("a"), f.literal("a", false), f.variable("b"),
+                f.variable("c"), f.literal("c", false), f.variable("d"), f.variable("e"));
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final ZddKernel kernel = new ZddKernel(f, 5, 7);
+            final List<Literal> order = new ArrayList<>(literals);
+            Collections.shuffle(order, random);
+            order.forEach(kernel::getOrAddIndex);
+            final Set<Set<Literal>> first = randomFamily(literals, random);
+            final Set<Set<Literal>> second = randomFamily(literals, random);
+            final Zdd zFirst = ZddFactory.fromSets(kernel, first);
+            final Zdd zSecond = ZddFactory.fromSets(kernel, second);
+            final Set<Set<Literal>> union = new HashSet<>(first);
+            union.addAll(second);
+            final Set<Set<Literal>> intersection = new HashSet<>(first);
+            intersection.retainAll(second);
+            final Set<Set<Literal>> difference = new HashSet<>(first);
+            difference.removeAll(second);
+            final Set<Set<Literal>> subsets = new HashSet<>();
+            final Set<Set<Literal>> supersets = new HashSet<>();
+            final Set<Set<Literal>> minimal = new HashSet<>();
+            for (final Set<Literal> set : first) {
+                if (second.stream().anyMatch(s -> s.containsAll(set))) {
+                    subsets.add(set);
+                }
+                if (second.stream().anyMatch(set::containsAll)) {
+                    supersets.add(set);
+                }
+                if (first.stream().noneMatch(s -> !s.equals(set) && set.containsAll(s))) {
+                    minimal.add(set);
+                }
+            }
+            assertFamily(zFirst.union(zSecond), union);
+            assertFamily(zFirst.intersection(zSecond), intersection);
+            assertFamily(zFirst.difference(zSecond), difference);
+            assertFamily(zFirst.subsets(zSecond), subsets);
+            assertFamily(zFirst.supersets(zSecond), supersets);
+            assertFamily(zFirst.minimal(), minimal);
+            assertFamily(zFirst, first);
+            assertFamily(zSecond, second);
+        }
+    }
+
+    @Test
+    @RandomTag
+    public void testFromBdd() {
+        for (int i = 0; i < 50; i++) {
+            final FormulaFactory f = FormulaFactory.caching();
+            final FormulaRandomizer randomizer =
+                    new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(8).seed(i).build());
+            final Formula formula = randomizer.formula(4);
+            final BddKernel bddKernel = new BddKernel(f, 8, 100, 100);
+            formula.variables(f).forEach(bddKernel::getOrAddVarIndex);
+            final Bdd bdd = BddFactory.build(f, formula, bddKernel);
+            final ZddKernel kernel = new ZddKernel(f, 10, 10);
+            final Zdd zdd = ZddFactory.fromBdd(kernel, bdd);
+            final List<Model> models = bdd.enumerateAllModels(bddKernel.var2idx().keySet());
+            final Set<Set<Literal>> expected = new HashSet<>();
+            for (final Model model : models) {
+                expected.add(new TreeSet<>(model.positiveVariables()));
+            }
+            assertFamily(zdd, expected);
+            assertThat(ZddFactory.fromModels(kernel, models)).isEqualTo(zdd);
+        }
+    }
+
+    @Test
+    public void testPrimeImplicants() throws ParserException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula formula = new PropositionalParser(f).parse("(a | b) & (~a | c) & (b | ~c | d)");
+        final PrimeResult primes = new PrimeCompiler(f).compute(formula, PrimeResult.CoverageType.IMPLICANTS_COMPLETE);
+        final ZddKernel kernel = new ZddKernel(f, 100, 100);
+        final Zdd zdd = ZddFactory.fromSets(kernel, primes.getPrimeImplicants());
+        assertFamily(zdd, new HashSet<>(primes.getPrimeImplicants()));
+        assertThat(zdd.minimal()).isEqualTo(zdd);
+    }
+
+    @Test
+    public void testGarbageCollection() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final List<Variable> vars = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            vars.add(f.variable("v" + i));
+        }
+        final ZddKernel kernel = new ZddKernel(f, 10, 10);
+        Zdd powerSet = ZddFactory.base(kernel);
+        for (final Variable var : vars) {
+            powerSet = powerSet.union(powerSet.change(var));
+        }
+        assertThat(powerSet.count()).isEqualTo(BigInteger.valueOf(4096));
+        assertThat(powerSet.nodeCount()).isEqualTo(12);
+        assertThat(kernel.statistics().gbcollectnum()).isPositive();
+        final Zdd singletons = ZddFactory.fromSets(kernel, List.of(List.of(vars.get(3)), List.of(vars.get(7))));
+        assertThat(powerSet.supersets(singletons).count()).isEqualTo(BigInteger.valueOf(4096 - 1024));
+        assertThat(powerSet.difference(ZddFactory.base(kernel)).minimal().count()).isEqualTo(BigInteger.valueOf(12));
+    }
+
+    private static SortedSet<Literal> set(final Literal... literals) {
+        return new TreeSet<>(List.of(literals));
+    }
+
+    private static Set<Set<Literal>> randomFamily(final List<Literal> literals, final Random random) {
+        final Set<Set<Literal>> family = new HashSet<>();
+        final int size = random.nextInt(20);
+        for (int i = 0; i < size; i++) {
+            final Set<Literal> set = new TreeSet<>();
+            for (final Literal lit : literals) {
+                if (random.nextBoolean()) {
+                    set.add(lit);
+                }
+            }
+            family.add(set);
+        }
+        return family;
+    }
+
+    private static void assertFamily(final Zdd zdd, final Set<? extends Set<? extends Literal>> expected) {
+        final List<SortedSet<Literal>> sets = zdd.enumerateAllSets();
+        assertThat(new HashSet<>(sets)).hasSize(sets.size()).isEqualTo(expected);
+        assertThat(zdd.count()).isEqualTo(BigInteger.valueOf(expected.size()));
+    }
+}
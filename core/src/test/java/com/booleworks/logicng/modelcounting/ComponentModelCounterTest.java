@@ -0,0 +1,174 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.modelcounting;
+
+import static com.booleworks.logicng.handlers.events.SimpleEvent.MODEL_COUNTING_DECISION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.booleworks.logicng.RandomTag;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.io.parsers.ParserException;
+import com.booleworks.logicng.io.parsers.PropositionalParser;
+import com.booleworks.logicng.io.readers.DimacsReader;
+import com.booleworks.logicng.knowledgecompilation.dnnf.DnnfCompiler;
+import com.booleworks.logicng.testutils.NQueensGenerator;
+import com.booleworks.logicng.testutils.PigeonHoleGenerator;
+import com.booleworks.logicng.transformations.cnf.CnfFactorization;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link ComponentModelCounter} and {@link ComponentCache}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ComponentModelCounterTest {
+
+    @Test
+    public void testSimple() throws ParserException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final PropositionalParser p = new PropositionalParser(f);
+        assertThat(ComponentModelCounter.count(f, f.verum())).isEqualTo(BigInteger.ONE);
+        assertThat(ComponentModelCounter.count(f, f.falsum())).isEqualTo(BigInteger.ZERO);
+        assertThat(ComponentModelCounter.count(f, p.parse("a"))).isEqualTo(BigInteger.ONE);
+        assertThat(ComponentModelCounter.count(f, p.parse("a | ~b"))).isEqualTo(BigInteger.valueOf(3));
+        assertThat(ComponentModelCounter.count(f, p.parse("(a | b) & (c | d)"))).isEqualTo(BigInteger.valueOf(9));
+        assertThat(ComponentModelCounter.count(f, p.parse("a & ~a"))).isEqualTo(BigInteger.ZERO);
+        assertThat(ComponentModelCounter.count(f, p.parse("(a | b) & (~a | b) & (a | ~b) & (~a | ~b)")))
+                .isEqualTo(BigInteger.ZERO);
+        assertThatThrownBy(() -> ComponentModelCounter.count(f, p.parse("a => b")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testQueens() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final NQueensGenerator generator = new NQueensGenerator(f);
+        assertThat(ComponentModelCounter.count(f, generator.generate(4).cnf(f))).isEqualTo(BigInteger.valueOf(2));
+        assertThat(ComponentModelCounter.count(f, generator.generate(6).cnf(f))).isEqualTo(BigInteger.valueOf(4));
+        assertThat(ComponentModelCounter.count(f, generator.generate(8).cnf(f))).isEqualTo(BigInteger.valueOf(92));
+        assertThat(ComponentModelCounter.count(f, new PigeonHoleGenerator(f).generate(5).cnf(f)))
+                .isEqualTo(BigInteger.ZERO);
+    }
+
+    @Test
+    public void testDimacsFiles() throws IOException {
+        final FormulaFactory f = FormulaFactory.caching();
+        for (int i = 1; i <= 5; i++) {
+            final Formula cnf = f.and(DimacsReader.readCNF(f, "../test_files/dnnf/both_bdd_dnnf_" + i + ".cnf"));
+            assertThat(ComponentModelCounter.count(f, cnf))
+                    .isEqualTo(DnnfCompiler.compile(f, cnf).getCompactDnnf().modelCount());
+        }
+    }
+
+    @Test
+    @RandomTag
+    public void testRandomFormulas() {
+        final ModelCounterConfig withoutBcp = ModelCounterConfig.builder().implicitBcp(false).build();
+        final ModelCounterConfig smallCache = ModelCounterConfig.builder().maxCacheSize(1000).build();
+        for (int i = 0; i < 200; i++) {
+            final FormulaFactory f = FormulaFactory.caching();
+            final FormulaRandomizer randomizer = new FormulaRandomizer(f,
+                    FormulaRandomizerConfig.builder().numVars(12).weightPbc(0).weightCc(0).weightAmo(0).weightExo(0)
+                            .seed(i).build());
+            final Formula cnf = f.and(randomizer.formula(4), randomizer.formula(4), randomizer.formula(3))
+                    .transform(new CnfFactorization(f));
+            final BigInteger expected = DnnfCompiler.compile(f, cnf).getCompactDnnf().modelCount();
+            assertThat(ComponentModelCounter.count(f, cnf)).isEqualTo(expected);
+            assertThat(new ComponentModelCounter(f, cnf, withoutBcp).count(NopHandler.get()).getResult())
+                    .isEqualTo(expected);
+            final ComponentModelCounter counter = new ComponentModelCounter(f, cnf, smallCache);
+            assertThat(counter.count(NopHandler.get()).getResult()).isEqualTo(expected);
+            assertThat(counter.getCache().size()).isLessThanOrEqualTo(1000);
+        }
+    }
+
+    @Test
+    public void testProjected() throws ParserException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final PropositionalParser p = new PropositionalParser(f);
+        final Formula cnf = p.parse("(a | b) & (~a | c) & (~d | b) & (e | ~c | ~b)");
+        assertThat(ComponentModelCounter.countProjected(f, cnf, cnf.variables(f)))
+                .isEqualTo(ComponentModelCounter.count(f, cnf));
+        assertThat(ComponentModelCounter.countProjected(f, cnf, f.variables("a", "b")))
+                .isEqualTo(BigInteger.valueOf(3));
+        assertThat(ComponentModelCounter.countProjected(f, cnf, f.variables("d", "e")))
+                .isEqualTo(BigInteger.valueOf(4));
+        assertThat(ComponentModelCounter.countProjected(f, cnf, f.variables("x"))).isEqualTo(BigInteger.ONE);
+        assertThat(ComponentModelCounter.countProjected(f, p.parse("(a | b) & (~a | b) & (a | ~b) & (~a | ~b)"),
+                f.variables("a"))).isEqualTo(BigInteger.ZERO);
+        final Formula queens = new NQueensGenerator(f).generate(6).cnf(f);
+        final List<Variable> firstRow = IntStream.range(0, 6).mapToObj(i -> f.variable("v" + (i + 1)))
+                .collect(Collectors.toList());
+        assertThat(ComponentModelCounter.countProjected(f, queens, firstRow)).isEqualTo(BigInteger.valueOf(4));
+    }
+
+    @Test
+    public void testCache() {
+        final ComponentCache cache = new ComponentCache(1000);
+        final ComponentCache.Key key1 = ComponentCache.key(new int[]{1, 2, 300}, 3, new int[]{4, 7}, 2);
+        final ComponentCache.Key key2 = ComponentCache.key(new int[]{1, 2, 300, 5}, 3, new int[]{4, 7, 9}, 2);
+        final ComponentCache.Key key3 = ComponentCache.key(new int[]{1, 2}, 2, new int[]{4, 7}, 2);
+        assertThat(key1).isEqualTo(key2);
+        assertThat(key1).isNotEqualTo(key3);
+        cache.put(key1, BigInteger.TEN);
+        final long mark = cache.mark();
+        cache.put(key3, BigInteger.ONE);
+        assertThat(cache.get(key2)).isEqualTo(BigInteger.TEN);
+        assertThat(cache.get(key3)).isEqualTo(BigInteger.ONE);
+        cache.removeSince(mark);
+        assertThat(cache.get(key3)).isNull();
+        assertThat(cache.numberOfEntries()).isEqualTo(1);
+        assertThat(cache.lookups()).isEqualTo(3);
+        assertThat(cache.hits()).isEqualTo(2);
+        for (int i = 0; i < 100; i++) {
+            cache.put(ComponentCache.key(new int[]{i}, 1, new int[0], 0), BigInteger.valueOf(i));
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(1000);
+        assertThat(cache.evictions()).isPositive();
+        assertThat(cache.get(key1)).isNull();
+        cache.clear();
+        assertThat(cache.numberOfEntries()).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void testConfigValidation() {
+        assertThatThrownBy(() -> ModelCounterConfig.builder().parallelism(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The parallelism must be at least 1: 0");
+        assertThatThrownBy(() -> ModelCounterConfig.builder().maxCacheSize(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The maximum cache size must be at least 1: 0");
+        assertThatThrownBy(() -> ModelCounterConfig.builder().maxCacheSize(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ModelCounterConfig.builder().maxCacheSize(1).build().maxCacheSize).isEqualTo(1);
+    }
+
+    @Test
+    public void testCancellation() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Formula cnf = new NQueensGenerator(f).generate(8).cnf(f);
+        final AtomicInteger decisions = new AtomicInteger();
+        final LngResult<BigInteger> result = new ComponentModelCounter(f, cnf)
+                .count(e -> e != MODEL_COUNTING_DECISION || decisions.incrementAndGet() < 10);
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getCancelCause()).isEqualTo(MODEL_COUNTING_DECISION);
+        assertThat(decisions.get()).isEqualTo(10);
+    }
+}
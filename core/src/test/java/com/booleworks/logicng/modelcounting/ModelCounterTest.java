@@ -4,6 +4,7 @@
 
 package com.booleworks.logicng.modelcounting;
 
+import static com.booleworks.logicng.handlers.events.SimpleEvent.DNNF_SHANNON_EXPANSION;
 import static com.booleworks.logicng.testutils.TestUtil.modelCount;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -19,10 +20,13 @@ import com.booleworks.logicng.formulas.FormulaFactory;
 import com.booleworks.logicng.formulas.PbConstraint;
 import com.booleworks.logicng.formulas.TestWithFormulaContext;
 import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.NopHandler;
 import com.booleworks.logicng.io.parsers.ParserException;
 import com.booleworks.logicng.knowledgecompilation.bdds.orderings.ForceOrdering;
 import com.booleworks.logicng.solvers.SatSolver;
 import com.booleworks.logicng.testutils.NQueensGenerator;
+import com.booleworks.logicng.transformations.Anonymizer;
 import com.booleworks.logicng.transformations.cnf.CnfConfig;
 import com.booleworks.logicng.util.FormulaHelper;
 import com.booleworks.logicng.util.FormulaRandomizer;
@@ -31,11 +35,13 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -210,6 +216,110 @@ public class ModelCounterTest extends TestWithFormulaContext {
         }
     }
 
+    @ParameterizedTest
+    @MethodSource("contexts")
+    @RandomTag
+    public void testParallel(final FormulaContext _c) {
+        for (int i = 0; i < 100; i++) {
+            final FormulaRandomizerConfig config = FormulaRandomizerConfig.builder()
+                    .numVars(20)
+                    .weightPbc(0)
+                    .seed(i * 42).build();
+            final FormulaRandomizer randomizer = new FormulaRandomizer(_c.f, config);
+            final List<Formula> formulas =
+                    IntStream.range(0, 8).mapToObj(j -> randomizer.formula(2)).collect(Collectors.toList());
+            final SortedSet<Variable> variables = FormulaHelper.variables(_c.f, formulas);
+            assertThat(ModelCounter.count(_c.f, formulas, variables, 4))
+                    .isEqualTo(ModelCounter.count(_c.f, formulas, variables));
+        }
+        assertThatThrownBy(() -> ModelCounter.count(_c.f, List.of(_c.a), _c.f.variables("a"), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    @RandomTag
+    public void testComponentCachingBackend(final FormulaContext _c) {
+        final ModelCounterConfig componentCaching =
+                ModelCounterConfig.builder().backend(ModelCounterConfig.Backend.COMPONENT_CACHING).build();
+        final ModelCounterConfig parallelComponentCaching = ModelCounterConfig.builder()
+                .backend(ModelCounterConfig.Backend.COMPONENT_CACHING).parallelism(4).build();
+        for (int i = 0; i < 100; i++) {
+            final FormulaRandomizerConfig config = FormulaRandomizerConfig.builder()
+                    .numVars(20)
+                    .weightPbc(0)
+                    .seed(i * 42).build();
+            final FormulaRandomizer randomizer = new FormulaRandomizer(_c.f, config);
+            final List<Formula> formulas =
+                    IntStream.range(0, 8).mapToObj(j -> randomizer.formula(2)).collect(Collectors.toList());
+            final SortedSet<Variable> variables = FormulaHelper.variables(_c.f, formulas);
+            final BigInteger expected = ModelCounter.count(_c.f, formulas, variables);
+            assertThat(ModelCounter.count(_c.f, formulas, variables, componentCaching)).isEqualTo(expected);
+            assertThat(ModelCounter.count(_c.f, formulas, variables, parallelComponentCaching)).isEqualTo(expected);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    public void testProjected(final FormulaContext _c) throws ParserException {
+        final List<Formula> formulas = Arrays.asList(_c.p.parse("(a | b) & (~a | c)"), _c.p.parse("d => b"));
+        assertThat(ModelCounter.countProjected(_c.f, formulas, _c.f.variables("a", "b", "c", "d")))
+                .isEqualTo(BigInteger.valueOf(7));
+        assertThat(ModelCounter.countProjected(_c.f, formulas, _c.f.variables("a", "b")))
+                .isEqualTo(BigInteger.valueOf(3));
+        assertThat(ModelCounter.countProjected(_c.f, formulas, _c.f.variables("a", "e")))
+                .isEqualTo(BigInteger.valueOf(4));
+        assertThat(ModelCounter.countProjected(_c.f, formulas, Collections.emptySortedSet())).isEqualTo(BigInteger.ONE);
+        assertThat(ModelCounter.countProjected(_c.f, List.of(_c.p.parse("a & ~a")), _c.f.variables("b")))
+                .isEqualTo(BigInteger.ZERO);
+        assertThat(ModelCounter.countProjected(_c.f, List.of(_c.p.parse("a + b + c + d + e <= 1")),
+                _c.f.variables("a", "b"))).isEqualTo(BigInteger.valueOf(3));
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    @RandomTag
+    public void testProjectedRandom(final FormulaContext _c) {
+        for (int i = 0; i < 200; i++) {
+            final FormulaRandomizerConfig config = FormulaRandomizerConfig.builder()
+                    .numVars(9)
+                    .seed(i * 7).build();
+            final FormulaRandomizer randomizer = new FormulaRandomizer(_c.f, config);
+            final List<Formula> formulas =
+                    IntStream.range(0, 3).mapToObj(j -> randomizer.formula(3)).collect(Collectors.toList());
+            final SortedSet<Variable> variables = FormulaHelper.variables(_c.f, formulas);
+            final SortedSet<Variable> projection = variables.stream().filter(v -> v.hashCode() % 3 != 0)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            final SatSolver solver = SatSolver.newSolver(_c.f);
+            solver.add(formulas);
+            final BigInteger expected = modelCount(solver.enumerateAllModels(projection), projection);
+            assertThat(ModelCounter.countProjected(_c.f, formulas, projection)).isEqualTo(expected);
+            assertThat(ModelCounter.countProjected(_c.f, formulas, projection,
+                    ModelCounterConfig.builder().parallelism(4).build(), NopHandler.get()).getResult())
+                    .isEqualTo(expected);
+            assertThat(ModelCounter.countProjected(_c.f, formulas, variables))
+                    .isEqualTo(ModelCounter.count(_c.f, formulas, variables));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("contexts")
+    public void testParallelCancellation(final FormulaContext _c) {
+        final List<Formula> formulas = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final NQueensGenerator generator = new NQueensGenerator(_c.f);
+            formulas.add(generator.generate(6).transform(new Anonymizer(_c.f, "q" + i + "_")));
+        }
+        final SortedSet<Variable> variables = FormulaHelper.variables(_c.f, formulas);
+        assertThat(ModelCounter.count(_c.f, formulas, variables, 4)).isEqualTo(BigInteger.valueOf(4).pow(20));
+        final AtomicInteger expansions = new AtomicInteger();
+        final LngResult<BigInteger> result = ModelCounter.count(_c.f, formulas, variables, 4,
+                event -> event != DNNF_SHANNON_EXPANSION || expansions.incrementAndGet() < 10);
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getCancelCause()).isEqualTo(DNNF_SHANNON_EXPANSION);
+        assertThat(expansions.get()).isEqualTo(10);
+    }
+
     private void testQueens(final FormulaFactory f, final NQueensGenerator generator, final int size,
                             final int models) {
         final Formula queens = generator.generate(size);
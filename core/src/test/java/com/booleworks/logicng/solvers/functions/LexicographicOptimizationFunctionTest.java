@@ -0,0 +1,193 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.functions;
+
+import static com.booleworks.logicng.TestWithExampleFormulas.parse;
+import static com.booleworks.logicng.handlers.events.ComputationStartedEvent.OPTIMIZATION_FUNCTION_STARTED;
+import static com.booleworks.logicng.solvers.functions.LexicographicOptimizationFunction.builder;
+import static com.booleworks.logicng.solvers.sat.SolverTestSet.SATSolverConfigParam.CNF_METHOD;
+import static com.booleworks.logicng.solvers.sat.SolverTestSet.SATSolverConfigParam.PROOF_GENERATION;
+import static com.booleworks.logicng.solvers.sat.SolverTestSet.SATSolverConfigParam.USE_AT_MOST_CLAUSES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.booleworks.logicng.datastructures.Assignment;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.FormulaFactoryConfig;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.handlers.events.OptimizationFoundBetterBoundEvent;
+import com.booleworks.logicng.predicates.satisfiability.SatPredicate;
+import com.booleworks.logicng.solvers.MaxSatSolver;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig;
+import com.booleworks.logicng.solvers.sat.SolverTestSet;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class LexicographicOptimizationFunctionTest {
+
+    public static List<Arguments> solverSuppliers() {
+        return SolverTestSet.solverSupplierTestSetForParameterizedTests(
+                Set.of(USE_AT_MOST_CLAUSES, CNF_METHOD, PROOF_GENERATION));
+    }
+
+    @ParameterizedTest(name = "{index} {1}")
+    @MethodSource("solverSuppliers")
+    public void testUnsatFormula(final Function<FormulaFactory, SatSolver> solverSupplier) {
+        final FormulaFactory f = FormulaFactory.caching();
+        final SatSolver solver = solverSupplier.apply(f);
+        solver.add(parse(f, "a & b & (a => ~b)"));
+        assertThatThrownBy(() -> solver.execute(builder().minimize(f.variable("a")).maximize(f.variable("b")).build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The given formula must be satisfiable");
+    }
+
+    @ParameterizedTest(name = "{index} {1}")
+    @MethodSource("solverSuppliers")
+    public void testPriorityOfObjectives(final Function<FormulaFactory, SatSolver> solverSupplier) {
+        final FormulaFactory f = FormulaFactory.caching();
+        final SatSolver solver = solverSupplier.apply(f);
+        solver.add(parse(f, "(a | b) & (~a | ~b) & (a => c & d)"));
+        final List<Variable> cd = List.of(f.variable("c"), f.variable("d"));
+
+        final Model cdFirst = solver.execute(builder().minimize(cd).maximize(f.variable("a")).build());
+        assertThat(cdFirst.negativeVariables()).containsExactlyInAnyOrder(f.variable("a"), f.variable("c"),
+                f.variable("d"));
+
+        final Model aFirst = solver.execute(builder().maximize(f.variable("a")).minimize(cd).build());
+        assertThat(aFirst.positiveVariables()).containsExactlyInAnyOrder(f.variable("a"), f.variable("c"),
+                f.variable("d"));
+    }
+
+    @ParameterizedTest(name = "{index} {1}")
+    @MethodSource("solverSuppliers")
+    public void testAdditionalVariablesAndEmptyObjectives(final Function<FormulaFactory, SatSolver> solverSupplier) {
+        final FormulaFactory f = FormulaFactory.caching();
+        final SatSolver solver = solverSupplier.apply(f);
+        solver.add(parse(f, "(a | b) & (b => c)"));
+        final Model model = solver.execute(builder().additionalVariables(f.variable("c"), f.variable("x")).build());
+        assertThat(model.size()).isEqualTo(2);
+        assertThat(model.getLiterals()).contains(f.literal("x", false));
+
+        final Model optimum = solver.execute(builder().minimize(f.variable("b")).maximize(f.variable("c"))
+                .additionalVariables(f.variable("a")).build());
+        assertThat(optimum.getLiterals()).containsExactlyInAnyOrder(f.variable("a"), f.literal("b", false),
+                f.variable("c"));
+    }
+
+    @ParameterizedTest(name = "{index} {1}")
+    @MethodSource("solverSuppliers")
+    public void testSolverStateIsRestored(final Function<FormulaFactory, SatSolver> solverSupplier) {
+        final FormulaFactory f = FormulaFactory.caching();
+        final SatSolver solver = solverSupplier.apply(f);
+        solver.add(parse(f, "(a | b | c) & (d | e) & (a => d)"));
+        final List<Variable> abc = List.of(f.variable("a"), f.variable("b"), f.variable("c"));
+        final List<Variable> de = List.of(f.variable("d"), f.variable("e"));
+        final LexicographicOptimizationFunction function = builder().maximize(abc).minimize(de).build();
+
+        final Model first = solver.execute(function);
+        assertThat(first.positiveVariables()).containsExactlyInAnyOrder(f.variable("a"), f.variable("b"),
+                f.variable("c"), f.variable("d"));
+        assertThat(solver.execute(function)).isEqualTo(first);
+
+        solver.add(parse(f, "~a"));
+        final Model second = solver.execute(function);
+        assertThat(second.positiveVariables()).hasSize(3).contains(f.variable("b"), f.variable("c"));
+        assertThat(solver.satCall().addFormulas(de).sat().getResult()).isTrue();
+    }
+
+    @Test
+    public void testCompareWithMaxSat() {
+        final FormulaFactory f = FormulaFactory.nonCaching(FormulaFactoryConfig.builder()
+                .formulaMergeStrategy(FormulaFactoryConfig.FormulaMergeStrategy.IMPORT).build());
+        final SatPredicate satPredicate = new SatPredicate(f);
+        final Random random = new Random(42);
+        final FormulaRandomizer randomizer =
+                new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(8).weightPbc(2).seed(42).build());
+        for (int i = 0; i < 200; i++) {
+            final Formula formula = Stream.generate(() -> randomizer.formula(3))
+                    .filter(fm -> fm.holds(satPredicate)).findFirst().get();
+            final List<Variable> variables = new ArrayList<>(formula.variables(f));
+            final List<Literal> first = randomLiterals(f, random, variables);
+            final List<Literal> second = randomLiterals(f, random, variables);
+            final SatSolver solver = SatSolver.newSolver(f);
+            solver.add(formula);
+            final Model model = solver.execute(builder().minimize(first).maximize(second)
+                    .additionalVariables(variables).build());
+            assertThat(formula.evaluate(model.toAssignment())).isTrue();
+
+            final MaxSatSolver maxSatSolver = MaxSatSolver.newSolver(f, MaxSatConfig.CONFIG_OLL);
+            maxSatSolver.addHardFormula(formula);
+            first.forEach(lit -> maxSatSolver.addSoftFormula(lit.negate(f), second.size() + 1));
+            second.forEach(lit -> maxSatSolver.addSoftFormula(lit, 1));
+            final int expectedCost = maxSatSolver.solve().getUnsatisfiedWeight();
+            final Assignment assignment = model.toAssignment();
+            final int cost = satisfied(first, assignment) * (second.size() + 1) +
+                    second.size() - satisfied(second, assignment);
+            assertThat(cost).isEqualTo(expectedCost);
+        }
+    }
+
+    @Test
+    public void testHandler() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(parse(f, "(a | b) & (~a | ~b) & (a => c & d)"));
+        final LexicographicOptimizationFunction function =
+                builder().minimize(f.variable("c"), f.variable("d")).maximize(f.variable("a")).build();
+
+        final LngResult<Model> canceledAtStart =
+                solver.execute(function, event -> event != OPTIMIZATION_FUNCTION_STARTED);
+        assertThat(canceledAtStart.isSuccess()).isFalse();
+        assertThat(canceledAtStart.isPartial()).isFalse();
+
+        final List<Model> reportedModels = new ArrayList<>();
+        final LngResult<Model> canceled = solver.execute(function, event -> {
+            if (event instanceof OptimizationFoundBetterBoundEvent) {
+                reportedModels.add(((OptimizationFoundBetterBoundEvent) event).getModel().get());
+                return false;
+            }
+            return true;
+        });
+        assertThat(canceled.isSuccess()).isFalse();
+        assertThat(canceled.isPartial()).isTrue();
+        assertThat(canceled.getPartialResult()).isEqualTo(reportedModels.get(0));
+        assertThat(canceled.getPartialResult().negativeVariables()).contains(f.variable("c"), f.variable("d"));
+
+        final LngResult<Model> result = solver.execute(function, NopHandler.get());
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getResult().negativeVariables()).contains(f.variable("a"), f.variable("c"),
+                f.variable("d"));
+    }
+
+    private static List<Literal> randomLiterals(final FormulaFactory f, final Random random,
+                                                final Collection<Variable> variables) {
+        return variables.stream().filter(v -> random.nextBoolean())
+                .map(v -> f.literal(v.getName(), random.nextBoolean()))
+                .collect(Collectors.toList());
+    }
+
+    private static int satisfied(final Collection<Literal> literals, final Assignment assignment) {
+        return (int) literals.stream().filter(lit -> lit.evaluate(assignment)).count();
+    }
+}
@@ -28,12 +28,16 @@ import com.booleworks.logicng.formulas.Variable;
 import com.booleworks.logicng.handlers.CallLimitComputationHandler;
 import com.booleworks.logicng.handlers.LngResult;
 import com.booleworks.logicng.handlers.NumberOfModelsHandler;
+import com.booleworks.logicng.handlers.events.EnumerationFoundModelsEvent;
 import com.booleworks.logicng.io.parsers.ParserException;
+import com.booleworks.logicng.knowledgecompilation.bdds.Bdd;
 import com.booleworks.logicng.modelcounting.ModelCounter;
 import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.functions.modelenumeration.BacktrackingModelEnumerationStrategy;
 import com.booleworks.logicng.solvers.functions.modelenumeration.DefaultModelEnumerationStrategy;
 import com.booleworks.logicng.solvers.functions.modelenumeration.EnumerationCollectorTestHandler;
 import com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationConfig;
+import com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationStrategy;
 import com.booleworks.logicng.solvers.functions.modelenumeration.NoSplitModelEnumerationStrategy;
 import com.booleworks.logicng.solvers.functions.modelenumeration.splitprovider.FixedVariableProvider;
 import com.booleworks.logicng.solvers.functions.modelenumeration.splitprovider.LeastCommonVariablesProvider;
@@ -49,6 +53,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -58,6 +63,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 public class ModelEnumerationFunctionTest extends TestWithFormulaContext {
@@ -475,6 +481,147 @@ public class ModelEnumerationFunctionTest extends TestWithFormulaContext {
         }
     }
 
+    @Test
+    public void testBacktrackingStrategySimple() {
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(parse(f, "(A | B | C) & (~A | D) & (X | Y)"));
+        final ModelEnumerationConfig config = ModelEnumerationConfig.builder()
+                .strategy(BacktrackingModelEnumerationStrategy.builder().build()).build();
+        final SortedSet<Variable> variables = f.variables("A", "B", "C", "D", "X", "Y", "Z");
+        final List<Model> expected = solver.enumerateAllModels(variables);
+        final List<Model> models =
+                solver.execute(ModelEnumerationFunction.builder(variables).configuration(config).build());
+        assertThat(models).hasSize(60);
+        assertThat(modelsToSets(models)).containsExactlyInAnyOrderElementsOf(modelsToSets(expected));
+        final List<Model> projected = solver.execute(
+                ModelEnumerationFunction.builder(f.variables("A", "D")).configuration(config).build());
+        assertThat(modelsToSets(projected)).containsExactlyInAnyOrder(set(f.variable("A"), f.variable("D")),
+                set(f.literal("A", false), f.variable("D")), set(f.literal("A", false), f.literal("D", false)));
+        solver.add(parse(f, "~X & ~Y"));
+        assertThat(solver.execute(ModelEnumerationFunction.builder(variables).configuration(config).build()))
+                .isEmpty();
+    }
+
+    @Test
+    @RandomTag
+    public void testBacktrackingStrategyRandomFormulas() {
+        final List<ModelEnumerationStrategy> strategies = List.of(
+                BacktrackingModelEnumerationStrategy.builder().build(),
+                BacktrackingModelEnumerationStrategy.builder().shrinkModels(false).build(),
+                BacktrackingModelEnumerationStrategy.builder()
+                        .splitStrategy(DefaultModelEnumerationStrategy.builder().maxNumberOfModels(5).build()).build());
+        for (int i = 1; i <= 100; i++) {
+            final FormulaRandomizer randomizer =
+                    new FormulaRandomizer(f, FormulaRandomizerConfig.builder().seed(i).numVars(15).build());
+            final Formula formula = randomizer.formula(3);
+            final List<Variable> formulaVars = new ArrayList<>(formula.variables(f));
+            final SortedSet<Variable> variables = new TreeSet<>(formulaVars.subList(0, 2 * formulaVars.size() / 3));
+            final SortedSet<Variable> additionalVars =
+                    new TreeSet<>(formulaVars.subList(2 * formulaVars.size() / 3, formulaVars.size()));
+            for (final boolean useAtMostClauses : List.of(false, true)) {
+                final SatSolver solver =
+                        SatSolver.newSolver(f, SatSolverConfig.builder().useAtMostClauses(useAtMostClauses).build());
+                solver.add(formula);
+                final List<Set<Literal>> expected =
+                        modelsToSets(solver.execute(ModelEnumerationFunction.builder(variables).build()));
+                for (final ModelEnumerationStrategy strategy : strategies) {
+                    final ModelEnumerationConfig config = ModelEnumerationConfig.builder().strategy(strategy).build();
+                    final List<Model> models =
+                            solver.execute(ModelEnumerationFunction.builder(variables).configuration(config).build());
+                    assertThat(modelsToSets(models)).containsExactlyInAnyOrderElementsOf(expected);
+                    final List<Model> modelsWithAdditionalVars = solver.execute(ModelEnumerationFunction
+                            .builder(variables).additionalVariables(additionalVars).configuration(config).build());
+                    assertThat(modelsWithAdditionalVars).hasSize(expected.size());
+                    for (final Model model : modelsWithAdditionalVars) {
+                        assertThat(solver.satCall().addFormulas(model.getLiterals()).sat().getResult()).isTrue();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBacktrackingStrategyManyDontCares() {
+        final List<Variable> additionalVars = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            additionalVars.add(f.variable("v" + i));
+        }
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(parse(f, "(a | b) & (a | ~v0)"));
+        final List<Formula> clause = new ArrayList<>(additionalVars);
+        clause.add(f.variable("a"));
+        solver.add(f.or(clause));
+        final SortedSet<Variable> variables = new TreeSet<>(additionalVars);
+        variables.addAll(f.variables("a", "b"));
+        final ModelEnumerationConfig config = ModelEnumerationConfig.builder()
+                .strategy(BacktrackingModelEnumerationStrategy.builder().build()).build();
+        final BigInteger expected =
+                BigInteger.ONE.shiftLeft(71).add(BigInteger.ONE.shiftLeft(69)).subtract(BigInteger.ONE);
+        assertThat(solver.execute(ModelCountingFunction.builder(variables).configuration(config).build()))
+                .isEqualTo(expected);
+        assertThat(solver.execute(ModelEnumerationToBddFunction.builder(variables).configuration(config).build())
+                .modelCount()).isEqualTo(expected);
+        assertThatThrownBy(() -> solver.execute(ModelEnumerationFunction.builder(variables).configuration(config)
+                .build())).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @RandomTag
+    public void testParallelEnumeration() {
+        for (int i = 1; i <= 50; i++) {
+            final FormulaRandomizer randomizer =
+                    new FormulaRandomizer(f, FormulaRandomizerConfig.builder().seed(i).numVars(15).build());
+            final Formula formula = randomizer.formula(3);
+            final SortedSet<Variable> variables = new TreeSet<>(formula.variables(f));
+            variables.add(f.variable("notOnSolver"));
+            final SatSolver solver = SatSolver.newSolver(f);
+            solver.add(formula);
+            final List<Set<Literal>> expected =
+                    modelsToSets(solver.execute(ModelEnumerationFunction.builder(variables).build()));
+            final Bdd expectedBdd = solver.execute(ModelEnumerationToBddFunction.builder(variables).build());
+            for (final ModelEnumerationStrategy strategy : List.of(
+                    DefaultModelEnumerationStrategy.builder().maxNumberOfModels(10).build(),
+                    BacktrackingModelEnumerationStrategy.builder()
+                            .splitStrategy(DefaultModelEnumerationStrategy.builder().maxNumberOfModels(5).build())
+                            .build())) {
+                final ModelEnumerationConfig config =
+                        ModelEnumerationConfig.builder().strategy(strategy).parallelism(4).build();
+                final List<Model> models =
+                        solver.execute(ModelEnumerationFunction.builder(variables).configuration(config).build());
+                assertThat(modelsToSets(models)).containsExactlyInAnyOrderElementsOf(expected);
+                assertThat(models).allSatisfy(model -> assertThat(model.getLiterals())
+                        .allSatisfy(lit -> assertThat(lit.getFactory()).isSameAs(f)));
+                assertThat(solver.execute(ModelCountingFunction.builder(variables).configuration(config).build()))
+                        .isEqualTo(BigInteger.valueOf(expected.size()));
+                final Bdd bdd =
+                        solver.execute(ModelEnumerationToBddFunction.builder(variables).configuration(config).build());
+                assertThat(bdd.modelCount()).isEqualTo(BigInteger.valueOf(expected.size()));
+                assertThat(modelsToSets(bdd.enumerateAllModels(variables)))
+                        .containsExactlyInAnyOrderElementsOf(modelsToSets(expectedBdd.enumerateAllModels(variables)));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelEnumerationCancellation() {
+        final Formula formula = f.or(f.variables("A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L"));
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(formula);
+        final ModelEnumerationConfig config = ModelEnumerationConfig.builder()
+                .strategy(DefaultModelEnumerationStrategy.builder().maxNumberOfModels(10).build())
+                .parallelism(4).build();
+        final AtomicInteger foundModels = new AtomicInteger();
+        final LngResult<List<Model>> result = ModelEnumerationFunction.builder(formula.variables(f))
+                .configuration(config).build()
+                .apply(solver, e -> !(e instanceof EnumerationFoundModelsEvent) || foundModels.incrementAndGet() < 200);
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.getCancelCause()).isInstanceOf(EnumerationFoundModelsEvent.class);
+        assertThat(result.getPartialResult().size()).isLessThan(4095);
+        assertThat(modelsToSets(result.getPartialResult())).doesNotHaveDuplicates();
+        assertThatThrownBy(() -> ModelEnumerationConfig.builder().parallelism(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @ParameterizedTest
     @MethodSource("contexts")
     public void testCollector(final FormulaContext _c) {
@@ -0,0 +1,157 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.functions;
+
+import static com.booleworks.logicng.TestWithExampleFormulas.parse;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.booleworks.logicng.RandomTag;
+import com.booleworks.logicng.datastructures.CompactModel;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.io.readers.ModelBinaryFileReader;
+import com.booleworks.logicng.io.writers.ModelBinaryFileWriter;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.functions.modelenumeration.BacktrackingModelEnumerationStrategy;
+import com.booleworks.logicng.solvers.functions.modelenumeration.DefaultModelEnumerationStrategy;
+import com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationConfig;
+import com.booleworks.logicng.solvers.functions.modelenumeration.ModelEnumerationStrategy;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Unit tests for {@link ModelStreamingFunction}, {@link ModelBinaryFileWriter},
+ * and {@link ModelBinaryFileReader}.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public class ModelStreamingFunctionTest {
+
+    @Test
+    public void testSimple() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(parse(f, "(a | b) & (~a | c)"));
+        final List<Variable> variables = List.of(f.variable("c"), f.variable("a"), f.variable("b"), f.variable("x"));
+        final List<Model> models = new ArrayList<>();
+        final ModelStreamingFunction function = ModelStreamingFunction.builder(variables,
+                (index, bits) -> models.add(new CompactModel(index, bits.clone()).toModel(f)))
+                .additionalVariables(f.variable("y")).build();
+        assertThat(function.getVariableIndex()).containsExactly(f.variable("a"), f.variable("b"), f.variable("c"),
+                f.variable("x"), f.variable("y"));
+        assertThat(solver.execute(function)).isEqualTo(BigInteger.valueOf(8));
+        assertThat(modelsToSets(models)).containsExactlyInAnyOrder(
+                Set.of(f.literal("a", true), f.literal("b", true), f.literal("c", true), f.literal("x", true),
+                        f.literal("y", false)),
+                Set.of(f.literal("a", true), f.literal("b", true), f.literal("c", true), f.literal("x", false),
+                        f.literal("y", false)),
+                Set.of(f.literal("a", true), f.literal("b", false), f.literal("c", true), f.literal("x", true),
+                        f.literal("y", false)),
+                Set.of(f.literal("a", true), f.literal("b", false), f.literal("c", true), f.literal("x", false),
+                        f.literal("y", false)),
+                Set.of(f.literal("a", false), f.literal("b", true), f.literal("c", true), f.literal("x", true),
+                        f.literal("y", false)),
+                Set.of(f.literal("a", false), f.literal("b", true), f.literal("c", true), f.literal("x", false),
+                        f.literal("y", false)),
+                Set.of(f.literal("a", false), f.literal("b", true), f.literal("c", false), f.literal("x", true),
+                        f.literal("y", false)),
+                Set.of(f.literal("a", false), f.literal("b", true), f.literal("c", false), f.literal("x", false),
+                        f.literal("y", false)));
+    }
+
+    @Test
+    @RandomTag
+    public void testRandomAgainstEnumeration() {
+        for (int i = 1; i <= 50; i++) {
+            final FormulaFactory f = FormulaFactory.caching();
+            final Formula formula = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().seed(i).numVars(15)
+                    .build()).formula(3);
+            final SortedSet<Variable> variables = new TreeSet<>(formula.variables(f));
+            variables.add(f.variable("notOnSolver"));
+            final List<Variable> additionalVariables = List.of(f.variable("additional"), f.variable("v20"));
+            final SatSolver solver = SatSolver.newSolver(f);
+            solver.add(formula);
+            solver.add(parse(f, "v20 | v21"));
+            final List<Model> expected = solver.execute(ModelEnumerationFunction.builder(variables)
+                    .additionalVariables(additionalVariables).build());
+            final List<ModelEnumerationStrategy> strategies = new ArrayList<>();
+            strategies.add(null);
+            strategies.add(DefaultModelEnumerationStrategy.builder().maxNumberOfModels(10).build());
+            strategies.add(BacktrackingModelEnumerationStrategy.builder()
+                    .splitStrategy(DefaultModelEnumerationStrategy.builder().maxNumberOfModels(4).build()).build());
+            for (final int parallelism : new int[]{1, 4}) {
+                for (final ModelEnumerationStrategy strategy : strategies) {
+                    final ModelEnumerationConfig config =
+                            ModelEnumerationConfig.builder().strategy(strategy).parallelism(parallelism).build();
+                    final List<Model> models = new ArrayList<>();
+                    final BigInteger count = solver.execute(ModelStreamingFunction.builder(variables,
+                                    (index, bits) -> models.add(new CompactModel(index, bits.clone()).toModel(f)))
+                            .additionalVariables(additionalVariables).configuration(config).build());
+                    assertThat(count).isEqualTo(expected.size());
+                    assertThat(models).hasSize(expected.size());
+                    assertThat(modelsToSets(models)).isEqualTo(modelsToSets(expected));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBinaryFile() throws IOException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final SatSolver solver = SatSolver.newSolver(f);
+        final Formula formula = parse(f, "(a | b | c) & (~a | ~d) & (e => f) & (v1 | v2 | v3 | v4 | v5 | v6 | v7)");
+        solver.add(formula);
+        final SortedSet<Variable> variables = new TreeSet<>(formula.variables(f));
+        final List<Model> expected = solver.execute(ModelEnumerationFunction.builder(variables).build());
+        final File file = new File("../test_files/writers/temp/models.bin");
+        final ModelStreamingFunction.Builder builder;
+        try (final ModelBinaryFileWriter writer = new ModelBinaryFileWriter(file, new ArrayList<>(variables))) {
+            builder = ModelStreamingFunction.builder(variables, writer).configuration(ModelEnumerationConfig.builder()
+                    .strategy(DefaultModelEnumerationStrategy.builder().maxNumberOfModels(50).build()).build());
+            assertThat(solver.execute(builder.build())).isEqualTo(expected.size());
+            assertThat(writer.getNumberOfModels()).isEqualTo(expected.size());
+            assertThatThrownBy(() -> writer.accept(List.of(f.variable("a")), new long[1]))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(file.length()).isEqualTo(8 + variables.stream().mapToInt(v -> 2 + v.getName().length()).sum() +
+                2L * expected.size());
+        final FormulaFactory g = FormulaFactory.caching();
+        final List<CompactModel> models = ModelBinaryFileReader.readModels(g, file);
+        assertThat(models).hasSize(expected.size());
+        assertThat(models.get(0).getVariables()).containsExactlyElementsOf(variables);
+        final List<Model> converted = new ArrayList<>();
+        for (final CompactModel model : models) {
+            converted.add(model.toModel(f));
+        }
+        assertThat(modelsToSets(converted)).isEqualTo(modelsToSets(expected));
+        assertThat(file.delete()).isTrue();
+        final File cnfFile = new File("../test_files/sat/3col40_5_10.shuffled.cnf");
+        assertThatThrownBy(() -> ModelBinaryFileReader.readModels(f, cnfFile))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static Set<Set<Literal>> modelsToSets(final List<Model> models) {
+        final Set<Set<Literal>> sets = new HashSet<>();
+        for (final Model model : models) {
+            sets.add(new HashSet<>(model.getLiterals()));
+        }
+        return sets;
+    }
+}
@@ -0,0 +1,166 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2015-2023 Christoph Zengler
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.solvers.functions;
+
+import static com.booleworks.logicng.TestWithExampleFormulas.parse;
+import static com.booleworks.logicng.solvers.functions.ParetoFrontFunction.builder;
+import static com.booleworks.logicng.solvers.sat.SolverTestSet.SATSolverConfigParam.CNF_METHOD;
+import static com.booleworks.logicng.solvers.sat.SolverTestSet.SATSolverConfigParam.PROOF_GENERATION;
+import static com.booleworks.logicng.solvers.sat.SolverTestSet.SATSolverConfigParam.USE_AT_MOST_CLAUSES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.booleworks.logicng.datastructures.Assignment;
+import com.booleworks.logicng.datastructures.Model;
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.FormulaFactoryConfig;
+import com.booleworks.logicng.formulas.Literal;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.LngResult;
+import com.booleworks.logicng.handlers.events.OptimizationFoundBetterBoundEvent;
+import com.booleworks.logicng.predicates.satisfiability.SatPredicate;
+import com.booleworks.logicng.solvers.SatSolver;
+import com.booleworks.logicng.solvers.sat.SolverTestSet;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class ParetoFrontFunctionTest {
+
+    public static List<Arguments> solverSuppliers() {
+        return SolverTestSet.solverSupplierTestSetForParameterizedTests(
+                Set.of(USE_AT_MOST_CLAUSES, CNF_METHOD, PROOF_GENERATION));
+    }
+
+    @Test
+    public void testBuilder() {
+        final FormulaFactory f = FormulaFactory.caching();
+        assertThatThrownBy(() -> builder().minimize(f.variable("a")).build())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A Pareto front requires exactly two objectives, but 1 were given.");
+        assertThatThrownBy(() -> builder().minimize(f.variable("a")).maximize(f.variable("b"))
+                .minimize(f.variable("c")).build())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A Pareto front requires exactly two objectives, but 3 were given.");
+    }
+
+    @ParameterizedTest(name = "{index} {1}")
+    @MethodSource("solverSuppliers")
+    public void testUnsatFormula(final Function<FormulaFactory, SatSolver> solverSupplier) {
+        final FormulaFactory f = FormulaFactory.caching();
+        final SatSolver solver = solverSupplier.apply(f);
+        solver.add(parse(f, "a & b & (a => ~b)"));
+        assertThat(solver.execute(builder().minimize(f.variable("a")).maximize(f.variable("b")).build())).isEmpty();
+    }
+
+    @ParameterizedTest(name = "{index} {1}")
+    @MethodSource("solverSuppliers")
+    public void testConflictingObjectives(final Function<FormulaFactory, SatSolver> solverSupplier) {
+        final FormulaFactory f = FormulaFactory.caching();
+        final SatSolver solver = solverSupplier.apply(f);
+        solver.add(parse(f, "(x1 | y1) & (x2 | y2) & (x3 | y3)"));
+        final List<Variable> xs = List.of(f.variable("x1"), f.variable("x2"), f.variable("x3"));
+        final List<Variable> ys = List.of(f.variable("y1"), f.variable("y2"), f.variable("y3"));
+
+        final List<Model> front = solver.execute(builder().minimize(xs).minimize(ys).build());
+        assertThat(front).hasSize(4);
+        for (int i = 0; i < front.size(); i++) {
+            final Assignment assignment = front.get(i).toAssignment();
+            assertThat(satisfied(xs, assignment)).isEqualTo(i);
+            assertThat(satisfied(ys, assignment)).isEqualTo(3 - i);
+        }
+
+        final List<Model> maxFront = solver.execute(builder().maximize(xs).minimize(ys).build());
+        assertThat(maxFront).hasSize(1);
+        assertThat(maxFront.get(0).positiveVariables()).containsExactlyInAnyOrderElementsOf(xs);
+
+        solver.add(parse(f, "x1 | x2"));
+        assertThat(solver.execute(builder().minimize(xs).minimize(ys).build())).hasSize(3);
+    }
+
+    @Test
+    public void testCompareWithEnumeration() {
+        final FormulaFactory f = FormulaFactory.nonCaching(FormulaFactoryConfig.builder()
+                .formulaMergeStrategy(FormulaFactoryConfig.FormulaMergeStrategy.IMPORT).build());
+        final SatPredicate satPredicate = new SatPredicate(f);
+        final Random random = new Random(42);
+        final FormulaRandomizer randomizer =
+                new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(8).weightPbc(2).seed(42).build());
+        for (int i = 0; i < 200; i++) {
+            final Formula formula = Stream.generate(() -> randomizer.formula(3))
+                    .filter(fm -> fm.holds(satPredicate)).findFirst().get();
+            final List<Variable> variables = new ArrayList<>(formula.variables(f));
+            final List<Literal> first = randomLiterals(f, random, variables);
+            final List<Literal> second = randomLiterals(f, random, variables);
+            final SatSolver solver = SatSolver.newSolver(f);
+            solver.add(formula);
+            final List<Model> front = solver.execute(builder().minimize(first).minimize(second).build());
+
+            final Set<List<Integer>> points = new TreeSet<>((p, q) -> p.get(0).equals(q.get(0))
+                                                                      ? p.get(1) - q.get(1)
+                                                                      : p.get(0) - q.get(0));
+            for (final Model model : solver.enumerateAllModels(variables)) {
+                final Assignment assignment = model.toAssignment();
+                points.add(List.of(satisfied(first, assignment), satisfied(second, assignment)));
+            }
+            final List<List<Integer>> expected = points.stream()
+                    .filter(p -> points.stream().noneMatch(q -> !q.equals(p) && q.get(0) <= p.get(0) &&
+                            q.get(1) <= p.get(1)))
+                    .collect(Collectors.toList());
+            final List<List<Integer>> actual = front.stream()
+                    .map(m -> List.of(satisfied(first, m.toAssignment()), satisfied(second, m.toAssignment())))
+                    .collect(Collectors.toList());
+            assertThat(actual).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testHandler() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final SatSolver solver = SatSolver.newSolver(f);
+        solver.add(parse(f, "(x1 | y1) & (x2 | y2) & (x3 | y3)"));
+        final ParetoFrontFunction function = builder()
+                .minimize(f.variable("x1"), f.variable("x2"), f.variable("x3"))
+                .minimize(f.variable("y1"), f.variable("y2"), f.variable("y3"))
+                .build();
+        final List<Model> reportedModels = new ArrayList<>();
+        final LngResult<List<Model>> result = solver.execute(function, event -> {
+            if (event instanceof OptimizationFoundBetterBoundEvent) {
+                reportedModels.add(((OptimizationFoundBetterBoundEvent) event).getModel().get());
+                return reportedModels.size() < 2;
+            }
+            return true;
+        });
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.getPartialResult()).isEqualTo(reportedModels);
+        assertThat(solver.execute(function)).hasSize(4);
+    }
+
+    private static List<Literal> randomLiterals(final FormulaFactory f, final Random random,
+                                                final Collection<Variable> variables) {
+        return variables.stream().filter(v -> random.nextBoolean())
+                .map(v -> f.literal(v.getName(), random.nextBoolean()))
+                .collect(Collectors.toList());
+    }
+
+    private static int satisfied(final Collection<? extends Literal> literals, final Assignment assignment) {
+        return (int) literals.stream().filter(lit -> lit.evaluate(assignment)).count();
+    }
+}
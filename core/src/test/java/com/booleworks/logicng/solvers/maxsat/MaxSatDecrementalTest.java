@@ -10,6 +10,7 @@ import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algo
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.MSU3;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.WBO;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.WMSU3;
+import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.CONFIG_INC_OLL;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.CONFIG_INC_WBO;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.CONFIG_OLL;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.CONFIG_WBO;
@@ -36,6 +37,7 @@ public class MaxSatDecrementalTest extends TestWithExampleFormulas {
                 MaxSatSolver.newSolver(f, CONFIG_WBO),
                 MaxSatSolver.newSolver(f, CONFIG_INC_WBO),
                 MaxSatSolver.newSolver(f, CONFIG_OLL),
+                MaxSatSolver.newSolver(f, CONFIG_INC_OLL),
                 MaxSatSolver.newSolver(f, builder().algorithm(LINEAR_SU).cardinality(TOTALIZER).bmo(false).build()),
                 MaxSatSolver.newSolver(f, builder().algorithm(LINEAR_SU).cardinality(MTOTALIZER).bmo(false).build()),
                 MaxSatSolver.newSolver(f, builder().algorithm(LINEAR_SU).cardinality(TOTALIZER).bmo(true).build()),
@@ -132,7 +134,8 @@ public class MaxSatDecrementalTest extends TestWithExampleFormulas {
                         builder().algorithm(WMSU3).incremental(ITERATIVE).cardinality(TOTALIZER).bmo(false).build()),
                 MaxSatSolver.newSolver(f,
                         builder().algorithm(WMSU3).incremental(ITERATIVE).cardinality(TOTALIZER).bmo(true).build()),
-                MaxSatSolver.newSolver(f, CONFIG_OLL)
+                MaxSatSolver.newSolver(f, CONFIG_OLL),
+                MaxSatSolver.newSolver(f, CONFIG_INC_OLL)
         };
         for (final MaxSatSolver solver : solvers) {
             solver.addSoftFormula(X, 2);
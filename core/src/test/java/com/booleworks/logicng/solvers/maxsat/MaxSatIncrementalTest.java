@@ -4,10 +4,12 @@
 
 package com.booleworks.logicng.solvers.maxsat;
 
+import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.INC_OLL;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.INC_WBO;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.LINEAR_SU;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.WBO;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.Algorithm.WMSU3;
+import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.CONFIG_INC_OLL;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.CONFIG_OLL;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.CardinalityEncoding.MTOTALIZER;
 import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.CardinalityEncoding.TOTALIZER;
@@ -17,10 +19,13 @@ import static com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.buil
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.booleworks.logicng.TestWithExampleFormulas;
+import com.booleworks.logicng.solvers.MaxSatResult;
 import com.booleworks.logicng.solvers.MaxSatSolver;
 import com.booleworks.logicng.solvers.maxsat.algorithms.MaxSatConfig.WeightStrategy;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 public class MaxSatIncrementalTest extends TestWithExampleFormulas {
 
     @Test
@@ -31,6 +36,7 @@ public class MaxSatIncrementalTest extends TestWithExampleFormulas {
                 // MaxSatSolver.newSolver(f, CONFIG_OLL),
                 // MaxSatSolver.newSolver(f, builder().algorithm(LINEAR_SU).cardinality(TOTALIZER).bmo(false).build()),
                 MaxSatSolver.newSolver(f, builder().algorithm(LINEAR_SU).cardinality(MTOTALIZER).bmo(false).build()),
+                MaxSatSolver.newSolver(f, CONFIG_INC_OLL),
                 // MaxSatSolver.newSolver(f, builder().algorithm(LINEAR_SU).cardinality(TOTALIZER).bmo(true).build()),
                 // MaxSatSolver.newSolver(f, builder().algorithm(LINEAR_SU).cardinality(MTOTALIZER).bmo(true).build()),
                 // MaxSatSolver.newSolver(f, builder().algorithm(LINEAR_US).incremental(NONE).cardinality(TOTALIZER)
@@ -87,7 +93,9 @@ public class MaxSatIncrementalTest extends TestWithExampleFormulas {
                         builder().algorithm(WMSU3).incremental(ITERATIVE).cardinality(TOTALIZER).bmo(false).build()),
                 MaxSatSolver.newSolver(f,
                         builder().algorithm(WMSU3).incremental(ITERATIVE).cardinality(TOTALIZER).bmo(true).build()),
-                MaxSatSolver.newSolver(f, CONFIG_OLL)
+                MaxSatSolver.newSolver(f, CONFIG_OLL),
+                MaxSatSolver.newSolver(f, CONFIG_INC_OLL),
+                MaxSatSolver.newSolver(f, builder().algorithm(INC_OLL).weight(WeightStrategy.NORMAL).build())
         };
         for (final MaxSatSolver solver : solvers) {
             solver.addHardFormula(parse(f, "(~a | ~b) & (~b | ~c) & ~d"));
@@ -108,4 +116,51 @@ public class MaxSatIncrementalTest extends TestWithExampleFormulas {
             assertThat(solver.solve().isSatisfiable()).isFalse();
         }
     }
+
+    @Test
+    public void testAssumptions() {
+        final MaxSatSolver[] solvers = new MaxSatSolver[]{
+                MaxSatSolver.newSolver(f, builder().algorithm(WBO).weight(WeightStrategy.NONE).build()),
+                MaxSatSolver.newSolver(f, CONFIG_OLL),
+                MaxSatSolver.newSolver(f, CONFIG_INC_OLL),
+                MaxSatSolver.newSolver(f, builder().algorithm(INC_OLL).weight(WeightStrategy.NORMAL).build())
+        };
+        for (final MaxSatSolver solver : solvers) {
+            solver.addHardFormula(parse(f, "(~a | ~b) & (~b | ~c) & ~d"));
+            solver.addSoftFormula(A, 1);
+            solver.addSoftFormula(B, 3);
+            solver.addSoftFormula(C, 1);
+            assertThat(solver.solve().getUnsatisfiedWeight()).isEqualTo(2);
+            final MaxSatResult whatIf = solver.solve(List.of(A));
+            assertThat(whatIf.getUnsatisfiedWeight()).isEqualTo(3);
+            assertThat(whatIf.getModel().positiveVariables()).contains(A);
+            assertThat(solver.solve(List.of(A, B)).isSatisfiable()).isFalse();
+            assertThat(solver.solve(List.of(D)).isSatisfiable()).isFalse();
+            assertThat(solver.solve().getUnsatisfiedWeight()).isEqualTo(2);
+            solver.addSoftFormula(NB, 4);
+            assertThat(solver.solve().getUnsatisfiedWeight()).isEqualTo(3);
+            assertThat(solver.solve(List.of(B)).getUnsatisfiedWeight()).isEqualTo(6);
+            assertThat(solver.solve().getUnsatisfiedWeight()).isEqualTo(3);
+            solver.addHardFormula(B);
+            assertThat(solver.solve().getUnsatisfiedWeight()).isEqualTo(6);
+            assertThat(solver.solve(List.of(NB)).isSatisfiable()).isFalse();
+        }
+    }
+
+    @Test
+    public void testIncOllReusesBounds() {
+        final MaxSatSolver solver = MaxSatSolver.newSolver(f, CONFIG_INC_OLL);
+        solver.addHardFormula(parse(f, "(~a | ~b) & (~b | ~c) & ~d"));
+        solver.addSoftFormula(A, 1);
+        solver.addSoftFormula(B, 3);
+        solver.addSoftFormula(C, 1);
+        assertThat(solver.solve().getUnsatisfiedWeight()).isEqualTo(2);
+        assertThat(solver.getStats().unsatCalls()).isGreaterThan(0);
+        solver.addHardFormula(parse(f, "~a | ~c"));
+        assertThat(solver.solve().getUnsatisfiedWeight()).isEqualTo(2);
+        assertThat(solver.getStats().satCalls()).isZero();
+        assertThat(solver.getStats().unsatCalls()).isZero();
+        solver.addSoftFormula(NB, 4);
+        assertThat(solver.solve().getUnsatisfiedWeight()).isEqualTo(4);
+    }
 }
@@ -27,6 +27,9 @@ import org.junit.jupiter.api.Test;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.function.Supplier;
 
 public class PartialMaxSatTest extends TestWithExampleFormulas {
@@ -103,6 +106,114 @@ public class PartialMaxSatTest extends TestWithExampleFormulas {
         }
     }
 
+    @Test
+    public void testIncOll() throws IOException {
+        final MaxSatConfig[] configs = new MaxSatConfig[2];
+        configs[0] = MaxSatConfig.CONFIG_INC_OLL;
+        configs[1] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.INC_OLL)
+                .coreMinimization(true)
+                .verbosity(MaxSatConfig.Verbosity.SOME).output(logStream).build();
+        for (final MaxSatConfig config : configs) {
+            for (int i = 0; i < files.length; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialmaxsat/" + files[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(results[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testAnytime() throws IOException {
+        final MaxSatConfig[] configs = new MaxSatConfig[2];
+        configs[0] = MaxSatConfig.CONFIG_ANYTIME;
+        configs[1] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.ANYTIME)
+                .coreGuidedConflictBudget(0)
+                .verbosity(MaxSatConfig.Verbosity.SOME).output(logStream).build();
+        for (final MaxSatConfig config : configs) {
+            for (int i = 0; i < files.length; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialmaxsat/" + files[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(results[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testPortfolio() throws IOException {
+        final MaxSatConfig[] configs = new MaxSatConfig[3];
+        configs[0] = MaxSatConfig.CONFIG_PORTFOLIO;
+        configs[1] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.PORTFOLIO)
+                .portfolioAlgorithms(MaxSatConfig.Algorithm.LINEAR_SU, MaxSatConfig.Algorithm.MSU3,
+                        MaxSatConfig.Algorithm.WMSU3)
+                .verbosity(MaxSatConfig.Verbosity.SOME).output(logStream).build();
+        configs[2] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.PORTFOLIO)
+                .portfolioAlgorithms(MaxSatConfig.Algorithm.WBO, MaxSatConfig.Algorithm.ANYTIME)
+                .cardinality(MaxSatConfig.CardinalityEncoding.MTOTALIZER)
+                .build();
+        for (final MaxSatConfig config : configs) {
+            for (int i = 0; i < files.length; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialmaxsat/" + files[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(results[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testPortfolioBounds() throws IOException {
+        final MaxSatSolver solver = MaxSatSolver.newSolver(f, MaxSatConfig.CONFIG_PORTFOLIO);
+        readCnfToSolver(solver, "../test_files/partialmaxsat/c1355_F176gat-1278gat@1.wcnf");
+        final List<Integer> upperBounds = new ArrayList<>();
+        final List<Integer> lowerBounds = new ArrayList<>();
+        final LngResult<MaxSatResult> result = solver.solve(event -> {
+            if (event instanceof MaxSatNewUpperBoundEvent) {
+                upperBounds.add(((MaxSatNewUpperBoundEvent) event).getBound());
+            } else if (event instanceof MaxSatNewLowerBoundEvent) {
+                lowerBounds.add(((MaxSatNewLowerBoundEvent) event).getBound());
+            }
+            return true;
+        });
+        assertThat(result.isSuccess()).isTrue();
+        assertThat(result.getResult().getUnsatisfiedWeight()).isEqualTo(13);
+        assertThat(upperBounds).isSortedAccordingTo(Comparator.reverseOrder()).doesNotHaveDuplicates()
+                .allMatch(bound -> bound >= 13);
+        assertThat(lowerBounds).isSorted().doesNotHaveDuplicates().allMatch(bound -> bound <= 13);
+
+        final MaxSatSolver linearSolver = MaxSatSolver.newSolver(f, MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.PORTFOLIO)
+                .portfolioAlgorithms(MaxSatConfig.Algorithm.LINEAR_SU).build());
+        readCnfToSolver(linearSolver, "../test_files/partialmaxsat/c1355_F176gat-1278gat@1.wcnf");
+        final LngResult<MaxSatResult> partial =
+                linearSolver.solve(event -> !(event instanceof MaxSatNewUpperBoundEvent));
+        assertThat(partial.isSuccess()).isFalse();
+        assertThat(partial.isPartial()).isTrue();
+        assertThat(partial.getPartialResult().getUnsatisfiedWeight())
+                .isLessThanOrEqualTo(((MaxSatNewUpperBoundEvent) partial.getCancelCause()).getBound())
+                .isGreaterThanOrEqualTo(13);
+        assertThat(linearSolver.solve().getUnsatisfiedWeight()).isEqualTo(13);
+
+        assertThatThrownBy(() -> MaxSatConfig.builder().portfolioAlgorithms())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MaxSatConfig.builder().portfolioAlgorithms(MaxSatConfig.Algorithm.PORTFOLIO))
+                .isInstanceOf(IllegalArgumentException.class);
+        final MaxSatSolver unsupported = MaxSatSolver.newSolver(f, MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.PORTFOLIO)
+                .portfolioAlgorithms(MaxSatConfig.Algorithm.WMSU3).build());
+        unsupported.addHardFormula(IMP1);
+        unsupported.addSoftFormula(AND1, 1);
+        assertThatThrownBy(unsupported::solve).isInstanceOf(IllegalStateException.class);
+    }
+
     @Test
     @LongRunningTag
     public void testIncWBO() throws IOException {
@@ -234,6 +345,22 @@ public class PartialMaxSatTest extends TestWithExampleFormulas {
         }
     }
 
+    @Test
+    public void testTimeoutHandlerAnytime() {
+        final MaxSatConfig config = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.ANYTIME)
+                .verbosity(MaxSatConfig.Verbosity.SOME).output(logStream).build();
+        testTimeoutHandler(() -> MaxSatSolver.newSolver(f, config));
+    }
+
+    @Test
+    public void testTimeoutHandlerPortfolio() {
+        final MaxSatConfig config = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.PORTFOLIO)
+                .verbosity(MaxSatConfig.Verbosity.SOME).output(logStream).build();
+        testTimeoutHandler(() -> MaxSatSolver.newSolver(f, config));
+    }
+
     @Test
     @LongRunningTag
     public void testTimeoutHandlerLinearSU() {
@@ -365,6 +492,28 @@ public class PartialMaxSatTest extends TestWithExampleFormulas {
         assertThat(result.getResult().getUnsatisfiedWeight()).isEqualTo(handler.upperBoundApproximation);
     }
 
+    @Test
+    public void testPartialResultOnCancel() throws IOException {
+        final MaxSatConfig[] configs = new MaxSatConfig[2];
+        configs[0] = MaxSatConfig.CONFIG_LINEAR_SU;
+        configs[1] = MaxSatConfig.CONFIG_ANYTIME;
+        for (final MaxSatConfig config : configs) {
+            final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+            readCnfToSolver(solver, "../test_files/partialmaxsat/c1355_F176gat-1278gat@1.wcnf");
+            final LngResult<MaxSatResult> result = solver.solve(e -> !(e instanceof MaxSatNewUpperBoundEvent));
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(result.isPartial()).isTrue();
+            assertThat(result.getCancelCause()).isInstanceOf(MaxSatNewUpperBoundEvent.class);
+            final MaxSatResult partialResult = result.getPartialResult();
+            assertThat(partialResult.isSatisfiable()).isTrue();
+            assertThat(partialResult.getModel()).isNotNull();
+            assertThat(partialResult.getUnsatisfiedWeight())
+                    .isEqualTo(((MaxSatNewUpperBoundEvent) result.getCancelCause()).getBound())
+                    .isGreaterThanOrEqualTo(13);
+            assertThat(solver.solve().getUnsatisfiedWeight()).isEqualTo(13);
+        }
+    }
+
     @Test
     public void testNonClauselSoftConstraints() {
         final MaxSatSolver[] solvers = new MaxSatSolver[2];
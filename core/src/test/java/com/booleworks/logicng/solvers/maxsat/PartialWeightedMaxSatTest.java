@@ -244,6 +244,203 @@ public class PartialWeightedMaxSatTest extends TestWithExampleFormulas {
         }
     }
 
+    @Test
+    public void testIncOll() throws IOException {
+        final MaxSatConfig[] configs = new MaxSatConfig[2];
+        configs[0] = MaxSatConfig.CONFIG_INC_OLL;
+        configs[1] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.INC_OLL)
+                .weight(MaxSatConfig.WeightStrategy.NORMAL)
+                .coreMinimization(true)
+                .verbosity(MaxSatConfig.Verbosity.SOME).output(logStream).build();
+        for (final MaxSatConfig config : configs) {
+            for (int i = 0; i < bmoFiles.length; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialweightedmaxsat/bmo/" + bmoFiles[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(bmoResults[i]);
+            }
+            for (int i = 0; i < files.length; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialweightedmaxsat/" + files[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(results[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testCoreGuidedImprovements() throws IOException {
+        final MaxSatConfig[] configs = new MaxSatConfig[4];
+        configs[0] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.OLL)
+                .incremental(MaxSatConfig.IncrementalStrategy.ITERATIVE)
+                .hardening(true)
+                .coreMinimization(true)
+                .coreExhaustion(true)
+                .build();
+        configs[1] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.OLL)
+                .incremental(MaxSatConfig.IncrementalStrategy.ITERATIVE)
+                .coreExhaustion(true)
+                .build();
+        configs[2] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.WBO)
+                .weight(MaxSatConfig.WeightStrategy.DIVERSIFY)
+                .hardening(true)
+                .coreMinimization(true)
+                .build();
+        configs[3] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.WBO)
+                .weight(MaxSatConfig.WeightStrategy.NORMAL)
+                .hardening(true)
+                .coreMinimization(true)
+                .coreConflictBudget(0)
+                .build();
+        for (final MaxSatConfig config : configs) {
+            int stratificationLevels = 0;
+            int minimizedCoreLiterals = 0;
+            int exhaustedCores = 0;
+            for (int i = 0; i < files.length - 1; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialweightedmaxsat/" + files[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(results[i]);
+                stratificationLevels += solver.getStats().stratificationLevels();
+                minimizedCoreLiterals += solver.getStats().minimizedCoreLiterals();
+                exhaustedCores += solver.getStats().exhaustedCores();
+            }
+            for (int i = 0; i < bmoFiles.length; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialweightedmaxsat/bmo/" + bmoFiles[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(bmoResults[i]);
+            }
+            assertThat(stratificationLevels).isPositive();
+            if (config == configs[1]) {
+                assertThat(exhaustedCores).isPositive();
+            }
+            if (config == configs[0] || config == configs[2]) {
+                assertThat(minimizedCoreLiterals).isPositive();
+            } else {
+                assertThat(minimizedCoreLiterals).isZero();
+            }
+        }
+    }
+
+    @Test
+    public void testHardening() {
+        final MaxSatConfig[] configs = new MaxSatConfig[]{
+                MaxSatConfig.builder().algorithm(MaxSatConfig.Algorithm.OLL).hardening(true).build(),
+                MaxSatConfig.builder().algorithm(MaxSatConfig.Algorithm.WBO)
+                        .weight(MaxSatConfig.WeightStrategy.NORMAL).hardening(true).build(),
+                MaxSatConfig.builder().algorithm(MaxSatConfig.Algorithm.OLL).build(),
+                MaxSatConfig.builder().algorithm(MaxSatConfig.Algorithm.WBO)
+                        .weight(MaxSatConfig.WeightStrategy.NORMAL).build()
+        };
+        for (int i = 0; i < configs.length; i++) {
+            final MaxSatSolver solver = MaxSatSolver.newSolver(f, configs[i]);
+            solver.addHardFormula(parse(f, "(~a | ~b) & (~c | ~d) & (~x | ~e)"));
+            solver.addSoftFormula(A, 1);
+            solver.addSoftFormula(B, 1);
+            solver.addSoftFormula(C, 2);
+            solver.addSoftFormula(parse(f, "d"), 1);
+            solver.addSoftFormula(parse(f, "e"), 1);
+            solver.addSoftFormula(X, 100);
+            assertThat(solver.solve().getUnsatisfiedWeight()).isEqualTo(3);
+            if (i < 2) {
+                assertThat(solver.getStats().hardenedSoftClauses()).isPositive();
+            } else {
+                assertThat(solver.getStats().hardenedSoftClauses()).isZero();
+            }
+        }
+    }
+
+    @Test
+    public void testAnytime() throws IOException {
+        final MaxSatConfig[] configs = new MaxSatConfig[2];
+        configs[0] = MaxSatConfig.CONFIG_ANYTIME;
+        configs[1] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.ANYTIME)
+                .cardinality(MaxSatConfig.CardinalityEncoding.MTOTALIZER)
+                .coreGuidedConflictBudget(100)
+                .localSearchFlips(1000)
+                .verbosity(MaxSatConfig.Verbosity.SOME).output(logStream).build();
+        for (final MaxSatConfig config : configs) {
+            for (int i = 0; i < files.length; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialweightedmaxsat/" + files[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(results[i]);
+            }
+            for (int i = 0; i < bmoFiles.length; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialweightedmaxsat/bmo/" + bmoFiles[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(bmoResults[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testPortfolio() throws IOException {
+        final MaxSatConfig[] configs = new MaxSatConfig[2];
+        configs[0] = MaxSatConfig.CONFIG_PORTFOLIO;
+        configs[1] = MaxSatConfig.builder()
+                .algorithm(MaxSatConfig.Algorithm.PORTFOLIO)
+                .portfolioAlgorithms(MaxSatConfig.Algorithm.WBO, MaxSatConfig.Algorithm.ANYTIME,
+                        MaxSatConfig.Algorithm.MSU3)
+                .weight(MaxSatConfig.WeightStrategy.NORMAL)
+                .hardening(true)
+                .verbosity(MaxSatConfig.Verbosity.SOME).output(logStream).build();
+        for (final MaxSatConfig config : configs) {
+            for (int i = 0; i < files.length; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialweightedmaxsat/" + files[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(results[i]);
+            }
+            for (int i = 0; i < bmoFiles.length; i++) {
+                final MaxSatSolver solver = MaxSatSolver.newSolver(f, config);
+                readCnfToSolver(solver, "../test_files/partialweightedmaxsat/bmo/" + bmoFiles[i]);
+                final MaxSatResult result = solver.solve();
+                assertThat(result.isSatisfiable()).isTrue();
+                assertThat(result.getUnsatisfiedWeight()).isEqualTo(bmoResults[i]);
+            }
+        }
+    }
+
+    @Test
+    @LongRunningTag
+    public void testLargePortfolioWithTimeout() throws IOException {
+        final MaxSatSolver solver = MaxSatSolver.newSolver(f, MaxSatConfig.CONFIG_PORTFOLIO);
+        readCnfToSolver(solver, "../test_files/partialweightedmaxsat/large/large_industrial.wcnf");
+        final LngResult<MaxSatResult> result = solver.solve(new TimeoutHandler(1000L));
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.getPartialResult().getUnsatisfiedWeight()).isGreaterThanOrEqualTo(68974);
+    }
+
+    @Test
+    @LongRunningTag
+    public void testLargeAnytimeWithTimeout() throws IOException {
+        final MaxSatSolver solver = MaxSatSolver.newSolver(f, MaxSatConfig.CONFIG_ANYTIME);
+        readCnfToSolver(solver, "../test_files/partialweightedmaxsat/large/large_weights.wcnf");
+        final LngResult<MaxSatResult> result = solver.solve(new TimeoutHandler(1000L));
+        assertThat(result.isSuccess()).isFalse();
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.getPartialResult().isSatisfiable()).isTrue();
+        assertThat(result.getPartialResult().getModel()).isNotNull();
+        assertThat(result.getPartialResult().getUnsatisfiedWeight()).isGreaterThanOrEqualTo(90912);
+    }
+
     @Test
     @LongRunningTag
     public void testLargeOLL1() throws IOException {
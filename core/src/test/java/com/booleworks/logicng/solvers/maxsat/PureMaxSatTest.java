@@ -293,7 +293,8 @@ public class PureMaxSatTest extends TestWithExampleFormulas {
         assertThat(stats.symmetryClauses()).isEqualTo(45314);
         assertThat(stats.toString()).isEqualTo(
                 "MaxSat.Stats{best solution=26, #sat calls=2, #unsat calls=26, average core size=35.27, #symmetry "
-                        + "clauses=45314}");
+                        + "clauses=45314, #stratification levels=0, #hardened soft clauses=0, #minimized core "
+                        + "literals=0, #exhausted cores=0}");
     }
 
     @Test
@@ -70,6 +70,10 @@ public class ConfigurationsTest {
                 .symmetry(false)
                 .limit(1000)
                 .bmo(false)
+                .hardening(true)
+                .coreMinimization(true)
+                .coreConflictBudget(500)
+                .localSearchFlips(2000)
                 .build();
         final String expected = String.format("MaxSatConfig{%n" +
                 "algorithm=OLL%n" +
@@ -83,6 +87,13 @@ public class ConfigurationsTest {
                 "symmetry=false%n" +
                 "limit=1000%n" +
                 "bmo=false%n" +
+                "hardening=true%n" +
+                "coreMinimization=true%n" +
+                "coreExhaustion=false%n" +
+                "coreConflictBudget=500%n" +
+                "localSearchFlips=2000%n" +
+                "coreGuidedConflictBudget=100000%n" +
+                "portfolioAlgorithms=[OLL, INC_WBO, LINEAR_SU, WMSU3]%n" +
                 "}");
         assertThat(config.toString()).isEqualTo(expected);
     }
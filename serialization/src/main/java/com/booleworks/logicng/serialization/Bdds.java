@@ -0,0 +1,251 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.serialization;
+
+import static com.booleworks.logicng.serialization.Collections.deserializeIntVec;
+import static com.booleworks.logicng.serialization.Collections.serializeIntVec;
+
+import com.booleworks.logicng.collections.LngIntVector;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.handlers.NopHandler;
+import com.booleworks.logicng.knowledgecompilation.bdds.Bdd;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddConstruction;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.serialization.ProtoBufBdd.PbBddKernel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization methods for BDDs.
+ * <p>
+ * The BDDs are serialized together with the relevant part of their kernel:
+ * the variables by their index, the variable order, and the node table of
+ * all nodes reachable from the BDDs. The node table is written in post-order,
+ * i.e. the nodes are numbered from 2 on and each node is written after its
+ * children as three integers: its level and the codes of its low and high
+ * child. The code of a terminal is the terminal itself (0 or 1), the code of
+ * an inner node is its distance to the current node plus one. Since children
+ * are usually written shortly before their parents, most codes are small and
+ * are stored in one or two bytes.
+ * <p>
+ * BDDs are deserialized into a fresh kernel with the same variable indices and
+ * the same variable order without going through formulas.
+ * @version 3.0.0
+ * @since 3.0.0
+ */
+public interface Bdds {
+
+    /**
+     * Serialize a list of BDDs to a file.
+     * @param bdds     the BDDs, all from the same kernel
+     * @param path     the file path
+     * @param compress a flag whether the file should be compressed (zip)
+     * @throws IOException if there is a problem writing the file
+     */
+    static void serializeBddsToFile(final List<Bdd> bdds, final Path path, final boolean compress) throws IOException {
+        try (final OutputStream outputStream = compress ? new GZIPOutputStream(Files.newOutputStream(path)) : Files.newOutputStream(path)) {
+            serializeBddsToStream(bdds, outputStream);
+        }
+    }
+
+    /**
+     * Deserialize a list of BDDs from a file into a fresh kernel. An
+     * uncompressed file is memory-mapped and parsed directly from the mapped
+     * buffer.
+     * @param f        the formula factory for the new kernel
+     * @param path     the file path
+     * @param compress a flag whether the file is compressed (zip)
+     * @return the BDDs
+     * @throws IOException if there is a problem reading the file
+     */
+    static List<Bdd> deserializeBddsFromFile(final FormulaFactory f, final Path path, final boolean compress) throws IOException {
+        if (!compress) {
+            try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return deserializeBdds(f, PbBddKernel.parseFrom(buffer));
+            }
+        }
+        try (final InputStream inputStream = new GZIPInputStream(Files.newInputStream(path))) {
+            return deserializeBddsFromStream(f, inputStream);
+        }
+    }
+
+    /**
+     * Serialize a list of BDDs to a stream.
+     * @param bdds   the BDDs, all from the same kernel
+     * @param stream the stream
+     * @throws IOException if there is a problem writing to the stream
+     */
+    static void serializeBddsToStream(final List<Bdd> bdds, final OutputStream stream) throws IOException {
+        serializeBdds(bdds).writeTo(stream);
+    }
+
+    /**
+     * Deserialize a list of BDDs from a stream into a fresh kernel.
+     * @param f      the formula factory for the new kernel
+     * @param stream the stream
+     * @return the BDDs
+     * @throws IOException if there is a problem reading from the stream
+     */
+    static List<Bdd> deserializeBddsFromStream(final FormulaFactory f, final InputStream stream) throws IOException {
+        return deserializeBdds(f, PbBddKernel.newBuilder().mergeFrom(stream).build());
+    }
+
+    /**
+     * Serializes a BDD to a protocol buffer.
+     * @param bdd the BDD
+     * @return the protocol buffer
+     */
+    static PbBddKernel serializeBdd(final Bdd bdd) {
+        return serializeBdds(List.of(bdd));
+    }
+
+    /**
+     * Serializes a list of BDDs to a protocol buffer. Nodes shared between the
+     * BDDs are only serialized once.
+     * @param bdds the BDDs, all from the same kernel
+     * @return the protocol buffer
+     * @throws IllegalArgumentException if the BDDs are from different kernels
+     */
+    static PbBddKernel serializeBdds(final List<Bdd> bdds) {
+        if (bdds.isEmpty()) {
+            return PbBddKernel.newBuilder().build();
+        }
+        final BddKernel kernel = bdds.get(0).getUnderlyingKernel();
+        final BddConstruction construction = new BddConstruction(kernel);
+        final int[] order = kernel.getCurrentVarOrder();
+        final int[] var2level = new int[order.length];
+        for (int level = 0; level < order.length; level++) {
+            var2level[order[level]] = level;
+        }
+        final int[] mapping = new int[kernel.statistics().nodesize()];
+        mapping[1] = 1;
+        final LngIntVector nodes = new LngIntVector();
+        final LngIntVector roots = new LngIntVector(bdds.size());
+        int[] stack = new int[64];
+        int nextId = 2;
+        for (final Bdd bdd : bdds) {
+            if (bdd.getUnderlyingKernel() != kernel) {
+                throw new IllegalArgumentException("All BDDs must be from the same kernel");
+            }
+            int top = 0;
+            stack[top++] = bdd.getIndex();
+            while (top > 0) {
+                final int node = stack[top - 1];
+                if (node < 2 || mapping[node] != 0) {
+                    top--;
+                    continue;
+                }
+                final int low = construction.bddLow(node);
+                final int high = construction.bddHigh(node);
+                final boolean lowDone = low < 2 || mapping[low] != 0;
+                final boolean highDone = high < 2 || mapping[high] != 0;
+                if (!lowDone || !highDone) {
+                    if (top + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    if (!lowDone) {
+                        stack[top++] = low;
+                    }
+                    if (!highDone) {
+                        stack[top++] = high;
+                    }
+                    continue;
+                }
+                top--;
+                final int id = nextId++;
+                mapping[node] = id;
+                nodes.push(var2level[construction.bddVar(node)]);
+                nodes.push(encodeChild(mapping[low], id));
+                nodes.push(encodeChild(mapping[high], id));
+            }
+            roots.push(mapping[bdd.getIndex()]);
+        }
+        final PbBddKernel.Builder builder = PbBddKernel.newBuilder();
+        for (final Map.Entry<Integer, Variable> entry : kernel.idx2var().entrySet()) {
+            builder.addVariable(entry.getValue().getName());
+        }
+        return builder
+                .setOrder(serializeIntVec(new LngIntVector(order, order.length)))
+                .setNodes(serializeIntVec(nodes))
+                .setRoots(serializeIntVec(roots))
+                .build();
+    }
+
+    /**
+     * Deserializes a single BDD from a protocol buffer into a fresh kernel.
+     * @param f   the formula factory for the new kernel
+     * @param bin the protocol buffer
+     * @return the BDD
+     * @throws IllegalArgumentException if the protocol buffer does not contain
+     *                                  exactly one BDD
+     */
+    static Bdd deserializeBdd(final FormulaFactory f, final PbBddKernel bin) {
+        final List<Bdd> bdds = deserializeBdds(f, bin);
+        if (bdds.size() != 1) {
+            throw new IllegalArgumentException("Expected exactly one BDD, but found " + bdds.size());
+        }
+        return bdds.get(0);
+    }
+
+    /**
+     * Deserializes a list of BDDs from a protocol buffer into a fresh kernel.
+     * The kernel is sized to hold the serialized node table.
+     * @param f   the formula factory for the new kernel
+     * @param bin the protocol buffer
+     * @return the BDDs
+     */
+    static List<Bdd> deserializeBdds(final FormulaFactory f, final PbBddKernel bin) {
+        final LngIntVector order = deserializeIntVec(bin.getOrder());
+        final LngIntVector nodes = deserializeIntVec(bin.getNodes());
+        final LngIntVector roots = deserializeIntVec(bin.getRoots());
+        final int numNodes = nodes.size() / 3;
+        final int nodeSize = Math.max(1000, 2 * (numNodes + 2 * order.size()));
+        final BddKernel kernel = new BddKernel(f, order.size(), nodeSize, Math.max(1000, nodeSize / 10));
+        for (final String name : bin.getVariableList()) {
+            kernel.getOrAddVarIndex(f.variable(name));
+        }
+        kernel.getReordering().setVariableOrder(order.toArray());
+        final BddConstruction construction = new BddConstruction(kernel);
+        final int[] mapping = new int[numNodes + 2];
+        mapping[1] = 1;
+        for (int i = 0; i < numNodes; i++) {
+            final int id = i + 2;
+            final int var = order.get(nodes.get(3 * i));
+            final int low = mapping[decodeChild(nodes.get(3 * i + 1), id)];
+            final int high = mapping[decodeChild(nodes.get(3 * i + 2), id)];
+            mapping[id] = kernel.addRef(construction.makeNode(var, low, high), NopHandler.get());
+        }
+        final List<Bdd> bdds = new ArrayList<>(roots.size());
+        for (int i = 0; i < roots.size(); i++) {
+            bdds.add(new Bdd(kernel.addRef(mapping[roots.get(i)], NopHandler.get()), kernel));
+        }
+        for (int id = 2; id < mapping.length; id++) {
+            kernel.delRef(mapping[id]);
+        }
+        return bdds;
+    }
+
+    private static int encodeChild(final int child, final int id) {
+        return child < 2 ? child : id - child + 1;
+    }
+
+    private static int decodeChild(final int code, final int id) {
+        return code < 2 ? code : id - code + 1;
+    }
+}
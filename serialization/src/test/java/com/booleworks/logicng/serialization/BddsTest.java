@@ -0,0 +1,107 @@
+// SPDX-License-Identifier: Apache-2.0 and MIT
+// Copyright 2023-20xx BooleWorks GmbH
+
+package com.booleworks.logicng.serialization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.booleworks.logicng.formulas.Formula;
+import com.booleworks.logicng.formulas.FormulaFactory;
+import com.booleworks.logicng.formulas.Variable;
+import com.booleworks.logicng.knowledgecompilation.bdds.Bdd;
+import com.booleworks.logicng.knowledgecompilation.bdds.BddFactory;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddKernel;
+import com.booleworks.logicng.knowledgecompilation.bdds.jbuddy.BddReorderingMethod;
+import com.booleworks.logicng.serialization.ProtoBufBdd.PbBddKernel;
+import com.booleworks.logicng.util.FormulaRandomizer;
+import com.booleworks.logicng.util.FormulaRandomizerConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BddsTest {
+
+    private static final Path PROTO = Paths.get("bdds.proto");
+    private static final Path ZIP = Paths.get("bdds.zip");
+
+    @Test
+    public void testRandomizedBdds() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            final FormulaFactory f = FormulaFactory.caching();
+            final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(12).seed(i).build());
+            final BddKernel kernel = new BddKernel(f, 15, 1000, 1000);
+            final List<Bdd> bdds = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                bdds.add(BddFactory.build(f, randomizer.formula(4), kernel));
+            }
+            bdds.add(BddFactory.build(f, f.verum(), kernel));
+            bdds.add(BddFactory.build(f, f.falsum(), kernel));
+            if (i % 2 == 0) {
+                kernel.getReordering().addVariableBlockAll();
+                kernel.getReordering().reorder(BddReorderingMethod.BDD_REORDER_SIFT);
+            }
+            final FormulaFactory g = FormulaFactory.caching();
+            assertEqual(bdds, Bdds.deserializeBdds(g, Bdds.serializeBdds(bdds)));
+
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            Bdds.serializeBddsToStream(bdds, outputStream);
+            assertEqual(bdds, Bdds.deserializeBddsFromStream(g, new ByteArrayInputStream(outputStream.toByteArray())));
+        }
+    }
+
+    @Test
+    public void testFiles() throws IOException {
+        final FormulaFactory f = FormulaFactory.caching();
+        final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(20).seed(42).build());
+        final Formula formula = f.and(randomizer.formula(4), randomizer.formula(4), randomizer.formula(4));
+        final BddKernel kernel = new BddKernel(f, formula.variables(f).size(), 10000, 10000);
+        final List<Bdd> bdds = List.of(BddFactory.build(f, formula, kernel));
+        Bdds.serializeBddsToFile(bdds, PROTO, false);
+        Bdds.serializeBddsToFile(bdds, ZIP, true);
+        assertEqual(bdds, Bdds.deserializeBddsFromFile(FormulaFactory.caching(), PROTO, false));
+        assertEqual(bdds, Bdds.deserializeBddsFromFile(FormulaFactory.caching(), ZIP, true));
+        Files.deleteIfExists(PROTO);
+        Files.deleteIfExists(ZIP);
+    }
+
+    @Test
+    public void testSingleBdd() {
+        final FormulaFactory f = FormulaFactory.caching();
+        final Variable a = f.variable("a");
+        final Variable b = f.variable("b");
+        final BddKernel kernel = new BddKernel(f, List.of(b, a), 100, 100);
+        final Bdd bdd = BddFactory.build(f, f.or(a, b.negate(f)), kernel);
+        final PbBddKernel bin = Bdds.serializeBdd(bdd);
+        assertThat(bin.getVariableList()).containsExactly("b", "a");
+        assertThat(bin.getNodes().getElementCount()).isEqualTo(6);
+        final Bdd deserialized = Bdds.deserializeBdd(f, bin);
+        assertThat(deserialized.getUnderlyingKernel()).isNotSameAs(kernel);
+        assertThat(deserialized.toFormula()).isEqualTo(bdd.toFormula());
+        assertThatThrownBy(() -> Bdds.deserializeBdd(f, Bdds.serializeBdds(List.of(bdd, bdd))))
+                .isInstanceOf(IllegalArgumentException.class);
+        final Bdd other = BddFactory.build(f, a, new BddKernel(f, List.of(a), 100, 100));
+        assertThatThrownBy(() -> Bdds.serializeBdds(List.of(bdd, other))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertEqual(final List<Bdd> expected, final List<Bdd> actual) {
+        assertThat(actual).hasSize(expected.size());
+        final BddKernel expectedKernel = expected.get(0).getUnderlyingKernel();
+        final BddKernel actualKernel = actual.get(0).getUnderlyingKernel();
+        assertThat(actualKernel.getCurrentVarOrder()).isEqualTo(expectedKernel.getCurrentVarOrder());
+        assertThat(actualKernel.idx2var()).isEqualTo(expectedKernel.idx2var());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).getUnderlyingKernel()).isSameAs(actualKernel);
+            assertThat(actual.get(i).nodeCount()).isEqualTo(expected.get(i).nodeCount());
+            assertThat(actual.get(i).modelCount()).isEqualTo(expected.get(i).modelCount());
+            assertThat(actual.get(i).enumerateAllModels()).containsExactlyInAnyOrderElementsOf(expected.get(i).enumerateAllModels());
+        }
+    }
+}